@@ -0,0 +1,98 @@
+package io.upschool.ticketBooking.analytics;
+
+import io.upschool.ticketBooking.enums.AnalyticsDimension;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full scans of a synthetic ticket snapshot, as done by every analytics query: 10M tickets on 20,000
+ * flights of 50 airlines over 400 routes and a year of departures. Parallelism 1 is the single-core
+ * cost of a scan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class TicketAnalyticsBenchmark {
+    private static final int FLIGHTS = 20_000;
+    private static final int AIRLINES = 50;
+    private static final int ROUTES = 400;
+    private static final int DAYS = 365;
+
+    @Param("10000000")
+    private int tickets;
+
+    @Param({"1", "4"})
+    private int parallelism;
+
+    private ForkJoinPool pool;
+    private AnalyticsQuery totalQuery;
+    private AnalyticsQuery airlineDayClassQuery;
+    private AnalyticsQuery filteredRouteQuery;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(34);
+        int firstDay = (int) LocalDate.of(2030, 1, 1).toEpochDay();
+        TicketSnapshot.Builder builder = TicketSnapshot.builder();
+        for (int flight = 0; flight < FLIGHTS; flight++) {
+            int airline = random.nextInt(AIRLINES);
+            int route = random.nextInt(ROUTES);
+            builder.addFlight(flight, airline, "A" + airline, route, "R" + route, firstDay + random.nextInt(DAYS));
+        }
+        for (int ticket = 0; ticket < tickets; ticket++) {
+            int passengers = 1 + random.nextInt(4);
+            builder.addTicket(random.nextInt(FLIGHTS), (byte) random.nextInt(3), random.nextInt(20) == 0,
+                    passengers, passengers * (5_000L + random.nextInt(50_000)));
+        }
+        TicketSnapshot snapshot = builder.build();
+        int lastDay = firstDay + DAYS - 1;
+        int any = AnalyticsQuery.ANY;
+        pool = new ForkJoinPool(parallelism);
+        totalQuery = new AnalyticsQuery(snapshot, EnumSet.noneOf(AnalyticsDimension.class),
+                any, any, any, firstDay, lastDay, false);
+        airlineDayClassQuery = new AnalyticsQuery(snapshot, EnumSet.of(AnalyticsDimension.AIRLINE,
+                AnalyticsDimension.DEPARTURE_DATE, AnalyticsDimension.TICKET_CLASS),
+                any, any, any, firstDay, lastDay, false);
+        filteredRouteQuery = new AnalyticsQuery(snapshot, EnumSet.of(AnalyticsDimension.ROUTE),
+                snapshot.airlineIndexOf(7), any, any, firstDay, firstDay + 89, false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public GroupAccumulator total() {
+        return pool.invoke(new GroupByTask(totalQuery));
+    }
+
+    @Benchmark
+    public GroupAccumulator groupByAirlineDayAndClass() {
+        return pool.invoke(new GroupByTask(airlineDayClassQuery));
+    }
+
+    @Benchmark
+    public GroupAccumulator groupByRouteForOneAirlineAndQuarter() {
+        return pool.invoke(new GroupByTask(filteredRouteQuery));
+    }
+}
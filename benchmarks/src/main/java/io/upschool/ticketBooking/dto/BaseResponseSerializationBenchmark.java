@@ -0,0 +1,74 @@
+package io.upschool.ticketBooking.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.upschool.ticketBooking.dto.response.FlightSearchResponse;
+import io.upschool.ticketBooking.service.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the response envelope, for an error and for a flight search result page,
+ * with an ObjectMapper configured the way Spring Boot configures the application's.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BaseResponseSerializationBenchmark {
+    private ObjectMapper objectMapper;
+    private BaseResponse<?> errorResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        errorResponse = BaseResponse.builder()
+                .status(404)
+                .isSuccess(false)
+                .errorMessage("Flight not found.")
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serializeSearchResponse(SearchResult searchResult) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(searchResult.response);
+    }
+
+    @Benchmark
+    public byte[] serializeErrorResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(errorResponse);
+    }
+
+    @State(Scope.Benchmark)
+    public static class SearchResult {
+        @Param({"1", "50"})
+        private int flights;
+
+        private BaseResponse<List<FlightSearchResponse>> response;
+
+        @Setup
+        public void setUp() {
+            response = BaseResponse.<List<FlightSearchResponse>>builder()
+                    .status(200)
+                    .isSuccess(true)
+                    .data(Collections.nCopies(flights, BenchmarkData.searchResponse()))
+                    .build();
+        }
+    }
+}
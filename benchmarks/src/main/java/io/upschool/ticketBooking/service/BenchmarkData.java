@@ -0,0 +1,79 @@
+package io.upschool.ticketBooking.service;
+
+import io.upschool.ticketBooking.dto.response.FlightSearchResponse;
+import io.upschool.ticketBooking.entity.Airline;
+import io.upschool.ticketBooking.entity.Airport;
+import io.upschool.ticketBooking.entity.Flight;
+import io.upschool.ticketBooking.entity.FlightSearchEntry;
+import io.upschool.ticketBooking.entity.Route;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A representative flight shared by the benchmarks.
+ */
+public final class BenchmarkData {
+    private static final FlightService FLIGHT_SERVICE = new FlightService(null, null, null, null, null);
+
+    private BenchmarkData() {
+    }
+
+    public static Airport departureAirport() {
+        return Airport.builder().id(1L).airportName("Istanbul Airport").airportCode("IST")
+                .airportLocation("Istanbul").build();
+    }
+
+    public static Airport arrivalAirport() {
+        return Airport.builder().id(2L).airportName("Adnan Menderes Airport").airportCode("ADB")
+                .airportLocation("Izmir").build();
+    }
+
+    public static Airline airline() {
+        return Airline.builder().id(1L).airlineName("Upschool Airlines").airlineCode("UPS").build();
+    }
+
+    public static Route route(Airport departure, Airport arrival) {
+        return Route.builder().id(1L).departureAirport(departure).arrivalAirport(arrival)
+                .departureDate(LocalDate.of(2030, 8, 5)).departureTime(LocalTime.of(9, 45))
+                .arrivalDate(LocalDate.of(2030, 8, 5)).arrivalTime(LocalTime.of(11, 0))
+                .build();
+    }
+
+    public static Flight flight(Route route, Airline airline) {
+        return Flight.builder().id(1L).route(route).airline(airline).capacity(180).remainingSeats(120)
+                .ticketBasePrice(new BigDecimal("149.90")).build();
+    }
+
+    public static FlightSearchEntry searchEntry(Flight flight) {
+        Route route = flight.getRoute();
+        FlightSearchEntry entry = new FlightSearchEntry();
+        entry.setFlightId(flight.getId());
+        entry.setRouteId(route.getId());
+        entry.setAirlineId(flight.getAirline().getId());
+        entry.setDepartureAirportId(route.getDepartureAirport().getId());
+        entry.setDepartureAirportName(route.getDepartureAirport().getAirportName());
+        entry.setDepartureAirportCode(route.getDepartureAirport().getAirportCode());
+        entry.setDepartureLocation(route.getDepartureAirport().getAirportLocation());
+        entry.setArrivalAirportId(route.getArrivalAirport().getId());
+        entry.setArrivalAirportName(route.getArrivalAirport().getAirportName());
+        entry.setArrivalAirportCode(route.getArrivalAirport().getAirportCode());
+        entry.setArrivalLocation(route.getArrivalAirport().getAirportLocation());
+        entry.setDepartureDate(route.getDepartureDate());
+        entry.setDepartureTime(route.getDepartureTime());
+        entry.setArrivalDate(route.getArrivalDate());
+        entry.setArrivalTime(route.getArrivalTime());
+        entry.setAirlineName(flight.getAirline().getAirlineName());
+        entry.setAirlineCode(flight.getAirline().getAirlineCode());
+        entry.setCapacity(flight.getCapacity());
+        entry.setRemainingSeats(flight.getRemainingSeats());
+        entry.setTicketBasePrice(flight.getTicketBasePrice());
+        return entry;
+    }
+
+    public static FlightSearchResponse searchResponse() {
+        Flight flight = flight(route(departureAirport(), arrivalAirport()), airline());
+        return FLIGHT_SERVICE.convertFlightToSearchResponse(searchEntry(flight));
+    }
+}
@@ -0,0 +1,62 @@
+package io.upschool.ticketBooking.service;
+
+import io.upschool.ticketBooking.dto.response.FlightSaveResponse;
+import io.upschool.ticketBooking.dto.response.FlightSearchResponse;
+import io.upschool.ticketBooking.entity.Airline;
+import io.upschool.ticketBooking.entity.Airport;
+import io.upschool.ticketBooking.entity.Flight;
+import io.upschool.ticketBooking.entity.FlightSearchEntry;
+import io.upschool.ticketBooking.entity.Route;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO conversion for saved flights and for rows of the flight_search read model. The
+ * services are built without repositories, since conversion never touches them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlightConversionBenchmark {
+    private FlightService flightService;
+    private Flight flight;
+    private FlightSearchEntry searchEntry;
+
+    @Setup
+    public void setUp() {
+        AirlineService airlineService = new AirlineService(null, null);
+        AirportService airportService = new AirportService(null, airlineService, null);
+        RouteService routeService = new RouteService(null, airportService, null);
+        flightService = new FlightService(null, routeService, airlineService, null, null);
+
+        Airport departure = BenchmarkData.departureAirport();
+        Airport arrival = BenchmarkData.arrivalAirport();
+        Airline airline = BenchmarkData.airline();
+        Route route = BenchmarkData.route(departure, arrival);
+        flight = BenchmarkData.flight(route, airline);
+        searchEntry = BenchmarkData.searchEntry(flight);
+    }
+
+    @Benchmark
+    public FlightSaveResponse convertFlightToResponse() {
+        return flightService.convertFlightToResponse(flight);
+    }
+
+    @Benchmark
+    public FlightSearchResponse convertFlightToSearchResponse() {
+        return flightService.convertFlightToSearchResponse(searchEntry);
+    }
+}
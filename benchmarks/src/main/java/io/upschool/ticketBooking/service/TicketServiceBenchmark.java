@@ -0,0 +1,57 @@
+package io.upschool.ticketBooking.service;
+
+import io.upschool.ticketBooking.entity.Flight;
+import io.upschool.ticketBooking.enums.TicketClass;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CPU-only steps of a purchase: ticket class lookup, price calculation and ticket number
+ * generation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TicketServiceBenchmark {
+    private String ticketClassValue = "business class";
+    private Flight flight;
+
+    @Setup
+    public void setUp() {
+        flight = Flight.builder()
+                .id(1L)
+                .capacity(180)
+                .remainingSeats(120)
+                .ticketBasePrice(new BigDecimal("149.90"))
+                .build();
+    }
+
+    @Benchmark
+    public TicketClass ticketClassFromValue() {
+        return TicketClass.fromValue(ticketClassValue);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTicketPrice() {
+        return TicketService.calculateTicketPrice(TicketClass.BUSINESS_CLASS, flight, 3);
+    }
+
+    @Benchmark
+    public String generateTicketNumber() {
+        return TicketService.generateUniqueTicketNumber();
+    }
+}
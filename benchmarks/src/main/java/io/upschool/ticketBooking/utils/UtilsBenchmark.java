@@ -0,0 +1,58 @@
+package io.upschool.ticketBooking.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.upschool.ticketBooking.enums.CardNetwork;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request parsing done on every purchase and search: card validation and masking, and date and time parsing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UtilsBenchmark {
+    private String cardNumber = "4111 1111-1111 1111";
+    private String plainCardNumber = "378282246310005";
+    private String date = "2030-08-05";
+    private String time = "09:45";
+
+    @Benchmark
+    public String maskCreditCardNumber() {
+        return CreditCardUtils.maskCreditCardNumber(cardNumber);
+    }
+
+    @Benchmark
+    public String maskPlainCreditCardNumber() {
+        return CreditCardUtils.maskCreditCardNumber(plainCardNumber);
+    }
+
+    @Benchmark
+    public CardNetwork getCardNetwork() {
+        return CreditCardUtils.getCardNetwork(cardNumber);
+    }
+
+    @Benchmark
+    public LocalDate parseLocalDate() {
+        return DateUtils.parseLocalDate(date);
+    }
+
+    @Benchmark
+    public LocalTime parseLocalTime() {
+        return DateUtils.parseLocalTime(time);
+    }
+}
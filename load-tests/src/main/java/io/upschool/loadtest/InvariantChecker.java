@@ -0,0 +1,70 @@
+package io.upschool.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks the seat bookkeeping once a workload has finished: every flight's remaining seats must equal
+ * its capacity minus the seats of its live (not cancelled) tickets, never go negative, and match the
+ * flight search read model.
+ */
+final class InvariantChecker {
+    private final JdbcTemplate jdbcTemplate;
+
+    InvariantChecker(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Checks the seat invariants of every flight.
+     *
+     * @return A description of each broken invariant, empty if none.
+     */
+    List<String> checkSeats() {
+        List<String> violations = new ArrayList<>();
+        jdbcTemplate.query("SELECT f.flight_id, f.capacity, f.remaining_seats, s.remaining_seats, " +
+                        "COALESCE(SUM(CASE WHEN t.status <> 'CANCELLED' THEN t.passenger_count END), 0) " +
+                        "FROM flights f " +
+                        "LEFT JOIN flight_search s ON s.flight_id = f.flight_id " +
+                        "LEFT JOIN tickets t ON t.flight_id = f.flight_id " +
+                        "GROUP BY f.flight_id, f.capacity, f.remaining_seats, s.remaining_seats",
+                rs -> {
+                    long flightId = rs.getLong(1);
+                    int capacity = rs.getInt(2);
+                    int remaining = rs.getInt(3);
+                    int searchRemaining = rs.getInt(4);
+                    int held = rs.getInt(5);
+                    if (remaining < 0) {
+                        violations.add("flight " + flightId + " has " + remaining + " remaining seats");
+                    }
+                    if (held > capacity) {
+                        violations.add("flight " + flightId + " is overbooked: " + held + " seats held, capacity " + capacity);
+                    }
+                    if (remaining != capacity - held) {
+                        violations.add("flight " + flightId + " has " + remaining + " remaining seats but "
+                                + held + " of " + capacity + " are held");
+                    }
+                    if (searchRemaining != remaining) {
+                        violations.add("flight " + flightId + " shows " + searchRemaining + " remaining seats in search, "
+                                + remaining + " in the flights table");
+                    }
+                });
+        return violations;
+    }
+
+    /**
+     * Checks that the seats confirmed to clients are exactly the seats held on the flight.
+     *
+     * @return A description of the mismatch, empty if none.
+     */
+    List<String> checkConfirmedSeats(long flightId, long confirmedSeats) {
+        Long held = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(passenger_count), 0) FROM tickets " +
+                "WHERE flight_id = ? AND status <> 'CANCELLED'", Long.class, flightId);
+        if (held == null || held != confirmedSeats) {
+            return List.of("flight " + flightId + " confirmed " + confirmedSeats + " seats to clients but holds " + held);
+        }
+        return List.of();
+    }
+}
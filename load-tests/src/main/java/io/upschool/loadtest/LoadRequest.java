@@ -0,0 +1,12 @@
+package io.upschool.loadtest;
+
+import java.net.http.HttpRequest;
+
+/**
+ * One request of a workload.
+ *
+ * @param request The HTTP request to send.
+ * @param seats   The seats a successful response accounts for, or 0 if it changes none.
+ */
+record LoadRequest(HttpRequest request, int seats) {
+}
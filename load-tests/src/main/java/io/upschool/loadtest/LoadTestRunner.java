@@ -0,0 +1,178 @@
+package io.upschool.loadtest;
+
+import io.upschool.CapstoneProjectApplication;
+import io.upschool.ticketBooking.dto.request.TicketPurchaseRequest;
+import io.upschool.ticketBooking.service.AirlineService;
+import io.upschool.ticketBooking.service.ScheduleImportService;
+import io.upschool.ticketBooking.service.TicketService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Boots the application on an in-memory database, seeds a schedule, runs the configured workloads
+ * against it over HTTP and prints a report per workload. Exits with status 1 if any seat invariant
+ * was broken, for example:
+ * <pre>
+ * java -jar load-tests/target/load-tests.jar --loadtest.duration=60s --loadtest.search-rate=1000
+ * </pre>
+ */
+public final class LoadTestRunner {
+    private static final String CARD_NUMBER = "4111111111111111";
+    private static final String[] TICKET_CLASSES = {"Business Class", "First Class"};
+
+    private final LoadTestSettings settings;
+    private final ConfigurableApplicationContext context;
+    private final String baseUrl;
+    private final Random random;
+    private final InvariantChecker invariantChecker;
+    private final ScheduleSeeder seeder;
+
+    private LoadTestRunner(LoadTestSettings settings, ConfigurableApplicationContext context) {
+        this.settings = settings;
+        this.context = context;
+        this.baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        this.random = new Random(settings.seed());
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.invariantChecker = new InvariantChecker(jdbcTemplate);
+        this.seeder = new ScheduleSeeder(context.getBean(AirlineService.class),
+                context.getBean(ScheduleImportService.class), jdbcTemplate);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(CapstoneProjectApplication.class)
+                .properties("spring.config.additional-location=classpath:loadtest.properties")
+                .run(args);
+        LoadTestSettings settings = Binder.get(context.getEnvironment())
+                .bind("loadtest", LoadTestSettings.class)
+                .orElseThrow(() -> new IllegalStateException("No loadtest.* settings found."));
+        boolean violated;
+        try {
+            violated = new LoadTestRunner(settings, context).run();
+        } finally {
+            context.close();
+        }
+        System.exit(violated ? 1 : 0);
+    }
+
+    private boolean run() throws InterruptedException {
+        List<ScheduleSeeder.SeededFlight> flights = seeder.seedSchedule(settings.airports(), settings.flights(), random);
+        System.out.printf("Seeded %d airports and %d flights%n", settings.airports(), flights.size());
+
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(settings.clientThreads());
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        OpenLoadGenerator generator = new OpenLoadGenerator(httpClient, settings.drainTimeout());
+        List<WorkloadResult> results = new ArrayList<>();
+        try {
+            if (!settings.warmup().isZero()) {
+                runSearch(generator, flights, settings.warmup());
+            }
+            for (String workload : settings.workloads()) {
+                WorkloadResult result = switch (workload.trim()) {
+                    case "search" -> runSearch(generator, flights, settings.duration());
+                    case "flash-sale" -> runFlashSale(generator);
+                    case "cancellation-storm" -> runCancellationStorm(generator);
+                    default -> throw new IllegalArgumentException("Unknown workload: " + workload);
+                };
+                result.addViolations(invariantChecker.checkSeats());
+                System.out.print(result.format());
+                results.add(result);
+            }
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+        return results.stream().anyMatch(result -> !result.getViolations().isEmpty());
+    }
+
+    /**
+     * Flight searches by location and date, with some route and airport lookups mixed in.
+     */
+    private WorkloadResult runSearch(OpenLoadGenerator generator,
+                                     List<ScheduleSeeder.SeededFlight> flights,
+                                     Duration duration) throws InterruptedException {
+        return generator.run("search", settings.searchRate(), duration, Long.MAX_VALUE, sequence -> {
+            ScheduleSeeder.SeededFlight flight = flights.get(random.nextInt(flights.size()));
+            int pick = random.nextInt(100);
+            String path;
+            if (pick < 80) {
+                path = "/api/flights?departureKey=" + encode(flight.departureLocation())
+                        + "&arrivalKey=" + encode(flight.arrivalLocation())
+                        + "&departureDate=" + flight.departureDate();
+            } else if (pick < 95) {
+                path = "/api/routes?departureKey=" + encode(flight.departureLocation());
+            } else {
+                path = "/api/airports?searchKey=" + encode(flight.arrivalLocation());
+            }
+            return new LoadRequest(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(), 0);
+        });
+    }
+
+    /**
+     * Purchases of one to three seats on a single flight, at a rate that sells it out well before the
+     * workload ends. Every seat confirmed to a client must be held on the flight afterwards.
+     */
+    private WorkloadResult runFlashSale(OpenLoadGenerator generator) throws InterruptedException {
+        long flightId = seeder.seedFlight(settings.flashSaleCapacity());
+        WorkloadResult result = generator.run("flash-sale", settings.flashSaleRate(), settings.duration(),
+                Long.MAX_VALUE, sequence -> {
+                    int seats = 1 + random.nextInt(3);
+                    String body = "{\"passengerName\":\"Flash Sale " + sequence + "\",\"flightId\":" + flightId
+                            + ",\"passengerCount\":" + seats
+                            + ",\"ticketClass\":\"" + TICKET_CLASSES[random.nextInt(TICKET_CLASSES.length)]
+                            + "\",\"creditCardNumber\":\"" + CARD_NUMBER + "\"}";
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/tickets/purchase"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                    return new LoadRequest(request, seats);
+                });
+        result.addViolations(invariantChecker.checkConfirmedSeats(flightId, result.getSuccessfulSeats()));
+        return result;
+    }
+
+    /**
+     * Cancels tickets on one flight, each of them twice in a shuffled order, so duplicate and
+     * concurrent cancellations of the same flight's tickets race each other.
+     */
+    private WorkloadResult runCancellationStorm(OpenLoadGenerator generator) throws InterruptedException {
+        int ticketCount = settings.cancellationTickets();
+        long flightId = seeder.seedFlight(ticketCount * 2);
+        TicketService ticketService = context.getBean(TicketService.class);
+        List<String> cancellations = new ArrayList<>(ticketCount * 2);
+        for (int i = 0; i < ticketCount; i++) {
+            String ticketNumber = ticketService.purchaseTicket(new TicketPurchaseRequest("Storm Passenger " + i,
+                    flightId, 1 + random.nextInt(2), TICKET_CLASSES[i % TICKET_CLASSES.length], CARD_NUMBER))
+                    .getTicketNumber();
+            cancellations.add(ticketNumber);
+            cancellations.add(ticketNumber);
+        }
+        Collections.shuffle(cancellations, random);
+        Duration unlimited = Duration.ofDays(1);
+        return generator.run("cancellation-storm", settings.cancellationRate(), unlimited, cancellations.size(),
+                sequence -> new LoadRequest(HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/api/tickets/cancel/" + cancellations.get(sequence)))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build(), 0));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,36 @@
+package io.upschool.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The loadtest.* properties, from loadtest.properties or the command line.
+ *
+ * @param workloads           The workloads to run, in order.
+ * @param seed                The seed of every random choice, so a run can be repeated exactly.
+ * @param airports            The number of airports to seed.
+ * @param flights             The number of routes to seed, each with one flight.
+ * @param warmup              How long to send searches, unmeasured, before the first workload.
+ * @param duration            How long the search and flash sale workloads send requests.
+ * @param searchRate          Search requests started per second.
+ * @param flashSaleRate       Purchase requests started per second during the flash sale.
+ * @param flashSaleCapacity   The number of seats on the flash sale flight.
+ * @param cancellationRate    Cancel requests started per second during the cancellation storm.
+ * @param cancellationTickets The number of tickets bought before the storm; each is cancelled twice.
+ * @param clientThreads       The threads the HTTP client completes responses on.
+ * @param drainTimeout        How long to wait for outstanding responses after the last request.
+ */
+public record LoadTestSettings(List<String> workloads,
+                               long seed,
+                               int airports,
+                               int flights,
+                               Duration warmup,
+                               Duration duration,
+                               int searchRate,
+                               int flashSaleRate,
+                               int flashSaleCapacity,
+                               int cancellationRate,
+                               int cancellationTickets,
+                               int clientThreads,
+                               Duration drainTimeout) {
+}
@@ -0,0 +1,93 @@
+package io.upschool.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+/**
+ * Sends requests at a fixed rate regardless of how fast the server answers (an open workload
+ * model), so a slow server builds up a queue instead of quietly slowing the client down. Each
+ * latency is measured from the time the request was scheduled to start rather than the time it
+ * was actually sent, which keeps coordinated omission out of the percentiles.
+ */
+final class OpenLoadGenerator {
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final HttpClient httpClient;
+    private final Duration drainTimeout;
+
+    OpenLoadGenerator(HttpClient httpClient, Duration drainTimeout) {
+        this.httpClient = httpClient;
+        this.drainTimeout = drainTimeout;
+    }
+
+    /**
+     * Starts requests at the given rate until the duration or the request count runs out, then waits
+     * for the outstanding responses.
+     *
+     * @param name          The name of the workload in the report.
+     * @param ratePerSecond The number of requests started per second.
+     * @param duration      How long to keep starting requests.
+     * @param maxRequests   The most requests to start.
+     * @param requests      Creates the request with the given sequence number; called on one thread.
+     * @return The statuses and latencies of the responses.
+     */
+    WorkloadResult run(String name, int ratePerSecond, Duration duration, long maxRequests,
+                       IntFunction<LoadRequest> requests) throws InterruptedException {
+        Histogram latencyMicros = new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3);
+        Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        LongAdder errors = new LongAdder();
+        LongAdder successfulSeats = new LongAdder();
+        AtomicLong outstanding = new AtomicLong();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long sent = 0;
+        for (long intendedStart = start; intendedStart < end && sent < maxRequests; intendedStart += intervalNanos) {
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            LoadRequest request = requests.apply((int) sent++);
+            long scheduledAt = intendedStart;
+            outstanding.incrementAndGet();
+            httpClient.sendAsync(request.request(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledAt);
+                        if (failure != null) {
+                            errors.increment();
+                        } else {
+                            latencyMicros.recordValue(Math.min(micros, HIGHEST_LATENCY_MICROS));
+                            statusCounts.computeIfAbsent(response.statusCode(), status -> new LongAdder()).increment();
+                            if (response.statusCode() / 100 == 2) {
+                                successfulSeats.add(request.seats());
+                            }
+                        }
+                        outstanding.decrementAndGet();
+                    });
+        }
+        long sendEnd = System.nanoTime();
+        long drainDeadline = sendEnd + drainTimeout.toNanos();
+        while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        if (outstanding.get() > 0) {
+            errors.add(outstanding.get());
+        }
+        Map<Integer, Long> counts = new ConcurrentHashMap<>();
+        statusCounts.forEach((status, count) -> counts.put(status, count.sum()));
+        return new WorkloadResult(name, Duration.ofNanos(sendEnd - start), sent, errors.sum(), successfulSeats.sum(),
+                counts, latencyMicros);
+    }
+}
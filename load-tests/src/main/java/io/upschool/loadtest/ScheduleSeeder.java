@@ -0,0 +1,115 @@
+package io.upschool.loadtest;
+
+import io.upschool.ticketBooking.dto.request.AirlineSaveRequest;
+import io.upschool.ticketBooking.enums.ScheduleImportFormat;
+import io.upschool.ticketBooking.service.AirlineService;
+import io.upschool.ticketBooking.service.ScheduleImportService;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds airports, routes and flights through the application's own schedule import.
+ */
+final class ScheduleSeeder {
+    static final String AIRLINE_CODE = "LDT";
+    private static final LocalDate FIRST_DATE = LocalDate.of(2031, 3, 1);
+
+    private final AirlineService airlineService;
+    private final ScheduleImportService scheduleImportService;
+    private final JdbcTemplate jdbcTemplate;
+    private int specialAirports;
+
+    ScheduleSeeder(AirlineService airlineService, ScheduleImportService scheduleImportService,
+                   JdbcTemplate jdbcTemplate) {
+        this.airlineService = airlineService;
+        this.scheduleImportService = scheduleImportService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Seeds the airline, the airports and one flight on each of the given number of random routes.
+     *
+     * @return The seeded flights.
+     */
+    List<SeededFlight> seedSchedule(int airports, int flights, Random random) {
+        airlineService.save(new AirlineSaveRequest("Load Test Airlines", AIRLINE_CODE));
+        StringBuilder schedule = new StringBuilder();
+        for (int i = 0; i < airports; i++) {
+            appendAirport(schedule, airportCode(i), location(i));
+        }
+        for (int i = 0; i < flights; i++) {
+            int departure = random.nextInt(airports);
+            int arrival = (departure + 1 + random.nextInt(airports - 1)) % airports;
+            LocalDate date = FIRST_DATE.plusDays(i % 30);
+            int hour = (i / 30) % 20;
+            appendFlight(schedule, airportCode(departure), airportCode(arrival), date, hour, 180);
+        }
+        importSchedule(schedule);
+        return jdbcTemplate.query("SELECT flight_id, departure_location, arrival_location, departure_date " +
+                        "FROM flight_search WHERE airline_code = ? AND departure_airport_code LIKE 'L%'",
+                (rs, rowNum) -> new SeededFlight(rs.getLong(1), rs.getString(2), rs.getString(3),
+                        rs.getObject(4, LocalDate.class)),
+                AIRLINE_CODE);
+    }
+
+    /**
+     * Seeds one more flight between two airports of its own, so a workload can be checked in isolation.
+     *
+     * @return The ID of the flight.
+     */
+    long seedFlight(int capacity) {
+        String departure = "S" + String.format("%02d", specialAirports++);
+        String arrival = "S" + String.format("%02d", specialAirports++);
+        StringBuilder schedule = new StringBuilder();
+        appendAirport(schedule, departure, "Special " + departure);
+        appendAirport(schedule, arrival, "Special " + arrival);
+        appendFlight(schedule, departure, arrival, FIRST_DATE, 12, capacity);
+        importSchedule(schedule);
+        return jdbcTemplate.queryForObject(
+                "SELECT flight_id FROM flight_search WHERE departure_airport_code = ?", Long.class, departure);
+    }
+
+    private void importSchedule(StringBuilder schedule) {
+        scheduleImportService.importSchedule(
+                new ByteArrayInputStream(schedule.toString().getBytes(StandardCharsets.UTF_8)),
+                ScheduleImportFormat.NDJSON);
+    }
+
+    private static void appendAirport(StringBuilder schedule, String code, String location) {
+        schedule.append("{\"type\":\"airport\",\"code\":\"").append(code)
+                .append("\",\"name\":\"").append(location).append(" Airport\",\"location\":\"")
+                .append(location).append("\"}\n");
+    }
+
+    private static void appendFlight(StringBuilder schedule, String departure, String arrival, LocalDate date,
+                                     int hour, int capacity) {
+        String departureTime = String.format("%02d:00", hour);
+        String arrivalTime = String.format("%02d:30", hour + 2);
+        schedule.append("{\"type\":\"route\",\"departureAirportCode\":\"").append(departure)
+                .append("\",\"arrivalAirportCode\":\"").append(arrival)
+                .append("\",\"departureDate\":\"").append(date).append("\",\"departureTime\":\"").append(departureTime)
+                .append("\",\"arrivalDate\":\"").append(date).append("\",\"arrivalTime\":\"").append(arrivalTime)
+                .append("\"}\n");
+        schedule.append("{\"type\":\"flight\",\"airlineCode\":\"").append(AIRLINE_CODE)
+                .append("\",\"departureAirportCode\":\"").append(departure)
+                .append("\",\"arrivalAirportCode\":\"").append(arrival)
+                .append("\",\"departureDate\":\"").append(date).append("\",\"departureTime\":\"").append(departureTime)
+                .append("\",\"capacity\":").append(capacity).append(",\"ticketBasePrice\":100}\n");
+    }
+
+    private static String airportCode(int index) {
+        return "L" + (char) ('A' + index / 26 % 26) + (char) ('A' + index % 26);
+    }
+
+    private static String location(int index) {
+        return "Loadville " + index;
+    }
+
+    record SeededFlight(long flightId, String departureLocation, String arrivalLocation, LocalDate departureDate) {
+    }
+}
@@ -0,0 +1,74 @@
+package io.upschool.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * What one workload did: how many requests it sent, how they were answered, how long they took from
+ * the time they were meant to start, and which invariants were broken afterwards.
+ */
+final class WorkloadResult {
+    private final String name;
+    private final Duration elapsed;
+    private final long sent;
+    private final long errors;
+    private final long successfulSeats;
+    private final Map<Integer, Long> statusCounts;
+    private final Histogram latencyMicros;
+    private final List<String> violations = new ArrayList<>();
+
+    WorkloadResult(String name, Duration elapsed, long sent, long errors, long successfulSeats,
+                   Map<Integer, Long> statusCounts, Histogram latencyMicros) {
+        this.name = name;
+        this.elapsed = elapsed;
+        this.sent = sent;
+        this.errors = errors;
+        this.successfulSeats = successfulSeats;
+        this.statusCounts = new TreeMap<>(statusCounts);
+        this.latencyMicros = latencyMicros;
+    }
+
+    void addViolations(List<String> newViolations) {
+        violations.addAll(newViolations);
+    }
+
+    long getSuccessfulSeats() {
+        return successfulSeats;
+    }
+
+    List<String> getViolations() {
+        return violations;
+    }
+
+    String format() {
+        double seconds = Math.max(elapsed.toMillis(), 1) / 1000.0;
+        long completed = latencyMicros.getTotalCount();
+        StringBuilder report = new StringBuilder();
+        report.append("== ").append(name).append(" ==\n");
+        report.append(String.format("  requests     %d sent, %d completed, %d failed without a response, in %.1f s%n",
+                sent, completed, errors, seconds));
+        report.append(String.format("  throughput   %.1f responses/s%n", completed / seconds));
+        report.append("  statuses    ");
+        statusCounts.forEach((status, count) -> report.append(' ').append(status).append('=').append(count));
+        report.append('\n');
+        report.append(String.format("  latency ms   p50 %.2f  p99 %.2f  p99.9 %.2f  max %.2f%n",
+                percentileMillis(50), percentileMillis(99), percentileMillis(99.9),
+                latencyMicros.getMaxValue() / 1000.0));
+        if (violations.isEmpty()) {
+            report.append("  invariants   ok\n");
+        } else {
+            report.append("  invariants   ").append(violations.size()).append(" violated\n");
+            violations.forEach(violation -> report.append("    - ").append(violation).append('\n'));
+        }
+        return report.toString();
+    }
+
+    private double percentileMillis(double percentile) {
+        return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
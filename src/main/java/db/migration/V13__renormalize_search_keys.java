@@ -0,0 +1,67 @@
+package db.migration;
+
+import io.upschool.ticketBooking.utils.SearchKeyUtils;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+
+/**
+ * Recomputes the normalized search columns with {@link SearchKeyUtils#normalize}, which every write
+ * uses. V2 and V6 filled them with SQL LOWER(TRIM(...)), which lower-cases some non-ASCII letters
+ * differently from Java's Locale.ROOT rules, such as the Turkish dotted capital I, and trims only
+ * spaces; rows written before those migrations could then miss searches that newer rows match.
+ * Only rows whose keys differ are updated.
+ */
+public class V13__renormalize_search_keys extends BaseJavaMigration {
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        renormalize(connection, "airports", "airport_id", "airport_name", "airport_code", "airport_location");
+        renormalize(connection, "airlines", "airline_id", "airline_name", "airline_code");
+        renormalize(connection, "flight_search", "flight_id", "departure_location", "arrival_location");
+    }
+
+    private static void renormalize(Connection connection, String table, String idColumn, String... columns)
+            throws SQLException {
+        StringBuilder select = new StringBuilder("SELECT ").append(idColumn);
+        StringBuilder update = new StringBuilder("UPDATE ").append(table).append(" SET ");
+        for (int i = 0; i < columns.length; i++) {
+            select.append(", ").append(columns[i]).append(", ").append(columns[i]).append("_normalized");
+            update.append(i == 0 ? "" : ", ").append(columns[i]).append("_normalized = ?");
+        }
+        select.append(" FROM ").append(table);
+        update.append(" WHERE ").append(idColumn).append(" = ?");
+
+        try (Statement query = connection.createStatement();
+             ResultSet rows = query.executeQuery(select.toString());
+             PreparedStatement statement = connection.prepareStatement(update.toString())) {
+            int batched = 0;
+            while (rows.next()) {
+                boolean changed = false;
+                for (int i = 0; i < columns.length; i++) {
+                    String normalized = SearchKeyUtils.normalize(rows.getString(2 + 2 * i));
+                    changed |= !Objects.equals(normalized, rows.getString(3 + 2 * i));
+                    statement.setString(i + 1, normalized);
+                }
+                if (changed) {
+                    statement.setLong(columns.length + 1, rows.getLong(1));
+                    statement.addBatch();
+                    if (++batched % BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+            }
+            if (batched % BATCH_SIZE != 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+}
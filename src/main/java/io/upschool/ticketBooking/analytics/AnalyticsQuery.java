@@ -0,0 +1,130 @@
+package io.upschool.ticketBooking.analytics;
+
+import io.upschool.ticketBooking.enums.AnalyticsDimension;
+import io.upschool.ticketBooking.exception.AnalyticsQueryException;
+
+import java.util.Set;
+
+/**
+ * A compiled analytics query against one snapshot: the filters resolved to dictionary indexes and
+ * the group-by dimensions packed into a single long key per ticket.
+ * Key layout, high to low bits: airline (19), route (24), departure day offset (17), ticket class (3).
+ */
+public final class AnalyticsQuery {
+    private static final int CLASS_BITS = 3;
+    private static final int DAY_BITS = 17;
+    private static final int ROUTE_BITS = 24;
+    private static final int AIRLINE_BITS = 19;
+    private static final int DAY_SHIFT = CLASS_BITS;
+    private static final int ROUTE_SHIFT = DAY_SHIFT + DAY_BITS;
+    private static final int AIRLINE_SHIFT = ROUTE_SHIFT + ROUTE_BITS;
+    public static final int ANY = -2;
+
+    private final TicketSnapshot snapshot;
+    private final boolean byAirline;
+    private final boolean byRoute;
+    private final boolean byDepartureDate;
+    private final boolean byTicketClass;
+    private final int airlineIndex;
+    private final int routeIndex;
+    private final int ticketClassOrdinal;
+    private final int fromDay;
+    private final int toDay;
+    private final boolean includeCancelled;
+
+    /**
+     * @param airlineIndex       The airline dictionary index to filter on, or {@link #ANY}.
+     * @param routeIndex         The route dictionary index to filter on, or {@link #ANY}.
+     * @param ticketClassOrdinal The ticket class ordinal to filter on, or {@link #ANY}.
+     * @param fromDay            The first departure epoch day included.
+     * @param toDay              The last departure epoch day included.
+     */
+    public AnalyticsQuery(TicketSnapshot snapshot, Set<AnalyticsDimension> groupBy,
+                          int airlineIndex, int routeIndex, int ticketClassOrdinal,
+                          int fromDay, int toDay, boolean includeCancelled) {
+        if (snapshot.getAirlineIds().length >= 1 << AIRLINE_BITS
+                || snapshot.getRouteIds().length >= 1 << ROUTE_BITS) {
+            throw new AnalyticsQueryException("Too many airlines or routes to group in one key.");
+        }
+        this.snapshot = snapshot;
+        this.byAirline = groupBy.contains(AnalyticsDimension.AIRLINE);
+        this.byRoute = groupBy.contains(AnalyticsDimension.ROUTE);
+        this.byDepartureDate = groupBy.contains(AnalyticsDimension.DEPARTURE_DATE);
+        this.byTicketClass = groupBy.contains(AnalyticsDimension.TICKET_CLASS);
+        this.airlineIndex = airlineIndex;
+        this.routeIndex = routeIndex;
+        this.ticketClassOrdinal = ticketClassOrdinal;
+        this.fromDay = fromDay;
+        this.toDay = toDay;
+        this.includeCancelled = includeCancelled;
+    }
+
+    public TicketSnapshot snapshot() {
+        return snapshot;
+    }
+
+    boolean matches(int ticket) {
+        if (!includeCancelled && snapshot.getTicketCancelled()[ticket]) {
+            return false;
+        }
+        int flight = snapshot.getTicketFlight()[ticket];
+        int day = snapshot.getFlightDepartureDay()[flight];
+        return day >= fromDay && day <= toDay
+                && (airlineIndex == ANY || snapshot.getFlightAirline()[flight] == airlineIndex)
+                && (routeIndex == ANY || snapshot.getFlightRoute()[flight] == routeIndex)
+                && (ticketClassOrdinal == ANY || snapshot.getTicketClass()[ticket] == ticketClassOrdinal);
+    }
+
+    long keyOf(int ticket) {
+        int flight = snapshot.getTicketFlight()[ticket];
+        long key = 0;
+        if (byAirline) {
+            key |= (long) snapshot.getFlightAirline()[flight] << AIRLINE_SHIFT;
+        }
+        if (byRoute) {
+            key |= (long) snapshot.getFlightRoute()[flight] << ROUTE_SHIFT;
+        }
+        if (byDepartureDate) {
+            key |= (long) (snapshot.getFlightDepartureDay()[flight] - snapshot.getMinDepartureDay()) << DAY_SHIFT;
+        }
+        if (byTicketClass) {
+            key |= snapshot.getTicketClass()[ticket] + 1;
+        }
+        return key;
+    }
+
+    public boolean groupsByAirline() {
+        return byAirline;
+    }
+
+    public boolean groupsByRoute() {
+        return byRoute;
+    }
+
+    public boolean groupsByDepartureDate() {
+        return byDepartureDate;
+    }
+
+    public boolean groupsByTicketClass() {
+        return byTicketClass;
+    }
+
+    public int airlineOf(long key) {
+        return (int) (key >>> AIRLINE_SHIFT);
+    }
+
+    public int routeOf(long key) {
+        return (int) (key >>> ROUTE_SHIFT) & ((1 << ROUTE_BITS) - 1);
+    }
+
+    public int departureDayOf(long key) {
+        return ((int) (key >>> DAY_SHIFT) & ((1 << DAY_BITS) - 1)) + snapshot.getMinDepartureDay();
+    }
+
+    /**
+     * Returns the ticket class ordinal of a key, or -1 for tickets without a class.
+     */
+    public int ticketClassOf(long key) {
+        return (int) (key & ((1 << CLASS_BITS) - 1)) - 1;
+    }
+}
@@ -0,0 +1,105 @@
+package io.upschool.ticketBooking.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Sums of tickets, passengers and revenue per group key, in an open-addressing hash table over
+ * primitive arrays so that scanning a ticket allocates nothing. Keys must be non-negative.
+ */
+public final class GroupAccumulator {
+    private static final long EMPTY = -1L;
+
+    private long[] keys;
+    private long[] tickets;
+    private long[] passengers;
+    private long[] revenueCents;
+    private int size;
+
+    public GroupAccumulator() {
+        allocate(64);
+    }
+
+    public void add(long key, long ticketCount, long passengerCount, long revenue) {
+        int slot = slotOf(key);
+        boolean inserted = keys[slot] == EMPTY;
+        if (inserted) {
+            keys[slot] = key;
+        }
+        tickets[slot] += ticketCount;
+        passengers[slot] += passengerCount;
+        revenueCents[slot] += revenue;
+        if (inserted && ++size * 2 > keys.length) {
+            rehash();
+        }
+    }
+
+    public GroupAccumulator merge(GroupAccumulator other) {
+        for (int slot = 0; slot < other.keys.length; slot++) {
+            if (other.keys[slot] != EMPTY) {
+                add(other.keys[slot], other.tickets[slot], other.passengers[slot], other.revenueCents[slot]);
+            }
+        }
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Calls the visitor once per group.
+     */
+    public void forEach(GroupVisitor visitor) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                visitor.visit(keys[slot], tickets[slot], passengers[slot], revenueCents[slot]);
+            }
+        }
+    }
+
+    private int slotOf(long key) {
+        int mask = keys.length - 1;
+        int slot = (int) mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        long[] oldTickets = tickets;
+        long[] oldPassengers = passengers;
+        long[] oldRevenue = revenueCents;
+        allocate(oldKeys.length * 2);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                int newSlot = slotOf(oldKeys[slot]);
+                keys[newSlot] = oldKeys[slot];
+                tickets[newSlot] = oldTickets[slot];
+                passengers[newSlot] = oldPassengers[slot];
+                revenueCents[newSlot] = oldRevenue[slot];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        tickets = new long[capacity];
+        passengers = new long[capacity];
+        revenueCents = new long[capacity];
+    }
+
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    @FunctionalInterface
+    public interface GroupVisitor {
+        void visit(long key, long tickets, long passengers, long revenueCents);
+    }
+}
@@ -0,0 +1,50 @@
+package io.upschool.ticketBooking.analytics;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Scans a range of the snapshot, splitting it in halves until ranges are small enough to scan
+ * on one thread, then merges the partial groups on the way back up.
+ */
+public class GroupByTask extends RecursiveTask<GroupAccumulator> {
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 16;
+
+    private final AnalyticsQuery query;
+    private final int from;
+    private final int to;
+
+    public GroupByTask(AnalyticsQuery query) {
+        this(query, 0, query.snapshot().getTicketCount());
+    }
+
+    private GroupByTask(AnalyticsQuery query, int from, int to) {
+        this.query = query;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected GroupAccumulator compute() {
+        if (to - from <= SEQUENTIAL_THRESHOLD) {
+            return scan();
+        }
+        int middle = (from + to) >>> 1;
+        GroupByTask left = new GroupByTask(query, from, middle);
+        left.fork();
+        GroupAccumulator right = new GroupByTask(query, middle, to).compute();
+        return left.join().merge(right);
+    }
+
+    private GroupAccumulator scan() {
+        TicketSnapshot snapshot = query.snapshot();
+        short[] passengers = snapshot.getTicketPassengers();
+        long[] revenueCents = snapshot.getTicketRevenueCents();
+        GroupAccumulator accumulator = new GroupAccumulator();
+        for (int ticket = from; ticket < to; ticket++) {
+            if (query.matches(ticket)) {
+                accumulator.add(query.keyOf(ticket), 1, passengers[ticket], revenueCents[ticket]);
+            }
+        }
+        return accumulator;
+    }
+}
@@ -0,0 +1,164 @@
+package io.upschool.ticketBooking.analytics;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, column-oriented copy of the ticket history held in primitive arrays.
+ * Tickets reference their flight by index; flights reference dictionary-encoded airlines and routes,
+ * so a ticket costs 16 bytes and 50M tickets fit in well under a gigabyte.
+ */
+@Getter
+public final class TicketSnapshot {
+    static final byte NO_TICKET_CLASS = -1;
+
+    private final Date takenAt;
+    private final int ticketCount;
+    private final int[] ticketFlight;
+    private final byte[] ticketClass;
+    private final boolean[] ticketCancelled;
+    private final short[] ticketPassengers;
+    private final long[] ticketRevenueCents;
+
+    private final int[] flightAirline;
+    private final int[] flightRoute;
+    private final int[] flightDepartureDay;
+    private final int minDepartureDay;
+
+    private final long[] airlineIds;
+    private final String[] airlineCodes;
+    private final long[] routeIds;
+    private final String[] routeLabels;
+    private final Map<Long, Integer> airlineIndexes;
+    private final Map<Long, Integer> routeIndexes;
+
+    private TicketSnapshot(Builder builder) {
+        this.takenAt = new Date();
+        this.ticketCount = builder.ticketCount;
+        this.ticketFlight = Arrays.copyOf(builder.ticketFlight, ticketCount);
+        this.ticketClass = Arrays.copyOf(builder.ticketClass, ticketCount);
+        this.ticketCancelled = Arrays.copyOf(builder.ticketCancelled, ticketCount);
+        this.ticketPassengers = Arrays.copyOf(builder.ticketPassengers, ticketCount);
+        this.ticketRevenueCents = Arrays.copyOf(builder.ticketRevenueCents, ticketCount);
+        int flightCount = builder.flightCount;
+        this.flightAirline = Arrays.copyOf(builder.flightAirline, flightCount);
+        this.flightRoute = Arrays.copyOf(builder.flightRoute, flightCount);
+        this.flightDepartureDay = Arrays.copyOf(builder.flightDepartureDay, flightCount);
+        this.minDepartureDay = Arrays.stream(flightDepartureDay).min().orElse(0);
+        this.airlineIds = builder.airlineIds.stream().mapToLong(Long::longValue).toArray();
+        this.airlineCodes = builder.airlineCodes.toArray(new String[0]);
+        this.routeIds = builder.routeIds.stream().mapToLong(Long::longValue).toArray();
+        this.routeLabels = builder.routeLabels.toArray(new String[0]);
+        this.airlineIndexes = Map.copyOf(builder.airlineIndexes);
+        this.routeIndexes = Map.copyOf(builder.routeIndexes);
+    }
+
+    /**
+     * Returns the dictionary index of an airline, or -1 if the snapshot holds none of its flights.
+     */
+    public int airlineIndexOf(long airlineId) {
+        return airlineIndexes.getOrDefault(airlineId, -1);
+    }
+
+    /**
+     * Returns the dictionary index of a route, or -1 if the snapshot holds none of its flights.
+     */
+    public int routeIndexOf(long routeId) {
+        return routeIndexes.getOrDefault(routeId, -1);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Accumulates flights first, then tickets, growing the column arrays as rows arrive.
+     * Not thread-safe.
+     */
+    public static final class Builder {
+        private static final int INITIAL_CAPACITY = 1 << 12;
+
+        private final Map<Long, Integer> flightIndexes = new HashMap<>();
+        private final Map<Long, Integer> airlineIndexes = new HashMap<>();
+        private final Map<Long, Integer> routeIndexes = new HashMap<>();
+        private final List<Long> airlineIds = new ArrayList<>();
+        private final List<String> airlineCodes = new ArrayList<>();
+        private final List<Long> routeIds = new ArrayList<>();
+        private final List<String> routeLabels = new ArrayList<>();
+
+        private int flightCount;
+        private int[] flightAirline = new int[INITIAL_CAPACITY];
+        private int[] flightRoute = new int[INITIAL_CAPACITY];
+        private int[] flightDepartureDay = new int[INITIAL_CAPACITY];
+
+        private int ticketCount;
+        private int[] ticketFlight = new int[INITIAL_CAPACITY];
+        private byte[] ticketClass = new byte[INITIAL_CAPACITY];
+        private boolean[] ticketCancelled = new boolean[INITIAL_CAPACITY];
+        private short[] ticketPassengers = new short[INITIAL_CAPACITY];
+        private long[] ticketRevenueCents = new long[INITIAL_CAPACITY];
+
+        private Builder() {
+        }
+
+        public void addFlight(long flightId, long airlineId, String airlineCode,
+                              long routeId, String routeLabel, int departureEpochDay) {
+            if (flightCount == flightAirline.length) {
+                int capacity = flightCount * 2;
+                flightAirline = Arrays.copyOf(flightAirline, capacity);
+                flightRoute = Arrays.copyOf(flightRoute, capacity);
+                flightDepartureDay = Arrays.copyOf(flightDepartureDay, capacity);
+            }
+            flightAirline[flightCount] = airlineIndexes.computeIfAbsent(airlineId, id -> {
+                airlineIds.add(id);
+                airlineCodes.add(airlineCode);
+                return airlineIds.size() - 1;
+            });
+            flightRoute[flightCount] = routeIndexes.computeIfAbsent(routeId, id -> {
+                routeIds.add(id);
+                routeLabels.add(routeLabel);
+                return routeIds.size() - 1;
+            });
+            flightDepartureDay[flightCount] = departureEpochDay;
+            flightIndexes.put(flightId, flightCount++);
+        }
+
+        /**
+         * Adds a ticket of a previously added flight; tickets of unknown flights are ignored.
+         *
+         * @return true if the ticket was added.
+         */
+        public boolean addTicket(long flightId, byte ticketClassOrdinal, boolean cancelled,
+                                 int passengers, long revenueCents) {
+            Integer flightIndex = flightIndexes.get(flightId);
+            if (flightIndex == null) {
+                return false;
+            }
+            if (ticketCount == ticketFlight.length) {
+                int capacity = ticketCount + (ticketCount >> 1);
+                ticketFlight = Arrays.copyOf(ticketFlight, capacity);
+                ticketClass = Arrays.copyOf(ticketClass, capacity);
+                ticketCancelled = Arrays.copyOf(ticketCancelled, capacity);
+                ticketPassengers = Arrays.copyOf(ticketPassengers, capacity);
+                ticketRevenueCents = Arrays.copyOf(ticketRevenueCents, capacity);
+            }
+            ticketFlight[ticketCount] = flightIndex;
+            ticketClass[ticketCount] = ticketClassOrdinal;
+            ticketCancelled[ticketCount] = cancelled;
+            ticketPassengers[ticketCount] = (short) passengers;
+            ticketRevenueCents[ticketCount] = revenueCents;
+            ticketCount++;
+            return true;
+        }
+
+        public TicketSnapshot build() {
+            return new TicketSnapshot(this);
+        }
+    }
+}
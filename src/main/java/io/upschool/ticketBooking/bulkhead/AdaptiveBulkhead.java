@@ -0,0 +1,136 @@
+package io.upschool.ticketBooking.bulkhead;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrency limit that adapts to latency in the style of a gradient limiter: it compares the
+ * recent request latency with a slowly moving long-term average and shrinks the limit when requests
+ * start queueing behind each other, and grows it while latency stays flat. Requests over the limit
+ * are refused immediately instead of waiting, so a saturated bulkhead sheds load in constant time.
+ */
+public final class AdaptiveBulkhead {
+    private static final double LATENCY_TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double LONG_TERM_WEIGHT = 1.0 / 600;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+
+    private final Object sampleLock = new Object();
+    private final int windowSize;
+    private double estimatedLimit;
+    private double longTermRttNanos;
+    private long windowRttNanos;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    /**
+     * @param name         The name of the bulkhead, used in metrics.
+     * @param initialLimit The limit used until enough latency samples have been seen.
+     * @param minLimit     The limit never drops below this.
+     * @param maxLimit     The limit never grows above this.
+     * @param windowSize   The number of samples averaged before the limit is recalculated.
+     */
+    public AdaptiveBulkhead(String name, int initialLimit, int minLimit, int maxLimit, int windowSize) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Bulkhead " + name + " needs 1 <= min <= initial <= max.");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowSize = windowSize;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * Takes a slot if the bulkhead is below its limit.
+     *
+     * @return true if the request may proceed, in which case {@link #release(long)} must follow.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back a slot and feeds the request latency into the limit.
+     *
+     * @param rttNanos The time the request held its slot, or a negative value if the request should
+     *                 not be sampled, such as a long-running stream.
+     */
+    public void release(long rttNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (rttNanos >= 0) {
+            addSample(rttNanos, inFlightBefore);
+        }
+    }
+
+    private void addSample(long rttNanos, int inFlightBefore) {
+        synchronized (sampleLock) {
+            windowRttNanos += rttNanos;
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlightBefore);
+            if (++windowSamples < windowSize) {
+                return;
+            }
+            double shortTermRtt = (double) windowRttNanos / windowSamples;
+            boolean appLimited = windowMaxInFlight < estimatedLimit / 2;
+            windowRttNanos = 0;
+            windowSamples = 0;
+            windowMaxInFlight = 0;
+
+            if (longTermRttNanos == 0) {
+                longTermRttNanos = shortTermRtt;
+            } else {
+                longTermRttNanos += (shortTermRtt - longTermRttNanos) * LONG_TERM_WEIGHT;
+                if (longTermRttNanos > shortTermRtt * 2) {
+                    // Latency dropped for good; let the long-term average catch up quickly.
+                    longTermRttNanos = shortTermRtt * 2;
+                }
+            }
+            if (appLimited) {
+                // Too few requests to tell whether a higher limit would hurt latency.
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, LATENCY_TOLERANCE * longTermRttNanos / shortTermRtt));
+            double queueAllowance = Math.sqrt(estimatedLimit);
+            double newLimit = estimatedLimit * gradient + queueAllowance;
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                    estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+            limit = (int) estimatedLimit;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,253 @@
+package io.upschool.ticketBooking.bulkhead;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.upschool.ticketBooking.dto.BaseResponse;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs reads (GET requests to the API) and ticket writes (purchase, check-in, cancel, gate close)
+ * in separate adaptive bulkheads, so a burst of searches can hold at most the read bulkhead's
+ * share of servlet threads and database connections while purchases keep their own. Requests
+ * over a bulkhead's current limit are answered with 503 straight away. Any other request is not
+ * limited here. The limits, in-flight counts and rejections are published as metrics.
+ * <p>
+ * The maximum limits are capped by the connection pools: writes never exceed the primary pool, and
+ * reads never exceed the replica pool or, without a replica, the primary pool less the connections
+ * reserved for writes. A full read bulkhead therefore leaves those connections free for purchases.
+ * <p>
+ * Streaming reads (ticket export, passenger manifests and the reactive search streams) keep their
+ * slot until the response completes, which can take minutes, so they run in a small bulkhead of their
+ * own with a fixed limit instead of occupying read slots. Its slots are taken from the read
+ * connections, so the read bulkhead's cap is lowered by the stream limit.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class BulkheadFilter extends OncePerRequestFilter implements MeterBinder {
+    private static final List<String> WRITE_PATHS = List.of(
+            "/api/tickets/purchase",
+            "/api/tickets/check-in/*",
+            "/api/tickets/cancel/*",
+            "/api/flights/*/check-in",
+            "/api/flights/*/gate-close");
+    private static final List<String> STREAM_PATHS = List.of(
+            "/api/tickets/export",
+            "/api/flights/*/manifest",
+            "/api/reactive/**");
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private final boolean enabled;
+    private final AdaptiveBulkhead readBulkhead;
+    private final AdaptiveBulkhead writeBulkhead;
+    private final AdaptiveBulkhead streamBulkhead;
+    private final ObjectMapper objectMapper;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    public BulkheadFilter(ObjectMapper objectMapper,
+                          @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                          @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replicaDataSource,
+                          @Value("${booking.bulkhead.enabled:true}") boolean enabled,
+                          @Value("${booking.bulkhead.read.initial-limit:20}") int readInitialLimit,
+                          @Value("${booking.bulkhead.read.min-limit:4}") int readMinLimit,
+                          @Value("${booking.bulkhead.read.max-limit:120}") int readMaxLimit,
+                          @Value("${booking.bulkhead.write.initial-limit:20}") int writeInitialLimit,
+                          @Value("${booking.bulkhead.write.min-limit:4}") int writeMinLimit,
+                          @Value("${booking.bulkhead.write.max-limit:60}") int writeMaxLimit,
+                          @Value("${booking.bulkhead.write.reserved-connections:4}") int reservedWriteConnections,
+                          @Value("${booking.bulkhead.stream.limit:2}") int streamLimit,
+                          @Value("${booking.bulkhead.window-size:50}") int windowSize) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        int writeConnections = getPoolSize(primaryDataSource);
+        HikariDataSource replica = replicaDataSource.getIfAvailable();
+        int readConnections = replica != null
+                ? getPoolSize(replica)
+                : writeConnections - reservedWriteConnections;
+        if (readConnections < 1) {
+            throw new IllegalStateException("booking.bulkhead.write.reserved-connections (" + reservedWriteConnections +
+                    ") leaves no connections of the primary pool (" + writeConnections + ") for reads.");
+        }
+        if (streamLimit < 1 || streamLimit >= readConnections) {
+            throw new IllegalStateException("booking.bulkhead.stream.limit (" + streamLimit + ") must be at least 1 " +
+                    "and leave some of the " + readConnections + " read connections for other reads.");
+        }
+        this.streamBulkhead = new AdaptiveBulkhead("stream", streamLimit, streamLimit, streamLimit, windowSize);
+        this.readBulkhead = createBulkhead("read", readInitialLimit, readMinLimit, readMaxLimit,
+                readConnections - streamLimit, windowSize);
+        this.writeBulkhead = createBulkhead("write", writeInitialLimit, writeMinLimit, writeMaxLimit, writeConnections, windowSize);
+    }
+
+    private static int getPoolSize(HikariDataSource dataSource) {
+        // An unset size reads as -1 until the pool starts, which then applies Hikari's default.
+        int maximumPoolSize = dataSource.getMaximumPoolSize();
+        return maximumPoolSize > 0 ? maximumPoolSize : DEFAULT_POOL_SIZE;
+    }
+
+    private static AdaptiveBulkhead createBulkhead(String name, int initialLimit, int minLimit, int maxLimit,
+                                                   int connections, int windowSize) {
+        if (maxLimit > connections) {
+            log.info("Capping the {} bulkhead's max-limit of {} at the {} connections it can use", name, maxLimit,
+                    connections);
+            maxLimit = connections;
+        }
+        return new AdaptiveBulkhead(name, Math.min(initialLimit, maxLimit), Math.min(minLimit, maxLimit), maxLimit,
+                windowSize);
+    }
+
+    AdaptiveBulkhead getReadBulkhead() {
+        return readBulkhead;
+    }
+
+    AdaptiveBulkhead getWriteBulkhead() {
+        return writeBulkhead;
+    }
+
+    AdaptiveBulkhead getStreamBulkhead() {
+        return streamBulkhead;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (AdaptiveBulkhead bulkhead : List.of(readBulkhead, writeBulkhead, streamBulkhead)) {
+            Gauge.builder("booking.bulkhead.limit", bulkhead, AdaptiveBulkhead::getLimit)
+                    .tag("bulkhead", bulkhead.getName())
+                    .description("Current adaptive concurrency limit")
+                    .register(registry);
+            Gauge.builder("booking.bulkhead.in.flight", bulkhead, AdaptiveBulkhead::getInFlight)
+                    .tag("bulkhead", bulkhead.getName())
+                    .description("Requests currently holding a slot")
+                    .register(registry);
+            FunctionCounter.builder("booking.bulkhead.rejected", bulkhead, AdaptiveBulkhead::getRejected)
+                    .tag("bulkhead", bulkhead.getName())
+                    .description("Requests refused because the bulkhead was at its limit")
+                    .register(registry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || selectBulkhead(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdaptiveBulkhead bulkhead = selectBulkhead(request);
+        if (!bulkhead.tryAcquire()) {
+            writeRejection(response, bulkhead);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                async = true;
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(bulkhead));
+            }
+        } finally {
+            if (!async) {
+                bulkhead.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    AdaptiveBulkhead selectBulkhead(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith("/api/")) {
+            return null;
+        }
+        if (HttpMethod.GET.matches(request.getMethod())) {
+            return matches(STREAM_PATHS, path) ? streamBulkhead : readBulkhead;
+        }
+        if (HttpMethod.POST.matches(request.getMethod())
+                && matches(WRITE_PATHS, path)) {
+            return writeBulkhead;
+        }
+        return null;
+    }
+
+    private boolean matches(List<String> patterns, String path) {
+        return patterns.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    private void writeRejection(HttpServletResponse response, AdaptiveBulkhead bulkhead) throws IOException {
+        BaseResponse<?> body = BaseResponse.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .isSuccess(false)
+                .errorMessage("The service is busy, please retry shortly.")
+                .build();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setHeader("X-Bulkhead", bulkhead.getName());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Keeps the slot of a streaming or otherwise asynchronous request until the response completes.
+     * Such requests are not sampled, since their duration says nothing about queueing.
+     */
+    private static final class ReleasingAsyncListener implements AsyncListener {
+        private final AdaptiveBulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleasingAsyncListener(AdaptiveBulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.release(-1);
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.upschool.ticketBooking.cache;
+
+import io.upschool.ticketBooking.enums.ChangedEntityType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evicts the entries of this instance's caches that a change to an airport, airline, route or
+ * flight can make stale. Search results are cleared as a whole, since any search key may match
+ * the changed entity.
+ * <p>
+ * A read that started before the eviction, or that was served by a replica still behind the change,
+ * can put the old value back right after it. Every eviction is therefore repeated once the replica lag
+ * and one change log poll interval have passed; the change log tail applies the repeats on each poll.
+ */
+@Component
+public class CacheInvalidator {
+    private final CacheManager cacheManager;
+    private final long repeatAfterNanos;
+    private final Map<Change, Long> repeatsDueAt = new ConcurrentHashMap<>();
+
+    public CacheInvalidator(CacheManager cacheManager,
+                            @Value("${booking.changelog.poll-interval:500}") long pollIntervalMillis,
+                            @Value("${booking.datasource.replica.max-lag:2s}") Duration replicaMaxLag) {
+        this.cacheManager = cacheManager;
+        this.repeatAfterNanos = Duration.ofMillis(pollIntervalMillis).plus(replicaMaxLag).toNanos();
+    }
+
+    /**
+     * Evicts the entries affected by a change now, and again once reads that raced the eviction
+     * have finished.
+     *
+     * @param entityType The type of the changed entity.
+     * @param entityId   The ID of the changed entity, or null if any entity of the type may have changed.
+     */
+    public void invalidate(ChangedEntityType entityType, Long entityId) {
+        evictAffected(entityType, entityId);
+        if (entityType != ChangedEntityType.FLIGHT) {
+            repeatsDueAt.put(new Change(entityType, entityId), System.nanoTime() + repeatAfterNanos);
+        }
+    }
+
+    /**
+     * Clears every cache, for changes whose type is not known.
+     */
+    public void invalidateAll() {
+        cacheManager.getCacheNames().forEach(this::clear);
+    }
+
+    /**
+     * Repeats the evictions that are due.
+     *
+     * @return The number of evictions repeated.
+     */
+    public int repeatDueEvictions() {
+        long now = System.nanoTime();
+        int repeated = 0;
+        for (Map.Entry<Change, Long> entry : repeatsDueAt.entrySet()) {
+            if (entry.getValue() - now <= 0 && repeatsDueAt.remove(entry.getKey(), entry.getValue())) {
+                evictAffected(entry.getKey().entityType(), entry.getKey().entityId());
+                repeated++;
+            }
+        }
+        return repeated;
+    }
+
+    private void evictAffected(ChangedEntityType entityType, Long entityId) {
+        switch (entityType) {
+            case AIRPORT -> {
+                evict(CacheNames.AIRPORT_DETAILS, entityId);
+                clear(CacheNames.AIRPORT_SEARCH);
+                clear(CacheNames.ROUTE_SEARCH);
+            }
+            case AIRLINE -> {
+                clear(CacheNames.AIRLINE_SEARCH);
+                clear(CacheNames.AIRPORT_DETAILS);
+            }
+            case ROUTE -> clear(CacheNames.ROUTE_SEARCH);
+            case FLIGHT -> {
+                // Flight reads carry live seat counts and come from flight_search, so none are cached.
+            }
+        }
+    }
+
+    private void evict(String cacheName, Long key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.clear();
+        } else {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private record Change(ChangedEntityType entityType, Long entityId) {
+    }
+}
@@ -0,0 +1,15 @@
+package io.upschool.ticketBooking.cache;
+
+/**
+ * Names of the node-local caches. They are created from spring.cache.cache-names, so a name added
+ * here must be listed there as well.
+ */
+public final class CacheNames {
+    public static final String AIRPORT_SEARCH = "airportSearch";
+    public static final String AIRPORT_DETAILS = "airportDetails";
+    public static final String AIRLINE_SEARCH = "airlineSearch";
+    public static final String ROUTE_SEARCH = "routeSearch";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,13 @@
+package io.upschool.ticketBooking.cache;
+
+import io.upschool.ticketBooking.enums.ChangedEntityType;
+
+/**
+ * One row of the change_log table.
+ *
+ * @param changeId   The position of the change in the log.
+ * @param entityType The type of the changed entity.
+ * @param entityId   The ID of the changed entity, or null for a bulk change.
+ */
+public record ChangeLogEntry(long changeId, ChangedEntityType entityType, Long entityId) {
+}
@@ -0,0 +1,101 @@
+package io.upschool.ticketBooking.cache;
+
+import io.upschool.ticketBooking.jfr.CacheLookupEvent;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Delegates to another cache and records each lookup as a {@link CacheLookupEvent}. Writes and
+ * evictions are passed through unrecorded.
+ */
+public class LookupRecordingCache implements Cache {
+    private final Cache target;
+
+    public LookupRecordingCache(Cache target) {
+        this.target = target;
+    }
+
+    public Cache getTarget() {
+        return target;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        ValueWrapper value = target.get(key);
+        commit(event, value != null);
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        T value = target.get(key, type);
+        commit(event, value != null);
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        boolean[] loaded = new boolean[1];
+        T value = target.get(key, () -> {
+            loaded[0] = true;
+            return valueLoader.call();
+        });
+        commit(event, !loaded[0]);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        target.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return target.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        target.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return target.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        target.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return target.invalidate();
+    }
+
+    private void commit(CacheLookupEvent event, boolean hit) {
+        if (event.shouldCommit()) {
+            event.cache = target.getName();
+            event.hit = hit;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package io.upschool.ticketBooking.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorates a cache manager so every cache it hands out records its lookups as JFR events. The
+ * caches themselves, and how they are configured, are left to the decorated manager.
+ */
+public class LookupRecordingCacheManager implements CacheManager {
+    private final CacheManager target;
+    private final Map<String, LookupRecordingCache> caches = new ConcurrentHashMap<>();
+
+    public LookupRecordingCacheManager(CacheManager target) {
+        this.target = target;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        LookupRecordingCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache targetCache = target.getCache(name);
+        if (targetCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> new LookupRecordingCache(targetCache));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return target.getCacheNames();
+    }
+}
@@ -0,0 +1,33 @@
+package io.upschool.ticketBooking.cli;
+
+import io.upschool.ticketBooking.service.FlightSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the flight_search read model from the command line and exits, for example:
+ * <pre>
+ * java -jar capstone-project.jar --rebuild-flight-search --spring.main.web-application-type=none
+ * </pre>
+ */
+@Component
+@RequiredArgsConstructor
+public class FlightSearchRebuildCommand implements ApplicationRunner {
+    private static final String REBUILD_OPTION = "rebuild-flight-search";
+
+    private final FlightSearchService flightSearchService;
+    private final ApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(REBUILD_OPTION)) {
+            return;
+        }
+        flightSearchService.rebuild();
+        System.exit(SpringApplication.exit(applicationContext, () -> 0));
+    }
+}
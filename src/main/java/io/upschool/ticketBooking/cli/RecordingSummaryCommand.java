@@ -0,0 +1,36 @@
+package io.upschool.ticketBooking.cli;
+
+import io.upschool.ticketBooking.jfr.RecordingSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Prints a summary of the booking events in a flight recording and exits, for example:
+ * <pre>
+ * java -jar capstone-project.jar --summarize-recording=booking.jfr --spring.main.web-application-type=none
+ * </pre>
+ */
+@Component
+@RequiredArgsConstructor
+public class RecordingSummaryCommand implements ApplicationRunner {
+    private static final String FILE_OPTION = "summarize-recording";
+
+    private final ApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (!args.containsOption(FILE_OPTION)) {
+            return;
+        }
+        RecordingSummary summary = RecordingSummary.of(Path.of(args.getOptionValues(FILE_OPTION).get(0)));
+        System.out.print(summary.format());
+        System.exit(SpringApplication.exit(applicationContext, () -> 0));
+    }
+}
@@ -0,0 +1,54 @@
+package io.upschool.ticketBooking.cli;
+
+import io.upschool.ticketBooking.dto.response.ScheduleImportResponse;
+import io.upschool.ticketBooking.enums.ScheduleImportFormat;
+import io.upschool.ticketBooking.service.ScheduleImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Imports a schedule file from the command line and exits, for example:
+ * <pre>
+ * java -jar capstone-project.jar --import-schedule=season.csv --spring.main.web-application-type=none
+ * </pre>
+ * The format is taken from --import-format, or from the file extension (.csv, otherwise JSON lines).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScheduleImportCommand implements ApplicationRunner {
+    private static final String FILE_OPTION = "import-schedule";
+    private static final String FORMAT_OPTION = "import-format";
+
+    private final ScheduleImportService scheduleImportService;
+    private final ApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (!args.containsOption(FILE_OPTION)) {
+            return;
+        }
+        Path file = Path.of(args.getOptionValues(FILE_OPTION).get(0));
+        ScheduleImportFormat format = args.containsOption(FORMAT_OPTION)
+                ? ScheduleImportFormat.fromValue(args.getOptionValues(FORMAT_OPTION).get(0))
+                : file.toString().toLowerCase().endsWith(".csv") ? ScheduleImportFormat.CSV : ScheduleImportFormat.NDJSON;
+        ScheduleImportResponse response;
+        try (InputStream input = Files.newInputStream(file)) {
+            response = scheduleImportService.importSchedule(input, format);
+        }
+        response.getErrors().forEach(error ->
+                log.warn("Line {}: {}", error.getLineNumber(), error.getMessage()));
+        int exitCode = response.getFailedRows() == 0 ? 0 : 1;
+        System.exit(SpringApplication.exit(applicationContext, () -> exitCode));
+    }
+}
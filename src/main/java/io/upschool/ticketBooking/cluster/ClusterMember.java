@@ -0,0 +1,10 @@
+package io.upschool.ticketBooking.cluster;
+
+/**
+ * A running instance of the application, as registered in the cluster_members table.
+ *
+ * @param nodeId  The instance's unique name.
+ * @param baseUrl The URL other instances reach it at, such as http://10.0.0.5:8080.
+ */
+public record ClusterMember(String nodeId, String baseUrl) {
+}
@@ -0,0 +1,150 @@
+package io.upschool.ticketBooking.cluster;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps this instance registered in the cluster_members table and tracks the other live members.
+ * Each member renews a lease on every heartbeat; a member that stops renewing drops out of the ring
+ * once its lease expires, and its flights pass to the remaining members. Lease times come from the
+ * database clock, so the members' own clocks do not need to agree. A member that shuts down cleanly
+ * removes itself straight away.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("booking.cluster.enabled")
+public class ClusterMembership implements ApplicationListener<WebServerInitializedEvent> {
+    private static final String RENEW_LEASE = "INSERT INTO cluster_members (node_id, base_url, joined_at, lease_expires_at) " +
+            "VALUES (?, ?, CURRENT_TIMESTAMP(3), TIMESTAMPADD(MICROSECOND, ?, CURRENT_TIMESTAMP(3))) " +
+            "ON DUPLICATE KEY UPDATE base_url = VALUES(base_url), lease_expires_at = VALUES(lease_expires_at)";
+    private static final String SELECT_LIVE_MEMBERS = "SELECT node_id, base_url FROM cluster_members " +
+            "WHERE lease_expires_at > CURRENT_TIMESTAMP(3) ORDER BY node_id";
+    private static final String DELETE_STALE_MEMBERS = "DELETE FROM cluster_members " +
+            "WHERE lease_expires_at < TIMESTAMPADD(HOUR, -1, CURRENT_TIMESTAMP(3))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+    private final String advertisedUrl;
+    private final Duration leaseDuration;
+    private final int pointsPerMember;
+    private volatile ClusterMember self;
+    private volatile HashRing ring = HashRing.empty();
+
+    public ClusterMembership(JdbcTemplate jdbcTemplate,
+                             @Value("${booking.cluster.node-id:}") String nodeId,
+                             @Value("${booking.cluster.advertised-url:}") String advertisedUrl,
+                             @Value("${booking.cluster.lease-duration:10s}") Duration leaseDuration,
+                             @Value("${booking.cluster.points-per-member:128}") int pointsPerMember) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.advertisedUrl = advertisedUrl;
+        this.leaseDuration = leaseDuration;
+        this.pointsPerMember = pointsPerMember;
+    }
+
+    /**
+     * Joins the cluster once the web server is listening, so peers can reach this member as soon as
+     * they see it.
+     */
+    @Override
+    public void onApplicationEvent(WebServerInitializedEvent event) {
+        if (event.getApplicationContext().getServerNamespace() != null) {
+            return;
+        }
+        String baseUrl = advertisedUrl.isBlank()
+                ? "http://" + getLocalAddress() + ":" + event.getWebServer().getPort()
+                : advertisedUrl;
+        self = new ClusterMember(nodeId, baseUrl);
+        jdbcTemplate.update(DELETE_STALE_MEMBERS);
+        heartbeat();
+        log.info("Joined the cluster as {} at {} with {} member(s)", nodeId, baseUrl, ring.getMembers().size());
+    }
+
+    /**
+     * Renews this member's lease and reloads the live members, rebuilding the ring when they changed.
+     */
+    @Scheduled(fixedDelayString = "${booking.cluster.heartbeat-interval:2000}")
+    public void heartbeat() {
+        ClusterMember member = self;
+        if (member == null) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(RENEW_LEASE, member.nodeId(), member.baseUrl(), leaseDuration.toNanos() / 1000);
+            List<ClusterMember> members = jdbcTemplate.query(SELECT_LIVE_MEMBERS,
+                    (rs, rowNum) -> new ClusterMember(rs.getString(1), rs.getString(2)));
+            if (!members.equals(ring.getMembers())) {
+                log.info("Cluster members changed to {}", members.stream().map(ClusterMember::nodeId).toList());
+                ring = HashRing.of(members, pointsPerMember);
+            }
+        } catch (DataAccessException e) {
+            // Keep the last known ring; ownership only decides where seat operations run, not whether they are safe.
+            log.warn("Could not renew the cluster lease of {}: {}", member.nodeId(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void leave() {
+        ClusterMember member = self;
+        if (member == null) {
+            return;
+        }
+        self = null;
+        try {
+            jdbcTemplate.update("DELETE FROM cluster_members WHERE node_id = ?", member.nodeId());
+        } catch (DataAccessException e) {
+            log.warn("Could not leave the cluster; the lease of {} will expire instead", member.nodeId());
+        }
+    }
+
+    /**
+     * Returns the member that owns a flight's seats.
+     *
+     * @param flightId The ID of the flight.
+     * @return The owner, or null if this member has not joined yet.
+     */
+    public ClusterMember getOwner(long flightId) {
+        return ring.ownerOf(flightId);
+    }
+
+    /**
+     * Tells whether this member owns a flight's seats, which it also does before it has joined.
+     *
+     * @param flightId The ID of the flight.
+     * @return true if seat operations on the flight should run here.
+     */
+    public boolean isOwner(long flightId) {
+        ClusterMember owner = ring.ownerOf(flightId);
+        return owner == null || owner.nodeId().equals(nodeId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public List<ClusterMember> getMembers() {
+        return ring.getMembers();
+    }
+
+    private static String getLocalAddress() {
+        try {
+            return InetAddress.getLocalHost().getHostAddress();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.upschool.ticketBooking.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Assigns each flight to one cluster member by consistent hashing. Every member is placed on the ring
+ * at a number of pseudo-random points, and a flight belongs to the member at the first point at or
+ * after the flight's own hash. When a member joins or leaves, only the flights next to its points
+ * change owner, about 1/n of them. Rings are immutable; lookups are a binary search over a sorted
+ * array and allocate nothing.
+ */
+public final class HashRing {
+    private static final HashRing EMPTY = new HashRing(List.of(), 0);
+
+    private final List<ClusterMember> members;
+    private final long[] points;
+    private final ClusterMember[] owners;
+
+    private HashRing(List<ClusterMember> members, int pointsPerMember) {
+        this.members = List.copyOf(members);
+        int size = members.size() * pointsPerMember;
+        Point[] ring = new Point[size];
+        int index = 0;
+        for (ClusterMember member : members) {
+            byte[] nodeId = member.nodeId().getBytes(StandardCharsets.UTF_8);
+            for (int replica = 0; replica < pointsPerMember; replica++) {
+                ring[index++] = new Point(hash(nodeId, replica), member);
+            }
+        }
+        Arrays.sort(ring, Comparator.comparingLong(Point::hash)
+                .thenComparing(point -> point.member().nodeId()));
+        this.points = new long[size];
+        this.owners = new ClusterMember[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = ring[i].hash();
+            owners[i] = ring[i].member();
+        }
+    }
+
+    /**
+     * Builds a ring over the given members.
+     *
+     * @param members         The members to place on the ring.
+     * @param pointsPerMember The number of points each member gets; more points spread flights more evenly.
+     * @return The ring.
+     */
+    public static HashRing of(List<ClusterMember> members, int pointsPerMember) {
+        return members.isEmpty() ? EMPTY : new HashRing(members, pointsPerMember);
+    }
+
+    public static HashRing empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the member that owns a flight.
+     *
+     * @param flightId The ID of the flight.
+     * @return The owner, or null if the ring has no members.
+     */
+    public ClusterMember ownerOf(long flightId) {
+        if (points.length == 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(points, mix(flightId));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public List<ClusterMember> getMembers() {
+        return members;
+    }
+
+    private static long hash(byte[] nodeId, int replica) {
+        // FNV-1a over the node ID and replica number, finished with the MurmurHash3 mixer.
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : nodeId) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        hash = (hash ^ replica) * 0x100000001b3L;
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private record Point(long hash, ClusterMember member) {
+    }
+}
@@ -0,0 +1,11 @@
+package io.upschool.ticketBooking.cluster;
+
+/**
+ * Seats reserved on a flight for a purchase whose ticket has not been saved yet.
+ *
+ * @param holdId   The ID the purchase chose for the hold.
+ * @param flightId The ID of the flight.
+ * @param seats    The number of seats held.
+ */
+public record SeatHold(String holdId, long flightId, int seats) {
+}
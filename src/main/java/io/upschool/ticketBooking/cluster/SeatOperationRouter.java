@@ -0,0 +1,266 @@
+package io.upschool.ticketBooking.cluster;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.upschool.ticketBooking.dto.BaseResponse;
+import io.upschool.ticketBooking.exception.ClusterAccessDeniedException;
+import io.upschool.ticketBooking.exception.FlightNotFoundException;
+import io.upschool.ticketBooking.exception.NotAvailableSeatException;
+import io.upschool.ticketBooking.exception.SeatHoldReleasedException;
+import io.upschool.ticketBooking.exception.SeatOperationUnavailableException;
+import io.upschool.ticketBooking.exception.TicketValidationException;
+import io.upschool.ticketBooking.service.SeatInventoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sends seat reservations to the cluster member that owns the flight. Reservations on flights this
+ * member owns, or every reservation when clustering is off, run in the purchase's own transaction as
+ * before. Releases always run where the ticket changes, in the same transaction.
+ * <p>
+ * This only routes the work; it does not reduce contention on the flight's row. Every reservation,
+ * forwarded or not, is still an UPDATE of that row in its own transaction, so reservations of one
+ * flight still run one at a time behind its row lock, and releases and fallback reservations on other
+ * members still take it too. What forwarding changes is where the waiting happens: forwarded
+ * reservations queue on an in-memory lock on the owner instead of each holding a connection.
+ * <p>
+ * A forwarded reservation is a seat hold with an ID chosen here, so sending it again cannot take the
+ * seats twice. When a request certainly never reached the owner, such as a refused connection, the
+ * hold is reserved here instead. When the outcome is unknown, such as a read timeout, the owner is
+ * asked again with the same hold; if it still cannot answer, the hold is released and the purchase
+ * fails.
+ */
+@Slf4j
+@Component
+public class SeatOperationRouter {
+    public static final String TOKEN_HEADER = "X-Cluster-Token";
+    private static final String RESERVE_PATH = "/internal/cluster/flights/{flightId}/seats/reserve?seats={seats}&holdId={holdId}";
+    private static final int LOCK_STRIPES = 64;
+    private static final int MAX_HOLD_ID_LENGTH = 36;
+
+    private final ClusterMembership membership;
+    private final SeatInventoryService seatInventoryService;
+    private final MeterRegistry meterRegistry;
+    private final RestTemplate restTemplate;
+    private final byte[] token;
+    private final int forwardAttempts;
+    private final ReentrantLock[] flightLocks = new ReentrantLock[LOCK_STRIPES];
+
+    public SeatOperationRouter(ObjectProvider<ClusterMembership> membership,
+                               SeatInventoryService seatInventoryService,
+                               MeterRegistry meterRegistry,
+                               RestTemplateBuilder restTemplateBuilder,
+                               @Value("${booking.cluster.token:}") String token,
+                               @Value("${booking.cluster.connect-timeout:500ms}") Duration connectTimeout,
+                               @Value("${booking.cluster.read-timeout:5s}") Duration readTimeout,
+                               @Value("${booking.cluster.forward-attempts:3}") int forwardAttempts) {
+        this.membership = membership.getIfAvailable();
+        if (this.membership != null && token.isBlank()) {
+            throw new IllegalStateException("booking.cluster.token must be set when booking.cluster.enabled=true.");
+        }
+        this.seatInventoryService = seatInventoryService;
+        this.meterRegistry = meterRegistry;
+        this.restTemplate = restTemplateBuilder
+                .setConnectTimeout(connectTimeout)
+                .setReadTimeout(readTimeout)
+                .build();
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+        this.forwardAttempts = Math.max(1, forwardAttempts);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            flightLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Tells whether seat reservations on a flight run on this member.
+     *
+     * @param flightId The ID of the flight.
+     * @return true if clustering is off or this member owns the flight.
+     */
+    public boolean isOwnedLocally(Long flightId) {
+        return membership == null || membership.isOwner(flightId);
+    }
+
+    /**
+     * Reserves seats under a new seat hold through the flight's owner if that is another member.
+     *
+     * @param flightId The ID of the flight.
+     * @param seats    The number of seats to reserve.
+     * @return The ID of the hold, which the ticket transaction must confirm; or null if this member owns
+     * the flight, in which case the caller reserves the seats in its own transaction.
+     * @throws NotAvailableSeatException         If there are not enough available seats.
+     * @throws FlightNotFoundException           If there is no such flight.
+     * @throws SeatOperationUnavailableException If the owner could not tell whether it reserved the seats.
+     */
+    public String reserveOnRemoteOwner(Long flightId, int seats) {
+        requireSeats(seats);
+        if (isOwnedLocally(flightId)) {
+            count("local");
+            return null;
+        }
+        ClusterMember owner = membership.getOwner(flightId);
+        String holdId = UUID.randomUUID().toString();
+        for (int attempt = 1; ; attempt++) {
+            switch (forward(owner, flightId, seats, holdId)) {
+                case RESERVED -> {
+                    count("forwarded");
+                    return holdId;
+                }
+                case NOT_DELIVERED -> {
+                    // Safe even after an earlier unanswered attempt: the hold takes the seats only once.
+                    count("fallback");
+                    seatInventoryService.reserveHold(holdId, flightId, seats);
+                    return holdId;
+                }
+                case UNKNOWN -> {
+                    if (attempt >= forwardAttempts) {
+                        count("failed");
+                        SeatOperationUnavailableException failure =
+                                new SeatOperationUnavailableException("Seats could not be reserved, please retry.");
+                        try {
+                            releaseHold(holdId, flightId, seats);
+                        } catch (RuntimeException e) {
+                            // A hold the owner did reserve is released by the reconcile job once it times out.
+                            log.warn("Could not release seat hold {}: {}", holdId, e.getMessage());
+                        }
+                        throw failure;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gives back the seats of a hold, or records it as released if it was never reserved.
+     *
+     * @param holdId   The ID of the hold.
+     * @param flightId The ID of the flight.
+     * @param seats    The number of seats held.
+     */
+    public void releaseHold(String holdId, Long flightId, int seats) {
+        seatInventoryService.releaseHold(holdId, flightId, seats);
+    }
+
+    /**
+     * Runs a seat reservation forwarded by another member. Reservations on the same flight wait for each
+     * other here rather than on the row lock, so they do not hold a database connection while waiting.
+     *
+     * @param holdId   The ID of the hold chosen by the member.
+     * @param flightId The ID of the flight.
+     * @param seats    The number of seats.
+     * @param token    The cluster token sent by the member.
+     * @throws ClusterAccessDeniedException If the token does not match this member's.
+     * @throws TicketValidationException    If the hold ID or number of seats is invalid.
+     */
+    public void runForwarded(String holdId, Long flightId, int seats, String token) {
+        if (token == null || !MessageDigest.isEqual(this.token, token.getBytes(StandardCharsets.UTF_8))) {
+            throw new ClusterAccessDeniedException("Invalid cluster token.");
+        }
+        requireSeats(seats);
+        if (holdId == null || holdId.isBlank() || holdId.length() > MAX_HOLD_ID_LENGTH) {
+            throw new TicketValidationException("Invalid seat hold ID.");
+        }
+        ReentrantLock lock = flightLocks[Long.hashCode(flightId) & (LOCK_STRIPES - 1)];
+        lock.lock();
+        try {
+            seatInventoryService.reserveHold(holdId, flightId, seats);
+        } finally {
+            lock.unlock();
+        }
+        count("peer");
+    }
+
+    private ForwardOutcome forward(ClusterMember owner, Long flightId, int seats, String holdId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(TOKEN_HEADER, new String(token, StandardCharsets.UTF_8));
+        try {
+            restTemplate.exchange(owner.baseUrl() + RESERVE_PATH, HttpMethod.POST, new HttpEntity<>(headers),
+                    Void.class, flightId, seats, holdId);
+            return ForwardOutcome.RESERVED;
+        } catch (HttpClientErrorException e) {
+            // The owner refused the request before reserving anything.
+            BaseResponse<?> body = e.getResponseBodyAs(BaseResponse.class);
+            String message = body != null ? body.getErrorMessage() : e.getStatusText();
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+                throw new FlightNotFoundException(message);
+            }
+            if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
+                throw new NotAvailableSeatException(message);
+            }
+            if (e.getStatusCode() == HttpStatus.CONFLICT) {
+                throw new SeatHoldReleasedException(message);
+            }
+            log.error("Member {} refused to reserve seats on flight {}: {}", owner.nodeId(), flightId, message);
+            return ForwardOutcome.NOT_DELIVERED;
+        } catch (ResourceAccessException e) {
+            if (isConnectFailure(e)) {
+                log.warn("Could not reach member {} to reserve seats on flight {}: {}",
+                        owner.nodeId(), flightId, e.getMessage());
+                return ForwardOutcome.NOT_DELIVERED;
+            }
+            log.warn("No answer from member {} for seat hold {}: {}", owner.nodeId(), holdId, e.getMessage());
+            return ForwardOutcome.UNKNOWN;
+        } catch (RestClientException e) {
+            log.warn("Member {} failed seat hold {}: {}", owner.nodeId(), holdId, e.getMessage());
+            return ForwardOutcome.UNKNOWN;
+        }
+    }
+
+    private static boolean isConnectFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof NoRouteToHostException
+                    || cause instanceof UnknownHostException) {
+                return true;
+            }
+            if (cause instanceof SocketTimeoutException && cause.getMessage() != null
+                    && cause.getMessage().toLowerCase().contains("connect")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void requireSeats(int seats) {
+        if (seats < 1) {
+            throw new TicketValidationException("The number of seats must be at least 1.");
+        }
+    }
+
+    private void count(String route) {
+        Counter.builder("booking.cluster.seat.operations")
+                .description("Seat reservations by where they ran: here as owner, forwarded to the owner, " +
+                        "here after the owner could not be reached, not at all because the owner did not " +
+                        "answer, or here on behalf of a peer")
+                .tag("operation", "reserve")
+                .tag("route", route)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private enum ForwardOutcome {
+        RESERVED,
+        NOT_DELIVERED,
+        UNKNOWN
+    }
+}
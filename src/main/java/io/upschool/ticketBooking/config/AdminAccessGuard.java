@@ -0,0 +1,39 @@
+package io.upschool.ticketBooking.config;
+
+import io.upschool.ticketBooking.exception.AdminAccessDeniedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Restricts operator-only endpoints to callers presenting booking.admin.token; each of them verifies the
+ * token before doing any work. Without a configured token every call is refused, so the endpoints stay
+ * closed until an operator opts in.
+ */
+@Component
+public class AdminAccessGuard {
+    public static final String TOKEN_HEADER = "X-Admin-Token";
+
+    private final byte[] token;
+
+    public AdminAccessGuard(@Value("${booking.admin.token:}") String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks the token sent with an admin request.
+     *
+     * @param token The token from the request's X-Admin-Token header, or null.
+     * @throws AdminAccessDeniedException If no admin token is configured or the token does not match it.
+     */
+    public void verify(String token) {
+        if (this.token.length == 0) {
+            throw new AdminAccessDeniedException("Admin endpoints are disabled.");
+        }
+        if (token == null || !MessageDigest.isEqual(this.token, token.getBytes(StandardCharsets.UTF_8))) {
+            throw new AdminAccessDeniedException("Invalid admin token.");
+        }
+    }
+}
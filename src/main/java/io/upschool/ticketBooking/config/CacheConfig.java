@@ -0,0 +1,49 @@
+package io.upschool.ticketBooking.config;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.upschool.ticketBooking.cache.LookupRecordingCache;
+import io.upschool.ticketBooking.cache.LookupRecordingCacheManager;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.CaffeineCacheMeterBinderProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wraps the cache manager Spring Boot configures from spring.cache.* in a
+ * {@link LookupRecordingCacheManager}, so lookups in the Caffeine caches show up in flight recordings.
+ * The cache metrics are still bound to the Caffeine caches behind the wrappers.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public static BeanPostProcessor lookupRecordingCacheManagerPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CacheManager cacheManager && !(bean instanceof LookupRecordingCacheManager)) {
+                    return new LookupRecordingCacheManager(cacheManager);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public CacheMeterBinderProvider<LookupRecordingCache> lookupRecordingCacheMeterBinderProvider() {
+        // Not a lambda: Spring Boot picks the provider for a cache by its resolved type argument.
+        CaffeineCacheMeterBinderProvider caffeineProvider = new CaffeineCacheMeterBinderProvider();
+        return new CacheMeterBinderProvider<LookupRecordingCache>() {
+            @Override
+            public MeterBinder getMeterBinder(LookupRecordingCache cache, Iterable<Tag> tags) {
+                return cache.getTarget() instanceof CaffeineCache caffeineCache
+                        ? caffeineProvider.getMeterBinder(caffeineCache, tags)
+                        : null;
+            }
+        };
+    }
+}
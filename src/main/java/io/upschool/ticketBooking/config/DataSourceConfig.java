@@ -0,0 +1,67 @@
+package io.upschool.ticketBooking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.upschool.ticketBooking.sqlstats.QueryStatsListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds the primary connection pool from the standard spring.datasource properties and, when
+ * booking.datasource.replica.jdbc-url is set, a second pool for read-only transactions.
+ * Without a replica every transaction uses the primary. Every statement passes through
+ * {@link QueryStatsListener}.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "booking.datasource.replica", name = "jdbc-url")
+    @ConfigurationProperties("booking.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource,
+                                 QueryStatsListener queryStatsListener) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(TransactionRoutingDataSource.Target.PRIMARY, primaryDataSource);
+        targets.put(TransactionRoutingDataSource.Target.REPLICA,
+                replicaDataSource.getIfAvailable(() -> primaryDataSource));
+        TransactionRoutingDataSource routingDataSource = new TransactionRoutingDataSource();
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+        return ProxyDataSourceBuilder.create(new LazyConnectionDataSourceProxy(routingDataSource))
+                .name("booking")
+                .listener(queryStatsListener)
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package io.upschool.ticketBooking.config;
+
+import io.upschool.ticketBooking.utils.DateUtils;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Binds request parameters straight to LocalDate (yyyy-MM-dd) and LocalTime (HH:mm) with
+ * {@link DateUtils}, so each value is parsed once, when the request is read. A blank parameter binds
+ * to null, as an absent one does. A malformed value fails with InvalidDateTimeFormatException, which
+ * the exception handler finds behind Spring's wrapping exceptions. Request bodies opt in per field
+ * with the deserializers in the request DTO package.
+ */
+@Configuration
+public class DateTimeBindingConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, LocalDate.class,
+                source -> source.isBlank() ? null : DateUtils.parseLocalDate(source));
+        registry.addConverter(String.class, LocalTime.class,
+                source -> source.isBlank() ? null : DateUtils.parseLocalTime(source));
+    }
+}
@@ -0,0 +1,20 @@
+package io.upschool.ticketBooking.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables {@code @Observed} on service methods, which times each call and, when tracing is on,
+ * records it as a span. HTTP endpoints are observed by Spring Boot itself as http.server.requests,
+ * tagged with the URI template, method and status.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+}
@@ -0,0 +1,156 @@
+package io.upschool.ticketBooking.config;
+
+import io.upschool.ticketBooking.jfr.CacheLookupEvent;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.WebUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Gives read-your-writes semantics on top of an asynchronously replicated read pool.
+ * Keys written within the configured replica lag window are read from the primary instead of the replica.
+ * The keys are only known to the instance that wrote them, so a write made during an HTTP request also
+ * pins the client to the primary: the response carries a cookie with the time until which the replica
+ * may still lag behind the write, and every instance reads from the primary while it has not passed.
+ * The deadline is compared against the reading instance's clock, so clocks must agree to well within
+ * the lag window.
+ */
+@Component
+public class ReplicaLagGuard {
+    static final String PIN_COOKIE = "booking-primary-until";
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final Map<String, Long> recentWrites = new ConcurrentHashMap<>();
+    private final long maxLagNanos;
+    private final long maxLagMillis;
+
+    public ReplicaLagGuard(@Value("${booking.datasource.replica.max-lag:2s}") Duration maxLag) {
+        this.maxLagNanos = maxLag.toNanos();
+        this.maxLagMillis = maxLag.toMillis();
+    }
+
+    /**
+     * Records a write of the given key and pins the current HTTP client, if any, to the primary. Inside
+     * a transaction the lag window starts once it has committed.
+     *
+     * @param key The key of the written record.
+     */
+    public void recordWrite(String key) {
+        if (maxLagNanos <= 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    markWritten(key);
+                    pinClient();
+                }
+            });
+        } else {
+            markWritten(key);
+            pinClient();
+        }
+    }
+
+    /**
+     * Runs the given read against the primary if the key was written within the lag window or the
+     * current HTTP client is pinned to the primary, otherwise lets it be routed normally.
+     *
+     * @param key  The key of the record being read.
+     * @param read The read to run.
+     * @param <T>  The type of the read's result.
+     * @return The result of the read.
+     */
+    public <T> T readYourWrites(String key, Supplier<T> read) {
+        if (isRecentlyWritten(key) || isClientPinned()) {
+            return TransactionRoutingDataSource.forcePrimary(read);
+        }
+        return read.get();
+    }
+
+    public boolean isRecentlyWritten(String key) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        boolean recentlyWritten = lookUpRecentWrite(key);
+        if (event.shouldCommit()) {
+            event.cache = "recent-writes";
+            event.hit = recentlyWritten;
+            event.commit();
+        }
+        return recentlyWritten;
+    }
+
+    private boolean lookUpRecentWrite(String key) {
+        Long writtenAt = recentWrites.get(key);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - writtenAt > maxLagNanos) {
+            recentWrites.remove(key, writtenAt);
+            return false;
+        }
+        return true;
+    }
+
+    private void pinClient() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        HttpServletResponse response = attributes.getResponse();
+        if (response == null || response.isCommitted() || request.getAttribute(PIN_COOKIE) != null) {
+            return;
+        }
+        request.setAttribute(PIN_COOKIE, Boolean.TRUE);
+        long pinnedUntil = System.currentTimeMillis() + maxLagMillis;
+        ResponseCookie cookie = ResponseCookie.from(PIN_COOKIE, Long.toString(pinnedUntil))
+                .path("/")
+                .maxAge(Duration.ofSeconds((maxLagMillis + 999) / 1000))
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private boolean isClientPinned() {
+        if (maxLagNanos <= 0
+                || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        Cookie cookie = WebUtils.getCookie(attributes.getRequest(), PIN_COOKIE);
+        if (cookie == null) {
+            return false;
+        }
+        long pinnedUntil;
+        try {
+            pinnedUntil = Long.parseLong(cookie.getValue());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        // A deadline further out than the lag window was not set by any instance and is ignored.
+        long remaining = pinnedUntil - System.currentTimeMillis();
+        return remaining > 0 && remaining <= maxLagMillis;
+    }
+
+    private void markWritten(String key) {
+        long now = System.nanoTime();
+        recentWrites.put(key, now);
+        if (recentWrites.size() > PURGE_THRESHOLD) {
+            recentWrites.values().removeIf(writtenAt -> now - writtenAt > maxLagNanos);
+        }
+    }
+}
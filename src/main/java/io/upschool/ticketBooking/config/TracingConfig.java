@@ -0,0 +1,35 @@
+package io.upschool.ticketBooking.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import io.upschool.ticketBooking.tracing.FileSpanExporter;
+import io.upschool.ticketBooking.tracing.ObservedJsonHttpMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Tracing setup on top of Spring Boot's OpenTelemetry bridge. Spans are sampled with
+ * management.tracing.sampling.probability and handed to every SpanExporter bean; setting
+ * booking.tracing.file.path adds one that writes them to a local file.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public ObservedJsonHttpMessageConverter observedJsonHttpMessageConverter(
+            ObjectMapper objectMapper, ObservationRegistry observationRegistry) {
+        return new ObservedJsonHttpMessageConverter(objectMapper, observationRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty("booking.tracing.file.path")
+    public FileSpanExporter fileSpanExporter(@Value("${booking.tracing.file.path}") Path path,
+                                             ObjectMapper objectMapper) throws IOException {
+        return new FileSpanExporter(path, objectMapper);
+    }
+}
@@ -0,0 +1,45 @@
+package io.upschool.ticketBooking.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Routes connections of read-only transactions to the replica pool and everything else to the primary.
+ * It must sit behind a LazyConnectionDataSourceProxy so the physical connection is only fetched once
+ * the transaction's read-only flag has been bound to the thread.
+ */
+public class TransactionRoutingDataSource extends AbstractRoutingDataSource {
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = ThreadLocal.withInitial(() -> false);
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    /**
+     * Runs the given action with every connection routed to the primary, regardless of read-only flags.
+     *
+     * @param action The action to run.
+     * @param <T>    The type of the action's result.
+     * @return The result of the action.
+     */
+    public static <T> T forcePrimary(Supplier<T> action) {
+        boolean previous = PRIMARY_FORCED.get();
+        PRIMARY_FORCED.set(true);
+        try {
+            return action.get();
+        } finally {
+            PRIMARY_FORCED.set(previous);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!PRIMARY_FORCED.get() && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.REPLICA;
+        }
+        return Target.PRIMARY;
+    }
+}
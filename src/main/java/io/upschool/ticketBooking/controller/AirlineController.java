@@ -5,6 +5,7 @@ import io.upschool.ticketBooking.dto.request.AirlineSaveRequest;
 import io.upschool.ticketBooking.dto.response.*;
 import io.upschool.ticketBooking.service.AirlineService;
 import io.upschool.ticketBooking.service.BaseResponseService;
+import io.upschool.ticketBooking.sqlstats.QueryBudget;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -21,6 +22,7 @@ public class AirlineController {
     private final BaseResponseService baseResponseService;
 
     @GetMapping
+    @QueryBudget(1)
     public ResponseEntity<BaseResponse<List<AirlineSaveResponse>>> getAllAirlines(
             @RequestParam(defaultValue = "") String searchKey) {
         List<AirlineSaveResponse> airlines = airlineService.getAllAirlines(searchKey);
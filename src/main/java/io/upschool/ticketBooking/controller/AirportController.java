@@ -9,6 +9,7 @@ import io.upschool.ticketBooking.entity.Airport;
 import io.upschool.ticketBooking.entity.Ticket;
 import io.upschool.ticketBooking.service.AirportService;
 import io.upschool.ticketBooking.service.BaseResponseService;
+import io.upschool.ticketBooking.sqlstats.QueryBudget;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -25,6 +26,7 @@ public class AirportController {
     private final BaseResponseService baseResponseService;
 
     @GetMapping()
+    @QueryBudget(1)
     public ResponseEntity<BaseResponse<List<AirportSaveResponse>>> getAllAirports(
             @RequestParam(defaultValue = "") String searchKey) {
         List<AirportSaveResponse> airports = airportService.getAllAirports(searchKey);
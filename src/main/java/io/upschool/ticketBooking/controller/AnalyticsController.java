@@ -0,0 +1,43 @@
+package io.upschool.ticketBooking.controller;
+
+import io.upschool.ticketBooking.config.AdminAccessGuard;
+import io.upschool.ticketBooking.dto.BaseResponse;
+import io.upschool.ticketBooking.dto.response.AnalyticsResponse;
+import io.upschool.ticketBooking.service.BaseResponseService;
+import io.upschool.ticketBooking.service.TicketAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+    private final TicketAnalyticsService ticketAnalyticsService;
+    private final BaseResponseService baseResponseService;
+    private final AdminAccessGuard adminAccessGuard;
+
+    @GetMapping("/tickets")
+    public ResponseEntity<BaseResponse<AnalyticsResponse>> queryTickets(
+            @RequestParam(defaultValue = "") String groupBy,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) Long airlineId,
+            @RequestParam(required = false) Long routeId,
+            @RequestParam(required = false) String ticketClass,
+            @RequestParam(defaultValue = "false") boolean includeCancelled) {
+        AnalyticsResponse response = ticketAnalyticsService.query(groupBy, from, to, airlineId, routeId,
+                ticketClass, includeCancelled);
+        return baseResponseService.createSuccessResponse(HttpStatus.OK, response);
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<BaseResponse<AnalyticsResponse>> refresh(
+            @RequestHeader(value = AdminAccessGuard.TOKEN_HEADER, required = false) String token) {
+        adminAccessGuard.verify(token);
+        ticketAnalyticsService.refresh();
+        return baseResponseService.createSuccessResponse(HttpStatus.OK,
+                ticketAnalyticsService.query("", null, null, null, null, null, true));
+    }
+}
@@ -0,0 +1,40 @@
+package io.upschool.ticketBooking.controller;
+
+import io.upschool.ticketBooking.cluster.SeatOperationRouter;
+import io.upschool.ticketBooking.dto.BaseResponse;
+import io.upschool.ticketBooking.service.BaseResponseService;
+import io.upschool.ticketBooking.sqlstats.QueryBudget;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Seat reservations forwarded by other cluster members to this one as the flight's owner. Not meant
+ * for clients; only callers presenting booking.cluster.token are served.
+ */
+@RestController
+@RequestMapping("/internal/cluster/flights/{flightId}/seats")
+@ConditionalOnProperty("booking.cluster.enabled")
+@RequiredArgsConstructor
+public class ClusterSeatController {
+    private final SeatOperationRouter seatOperationRouter;
+    private final BaseResponseService baseResponseService;
+
+    @PostMapping("/reserve")
+    @QueryBudget(3)
+    public ResponseEntity<BaseResponse<Void>> reserveSeats(
+            @PathVariable Long flightId,
+            @RequestParam int seats,
+            @RequestParam String holdId,
+            @RequestHeader(value = SeatOperationRouter.TOKEN_HEADER, required = false) String token) {
+        seatOperationRouter.runForwarded(holdId, flightId, seats, token);
+        return baseResponseService.createSuccessResponse(HttpStatus.OK, null);
+    }
+}
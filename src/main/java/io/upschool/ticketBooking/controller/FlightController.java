@@ -1,38 +1,87 @@
 package io.upschool.ticketBooking.controller;
 
+import io.micrometer.observation.annotation.Observed;
+import io.upschool.ticketBooking.config.AdminAccessGuard;
 import io.upschool.ticketBooking.dto.BaseResponse;
+import io.upschool.ticketBooking.dto.request.FlightCheckInRequest;
 import io.upschool.ticketBooking.dto.request.FlightSaveRequest;
+import io.upschool.ticketBooking.dto.response.FlightCheckInResponse;
 import io.upschool.ticketBooking.dto.response.FlightSaveResponse;
 import io.upschool.ticketBooking.dto.response.FlightSearchResponse;
+import io.upschool.ticketBooking.dto.response.GateCloseResponse;
+import io.upschool.ticketBooking.enums.ExportFormat;
 import io.upschool.ticketBooking.service.BaseResponseService;
 import io.upschool.ticketBooking.service.FlightService;
+import io.upschool.ticketBooking.service.TicketExportService;
+import io.upschool.ticketBooking.service.TicketService;
+import io.upschool.ticketBooking.sqlstats.QueryBudget;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
 
+@Observed(name = "booking.controller")
 @RestController
 @RequestMapping("/api/flights")
 @RequiredArgsConstructor
 public class FlightController {
     private final FlightService flightService;
+    private final TicketExportService ticketExportService;
+    private final TicketService ticketService;
     private final BaseResponseService baseResponseService;
+    private final AdminAccessGuard adminAccessGuard;
 
     @GetMapping
+    @QueryBudget(1)
     public ResponseEntity<BaseResponse<List<FlightSearchResponse>>> getAllFlights(
             @RequestParam(defaultValue = "") String departureKey,
             @RequestParam(defaultValue = "") String arrivalKey,
-            @RequestParam (required = false)String departureDate ) {
+            @RequestParam(required = false) LocalDate departureDate) {
         List<FlightSearchResponse> flights = flightService.getAllFlights(departureKey, arrivalKey, departureDate);
         return baseResponseService.createSuccessResponseList(flights);
     }
 
+    @GetMapping("/{flightId}/manifest")
+    public ResponseEntity<StreamingResponseBody> getManifest(
+            @RequestHeader(value = AdminAccessGuard.TOKEN_HEADER, required = false) String token,
+            @PathVariable("flightId") Long flightId,
+            @RequestParam(defaultValue = "csv") String format) {
+        adminAccessGuard.verify(token);
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        flightService.checkIsFlightExist(flightId);
+        StreamingResponseBody body = output -> ticketExportService.writeManifest(flightId, exportFormat, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .body(body);
+    }
+
+    @PostMapping("/{flightId}/check-in")
+    @QueryBudget(5)
+    public ResponseEntity<BaseResponse<FlightCheckInResponse>> checkInTickets(
+            @PathVariable("flightId") Long flightId,
+            @Valid @RequestBody FlightCheckInRequest request) {
+        FlightCheckInResponse response = ticketService.checkInTickets(flightId, request.getTicketNumbers());
+        return baseResponseService.createSuccessResponse(HttpStatus.OK, response);
+    }
+
+    @PostMapping("/{flightId}/gate-close")
+    @QueryBudget(4)
+    public ResponseEntity<BaseResponse<GateCloseResponse>> closeGate(
+            @RequestHeader(value = AdminAccessGuard.TOKEN_HEADER, required = false) String token,
+            @PathVariable("flightId") Long flightId) {
+        adminAccessGuard.verify(token);
+        GateCloseResponse response = ticketService.closeGate(flightId);
+        return baseResponseService.createSuccessResponse(HttpStatus.OK, response);
+    }
+
     @PostMapping
     public ResponseEntity<BaseResponse<FlightSaveResponse>> createFlight(
             @Valid @RequestBody FlightSaveRequest request) {
@@ -0,0 +1,45 @@
+package io.upschool.ticketBooking.controller;
+
+import io.upschool.ticketBooking.config.AdminAccessGuard;
+import io.upschool.ticketBooking.dto.BaseResponse;
+import io.upschool.ticketBooking.dto.response.FlightSearchCheckResponse;
+import io.upschool.ticketBooking.service.BaseResponseService;
+import io.upschool.ticketBooking.service.FlightSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Checks, repairs and rebuilds the flight_search read model. Only callers presenting booking.admin.token
+ * are served.
+ */
+@RestController
+@RequestMapping("/api/admin/flight-search")
+@RequiredArgsConstructor
+public class FlightSearchAdminController {
+    private final FlightSearchService flightSearchService;
+    private final BaseResponseService baseResponseService;
+    private final AdminAccessGuard adminAccessGuard;
+
+    @GetMapping("/check")
+    public ResponseEntity<BaseResponse<FlightSearchCheckResponse>> check(
+            @RequestHeader(value = AdminAccessGuard.TOKEN_HEADER, required = false) String token) {
+        adminAccessGuard.verify(token);
+        return baseResponseService.createSuccessResponse(HttpStatus.OK, flightSearchService.check());
+    }
+
+    @PostMapping("/repair")
+    public ResponseEntity<BaseResponse<FlightSearchCheckResponse>> repair(
+            @RequestHeader(value = AdminAccessGuard.TOKEN_HEADER, required = false) String token) {
+        adminAccessGuard.verify(token);
+        return baseResponseService.createSuccessResponse(HttpStatus.OK, flightSearchService.repair());
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<BaseResponse<Integer>> rebuild(
+            @RequestHeader(value = AdminAccessGuard.TOKEN_HEADER, required = false) String token) {
+        adminAccessGuard.verify(token);
+        return baseResponseService.createSuccessResponse(HttpStatus.OK, flightSearchService.rebuild());
+    }
+}
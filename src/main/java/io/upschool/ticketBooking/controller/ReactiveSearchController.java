@@ -0,0 +1,36 @@
+package io.upschool.ticketBooking.controller;
+
+import io.upschool.ticketBooking.dto.response.FlightSearchResponse;
+import io.upschool.ticketBooking.dto.response.RouteSearchResponse;
+import io.upschool.ticketBooking.service.ReactiveSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping(value = "/api/reactive", produces = MediaType.APPLICATION_NDJSON_VALUE)
+@RequiredArgsConstructor
+public class ReactiveSearchController {
+    private final ReactiveSearchService reactiveSearchService;
+
+    @GetMapping("/flights")
+    public Flux<FlightSearchResponse> getAllFlights(
+            @RequestParam(defaultValue = "") String departureKey,
+            @RequestParam(defaultValue = "") String arrivalKey,
+            @RequestParam(required = false) LocalDate departureDate) {
+        return reactiveSearchService.getAllFlights(departureKey, arrivalKey, departureDate);
+    }
+
+    @GetMapping("/routes")
+    public Flux<RouteSearchResponse> getAllRoutes(
+            @RequestParam(defaultValue = "") String departureKey,
+            @RequestParam(defaultValue = "") String arrivalKey) {
+        return reactiveSearchService.getAllRoutes(departureKey, arrivalKey);
+    }
+}
@@ -6,6 +6,7 @@ import io.upschool.ticketBooking.dto.response.RouteSaveResponse;
 import io.upschool.ticketBooking.dto.response.RouteSearchResponse;
 import io.upschool.ticketBooking.service.BaseResponseService;
 import io.upschool.ticketBooking.service.RouteService;
+import io.upschool.ticketBooking.sqlstats.QueryBudget;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -22,6 +23,7 @@ public class RouteController {
     private final BaseResponseService baseResponseService;
 
     @GetMapping()
+    @QueryBudget(1)
     public ResponseEntity<BaseResponse<List<RouteSearchResponse>>> getAllRoutes(
             @RequestParam(defaultValue = "") String departureKey,
             @RequestParam(defaultValue = "") String arrivalKey) {
@@ -0,0 +1,34 @@
+package io.upschool.ticketBooking.controller;
+
+import io.upschool.ticketBooking.config.AdminAccessGuard;
+import io.upschool.ticketBooking.dto.BaseResponse;
+import io.upschool.ticketBooking.dto.response.ScheduleImportResponse;
+import io.upschool.ticketBooking.enums.ScheduleImportFormat;
+import io.upschool.ticketBooking.service.BaseResponseService;
+import io.upschool.ticketBooking.service.ScheduleImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/imports")
+@RequiredArgsConstructor
+public class ScheduleImportController {
+    private final ScheduleImportService scheduleImportService;
+    private final BaseResponseService baseResponseService;
+    private final AdminAccessGuard adminAccessGuard;
+
+    @PostMapping("/schedule")
+    public ResponseEntity<BaseResponse<ScheduleImportResponse>> importSchedule(
+            @RequestHeader(value = AdminAccessGuard.TOKEN_HEADER, required = false) String token,
+            @RequestParam(defaultValue = "ndjson") String format,
+            InputStream body) {
+        adminAccessGuard.verify(token);
+        ScheduleImportResponse response = scheduleImportService
+                .importSchedule(body, ScheduleImportFormat.fromValue(format));
+        return baseResponseService.createSuccessResponse(HttpStatus.OK, response);
+    }
+}
@@ -0,0 +1,40 @@
+package io.upschool.ticketBooking.controller;
+
+import io.upschool.ticketBooking.dto.BaseResponse;
+import io.upschool.ticketBooking.dto.response.SalesStatisticsResponse;
+import io.upschool.ticketBooking.service.BaseResponseService;
+import io.upschool.ticketBooking.service.SalesStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/stats")
+@RequiredArgsConstructor
+public class StatisticsController {
+    private final SalesStatisticsService salesStatisticsService;
+    private final BaseResponseService baseResponseService;
+
+    @GetMapping("/flights/{flightId}")
+    public ResponseEntity<BaseResponse<SalesStatisticsResponse>> getFlightStatistics(
+            @PathVariable("flightId") Long flightId) {
+        SalesStatisticsResponse response = salesStatisticsService.getFlightStatistics(flightId);
+        return baseResponseService.createSuccessResponse(HttpStatus.OK, response);
+    }
+
+    @GetMapping("/routes/{routeId}")
+    public ResponseEntity<BaseResponse<SalesStatisticsResponse>> getRouteStatistics(
+            @PathVariable("routeId") Long routeId) {
+        SalesStatisticsResponse response = salesStatisticsService.getRouteStatistics(routeId);
+        return baseResponseService.createSuccessResponse(HttpStatus.OK, response);
+    }
+
+    @GetMapping("/airlines/{airlineId}")
+    public ResponseEntity<BaseResponse<SalesStatisticsResponse>> getAirlineDayStatistics(
+            @PathVariable("airlineId") Long airlineId,
+            @RequestParam String date) {
+        SalesStatisticsResponse response = salesStatisticsService.getAirlineDayStatistics(airlineId, date);
+        return baseResponseService.createSuccessResponse(HttpStatus.OK, response);
+    }
+}
@@ -1,30 +1,54 @@
 package io.upschool.ticketBooking.controller;
 
+import io.micrometer.observation.annotation.Observed;
+import io.upschool.ticketBooking.config.AdminAccessGuard;
 import io.upschool.ticketBooking.dto.BaseResponse;
 import io.upschool.ticketBooking.dto.request.TicketPurchaseRequest;
 import io.upschool.ticketBooking.dto.response.TicketPurchaseResponse;
-import io.upschool.ticketBooking.entity.Ticket;
+import io.upschool.ticketBooking.enums.ExportFormat;
 import io.upschool.ticketBooking.service.BaseResponseService;
+import io.upschool.ticketBooking.service.TicketExportService;
 import io.upschool.ticketBooking.service.TicketService;
+import io.upschool.ticketBooking.sqlstats.QueryBudget;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+@Observed(name = "booking.controller")
 @RestController
 @RequestMapping("/api/tickets")
 @RequiredArgsConstructor
 public class TicketController {
     private final TicketService ticketService;
+    private final TicketExportService ticketExportService;
     private final BaseResponseService baseResponseService;
+    private final AdminAccessGuard adminAccessGuard;
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTickets(
+            @RequestHeader(value = AdminAccessGuard.TOKEN_HEADER, required = false) String token,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "true") boolean includeArchived) {
+        adminAccessGuard.verify(token);
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        StreamingResponseBody body = output -> ticketExportService.writeExport(includeArchived, exportFormat, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .body(body);
+    }
+
     @GetMapping("/{ticketNumber}")
+    @QueryBudget(6)
     public ResponseEntity<BaseResponse<TicketPurchaseResponse>> getTicketByNumber(@PathVariable String ticketNumber) {
-        Ticket ticket = ticketService.getByTicketNumber(ticketNumber);
-        TicketPurchaseResponse response=ticketService.convertTicketToResponse(ticket);
+        TicketPurchaseResponse response = ticketService.getTicketByNumber(ticketNumber);
         return baseResponseService.createSuccessResponse(HttpStatus.OK, response);
     }
     @PostMapping("/purchase")
+    @QueryBudget(10)
     public ResponseEntity<BaseResponse<TicketPurchaseResponse>> purchaseTicket
             (@Valid @RequestBody TicketPurchaseRequest request) {
         TicketPurchaseResponse ticketResponse = ticketService.purchaseTicket(request);
@@ -32,12 +56,14 @@ public class TicketController {
     }
 
     @PostMapping("/check-in/{ticketNumber}")
+    @QueryBudget(3)
     public ResponseEntity<BaseResponse<String>> checkInTicket(@PathVariable String ticketNumber) {
          ticketService.checkInTicket(ticketNumber);
         return baseResponseService.createSuccessResponse(HttpStatus.OK,"Checked in.");
     }
 
     @PostMapping("/cancel/{ticketNumber}")
+    @QueryBudget(7)
     public ResponseEntity<BaseResponse<String>> cancelTicket(@PathVariable String ticketNumber) {
         ticketService.cancelTicket(ticketNumber);
         return baseResponseService.createSuccessResponse(HttpStatus.OK,"Ticket Cancelled.");
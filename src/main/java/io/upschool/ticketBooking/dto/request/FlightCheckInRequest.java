@@ -0,0 +1,21 @@
+package io.upschool.ticketBooking.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FlightCheckInRequest {
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@NotBlank String> ticketNumbers;
+}
@@ -0,0 +1,25 @@
+package io.upschool.ticketBooking.dto.request;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import io.upschool.ticketBooking.utils.DateUtils;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Reads a request body date in the API's yyyy-MM-dd format with {@link DateUtils}. Only fields annotated
+ * with it are affected; every other LocalDate keeps Jackson's ISO deserializer.
+ */
+public class LocalDateRequestDeserializer extends StdScalarDeserializer<LocalDate> {
+
+    public LocalDateRequestDeserializer() {
+        super(LocalDate.class);
+    }
+
+    @Override
+    public LocalDate deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        return DateUtils.parseLocalDate(parser.getValueAsString());
+    }
+}
@@ -0,0 +1,25 @@
+package io.upschool.ticketBooking.dto.request;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import io.upschool.ticketBooking.utils.DateUtils;
+
+import java.io.IOException;
+import java.time.LocalTime;
+
+/**
+ * Reads a request body time in the API's HH:mm format with {@link DateUtils}. Only fields annotated
+ * with it are affected; every other LocalTime keeps Jackson's ISO deserializer.
+ */
+public class LocalTimeRequestDeserializer extends StdScalarDeserializer<LocalTime> {
+
+    public LocalTimeRequestDeserializer() {
+        super(LocalTime.class);
+    }
+
+    @Override
+    public LocalTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        return DateUtils.parseLocalTime(parser.getValueAsString());
+    }
+}
@@ -1,12 +1,15 @@
 package io.upschool.ticketBooking.dto.request;
 
-import jakarta.validation.constraints.NotBlank;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -16,12 +19,16 @@ public class RouteSaveRequest {
     private Long departureAirportId;
     @NotNull
     private Long arrivalAirportId;
-    @NotBlank
-    private String departureDate;
-    @NotBlank
-    private String departureTime;
-    @NotBlank
-    private String arrivalDate;
-    @NotBlank
-    private String arrivalTime;
+    @NotNull
+    @JsonDeserialize(using = LocalDateRequestDeserializer.class)
+    private LocalDate departureDate;
+    @NotNull
+    @JsonDeserialize(using = LocalTimeRequestDeserializer.class)
+    private LocalTime departureTime;
+    @NotNull
+    @JsonDeserialize(using = LocalDateRequestDeserializer.class)
+    private LocalDate arrivalDate;
+    @NotNull
+    @JsonDeserialize(using = LocalTimeRequestDeserializer.class)
+    private LocalTime arrivalTime;
 }
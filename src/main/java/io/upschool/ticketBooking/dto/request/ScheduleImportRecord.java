@@ -0,0 +1,29 @@
+package io.upschool.ticketBooking.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ScheduleImportRecord {
+    private int lineNumber;
+    private String type;
+    private String code;
+    private String name;
+    private String location;
+    private String airlineCode;
+    private String departureAirportCode;
+    private String arrivalAirportCode;
+    private String departureDate;
+    private String departureTime;
+    private String arrivalDate;
+    private String arrivalTime;
+    private Integer capacity;
+    private BigDecimal ticketBasePrice;
+}
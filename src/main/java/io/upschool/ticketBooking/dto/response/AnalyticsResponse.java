@@ -0,0 +1,20 @@
+package io.upschool.ticketBooking.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AnalyticsResponse {
+    private Date snapshotTakenAt;
+    private int snapshotTickets;
+    private long elapsedMillis;
+    private List<AnalyticsRowResponse> rows;
+}
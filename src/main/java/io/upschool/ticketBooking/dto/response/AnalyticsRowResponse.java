@@ -0,0 +1,28 @@
+package io.upschool.ticketBooking.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.upschool.ticketBooking.enums.TicketClass;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AnalyticsRowResponse {
+    private Long airlineId;
+    private String airlineCode;
+    private Long routeId;
+    private String route;
+    private LocalDate departureDate;
+    private TicketClass ticketClass;
+    private long tickets;
+    private long passengers;
+    private BigDecimal revenue;
+}
@@ -0,0 +1,20 @@
+package io.upschool.ticketBooking.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FlightSearchCheckResponse {
+    private List<Long> missingFlightIds;
+    private List<Long> staleFlightIds;
+    private List<Long> orphanedFlightIds;
+    private boolean consistent;
+    private boolean repaired;
+}
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -13,4 +15,6 @@ public class FlightSearchResponse {
     private Long flightId;
     private RouteSaveResponse routeSaveResponse;
     private String airline;
+    private int remainingSeats;
+    private BigDecimal ticketBasePrice;
 }
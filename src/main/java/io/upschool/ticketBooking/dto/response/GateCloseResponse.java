@@ -0,0 +1,18 @@
+package io.upschool.ticketBooking.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GateCloseResponse {
+    private Long flightId;
+    private int noShows;
+    private List<String> noShowTicketNumbers;
+}
@@ -0,0 +1,25 @@
+package io.upschool.ticketBooking.dto.response;
+
+import io.upschool.ticketBooking.enums.StatisticsScope;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SalesStatisticsResponse {
+    private StatisticsScope scope;
+    private String scopeKey;
+    private long ticketsSold;
+    private long passengers;
+    private BigDecimal revenue;
+    private long capacity;
+    private double loadFactor;
+    private List<TicketClassSalesResponse> ticketClasses;
+}
@@ -0,0 +1,15 @@
+package io.upschool.ticketBooking.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ScheduleImportError {
+    private int lineNumber;
+    private String message;
+}
@@ -0,0 +1,21 @@
+package io.upschool.ticketBooking.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ScheduleImportResponse {
+    private long processedRows;
+    private long importedAirports;
+    private long importedRoutes;
+    private long importedFlights;
+    private long failedRows;
+    private List<ScheduleImportError> errors;
+}
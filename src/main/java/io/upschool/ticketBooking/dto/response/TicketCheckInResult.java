@@ -0,0 +1,16 @@
+package io.upschool.ticketBooking.dto.response;
+
+import io.upschool.ticketBooking.enums.CheckInOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TicketCheckInResult {
+    private String ticketNumber;
+    private CheckInOutcome outcome;
+}
@@ -0,0 +1,20 @@
+package io.upschool.ticketBooking.dto.response;
+
+import io.upschool.ticketBooking.enums.TicketClass;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TicketClassSalesResponse {
+    private TicketClass ticketClass;
+    private long ticketsSold;
+    private long passengers;
+    private BigDecimal revenue;
+}
@@ -0,0 +1,27 @@
+package io.upschool.ticketBooking.dto.response;
+
+import io.upschool.ticketBooking.enums.TicketClass;
+import io.upschool.ticketBooking.enums.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TicketExportRow {
+    private String ticketNumber;
+    private Long flightId;
+    private String passengerName;
+    private int passengerCount;
+    private TicketClass ticketClass;
+    private TicketStatus status;
+    private BigDecimal ticketPrice;
+    private Date creationDate;
+    private boolean archived;
+}
@@ -0,0 +1,28 @@
+package io.upschool.ticketBooking.dto.response;
+
+import io.upschool.ticketBooking.enums.TicketClass;
+import io.upschool.ticketBooking.enums.TicketEventType;
+import io.upschool.ticketBooking.enums.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TicketLifecycleEvent {
+    private Long eventId;
+    private TicketEventType eventType;
+    private String ticketNumber;
+    private Long flightId;
+    private TicketStatus status;
+    private TicketClass ticketClass;
+    private int passengerCount;
+    private BigDecimal ticketPrice;
+    private Date occurredAt;
+}
@@ -1,5 +1,6 @@
 package io.upschool.ticketBooking.entity;
 
+import io.upschool.ticketBooking.utils.SearchKeyUtils;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -23,6 +24,17 @@ public class Airline extends BaseEntity {
     private String airlineName;
     @Column(nullable = false, unique = true)
     private String airlineCode;
+    @Column(nullable = false)
+    private String airlineNameNormalized;
+    @Column(nullable = false)
+    private String airlineCodeNormalized;
+
+    @PrePersist
+    @PreUpdate
+    private void normalizeSearchColumns() {
+        airlineNameNormalized = SearchKeyUtils.normalize(airlineName);
+        airlineCodeNormalized = SearchKeyUtils.normalize(airlineCode);
+    }
 }
 
 
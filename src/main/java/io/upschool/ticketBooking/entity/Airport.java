@@ -1,5 +1,6 @@
 package io.upschool.ticketBooking.entity;
 
+import io.upschool.ticketBooking.utils.SearchKeyUtils;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -27,6 +28,12 @@ public class Airport extends BaseEntity {
     private String airportCode;
     @Column(nullable = false)
     private String airportLocation;
+    @Column(nullable = false)
+    private String airportNameNormalized;
+    @Column(nullable = false)
+    private String airportCodeNormalized;
+    @Column(nullable = false)
+    private String airportLocationNormalized;
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "airport_airline",
@@ -34,4 +41,12 @@ public class Airport extends BaseEntity {
             inverseJoinColumns = @JoinColumn(name = "airline_id")
     )
     private Set<Airline> airlines;
+
+    @PrePersist
+    @PreUpdate
+    private void normalizeSearchColumns() {
+        airportNameNormalized = SearchKeyUtils.normalize(airportName);
+        airportCodeNormalized = SearchKeyUtils.normalize(airportCode);
+        airportLocationNormalized = SearchKeyUtils.normalize(airportLocation);
+    }
 }
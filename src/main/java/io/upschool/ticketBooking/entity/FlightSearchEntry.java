@@ -0,0 +1,44 @@
+package io.upschool.ticketBooking.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A flat, denormalized copy of a flight with its route, airports and airline, used to serve
+ * flight searches. Rows are written by {@link io.upschool.ticketBooking.service.FlightSearchService}
+ * only; the flights table remains the source of truth.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "flight_search")
+public class FlightSearchEntry {
+    @Id
+    private Long flightId;
+    private Long routeId;
+    private Long airlineId;
+    private Long departureAirportId;
+    private String departureAirportName;
+    private String departureAirportCode;
+    private String departureLocation;
+    private String departureLocationNormalized;
+    private Long arrivalAirportId;
+    private String arrivalAirportName;
+    private String arrivalAirportCode;
+    private String arrivalLocation;
+    private String arrivalLocationNormalized;
+    private LocalDate departureDate;
+    private LocalTime departureTime;
+    private LocalDate arrivalDate;
+    private LocalTime arrivalTime;
+    private String airlineName;
+    private String airlineCode;
+    private int capacity;
+    private int remainingSeats;
+    private BigDecimal ticketBasePrice;
+}
@@ -0,0 +1,38 @@
+package io.upschool.ticketBooking.entity;
+
+import io.upschool.ticketBooking.enums.TicketEventType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.util.Date;
+
+@Entity
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Table(name = "outbox_events")
+@AttributeOverride(
+        name = "id",
+        column = @Column(
+                name = "event_id"
+        )
+)
+public class OutboxEvent extends BaseEntity {
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 64)
+    private TicketEventType eventType;
+    @Column(nullable = false)
+    private String ticketNumber;
+    @Column(nullable = false)
+    private Long flightId;
+    @Column(nullable = false, length = 4000)
+    private String payload;
+    private Date publishedAt;
+    @Column(nullable = false)
+    private int attempts;
+    private Date nextAttemptAt;
+}
@@ -0,0 +1,23 @@
+package io.upschool.ticketBooking.entity;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "sales_statistics")
+public class SalesStatistic {
+    @EmbeddedId
+    private SalesStatisticId id;
+    private long ticketsSold;
+    private long passengers;
+    private BigDecimal revenue;
+    private Date updatedDate;
+}
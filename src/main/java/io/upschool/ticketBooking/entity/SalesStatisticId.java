@@ -0,0 +1,24 @@
+package io.upschool.ticketBooking.entity;
+
+import io.upschool.ticketBooking.enums.StatisticsScope;
+import io.upschool.ticketBooking.enums.TicketClass;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesStatisticId implements Serializable {
+    @Enumerated(EnumType.STRING)
+    private StatisticsScope scope;
+    private String scopeKey;
+    @Enumerated(EnumType.STRING)
+    private TicketClass ticketClass;
+}
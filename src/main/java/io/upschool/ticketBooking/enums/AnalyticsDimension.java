@@ -0,0 +1,25 @@
+package io.upschool.ticketBooking.enums;
+
+import io.upschool.ticketBooking.exception.AnalyticsQueryException;
+import lombok.Getter;
+
+@Getter
+public enum AnalyticsDimension {
+    AIRLINE("airline"),
+    ROUTE("route"),
+    DEPARTURE_DATE("departureDate"),
+    TICKET_CLASS("ticketClass");
+
+    private final String value;
+    AnalyticsDimension(String value) {
+        this.value = value;
+    }
+    public static AnalyticsDimension fromValue(String value) {
+        for (AnalyticsDimension dimension : values()) {
+            if (dimension.value.equalsIgnoreCase(value.trim())) {
+                return dimension;
+            }
+        }
+        throw new AnalyticsQueryException("Unsupported group by dimension: " + value);
+    }
+}
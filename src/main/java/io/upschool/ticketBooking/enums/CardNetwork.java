@@ -0,0 +1,56 @@
+package io.upschool.ticketBooking.enums;
+
+/**
+ * The card networks tickets can be paid with, told apart by the first six digits of the card
+ * number (the BIN). Each network only issues numbers of certain lengths.
+ */
+public enum CardNetwork {
+    VISA(13, 16, 19),
+    MASTERCARD(16),
+    AMERICAN_EXPRESS(15),
+    DISCOVER(16, 17, 18, 19),
+    JCB(16, 17, 18, 19),
+    DINERS_CLUB(14, 15, 16, 17, 18, 19);
+
+    private final int lengthMask;
+
+    CardNetwork(int... lengths) {
+        int mask = 0;
+        for (int length : lengths) {
+            mask |= 1 << length;
+        }
+        this.lengthMask = mask;
+    }
+
+    public boolean acceptsLength(int length) {
+        return (lengthMask & (1 << length)) != 0;
+    }
+
+    /**
+     * Returns the network that issues cards with the given BIN.
+     *
+     * @param bin The first six digits of the card number.
+     * @return The issuing network, or null if the BIN belongs to none of the supported networks.
+     */
+    public static CardNetwork fromBin(int bin) {
+        if (bin >= 400000 && bin <= 499999) {
+            return VISA;
+        }
+        if ((bin >= 510000 && bin <= 559999) || (bin >= 222100 && bin <= 272099)) {
+            return MASTERCARD;
+        }
+        if ((bin >= 340000 && bin <= 349999) || (bin >= 370000 && bin <= 379999)) {
+            return AMERICAN_EXPRESS;
+        }
+        if ((bin >= 601100 && bin <= 601199) || (bin >= 644000 && bin <= 659999)) {
+            return DISCOVER;
+        }
+        if (bin >= 352800 && bin <= 358999) {
+            return JCB;
+        }
+        if ((bin >= 300000 && bin <= 305999) || (bin >= 360000 && bin <= 369999) || (bin >= 380000 && bin <= 399999)) {
+            return DINERS_CLUB;
+        }
+        return null;
+    }
+}
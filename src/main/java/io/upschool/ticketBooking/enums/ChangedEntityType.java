@@ -0,0 +1,8 @@
+package io.upschool.ticketBooking.enums;
+
+public enum ChangedEntityType {
+    AIRPORT,
+    AIRLINE,
+    ROUTE,
+    FLIGHT
+}
@@ -0,0 +1,9 @@
+package io.upschool.ticketBooking.enums;
+
+public enum CheckInOutcome {
+    CHECKED_IN,
+    ALREADY_CHECKED_IN,
+    CANCELLED,
+    NO_SHOW,
+    NOT_FOUND
+}
@@ -0,0 +1,25 @@
+package io.upschool.ticketBooking.enums;
+
+import io.upschool.ticketBooking.exception.TicketValidationException;
+import lombok.Getter;
+
+@Getter
+public enum ExportFormat {
+    CSV("csv", "text/csv"),
+    NDJSON("ndjson", "application/x-ndjson");
+
+    private final String value;
+    private final String mediaType;
+    ExportFormat(String value, String mediaType) {
+        this.value = value;
+        this.mediaType = mediaType;
+    }
+    public static ExportFormat fromValue(String value) {
+        for (ExportFormat format : values()) {
+            if (format.value.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new TicketValidationException("Unsupported export format: " + value);
+    }
+}
@@ -0,0 +1,23 @@
+package io.upschool.ticketBooking.enums;
+
+import io.upschool.ticketBooking.exception.ScheduleImportException;
+import lombok.Getter;
+
+@Getter
+public enum ScheduleImportFormat {
+    CSV("csv"),
+    NDJSON("ndjson");
+
+    private final String value;
+    ScheduleImportFormat(String value) {
+        this.value = value;
+    }
+    public static ScheduleImportFormat fromValue(String value) {
+        for (ScheduleImportFormat format : values()) {
+            if (format.value.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new ScheduleImportException("Unsupported import format: " + value);
+    }
+}
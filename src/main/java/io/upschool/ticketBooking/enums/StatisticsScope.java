@@ -0,0 +1,7 @@
+package io.upschool.ticketBooking.enums;
+
+public enum StatisticsScope {
+    FLIGHT,
+    ROUTE,
+    AIRLINE_DAY
+}
@@ -0,0 +1,8 @@
+package io.upschool.ticketBooking.enums;
+
+public enum TicketEventType {
+    TICKET_PURCHASED,
+    TICKET_CHECKED_IN,
+    TICKET_CANCELLED,
+    TICKET_NO_SHOW
+}
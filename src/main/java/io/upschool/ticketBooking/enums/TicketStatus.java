@@ -3,5 +3,6 @@ package io.upschool.ticketBooking.enums;
 public enum TicketStatus {
     PURCHASED,
     CHECKED_IN,
-    CANCELLED
+    CANCELLED,
+    NO_SHOW
 }
@@ -0,0 +1,10 @@
+package io.upschool.ticketBooking.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class AdminAccessDeniedException extends BookingException {
+    public AdminAccessDeniedException(String message) {
+        super(message, HttpStatus.FORBIDDEN);
+    }
+
+}
@@ -1,8 +1,10 @@
 package io.upschool.ticketBooking.exception;
 
-public class AirlineAlreadySaveException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class AirlineAlreadySaveException extends BookingException {
     public AirlineAlreadySaveException(String message) {
-        super(message);
+        super(message, HttpStatus.BAD_REQUEST);
     }
 
 }
@@ -1,8 +1,10 @@
 package io.upschool.ticketBooking.exception;
 
-public class AirlineNotFoundException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class AirlineNotFoundException extends BookingException {
     public AirlineNotFoundException(String message) {
-        super(message);
+        super(message, HttpStatus.NOT_FOUND);
     }
 
 }
@@ -1,8 +1,10 @@
 package io.upschool.ticketBooking.exception;
 
-public class AirlineValidationException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class AirlineValidationException extends BookingException {
     public AirlineValidationException(String message) {
-        super(message);
+        super(message, HttpStatus.BAD_REQUEST);
     }
 
 }
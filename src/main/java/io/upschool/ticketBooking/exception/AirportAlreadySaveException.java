@@ -1,8 +1,10 @@
 package io.upschool.ticketBooking.exception;
 
-public class AirportAlreadySaveException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class AirportAlreadySaveException extends BookingException {
     public AirportAlreadySaveException(String message) {
-        super(message);
+        super(message, HttpStatus.BAD_REQUEST);
     }
 
 }
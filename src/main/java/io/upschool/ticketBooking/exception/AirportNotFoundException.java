@@ -1,8 +1,10 @@
 package io.upschool.ticketBooking.exception;
 
-public class AirportNotFoundException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class AirportNotFoundException extends BookingException {
     public AirportNotFoundException(String message) {
-        super(message);
+        super(message, HttpStatus.NOT_FOUND);
     }
 
 }
@@ -1,8 +1,10 @@
 package io.upschool.ticketBooking.exception;
 
-public class AirportValidationException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class AirportValidationException extends BookingException {
     public AirportValidationException(String message) {
-        super(message);
+        super(message, HttpStatus.BAD_REQUEST);
     }
 
 }
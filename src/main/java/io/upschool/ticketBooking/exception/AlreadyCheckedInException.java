@@ -1,8 +1,10 @@
 package io.upschool.ticketBooking.exception;
 
-public class AlreadyCheckedInException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class AlreadyCheckedInException extends BookingException {
     public AlreadyCheckedInException(String message) {
-        super(message);
+        super(message, HttpStatus.CONFLICT);
     }
 
 }
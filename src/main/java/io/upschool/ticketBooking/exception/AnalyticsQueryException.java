@@ -0,0 +1,10 @@
+package io.upschool.ticketBooking.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class AnalyticsQueryException extends BookingException {
+    public AnalyticsQueryException(String message) {
+        super(message, HttpStatus.BAD_REQUEST);
+    }
+
+}
@@ -0,0 +1,27 @@
+package io.upschool.ticketBooking.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base class for the expected failures of the booking domain, such as a search with no results or
+ * a request that fails validation. These are answered with a fixed HTTP status and their message,
+ * and never need a stack trace, so none is captured: throwing one costs about as much as
+ * allocating any other small object.
+ */
+public abstract class BookingException extends RuntimeException {
+    private final HttpStatus status;
+
+    protected BookingException(String message, HttpStatus status) {
+        super(message, null, false, false);
+        this.status = status;
+    }
+
+    /**
+     * Returns the HTTP status the exception is answered with.
+     *
+     * @return The response status.
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,10 @@
+package io.upschool.ticketBooking.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ClusterAccessDeniedException extends BookingException {
+    public ClusterAccessDeniedException(String message) {
+        super(message, HttpStatus.FORBIDDEN);
+    }
+
+}
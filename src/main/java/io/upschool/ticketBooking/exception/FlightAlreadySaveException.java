@@ -1,8 +1,10 @@
 package io.upschool.ticketBooking.exception;
 
-public class FlightAlreadySaveException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class FlightAlreadySaveException extends BookingException {
     public FlightAlreadySaveException(String message) {
-        super(message);
+        super(message, HttpStatus.BAD_REQUEST);
     }
 
 }
@@ -1,8 +1,10 @@
 package io.upschool.ticketBooking.exception;
 
-public class FlightNotFoundException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class FlightNotFoundException extends BookingException {
     public FlightNotFoundException(String message) {
-        super(message);
+        super(message, HttpStatus.NOT_FOUND);
     }
 
 }
@@ -1,8 +1,10 @@
 package io.upschool.ticketBooking.exception;
 
-public class FlightValidationException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class FlightValidationException extends BookingException {
     public FlightValidationException(String message) {
-        super(message);
+        super(message, HttpStatus.BAD_REQUEST);
     }
 
 }
@@ -2,33 +2,77 @@ package io.upschool.ticketBooking.exception;
 
 import io.upschool.ticketBooking.dto.BaseResponse;
 import io.upschool.ticketBooking.service.BaseResponseService;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.TypeMismatchException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.NoHandlerFoundException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
-import java.text.MessageFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+@Slf4j
 @RestControllerAdvice
-@RequiredArgsConstructor
 public class GlobalExceptionHandle extends ResponseEntityExceptionHandler {
+    /**
+     * The domain errors whose message never includes request input, such as empty searches and failed
+     * validations. Their responses are built once and shared by every request failing the same way;
+     * errors that echo input are answered with a response built per request, so clients cannot add
+     * entries here.
+     */
+    private static final List<BookingException> FIXED_ERRORS = List.of(
+            new FlightNotFoundException("Flight not found."),
+            new RouteNotFoundException("Route not found."),
+            new RouteNotFoundException("No routes found matching the search criteria."),
+            new AirportNotFoundException("Airport Not Found."),
+            new AirportNotFoundException("No airports found matching the search criteria."),
+            new AirlineNotFoundException("Airline not found."),
+            new TicketNotFoundException("Ticket not found."),
+            new FlightValidationException("Required fields cannot be left blank"),
+            new FlightValidationException("Departure date is required when searching by location."),
+            new FlightValidationException("Capacity is invalid"),
+            new RouteValidationException("Required fields cannot be left blank"),
+            new RouteValidationException("Departure time cannot be after arrival time."),
+            new RouteValidationException("Departure and arrival airports cannot be in the same location."),
+            new TicketValidationException("Required fields cannot be left blank"),
+            new AirlineValidationException("Airline code or airline name cannot be left blank"),
+            new AirportValidationException("Airport name, airport code and location cannot be left blank"),
+            new InvalidDateTimeFormatException("Invalid date format. Use yyyy-MM-dd"),
+            new InvalidDateTimeFormatException("Invalid time format. Use HH:mm"),
+            new InvalidCreditCartNumberException("Invalid card number"),
+            new InvalidCreditCartNumberException("Credit card number must contain only digits"),
+            new NotAvailableSeatException("Not enough available seats."));
+
     private final BaseResponseService baseResponseService;
+    private final Map<FixedError, ResponseEntity<BaseResponse<?>>> fixedErrorResponses;
 
+    public GlobalExceptionHandle(BaseResponseService baseResponseService) {
+        this.baseResponseService = baseResponseService;
+        this.fixedErrorResponses = FIXED_ERRORS.stream()
+                .map(FixedError::of)
+                .distinct()
+                .collect(Collectors.toUnmodifiableMap(Function.identity(),
+                        error -> baseResponseService.createErrorResponse(error.status(), error.message())));
+    }
 
     @Override
     protected ResponseEntity<Object> handleNoHandlerFoundException(NoHandlerFoundException ex,
                                                                    HttpHeaders headers,
                                                                    HttpStatusCode status,
                                                                    WebRequest request) {
-        final var errorMessage =
-                MessageFormat.format("No handler found for {0} {1} ", ex.getHttpMethod(), ex.getRequestURL());
-        System.out.println(errorMessage);
+        log.atInfo()
+                .addKeyValue("method", ex.getHttpMethod())
+                .addKeyValue("url", ex.getRequestURL())
+                .log("No handler found");
         var response = BaseResponse.builder()
                 .status(HttpStatus.BAD_REQUEST.value())
                 .isSuccess(false)
@@ -36,185 +80,75 @@ public class GlobalExceptionHandle extends ResponseEntityExceptionHandler {
         return ResponseEntity.badRequest().body(response);
     }
 
-    @ExceptionHandler(Exception.class)
-    public ResponseEntity<Object> handleAll(final Exception exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage() +
-                webRequest.getHeader(" client-type "));
-        return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-    }
-
-    @ExceptionHandler(AirlineValidationException.class)
-    public ResponseEntity<BaseResponse<?>> handleAirlineValidationException(
-            final AirlineValidationException exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage());
-        System.out.println(webRequest.toString());
-        return baseResponseService.createErrorResponse(HttpStatus.BAD_REQUEST, exception.getMessage());
-
-    }
-
-    @ExceptionHandler(AirlineAlreadySaveException.class)
-    public ResponseEntity<BaseResponse<?>> handleAirlineAlreadySaveException(
-            final AirlineAlreadySaveException exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage());
-        System.out.println(webRequest.toString());
-        return baseResponseService.createErrorResponse(HttpStatus.BAD_REQUEST, exception.getMessage());
-    }
-
-    @ExceptionHandler(AirlineNotFoundException.class)
-    public ResponseEntity<BaseResponse<?>> handleAirlineNotFoundException(
-            final AirlineNotFoundException exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage());
-        System.out.println(webRequest.toString());
-        return baseResponseService.createErrorResponse(HttpStatus.NOT_FOUND, exception.getMessage());
-    }
-
-    @ExceptionHandler(AirportValidationException.class)
-    public ResponseEntity<BaseResponse<?>> handleAirportValidationException(
-            final AirportValidationException exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage());
-        System.out.println(webRequest.toString());
-        return baseResponseService.createErrorResponse(HttpStatus.BAD_REQUEST, exception.getMessage());
-    }
-
-    @ExceptionHandler(AirportAlreadySaveException.class)
-    public ResponseEntity<BaseResponse<?>> handleAirportAlreadySaveException(
-            final AirportAlreadySaveException exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage());
-        System.out.println(webRequest.toString());
-        return baseResponseService.createErrorResponse(HttpStatus.BAD_REQUEST, exception.getMessage());
-    }
-
-    @ExceptionHandler(AirportNotFoundException.class)
-    public ResponseEntity<BaseResponse<?>> handleAirportNotFoundException(
-            final AirportNotFoundException exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage());
-        System.out.println(webRequest.toString());
-        return baseResponseService.createErrorResponse(HttpStatus.NOT_FOUND, exception.getMessage());
-    }
-
-    @ExceptionHandler(RouteValidationException.class)
-    public ResponseEntity<BaseResponse<?>> handleFlightRouteValidationException(
-            final RouteValidationException exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage());
-        System.out.println(webRequest.toString());
-        return baseResponseService.createErrorResponse(HttpStatus.BAD_REQUEST, exception.getMessage());
-    }
-
-    @ExceptionHandler(RouteAlreadySaveException.class)
-    public ResponseEntity<BaseResponse<?>> handleRouteAlreadySaveException(
-            final RouteAlreadySaveException exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage());
-        System.out.println(webRequest.toString());
-        return baseResponseService.createErrorResponse(HttpStatus.BAD_REQUEST, exception.getMessage());
-    }
-
-    @ExceptionHandler(RouteNotFoundException.class)
-    public ResponseEntity<BaseResponse<?>> handleRouteNotFoundException(
-            final RouteNotFoundException exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage());
-        System.out.println(webRequest.toString());
-        return baseResponseService.createErrorResponse(HttpStatus.NOT_FOUND, exception.getMessage());
-    }
-
-    @ExceptionHandler(FlightValidationException.class)
-    public ResponseEntity<BaseResponse<?>> handleFlightValidationException(
-            final FlightValidationException exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage());
-        System.out.println(webRequest.toString());
-        return baseResponseService.createErrorResponse(HttpStatus.BAD_REQUEST, exception.getMessage());
-
-    }
-
-    @ExceptionHandler(FlightAlreadySaveException.class)
-    public ResponseEntity<BaseResponse<?>> handleFlightAlreadySaveException(
-            final FlightAlreadySaveException exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage());
-        System.out.println(webRequest.toString());
-        return baseResponseService.createErrorResponse(HttpStatus.BAD_REQUEST, exception.getMessage());
-    }
-
-    @ExceptionHandler(FlightNotFoundException.class)
-    public ResponseEntity<BaseResponse<?>> handleFlightNotFoundException(
-            final FlightNotFoundException exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage());
-        System.out.println(webRequest.toString());
-        return baseResponseService.createErrorResponse(HttpStatus.NOT_FOUND, exception.getMessage());
-    }
-
-    @ExceptionHandler(InvalidDateTimeFormatException.class)
-    public ResponseEntity<BaseResponse<?>> handleInvalidDateTimeFormatException(
-            final InvalidDateTimeFormatException exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage());
-        System.out.println(webRequest.toString());
-        return baseResponseService.createErrorResponse(HttpStatus.BAD_REQUEST, exception.getMessage());
-    }
-
-    @ExceptionHandler(InvalidTicketClassException.class)
-    public ResponseEntity<BaseResponse<?>> handleInvalidTicketClassException(
-            final InvalidTicketClassException exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage());
-        System.out.println(webRequest.toString());
-        return baseResponseService.createErrorResponse(HttpStatus.BAD_REQUEST, exception.getMessage());
-    }
-
-    @ExceptionHandler(NotAvailableSeatException.class)
-    public ResponseEntity<BaseResponse<?>> handleNotAvailableSeatException(
-            final NotAvailableSeatException exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage());
-        System.out.println(webRequest.toString());
-        return baseResponseService.createErrorResponse(HttpStatus.BAD_REQUEST, exception.getMessage());
-    }
-
-    @ExceptionHandler(PaymentFailedException.class)
-    public ResponseEntity<BaseResponse<?>> handlePaymentFailedException(
-            final PaymentFailedException exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage());
-        System.out.println(webRequest.toString());
-        return baseResponseService.createErrorResponse(HttpStatus.BAD_REQUEST, exception.getMessage());
-    }
-
-    @ExceptionHandler(InvalidCreditCartNumberException.class)
-    public ResponseEntity<BaseResponse<?>> handleInvalidCreditCartNumberException(
-            final InvalidCreditCartNumberException exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage());
-        System.out.println(webRequest.toString());
-        return baseResponseService.createErrorResponse(HttpStatus.BAD_REQUEST, exception.getMessage());
-    }
-
-    @ExceptionHandler(TicketValidationException.class)
-    public ResponseEntity<BaseResponse<?>> handleTicketValidationException(
-            final TicketValidationException exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage());
-        System.out.println(webRequest.toString());
-        return baseResponseService.createErrorResponse(HttpStatus.BAD_REQUEST, exception.getMessage());
+    /**
+     * Answers a request body or parameter that could not be converted with the domain exception behind
+     * it, such as a malformed date, if there is one.
+     */
+    @Override
+    protected ResponseEntity<Object> handleHttpMessageNotReadable(HttpMessageNotReadableException ex,
+                                                                  HttpHeaders headers,
+                                                                  HttpStatusCode status,
+                                                                  WebRequest request) {
+        BookingException cause = findBookingException(ex);
+        if (cause != null) {
+            return ResponseEntity.status(cause.getStatus()).body(handleBookingException(cause, request).getBody());
+        }
+        return super.handleHttpMessageNotReadable(ex, headers, status, request);
     }
 
-    @ExceptionHandler(TicketNotFoundException.class)
-    public ResponseEntity<BaseResponse<?>> handleTicketNotFoundException(
-            final TicketNotFoundException exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage());
-        System.out.println(webRequest.toString());
-        return baseResponseService.createErrorResponse(HttpStatus.NOT_FOUND, exception.getMessage());
+    @Override
+    protected ResponseEntity<Object> handleTypeMismatch(TypeMismatchException ex,
+                                                        HttpHeaders headers,
+                                                        HttpStatusCode status,
+                                                        WebRequest request) {
+        BookingException cause = findBookingException(ex);
+        if (cause != null) {
+            return ResponseEntity.status(cause.getStatus()).body(handleBookingException(cause, request).getBody());
+        }
+        return super.handleTypeMismatch(ex, headers, status, request);
     }
 
-    @ExceptionHandler(AlreadyCheckedInException.class)
-    public ResponseEntity<BaseResponse<?>> handleAlreadyCheckedInException(
-            final AlreadyCheckedInException exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage());
-        System.out.println(webRequest.toString());
-        return baseResponseService.createErrorResponse(HttpStatus.CONFLICT, exception.getMessage());
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Object> handleAll(final Exception exception, final WebRequest webRequest) {
+        log.atError()
+                .addKeyValue("request", () -> webRequest.getDescription(false))
+                .setCause(exception)
+                .log("Unhandled error: {}", exception.getMessage());
+        return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
     }
 
-    @ExceptionHandler(TicketOperationException.class)
-    public ResponseEntity<BaseResponse<?>> handleTicketOperationException(
-            final TicketOperationException exception, final WebRequest webRequest) {
-        System.out.println("Error acquired " + exception.getMessage());
-        System.out.println(webRequest.toString());
-        return baseResponseService.createErrorResponse(HttpStatus.BAD_REQUEST, exception.getMessage());
+    /**
+     * Answers every domain exception with its own status and message. These are expected failures,
+     * so they are logged without a stack trace. Errors with a fixed message share one pre-built
+     * response, which must not be modified.
+     */
+    @ExceptionHandler(BookingException.class)
+    public ResponseEntity<BaseResponse<?>> handleBookingException(
+            final BookingException exception, final WebRequest webRequest) {
+        log.atInfo()
+                .addKeyValue("status", exception.getStatus().value())
+                .addKeyValue("exception", exception.getClass().getSimpleName())
+                .addKeyValue("request", () -> webRequest.getDescription(false))
+                .log("Error acquired: {}", exception.getMessage());
+        ResponseEntity<BaseResponse<?>> fixedResponse = fixedErrorResponses.get(FixedError.of(exception));
+        if (fixedResponse != null) {
+            return fixedResponse;
+        }
+        return baseResponseService.createErrorResponse(exception.getStatus(), exception.getMessage());
+    }
+
+    private static BookingException findBookingException(Throwable exception) {
+        for (Throwable cause = exception.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof BookingException bookingException) {
+                return bookingException;
+            }
+        }
+        return null;
+    }
+
+    private record FixedError(Class<? extends BookingException> type, HttpStatus status, String message) {
+        static FixedError of(BookingException exception) {
+            return new FixedError(exception.getClass(), exception.getStatus(), exception.getMessage());
+        }
     }
-
 }
-
-
-
-
@@ -1,8 +1,10 @@
 package io.upschool.ticketBooking.exception;
 
-public class InvalidCreditCartNumberException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class InvalidCreditCartNumberException extends BookingException {
     public InvalidCreditCartNumberException(String message) {
-        super(message);
+        super(message, HttpStatus.BAD_REQUEST);
     }
 
 }
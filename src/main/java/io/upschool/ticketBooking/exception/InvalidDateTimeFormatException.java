@@ -1,8 +1,10 @@
 package io.upschool.ticketBooking.exception;
 
-public class InvalidDateTimeFormatException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class InvalidDateTimeFormatException extends BookingException {
     public InvalidDateTimeFormatException(String message) {
-        super(message);
+        super(message, HttpStatus.BAD_REQUEST);
     }
 
 }
@@ -1,8 +1,10 @@
 package io.upschool.ticketBooking.exception;
 
-public class InvalidTicketClassException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class InvalidTicketClassException extends BookingException {
     public InvalidTicketClassException(String message) {
-        super(message);
+        super(message, HttpStatus.BAD_REQUEST);
     }
 
 }
@@ -1,8 +1,10 @@
 package io.upschool.ticketBooking.exception;
 
-public class NotAvailableSeatException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class NotAvailableSeatException extends BookingException {
     public NotAvailableSeatException(String message) {
-        super(message);
+        super(message, HttpStatus.BAD_REQUEST);
     }
 
 }
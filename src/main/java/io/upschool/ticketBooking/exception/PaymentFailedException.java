@@ -1,8 +1,10 @@
 package io.upschool.ticketBooking.exception;
 
-public class PaymentFailedException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class PaymentFailedException extends BookingException {
     public PaymentFailedException(String message) {
-        super(message);
+        super(message, HttpStatus.BAD_REQUEST);
     }
 
 }
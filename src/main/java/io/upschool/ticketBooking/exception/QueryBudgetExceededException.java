@@ -0,0 +1,9 @@
+package io.upschool.ticketBooking.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class QueryBudgetExceededException extends BookingException {
+    public QueryBudgetExceededException(String message) {
+        super(message, HttpStatus.BAD_REQUEST);
+    }
+}
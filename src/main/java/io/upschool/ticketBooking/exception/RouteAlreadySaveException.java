@@ -1,8 +1,10 @@
 package io.upschool.ticketBooking.exception;
 
-public class RouteAlreadySaveException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class RouteAlreadySaveException extends BookingException {
     public RouteAlreadySaveException(String message) {
-        super(message);
+        super(message, HttpStatus.BAD_REQUEST);
     }
 
 }
@@ -1,8 +1,10 @@
 package io.upschool.ticketBooking.exception;
 
-public class RouteNotFoundException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class RouteNotFoundException extends BookingException {
     public RouteNotFoundException(String message) {
-        super(message);
+        super(message, HttpStatus.NOT_FOUND);
     }
 
 }
@@ -1,8 +1,10 @@
 package io.upschool.ticketBooking.exception;
 
-public class RouteValidationException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class RouteValidationException extends BookingException {
     public RouteValidationException(String message) {
-        super(message);
+        super(message, HttpStatus.BAD_REQUEST);
     }
 
 }
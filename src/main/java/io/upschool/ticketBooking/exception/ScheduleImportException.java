@@ -0,0 +1,10 @@
+package io.upschool.ticketBooking.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ScheduleImportException extends BookingException {
+    public ScheduleImportException(String message) {
+        super(message, HttpStatus.BAD_REQUEST);
+    }
+
+}
@@ -0,0 +1,10 @@
+package io.upschool.ticketBooking.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class SeatHoldReleasedException extends BookingException {
+    public SeatHoldReleasedException(String message) {
+        super(message, HttpStatus.CONFLICT);
+    }
+
+}
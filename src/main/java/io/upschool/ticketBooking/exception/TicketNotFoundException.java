@@ -1,8 +1,10 @@
 package io.upschool.ticketBooking.exception;
 
-public class TicketNotFoundException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class TicketNotFoundException extends BookingException {
     public TicketNotFoundException(String message) {
-        super(message);
+        super(message, HttpStatus.NOT_FOUND);
     }
 
 }
@@ -1,8 +1,10 @@
 package io.upschool.ticketBooking.exception;
 
-public class TicketOperationException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class TicketOperationException extends BookingException {
     public TicketOperationException(String message) {
-        super(message);
+        super(message, HttpStatus.BAD_REQUEST);
     }
 
 }
@@ -1,8 +1,10 @@
 package io.upschool.ticketBooking.exception;
 
-public class TicketValidationException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class TicketValidationException extends BookingException {
     public TicketValidationException(String message) {
-        super(message);
+        super(message, HttpStatus.BAD_REQUEST);
     }
 
 }
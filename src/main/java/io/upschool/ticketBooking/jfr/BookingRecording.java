@@ -0,0 +1,65 @@
+package io.upschool.ticketBooking.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Keeps a flight recording running for the life of the application with the bundled
+ * jfr/booking.jfc settings, holding the last booking.jfr.max-age of events in a disk-backed ring
+ * buffer. The recording is written to booking.jfr.destination on shutdown; a running one can be
+ * dumped at any time with {@code jcmd <pid> JFR.dump name=booking filename=...}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("booking.jfr.destination")
+public class BookingRecording {
+    public static final String SETTINGS = "jfr/booking.jfc";
+    public static final String NAME = "booking";
+
+    private final Recording recording;
+
+    public BookingRecording(@Value("${booking.jfr.destination}") Path destination,
+                            @Value("${booking.jfr.max-age:6h}") Duration maxAge,
+                            @Value("${booking.jfr.max-size:250MB}") DataSize maxSize) throws IOException, ParseException {
+        Configuration configuration;
+        try (Reader reader = new InputStreamReader(new ClassPathResource(SETTINGS).getInputStream(),
+                StandardCharsets.UTF_8)) {
+            configuration = Configuration.create(reader);
+        }
+        Path parent = destination.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        recording = new Recording(configuration);
+        recording.setName(NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.setDestination(destination);
+        recording.setDumpOnExit(true);
+        recording.start();
+        log.info("Started flight recording {} to {}", NAME, destination);
+    }
+
+    @PreDestroy
+    public void stop() {
+        recording.stop();
+        recording.close();
+    }
+}
@@ -0,0 +1,26 @@
+package io.upschool.ticketBooking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One lookup in an in-memory cache, and whether it was a hit.
+ */
+@Name(CacheLookupEvent.NAME)
+@Label("Cache Lookup")
+@Category({"Ticket Booking", "Cache"})
+@Description("A lookup in an in-memory cache")
+@StackTrace(false)
+public class CacheLookupEvent extends Event {
+    public static final String NAME = "io.upschool.booking.CacheLookup";
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Hit")
+    public boolean hit;
+}
@@ -0,0 +1,32 @@
+package io.upschool.ticketBooking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One flight search against the flight_search read model, including searches with no results.
+ */
+@Name(FlightSearchEvent.NAME)
+@Label("Flight Search")
+@Category({"Ticket Booking", "Search"})
+@Description("A flight search and the number of flights it found")
+@StackTrace(false)
+public class FlightSearchEvent extends Event {
+    public static final String NAME = "io.upschool.booking.FlightSearch";
+
+    @Label("Departure Key")
+    public String departureKey;
+
+    @Label("Arrival Key")
+    public String arrivalKey;
+
+    @Label("Departure Date")
+    public String departureDate;
+
+    @Label("Result Count")
+    public int resultCount;
+}
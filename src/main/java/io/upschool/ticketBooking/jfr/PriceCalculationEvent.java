@@ -0,0 +1,32 @@
+package io.upschool.ticketBooking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The price quote of one purchase.
+ */
+@Name(PriceCalculationEvent.NAME)
+@Label("Price Calculation")
+@Category({"Ticket Booking", "Purchase"})
+@Description("Calculation of the total price of a purchase")
+@StackTrace(false)
+public class PriceCalculationEvent extends Event {
+    public static final String NAME = "io.upschool.booking.PriceCalculation";
+
+    @Label("Flight ID")
+    public long flightId;
+
+    @Label("Ticket Class")
+    public String ticketClass;
+
+    @Label("Passenger Count")
+    public int passengerCount;
+
+    @Label("Price")
+    public double price;
+}
@@ -0,0 +1,165 @@
+package io.upschool.ticketBooking.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reads a flight recording and summarizes the booking events in it: latency percentiles per event
+ * type, the flights whose seat reservations took longest in total, searches that found nothing,
+ * cache hit ratios, and the application frames that waited longest on locks.
+ */
+public class RecordingSummary {
+    private static final String APPLICATION_PACKAGE = "io.upschool.";
+    private static final String BOOKING_EVENT_PREFIX = "io.upschool.booking.";
+    private static final int TOP = 10;
+
+    private final Map<String, List<Long>> durations = new TreeMap<>();
+    private final Map<Long, Totals> reservationsByFlight = new HashMap<>();
+    private final Map<String, Totals> searchesByKeys = new HashMap<>();
+    private final Map<String, long[]> cacheLookups = new TreeMap<>();
+    private final Map<String, Totals> contentionByFrame = new HashMap<>();
+    private long soldOutReservations;
+    private long emptySearches;
+
+    /**
+     * Reads every event of a recording file.
+     *
+     * @param recording The .jfr file.
+     * @return The summary of the recording.
+     * @throws IOException If the file cannot be read.
+     */
+    public static RecordingSummary of(Path recording) throws IOException {
+        RecordingSummary summary = new RecordingSummary();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                summary.add(file.readEvent());
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Adds one event to the summary. Events other than the booking and contention events are ignored.
+     *
+     * @param event The recorded event.
+     */
+    public void add(RecordedEvent event) {
+        String name = event.getEventType().getName();
+        long nanos = event.getDuration().toNanos();
+        if (name.startsWith(BOOKING_EVENT_PREFIX)) {
+            durations.computeIfAbsent(event.getEventType().getLabel(), label -> new ArrayList<>()).add(nanos);
+        }
+        switch (name) {
+            case SeatReservationEvent.NAME -> {
+                reservationsByFlight.computeIfAbsent(event.getLong("flightId"), id -> new Totals()).add(nanos);
+                if ("SOLD_OUT".equals(event.getString("outcome"))) {
+                    soldOutReservations++;
+                }
+            }
+            case FlightSearchEvent.NAME -> {
+                String keys = event.getString("departureKey") + " -> " + event.getString("arrivalKey");
+                searchesByKeys.computeIfAbsent(keys, k -> new Totals()).add(nanos);
+                if (event.getInt("resultCount") == 0) {
+                    emptySearches++;
+                }
+            }
+            case CacheLookupEvent.NAME ->
+                    cacheLookups.computeIfAbsent(event.getString("cache"), c -> new long[2])
+                            [event.getBoolean("hit") ? 0 : 1]++;
+            case "jdk.JavaMonitorEnter", "jdk.ThreadPark" -> {
+                String frame = applicationFrame(event.getStackTrace());
+                if (frame != null) {
+                    contentionByFrame.computeIfAbsent(name.substring(4) + " at " + frame, f -> new Totals()).add(nanos);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Formats the summary as plain text.
+     *
+     * @return The report.
+     */
+    public String format() {
+        StringBuilder report = new StringBuilder();
+        report.append("Event latency\n");
+        durations.forEach((label, samples) -> {
+            samples.sort(null);
+            report.append(String.format(Locale.ROOT, "  %-26s count=%d p50=%s p99=%s max=%s%n", label,
+                    samples.size(), millis(percentile(samples, 0.50)), millis(percentile(samples, 0.99)),
+                    millis(samples.get(samples.size() - 1))));
+        });
+        report.append(String.format(Locale.ROOT, "Seat reservations (%d sold out), top flights by total time%n",
+                soldOutReservations));
+        appendTop(report, reservationsByFlight);
+        report.append(String.format(Locale.ROOT, "Flight searches (%d empty), top keys by total time%n",
+                emptySearches));
+        appendTop(report, searchesByKeys);
+        report.append("Cache lookups\n");
+        cacheLookups.forEach((cache, counts) -> report.append(String.format(Locale.ROOT,
+                "  %-26s hits=%d misses=%d hit-ratio=%.2f%n", cache, counts[0], counts[1],
+                (double) counts[0] / (counts[0] + counts[1]))));
+        report.append("Lock contention in application code, top frames by total time\n");
+        appendTop(report, contentionByFrame);
+        return report.toString();
+    }
+
+    private <K> void appendTop(StringBuilder report, Map<K, Totals> totals) {
+        totals.entrySet().stream()
+                .sorted(Map.Entry.<K, Totals>comparingByValue(Comparator.comparingLong(t -> t.totalNanos)).reversed())
+                .limit(TOP)
+                .forEach(entry -> report.append(String.format(Locale.ROOT, "  %-40s count=%d total=%s max=%s%n",
+                        entry.getKey(), entry.getValue().count, millis(entry.getValue().totalNanos),
+                        millis(entry.getValue().maxNanos))));
+    }
+
+    private static String applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APPLICATION_PACKAGE)) {
+                return type.substring(type.lastIndexOf('.') + 1) + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber();
+            }
+        }
+        return null;
+    }
+
+    private static long percentile(List<Long> sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2fms", nanos / (double) Duration.ofMillis(1).toNanos());
+    }
+
+    private static final class Totals {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        private void add(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+    }
+}
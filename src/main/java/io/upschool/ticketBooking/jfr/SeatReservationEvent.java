@@ -0,0 +1,31 @@
+package io.upschool.ticketBooking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One conditional seat reservation. The duration is the time the update waited for and held the
+ * flight's row, so long events on the same flight point at contention between purchases.
+ */
+@Name(SeatReservationEvent.NAME)
+@Label("Seat Reservation")
+@Category({"Ticket Booking", "Purchase"})
+@Description("A conditional update reserving seats on a flight")
+@StackTrace(false)
+public class SeatReservationEvent extends Event {
+    public static final String NAME = "io.upschool.booking.SeatReservation";
+
+    @Label("Flight ID")
+    public long flightId;
+
+    @Label("Seats Requested")
+    public int seatsRequested;
+
+    @Label("Outcome")
+    @Description("RESERVED, or SOLD_OUT if the flight did not have enough seats left")
+    public String outcome;
+}
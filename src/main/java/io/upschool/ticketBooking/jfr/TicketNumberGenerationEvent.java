@@ -0,0 +1,24 @@
+package io.upschool.ticketBooking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The generation of one ticket number, mostly time spent seeding and reading the secure random
+ * source.
+ */
+@Name(TicketNumberGenerationEvent.NAME)
+@Label("Ticket Number Generation")
+@Category({"Ticket Booking", "Purchase"})
+@Description("Generation of a random ticket number")
+@StackTrace(false)
+public class TicketNumberGenerationEvent extends Event {
+    public static final String NAME = "io.upschool.booking.TicketNumberGeneration";
+
+    @Label("Length")
+    public int length;
+}
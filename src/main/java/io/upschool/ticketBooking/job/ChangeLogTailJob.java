@@ -0,0 +1,139 @@
+package io.upschool.ticketBooking.job;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.upschool.ticketBooking.cache.CacheInvalidator;
+import io.upschool.ticketBooking.cache.ChangeLogEntry;
+import io.upschool.ticketBooking.service.ChangeLogService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tails the change_log table and evicts the cache entries that changes made on any instance have
+ * made stale, so local caches lag the database by about one poll interval. Entry IDs are assigned
+ * when a transaction inserts its entry but become visible only when it commits, so a transaction
+ * that commits after a later one leaves a temporary hole in the log. Holes are remembered and
+ * looked up again until they fill or are older than the gap timeout, which should exceed the longest
+ * write transaction; a hole that never fills was a rolled-back insert. At most MAX_TRACKED_GAPS holes
+ * are remembered. Beyond that, the change behind an untracked hole could commit unseen, so every cache
+ * is cleared on each poll until the untracked holes are older than the gap timeout too.
+ */
+@Slf4j
+@Component
+public class ChangeLogTailJob {
+    private static final int MAX_TRACKED_GAPS = 256;
+
+    private final ChangeLogService changeLogService;
+    private final CacheInvalidator cacheInvalidator;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final Duration gapTimeout;
+    private final Duration retention;
+    private final Map<Long, Long> gapsNoticedAt = new HashMap<>();
+    private long lastChangeId = -1;
+    private long untrackedGapsNoticedAt;
+    private boolean untrackedGaps;
+
+    public ChangeLogTailJob(ChangeLogService changeLogService,
+                            CacheInvalidator cacheInvalidator,
+                            MeterRegistry meterRegistry,
+                            @Value("${booking.changelog.batch-size:500}") int batchSize,
+                            @Value("${booking.changelog.gap-timeout:60s}") Duration gapTimeout,
+                            @Value("${booking.changelog.retention:1h}") Duration retention) {
+        this.changeLogService = changeLogService;
+        this.cacheInvalidator = cacheInvalidator;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+    }
+
+    /**
+     * Applies the entries committed since the last poll. On the first poll the tail starts a gap
+     * timeout back, since entries of transactions still running at startup may lie before the end
+     * of the log.
+     */
+    @Scheduled(fixedDelayString = "${booking.changelog.poll-interval:500}")
+    public synchronized void tail() {
+        try {
+            if (lastChangeId < 0) {
+                lastChangeId = changeLogService.findLastChangeIdOlderThan(gapTimeout);
+            }
+            if (!gapsNoticedAt.isEmpty()) {
+                apply(changeLogService.findByIds(new ArrayList<>(gapsNoticedAt.keySet())));
+            }
+            List<ChangeLogEntry> entries;
+            do {
+                entries = changeLogService.findAfter(lastChangeId, batchSize);
+                apply(entries);
+            } while (entries.size() == batchSize);
+            long expiredBefore = System.nanoTime() - gapTimeout.toNanos();
+            gapsNoticedAt.values().removeIf(noticedAt -> noticedAt - expiredBefore < 0);
+            if (untrackedGaps && untrackedGapsNoticedAt - expiredBefore < 0) {
+                untrackedGaps = false;
+            }
+            if (untrackedGaps) {
+                cacheInvalidator.invalidateAll();
+            }
+            cacheInvalidator.repeatDueEvictions();
+        } catch (DataAccessException e) {
+            log.warn("Could not read the change log after entry {}: {}", lastChangeId, e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${booking.changelog.cleanup-cron:0 */10 * * * *}")
+    public void deleteOldEntries() {
+        int deleted = changeLogService.deleteOlderThan(retention);
+        log.debug("Deleted {} change log entries older than {}", deleted, retention);
+    }
+
+    private void apply(List<ChangeLogEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (ChangeLogEntry entry : entries) {
+            long changeId = entry.changeId();
+            if (changeId > lastChangeId) {
+                long missing = lastChangeId + 1;
+                for (; missing < changeId && gapsNoticedAt.size() < MAX_TRACKED_GAPS; missing++) {
+                    gapsNoticedAt.put(missing, now);
+                }
+                if (missing < changeId) {
+                    untrack(changeId - missing, now);
+                }
+                lastChangeId = changeId;
+            } else {
+                gapsNoticedAt.remove(changeId);
+            }
+            cacheInvalidator.invalidate(entry.entityType(), entry.entityId());
+        }
+        Counter.builder("booking.changelog.applied")
+                .description("Change log entries applied to the local caches")
+                .register(meterRegistry)
+                .increment(entries.size());
+    }
+
+    private void untrack(long gaps, long now) {
+        if (!untrackedGaps) {
+            log.warn("More than {} change log gaps are open; clearing every cache on each poll for the next {}",
+                    MAX_TRACKED_GAPS, gapTimeout);
+        }
+        untrackedGaps = true;
+        untrackedGapsNoticedAt = now;
+        cacheInvalidator.invalidateAll();
+        Counter.builder("booking.changelog.untracked-gaps")
+                .description("Change log gaps not looked up again because too many were open")
+                .register(meterRegistry)
+                .increment(gaps);
+    }
+}
@@ -0,0 +1,50 @@
+package io.upschool.ticketBooking.job;
+
+import io.upschool.ticketBooking.service.OutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Relays outbox events to the sinks shortly after they are committed, and periodically removes
+ * events that were published longer ago than the retention period.
+ */
+@Slf4j
+@Component
+public class OutboxRelayJob {
+    private final OutboxService outboxService;
+    private final int batchSize;
+    private final Duration retention;
+
+    public OutboxRelayJob(OutboxService outboxService,
+                          @Value("${booking.outbox.batch-size:500}") int batchSize,
+                          @Value("${booking.outbox.retention:7d}") Duration retention) {
+        this.outboxService = outboxService;
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.poll-interval:1000}")
+    public void relayEvents() {
+        int relayed;
+        do {
+            relayed = outboxService.relayBatch(batchSize);
+        } while (relayed == batchSize);
+    }
+
+    @Scheduled(cron = "${booking.outbox.cleanup-cron:0 30 3 * * *}")
+    public void deletePublishedEvents() {
+        Date before = new Date(System.currentTimeMillis() - retention.toMillis());
+        long total = 0;
+        int deleted;
+        do {
+            deleted = outboxService.deletePublishedBefore(before, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        log.info("Deleted {} outbox events published before {}", total, before);
+    }
+}
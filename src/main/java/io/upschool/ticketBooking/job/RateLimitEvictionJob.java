@@ -0,0 +1,34 @@
+package io.upschool.ticketBooking.job;
+
+import io.upschool.ticketBooking.ratelimit.RateLimitFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Drops the token buckets of clients that have been idle long enough for their buckets to refill,
+ * so the number of tracked clients follows current traffic rather than every key ever seen.
+ */
+@Slf4j
+@Component
+public class RateLimitEvictionJob {
+    private final RateLimitFilter rateLimitFilter;
+    private final Duration idleTime;
+
+    public RateLimitEvictionJob(RateLimitFilter rateLimitFilter,
+                                @Value("${booking.ratelimit.idle-time:10m}") Duration idleTime) {
+        this.rateLimitFilter = rateLimitFilter;
+        this.idleTime = idleTime;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.ratelimit.eviction-interval:60000}")
+    public void evictIdleClients() {
+        int evicted = rateLimitFilter.evictIdleClients(idleTime);
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package io.upschool.ticketBooking.job;
+
+import io.upschool.ticketBooking.service.SalesStatisticsService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the in-memory sales counters to the sales_statistics table at a fixed interval and once more
+ * on shutdown, so only the counts of the last interval are at risk if the process dies.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SalesStatisticsFlushJob {
+    private final SalesStatisticsService salesStatisticsService;
+
+    @Scheduled(fixedDelayString = "${booking.stats.flush-interval:10000}")
+    public void flushStatistics() {
+        salesStatisticsService.flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int flushed = salesStatisticsService.flush();
+        log.info("Flushed {} sales statistics rows on shutdown", flushed);
+    }
+}
@@ -0,0 +1,76 @@
+package io.upschool.ticketBooking.job;
+
+import io.upschool.ticketBooking.cluster.SeatHold;
+import io.upschool.ticketBooking.service.SeatInventoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Releases seat holds that were never confirmed, such as those of an instance that stopped between
+ * the owner's reservation and its own ticket insert, and deletes finished holds after the retention
+ * period. Every instance runs it; a hold is released at most once, since only a HELD hold can be
+ * released and the ticket transaction only confirms a HELD one.
+ */
+@Slf4j
+@Component
+public class SeatHoldReconcileJob {
+    private final SeatInventoryService seatInventoryService;
+    private final Duration holdTimeout;
+    private final Duration retention;
+    private final int batchSize;
+
+    public SeatHoldReconcileJob(SeatInventoryService seatInventoryService,
+                                @Value("${booking.seat-holds.timeout:2m}") Duration holdTimeout,
+                                @Value("${booking.seat-holds.retention:1d}") Duration retention,
+                                @Value("${booking.seat-holds.batch-size:500}") int batchSize) {
+        this.seatInventoryService = seatInventoryService;
+        this.holdTimeout = holdTimeout;
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.seat-holds.reconcile-interval:30000}")
+    public void releaseAbandonedHolds() {
+        releaseHoldsOlderThan(holdTimeout);
+    }
+
+    /**
+     * Releases the holds that have been unconfirmed for at least the given time.
+     *
+     * @param age The minimum age of the holds to release.
+     * @return The number of holds whose seats were given back.
+     */
+    public int releaseHoldsOlderThan(Duration age) {
+        int released = 0;
+        List<SeatHold> holds;
+        do {
+            holds = seatInventoryService.findHoldsOlderThan(age, batchSize);
+            for (SeatHold hold : holds) {
+                try {
+                    if (seatInventoryService.releaseHold(hold.holdId(), hold.flightId(), hold.seats())) {
+                        released++;
+                    }
+                } catch (DataAccessException e) {
+                    log.warn("Could not release seat hold {}: {}", hold.holdId(), e.getMessage());
+                    return released;
+                }
+            }
+        } while (holds.size() == batchSize);
+        if (released > 0) {
+            log.warn("Released {} abandoned seat hold(s)", released);
+        }
+        return released;
+    }
+
+    @Scheduled(cron = "${booking.seat-holds.cleanup-cron:0 45 3 * * *}")
+    public void deleteFinishedHolds() {
+        int deleted = seatInventoryService.deleteFinishedHolds(retention);
+        log.info("Deleted {} finished seat holds", deleted);
+    }
+}
@@ -0,0 +1,20 @@
+package io.upschool.ticketBooking.job;
+
+import io.upschool.ticketBooking.service.TicketAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reloads the in-memory analytics snapshot so queries see recent sales without hitting the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class TicketAnalyticsRefreshJob {
+    private final TicketAnalyticsService ticketAnalyticsService;
+
+    @Scheduled(cron = "${booking.analytics.refresh-cron:0 0 * * * *}")
+    public void refreshSnapshot() {
+        ticketAnalyticsService.refresh();
+    }
+}
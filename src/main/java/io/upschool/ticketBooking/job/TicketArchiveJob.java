@@ -0,0 +1,58 @@
+package io.upschool.ticketBooking.job;
+
+import io.upschool.ticketBooking.service.JobLeaseService;
+import io.upschool.ticketBooking.service.TicketArchiveService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Periodically drains cancelled tickets and tickets of departed flights into the archive,
+ * one short transaction per chunk so the hot table is never locked for long. Every instance
+ * schedules the job, but only the one holding the archive lease runs it; the lease is renewed
+ * before each chunk, and a run that loses it stops.
+ */
+@Slf4j
+@Component
+public class TicketArchiveJob {
+    static final String LEASE_NAME = "ticket-archive";
+
+    private final TicketArchiveService ticketArchiveService;
+    private final JobLeaseService jobLeaseService;
+    private final int chunkSize;
+    private final Duration leaseTime;
+
+    public TicketArchiveJob(TicketArchiveService ticketArchiveService,
+                            JobLeaseService jobLeaseService,
+                            @Value("${booking.archive.chunk-size:1000}") int chunkSize,
+                            @Value("${booking.archive.lease-time:5m}") Duration leaseTime) {
+        this.ticketArchiveService = ticketArchiveService;
+        this.jobLeaseService = jobLeaseService;
+        this.chunkSize = chunkSize;
+        this.leaseTime = leaseTime;
+    }
+
+    @Scheduled(cron = "${booking.archive.cron:0 0 3 * * *}")
+    public void archiveTickets() {
+        if (!jobLeaseService.tryAcquire(LEASE_NAME, leaseTime)) {
+            log.info("Skipping ticket archival, another instance holds the lease");
+            return;
+        }
+        LocalDate cutoff = LocalDate.now();
+        long total = 0;
+        try {
+            int moved;
+            do {
+                moved = ticketArchiveService.archiveChunk(chunkSize, cutoff);
+                total += moved;
+            } while (moved == chunkSize && jobLeaseService.tryAcquire(LEASE_NAME, leaseTime));
+        } finally {
+            jobLeaseService.release(LEASE_NAME);
+        }
+        log.info("Archived {} tickets departed before {} or cancelled", total, cutoff);
+    }
+}
@@ -0,0 +1,43 @@
+package io.upschool.ticketBooking.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.upschool.ticketBooking.ratelimit.RateLimitFilter;
+import io.upschool.ticketBooking.service.SalesStatisticsService;
+import io.upschool.ticketBooking.service.TicketAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gauges for the application's in-memory state: the analytics snapshot, the sales counters waiting
+ * to be flushed and the rate limiter's client buckets. Connection pools are measured by Spring Boot
+ * (hikaricp.* and r2dbc.pool.*).
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingMetrics implements MeterBinder {
+    private final TicketAnalyticsService ticketAnalyticsService;
+    private final SalesStatisticsService salesStatisticsService;
+    private final RateLimitFilter rateLimitFilter;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("booking.analytics.snapshot.tickets", ticketAnalyticsService,
+                        TicketAnalyticsService::getSnapshotTicketCount)
+                .description("Tickets held in the in-memory analytics snapshot")
+                .register(registry);
+        Gauge.builder("booking.analytics.snapshot.age", ticketAnalyticsService,
+                        TicketAnalyticsService::getSnapshotAgeSeconds)
+                .description("Time since the analytics snapshot was loaded")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("booking.stats.pending.counters", salesStatisticsService,
+                        SalesStatisticsService::getPendingCounterCount)
+                .description("Sales counters waiting for the next flush")
+                .register(registry);
+        Gauge.builder("booking.ratelimit.clients", rateLimitFilter, RateLimitFilter::getTrackedClientCount)
+                .description("Clients with a rate limit bucket")
+                .register(registry);
+    }
+}
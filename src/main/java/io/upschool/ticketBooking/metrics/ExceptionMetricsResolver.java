@@ -0,0 +1,37 @@
+package io.upschool.ticketBooking.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Counts every exception thrown by a controller, tagged with its type, before the exception handlers
+ * turn it into a response. It never resolves the exception itself.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExceptionMetricsResolver implements HandlerExceptionResolver, Ordered {
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response,
+                                         Object handler, Exception exception) {
+        Counter.builder("booking.exceptions")
+                .description("Exceptions thrown by request handlers")
+                .tag("exception", exception.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+        return null;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,21 @@
+package io.upschool.ticketBooking.outbox;
+
+import io.upschool.ticketBooking.dto.response.TicketLifecycleEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands events to in-process {@code @EventListener} methods. Listeners run on the relay thread,
+ * so an exception thrown by a listener counts as a failed delivery and the event is retried.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApplicationEventOutboxSink implements OutboxEventSink {
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public void publish(TicketLifecycleEvent event) {
+        applicationEventPublisher.publishEvent(event);
+    }
+}
@@ -0,0 +1,49 @@
+package io.upschool.ticketBooking.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.upschool.ticketBooking.dto.response.TicketLifecycleEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends events as JSON lines to a local file, for consumers that tail it.
+ * Enabled by setting {@code booking.outbox.file.path}.
+ */
+@Component
+@ConditionalOnProperty("booking.outbox.file.path")
+public class FileOutboxSink implements OutboxEventSink {
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter writer;
+
+    public FileOutboxSink(ObjectMapper objectMapper,
+                          @Value("${booking.outbox.file.path}") Path path) throws IOException {
+        this.objectMapper = objectMapper;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void publish(TicketLifecycleEvent event) throws IOException {
+        writer.write(objectMapper.writeValueAsString(event));
+        writer.newLine();
+        writer.flush();
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
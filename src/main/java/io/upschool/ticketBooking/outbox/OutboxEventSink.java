@@ -0,0 +1,19 @@
+package io.upschool.ticketBooking.outbox;
+
+import io.upschool.ticketBooking.dto.response.TicketLifecycleEvent;
+
+/**
+ * A destination the outbox relay delivers ticket lifecycle events to.
+ * Delivery is at-least-once: an event may be handed over again after a crash or a failed
+ * commit, so implementations should be idempotent on {@link TicketLifecycleEvent#getEventId()}.
+ */
+public interface OutboxEventSink {
+    /**
+     * Delivers one event. Throwing holds back later events of the same flight until a retry of this
+     * one succeeds; other flights are not affected.
+     *
+     * @param event The event to deliver.
+     * @throws Exception If the event could not be delivered.
+     */
+    void publish(TicketLifecycleEvent event) throws Exception;
+}
@@ -0,0 +1,130 @@
+package io.upschool.ticketBooking.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.upschool.ticketBooking.dto.BaseResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Admits requests to the flight, route and ticket APIs against per-client token buckets before
+ * they reach a controller, with a separate, smaller budget for ticket purchases. Clients sending an
+ * X-API-Key listed in booking.ratelimit.api-keys get a budget per key; everyone else, including
+ * clients sending an unknown key, is told apart by remote address, so rotating keys does not buy
+ * more requests. Behind a trusted proxy Tomcat has already resolved the remote address from
+ * X-Forwarded-For (see server.tomcat.remoteip.*). Rejected requests get 429 with a Retry-After header
+ * and never touch a service or the database.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RateLimitFilter extends OncePerRequestFilter {
+    public static final String API_KEY_HEADER = "X-API-Key";
+    private static final String PURCHASE_PATH = "/api/tickets/purchase";
+    private static final String[] LIMITED_PATHS = {"/api/flights", "/api/routes", "/api/tickets", "/api/reactive"};
+
+    private final boolean enabled;
+    private final Set<String> apiKeys;
+    private final TokenBucketLimiter searchLimiter;
+    private final TokenBucketLimiter purchaseLimiter;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(ObjectMapper objectMapper,
+                           @Value("${booking.ratelimit.enabled:true}") boolean enabled,
+                           @Value("${booking.ratelimit.search.rate:20}") double searchRate,
+                           @Value("${booking.ratelimit.search.burst:40}") int searchBurst,
+                           @Value("${booking.ratelimit.purchase.rate:2}") double purchaseRate,
+                           @Value("${booking.ratelimit.purchase.burst:5}") int purchaseBurst,
+                           @Value("${booking.ratelimit.api-keys:}") String[] apiKeys,
+                           @Value("${booking.ratelimit.max-clients:100000}") int maxClients) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.apiKeys = Arrays.stream(apiKeys)
+                .map(String::trim)
+                .filter(apiKey -> !apiKey.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.searchLimiter = new TokenBucketLimiter(searchRate, searchBurst, maxClients);
+        this.purchaseLimiter = new TokenBucketLimiter(purchaseRate, purchaseBurst, maxClients);
+    }
+
+    /**
+     * Forgets clients whose buckets have been full for at least the given time.
+     *
+     * @param idleTime How long a client must have been idle.
+     * @return The number of clients forgotten.
+     */
+    public int evictIdleClients(Duration idleTime) {
+        long idleNanos = idleTime.toNanos();
+        return searchLimiter.evictIdle(idleNanos) + purchaseLimiter.evictIdle(idleNanos);
+    }
+
+    /**
+     * Returns the number of clients that currently have a token bucket.
+     *
+     * @return The number of tracked search and purchase buckets.
+     */
+    public int getTrackedClientCount() {
+        return searchLimiter.size() + purchaseLimiter.size();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String limitedPath : LIMITED_PATHS) {
+            if (path.startsWith(limitedPath)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        TokenBucketLimiter limiter = HttpMethod.POST.matches(request.getMethod()) && path.equals(PURCHASE_PATH)
+                ? purchaseLimiter : searchLimiter;
+        long waitNanos = limiter.tryAcquire(getClientKey(request));
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        BaseResponse<?> body = BaseResponse.builder()
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .isSuccess(false)
+                .errorMessage("Too many requests. Retry after " + retryAfterSeconds + " seconds.")
+                .build();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private String getClientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+}
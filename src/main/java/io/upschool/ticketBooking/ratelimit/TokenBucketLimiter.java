@@ -0,0 +1,95 @@
+package io.upschool.ticketBooking.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-key token buckets kept as a single "theoretical arrival time" per key (the generic cell rate
+ * algorithm), updated with compare-and-set so admission never takes a lock. A key whose arrival time
+ * has passed has a full bucket and carries no state, so it can be evicted without changing any answer.
+ * The number of keys is capped: once the table is full and no bucket in it is full, new keys share one
+ * overflow bucket, so a flood of distinct keys is limited as a whole instead of growing the table.
+ */
+public final class TokenBucketLimiter {
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, AtomicLong> arrivalTimes = new ConcurrentHashMap<>();
+    private final AtomicLong overflowArrivalTime = new AtomicLong(System.nanoTime());
+    private final AtomicLong lastSweepAt = new AtomicLong(System.nanoTime() - TimeUnit.SECONDS.toNanos(1));
+
+    /**
+     * @param permitsPerSecond The sustained rate at which each key's bucket refills.
+     * @param burst            The bucket size: how many requests a key with a full bucket may make at once.
+     * @param maxKeys          How many keys get a bucket of their own.
+     */
+    public TokenBucketLimiter(double permitsPerSecond, int burst, int maxKeys) {
+        if (permitsPerSecond <= 0 || burst < 1 || maxKeys < 1) {
+            throw new IllegalArgumentException("Rate limits need a positive rate, a burst of at least 1 and room for at least 1 key.");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes one token from the key's bucket if there is one.
+     *
+     * @param key The client the request is counted against.
+     * @return 0 if the request is admitted, otherwise the nanoseconds until a token is available.
+     */
+    public long tryAcquire(String key) {
+        AtomicLong arrivalTime = arrivalTimes.get(key);
+        if (arrivalTime == null) {
+            arrivalTime = hasRoomForNewKey()
+                    ? arrivalTimes.computeIfAbsent(key, k -> new AtomicLong(System.nanoTime()))
+                    : overflowArrivalTime;
+        }
+        while (true) {
+            long now = System.nanoTime();
+            long current = arrivalTime.get();
+            long next = (current - now > 0 ? current : now) + emissionIntervalNanos;
+            long wait = next - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrivalTime.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Removes the keys whose buckets have been full for at least the given time. A request racing
+     * with the removal of its key is still answered correctly; it is just not counted against the
+     * fresh bucket the key gets next.
+     *
+     * @param idleNanos How long a bucket must have been full before its key is removed.
+     * @return The number of keys removed.
+     */
+    public int evictIdle(long idleNanos) {
+        long cutoff = System.nanoTime() - idleNanos;
+        int before = arrivalTimes.size();
+        arrivalTimes.values().removeIf(arrivalTime -> arrivalTime.get() - cutoff <= 0);
+        return before - arrivalTimes.size();
+    }
+
+    private boolean hasRoomForNewKey() {
+        if (arrivalTimes.size() < maxKeys) {
+            return true;
+        }
+        // Full buckets can go at any time; sweeping for them at most once a second keeps a flood of
+        // new keys from turning every request into a scan of the whole table.
+        long lastSweep = lastSweepAt.get();
+        long now = System.nanoTime();
+        if (now - lastSweep >= TimeUnit.SECONDS.toNanos(1) && lastSweepAt.compareAndSet(lastSweep, now)) {
+            evictIdle(0);
+        }
+        return arrivalTimes.size() < maxKeys;
+    }
+
+    public int size() {
+        return arrivalTimes.size();
+    }
+}
@@ -10,9 +10,16 @@ import java.util.List;
 
 @Repository
 public interface AirlineRepository extends JpaRepository<Airline, Long> {
-    List<Airline> findByAirlineCodeContainingIgnoreCaseOrAirlineNameContainingIgnoreCase(String code, String name);
+    /**
+     * One branch per column instead of an OR, so each branch is a range scan on its own index.
+     *
+     * @param prefix A LIKE pattern built with {@code SearchKeyUtils.toPrefixPattern}.
+     */
+    @Query("SELECT a FROM Airline a WHERE a.airlineCodeNormalized LIKE :prefix ESCAPE '\\' " +
+            "UNION SELECT a FROM Airline a WHERE a.airlineNameNormalized LIKE :prefix ESCAPE '\\'")
+    List<Airline> findByCodeOrNamePrefix(@Param("prefix") String prefix);
 
-    @Query("SELECT COUNT(a) FROM Airline a WHERE a.airlineCode = :code OR a.airlineName = :name")
-    int findCountByAirlineCodeContainingIgnoreCaseOrAirlineNameContainingIgnoreCase
-            (@Param("code") String airlineCode, @Param("name") String airlineName);
+    boolean existsByAirlineCodeNormalized(String airlineCode);
+
+    boolean existsByAirlineNameNormalized(String airlineName);
 }
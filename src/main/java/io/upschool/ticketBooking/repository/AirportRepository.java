@@ -2,17 +2,25 @@ package io.upschool.ticketBooking.repository;
 
 import io.upschool.ticketBooking.entity.Airport;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface AirportRepository extends JpaRepository<Airport, Long> {
-    List<Airport> findByAirportCodeContainingIgnoreCaseOrAirportNameContainingIgnoreCase
-            (String code, String name);
+    /**
+     * One branch per column instead of an OR, so each branch is a range scan on its own index.
+     *
+     * @param prefix A LIKE pattern built with {@code SearchKeyUtils.toPrefixPattern}.
+     */
+    @Query("SELECT a FROM Airport a WHERE a.airportCodeNormalized LIKE :prefix ESCAPE '\\' " +
+            "UNION SELECT a FROM Airport a WHERE a.airportNameNormalized LIKE :prefix ESCAPE '\\'")
+    List<Airport> findByCodeOrNamePrefix(@Param("prefix") String prefix);
 
-    boolean existsByAirportNameIgnoreCase(String airportName);
+    boolean existsByAirportNameNormalized(String airportName);
 
-    boolean existsByAirportCodeIgnoreCase(String airportCode);
+    boolean existsByAirportCodeNormalized(String airportCode);
 
 }
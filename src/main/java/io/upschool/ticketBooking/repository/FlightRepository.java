@@ -2,16 +2,23 @@ package io.upschool.ticketBooking.repository;
 
 import io.upschool.ticketBooking.entity.Flight;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
-import java.util.List;
-
 @Repository
 public interface FlightRepository extends JpaRepository<Flight, Long> {
 
-    List<Flight> findByRoute_DepartureAirport_AirportLocationContainingIgnoreCaseAndRoute_ArrivalAirport_AirportLocationContainingIgnoreCaseAndRoute_DepartureDate(
-            String departureLocation, String arrivalLocation, LocalDate departureDate);
-
     boolean existsByRouteIdAndAirlineId(Long routeId, Long airlineId);
+
+    @Modifying
+    @Query("UPDATE Flight f SET f.remainingSeats = f.remainingSeats - :seats, f.updatedDate = CURRENT_TIMESTAMP " +
+            "WHERE f.id = :flightId AND f.remainingSeats >= :seats")
+    int reserveSeatsIfAvailable(@Param("flightId") Long flightId, @Param("seats") int seats);
+
+    @Modifying
+    @Query("UPDATE Flight f SET f.remainingSeats = f.remainingSeats + :seats, f.updatedDate = CURRENT_TIMESTAMP " +
+            "WHERE f.id = :flightId")
+    int releaseSeats(@Param("flightId") Long flightId, @Param("seats") int seats);
 }
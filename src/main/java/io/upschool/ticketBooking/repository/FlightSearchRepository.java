@@ -0,0 +1,99 @@
+package io.upschool.ticketBooking.repository;
+
+import io.upschool.ticketBooking.entity.FlightSearchEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FlightSearchRepository extends JpaRepository<FlightSearchEntry, Long> {
+    String INSERT_FROM_SOURCE = "INSERT INTO flight_search (flight_id, route_id, airline_id, " +
+            "departure_airport_id, departure_airport_name, departure_airport_code, " +
+            "departure_location, departure_location_normalized, " +
+            "arrival_airport_id, arrival_airport_name, arrival_airport_code, " +
+            "arrival_location, arrival_location_normalized, " +
+            "departure_date, departure_time, arrival_date, arrival_time, " +
+            "airline_name, airline_code, capacity, remaining_seats, ticket_base_price) " +
+            "SELECT f.flight_id, r.route_id, al.airline_id, " +
+            "da.airport_id, da.airport_name, da.airport_code, da.airport_location, da.airport_location_normalized, " +
+            "aa.airport_id, aa.airport_name, aa.airport_code, aa.airport_location, aa.airport_location_normalized, " +
+            "r.departure_date, r.departure_time, r.arrival_date, r.arrival_time, " +
+            "al.airline_name, al.airline_code, f.capacity, f.remaining_seats, f.ticket_base_price " +
+            "FROM flights f " +
+            "JOIN routes r ON r.route_id = f.flight_route_id " +
+            "JOIN airports da ON da.airport_id = r.departure_airport_id " +
+            "JOIN airports aa ON aa.airport_id = r.arrival_airport_id " +
+            "JOIN airlines al ON al.airline_id = f.airline_id ";
+
+    List<FlightSearchEntry> findByDepartureDateAndDepartureLocationNormalizedStartingWithAndArrivalLocationNormalizedStartingWith(
+            LocalDate departureDate, String departureLocation, String arrivalLocation);
+
+    @Query("SELECT COALESCE(SUM(s.capacity), 0) FROM FlightSearchEntry s WHERE s.routeId = :routeId")
+    long sumCapacityByRouteId(@Param("routeId") Long routeId);
+
+    @Query("SELECT COALESCE(SUM(s.capacity), 0) FROM FlightSearchEntry s " +
+            "WHERE s.airlineId = :airlineId AND s.departureDate = :departureDate")
+    long sumCapacityByAirlineIdAndDepartureDate(@Param("airlineId") Long airlineId,
+                                                @Param("departureDate") LocalDate departureDate);
+
+    @Modifying
+    @Query(value = INSERT_FROM_SOURCE + "WHERE f.flight_id = :flightId", nativeQuery = true)
+    int insertFromSource(@Param("flightId") Long flightId);
+
+    @Modifying
+    @Query(value = INSERT_FROM_SOURCE + "WHERE f.flight_route_id IN (:routeIds) " +
+            "AND NOT EXISTS (SELECT 1 FROM flight_search s WHERE s.flight_id = f.flight_id)", nativeQuery = true)
+    int insertMissingForRoutes(@Param("routeIds") Collection<Long> routeIds);
+
+    @Modifying
+    @Query(value = INSERT_FROM_SOURCE + "WHERE NOT EXISTS " +
+            "(SELECT 1 FROM flight_search s WHERE s.flight_id = f.flight_id)", nativeQuery = true)
+    int insertAllMissing();
+
+    @Modifying
+    @Query("UPDATE FlightSearchEntry s SET s.remainingSeats = s.remainingSeats + :delta WHERE s.flightId = :flightId")
+    int adjustRemainingSeats(@Param("flightId") Long flightId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("DELETE FROM FlightSearchEntry s WHERE s.flightId IN :flightIds")
+    int deleteByFlightIds(@Param("flightIds") Collection<Long> flightIds);
+
+    @Modifying
+    @Query("DELETE FROM FlightSearchEntry s")
+    int deleteAllEntries();
+
+    @Query(value = "SELECT f.flight_id FROM flights f " +
+            "WHERE NOT EXISTS (SELECT 1 FROM flight_search s WHERE s.flight_id = f.flight_id) " +
+            "ORDER BY f.flight_id", nativeQuery = true)
+    List<Long> findMissingFlightIds();
+
+    @Query(value = "SELECT s.flight_id FROM flight_search s " +
+            "WHERE NOT EXISTS (SELECT 1 FROM flights f WHERE f.flight_id = s.flight_id) " +
+            "ORDER BY s.flight_id", nativeQuery = true)
+    List<Long> findOrphanedFlightIds();
+
+    @Query(value = "SELECT s.flight_id FROM flight_search s " +
+            "JOIN flights f ON f.flight_id = s.flight_id " +
+            "JOIN routes r ON r.route_id = f.flight_route_id " +
+            "JOIN airports da ON da.airport_id = r.departure_airport_id " +
+            "JOIN airports aa ON aa.airport_id = r.arrival_airport_id " +
+            "JOIN airlines al ON al.airline_id = f.airline_id " +
+            "WHERE s.route_id <> r.route_id OR s.airline_id <> al.airline_id " +
+            "OR s.departure_airport_id <> da.airport_id OR s.departure_airport_name <> da.airport_name " +
+            "OR s.departure_airport_code <> da.airport_code OR s.departure_location <> da.airport_location " +
+            "OR s.arrival_airport_id <> aa.airport_id OR s.arrival_airport_name <> aa.airport_name " +
+            "OR s.arrival_airport_code <> aa.airport_code OR s.arrival_location <> aa.airport_location " +
+            "OR s.departure_date <> r.departure_date OR s.departure_time <> r.departure_time " +
+            "OR s.arrival_date <> r.arrival_date OR s.arrival_time <> r.arrival_time " +
+            "OR s.airline_name <> al.airline_name OR s.airline_code <> al.airline_code " +
+            "OR s.capacity <> f.capacity OR s.remaining_seats <> f.remaining_seats " +
+            "OR COALESCE(s.ticket_base_price, -1) <> COALESCE(f.ticket_base_price, -1) " +
+            "ORDER BY s.flight_id", nativeQuery = true)
+    List<Long> findStaleFlightIds();
+}
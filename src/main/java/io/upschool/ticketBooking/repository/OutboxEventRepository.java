@@ -0,0 +1,58 @@
+package io.upschool.ticketBooking.repository;
+
+import io.upschool.ticketBooking.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    /**
+     * The lock timeout that makes Hibernate render FOR UPDATE SKIP LOCKED on databases that support it.
+     */
+    String SKIP_LOCKED = "-2";
+
+    /**
+     * Locks the oldest unpublished events that are due, skipping rows another relay run has locked
+     * and every flight with an earlier event that is not due, so one failing flight holds back only
+     * its own events.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL " +
+            "AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now) " +
+            "AND NOT EXISTS (SELECT h.id FROM OutboxEvent h WHERE h.flightId = e.flightId AND h.publishedAt IS NULL " +
+            "AND h.id < e.id AND h.nextAttemptAt > :now) " +
+            "ORDER BY e.id")
+    List<OutboxEvent> findDueForUpdate(@Param("now") Date now, Pageable pageable);
+
+    @Query("SELECT e.flightId, MIN(e.id) FROM OutboxEvent e WHERE e.publishedAt IS NULL AND e.flightId IN :flightIds " +
+            "GROUP BY e.flightId")
+    List<Object[]> findOldestUnpublishedIds(@Param("flightIds") Collection<Long> flightIds);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt, e.nextAttemptAt = NULL WHERE e.id IN :eventIds")
+    int markPublished(@Param("eventIds") Collection<Long> eventIds, @Param("publishedAt") Date publishedAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :nextAttemptAt WHERE e.id IN :eventIds")
+    int scheduleAttempt(@Param("eventIds") Collection<Long> eventIds, @Param("nextAttemptAt") Date nextAttemptAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt WHERE e.id = :eventId")
+    int recordFailedAttempt(@Param("eventId") Long eventId, @Param("nextAttemptAt") Date nextAttemptAt);
+
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.publishedAt < :before ORDER BY e.publishedAt")
+    List<Long> findIdsPublishedBefore(@Param("before") Date before, Pageable pageable);
+}
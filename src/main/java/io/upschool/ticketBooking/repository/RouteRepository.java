@@ -1,7 +1,10 @@
 package io.upschool.ticketBooking.repository;
 
 import io.upschool.ticketBooking.entity.Route;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -10,10 +13,21 @@ import java.util.List;
 
 @Repository
 public interface RouteRepository extends JpaRepository<Route, Long> {
-    List<Route> findByDepartureAirport_AirportLocationIgnoreCaseOrArrivalAirport_AirportLocationIgnoreCase(
-            String departureLocation, String arrivalLocation);
+    @Override
+    @EntityGraph(attributePaths = {"departureAirport", "arrivalAirport"})
+    List<Route> findAll();
 
-    boolean existsByDepartureDateAndDepartureTimeAndDepartureAirportIdAndArrivalAirportId(
-            LocalDate departureDate, LocalTime departureTime, Long departureAirportId, Long arrivalAirportId);
+    /**
+     * The union picks the route ids through idx_airports_location_normalized and the airport foreign keys
+     * of routes; an OR across the two joined airports would scan every route instead.
+     */
+    @Query("SELECT r FROM Route r JOIN FETCH r.departureAirport JOIN FETCH r.arrivalAirport WHERE r.id IN (" +
+            "SELECT d.id FROM Route d WHERE d.departureAirport.airportLocationNormalized = :departureLocation " +
+            "UNION SELECT a.id FROM Route a WHERE a.arrivalAirport.airportLocationNormalized = :arrivalLocation)")
+    List<Route> findByDepartureOrArrivalLocation(@Param("departureLocation") String departureLocation,
+                                                 @Param("arrivalLocation") String arrivalLocation);
+
+    boolean existsByDepartureAirportIdAndArrivalAirportIdAndDepartureDateAndDepartureTime(
+            Long departureAirportId, Long arrivalAirportId, LocalDate departureDate, LocalTime departureTime);
 
 }
@@ -0,0 +1,28 @@
+package io.upschool.ticketBooking.repository;
+
+import io.upschool.ticketBooking.entity.SalesStatistic;
+import io.upschool.ticketBooking.entity.SalesStatisticId;
+import io.upschool.ticketBooking.enums.StatisticsScope;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface SalesStatisticRepository extends JpaRepository<SalesStatistic, SalesStatisticId> {
+    List<SalesStatistic> findByIdScopeAndIdScopeKey(StatisticsScope scope, String scopeKey);
+
+    @Modifying
+    @Query(value = "INSERT INTO sales_statistics (scope, scope_key, ticket_class, tickets_sold, passengers, " +
+            "revenue, updated_date) VALUES (:scope, :scopeKey, :ticketClass, :ticketsSold, :passengers, :revenue, " +
+            "CURRENT_TIMESTAMP) ON DUPLICATE KEY UPDATE tickets_sold = tickets_sold + VALUES(tickets_sold), " +
+            "passengers = passengers + VALUES(passengers), revenue = revenue + VALUES(revenue), " +
+            "updated_date = VALUES(updated_date)", nativeQuery = true)
+    int addToTotals(@Param("scope") String scope, @Param("scopeKey") String scopeKey,
+                    @Param("ticketClass") String ticketClass, @Param("ticketsSold") long ticketsSold,
+                    @Param("passengers") long passengers, @Param("revenue") BigDecimal revenue);
+}
@@ -0,0 +1,28 @@
+package io.upschool.ticketBooking.repository;
+
+import io.upschool.ticketBooking.entity.ArchivedTicket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Optional;
+
+@Repository
+public interface TicketArchiveRepository extends JpaRepository<ArchivedTicket, Long> {
+    Optional<ArchivedTicket> findByTicketNumber(String ticketNumber);
+
+    boolean existsByTicketNumber(String ticketNumber);
+
+    @Modifying
+    @Query(value = "INSERT INTO tickets_archive (ticket_id, creation_date, updated_date, ticket_number, " +
+            "passenger_name, credit_card_number, flight_id, passenger_count, status, ticket_class, cancelled, " +
+            "ticket_price, archived_at) " +
+            "SELECT ticket_id, creation_date, updated_date, ticket_number, passenger_name, credit_card_number, " +
+            "flight_id, passenger_count, status, ticket_class, cancelled, ticket_price, :archivedAt " +
+            "FROM tickets WHERE ticket_id IN (:ticketIds)", nativeQuery = true)
+    int copyFromTickets(@Param("ticketIds") Collection<Long> ticketIds, @Param("archivedAt") Date archivedAt);
+}
@@ -1,12 +1,64 @@
 package io.upschool.ticketBooking.repository;
 
 import io.upschool.ticketBooking.entity.Ticket;
+import io.upschool.ticketBooking.enums.TicketStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
     Optional<Ticket> findByTicketNumber(String ticketNumber);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Ticket t WHERE t.ticketNumber = :ticketNumber")
+    Optional<Ticket> findByTicketNumberForUpdate(@Param("ticketNumber") String ticketNumber);
+
+    @Query("SELECT t.id FROM Ticket t WHERE t.flight.id = :flightId AND t.ticketNumber IN :ticketNumbers")
+    List<Long> findIdsByFlightIdAndTicketNumberIn(@Param("flightId") Long flightId,
+                                                  @Param("ticketNumbers") Collection<String> ticketNumbers);
+
+    /**
+     * Locks tickets through the primary key in ID order, the order in which
+     * {@link #findByFlightIdAndStatusForUpdate} locks them too. Rows are locked in index scan
+     * order, so locking by ticket number would let a bulk check-in and a gate close deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Ticket t WHERE t.id IN :ticketIds ORDER BY t.id")
+    List<Ticket> findByIdInForUpdate(@Param("ticketIds") Collection<Long> ticketIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Ticket t WHERE t.flight.id = :flightId AND t.status = :status ORDER BY t.id")
+    List<Ticket> findByFlightIdAndStatusForUpdate(@Param("flightId") Long flightId,
+                                                  @Param("status") TicketStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.status = :newStatus, t.updatedDate = CURRENT_TIMESTAMP " +
+            "WHERE t.ticketNumber = :ticketNumber AND t.status = :currentStatus")
+    int updateStatusIfCurrent(@Param("ticketNumber") String ticketNumber,
+                              @Param("currentStatus") TicketStatus currentStatus,
+                              @Param("newStatus") TicketStatus newStatus);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.status = :newStatus, t.updatedDate = CURRENT_TIMESTAMP " +
+            "WHERE t.id IN :ticketIds AND t.status = :currentStatus")
+    int updateStatusByIdsIfCurrent(@Param("ticketIds") Collection<Long> ticketIds,
+                                   @Param("currentStatus") TicketStatus currentStatus,
+                                   @Param("newStatus") TicketStatus newStatus);
+
+    @Query("SELECT t.id FROM Ticket t WHERE t.status = :status ORDER BY t.id")
+    List<Long> findIdsByStatus(@Param("status") TicketStatus status, Pageable pageable);
+
+    @Query("SELECT t.id FROM Ticket t WHERE t.flight.route.departureDate < :date ORDER BY t.id")
+    List<Long> findIdsByDepartureDateBefore(@Param("date") LocalDate date, Pageable pageable);
 }
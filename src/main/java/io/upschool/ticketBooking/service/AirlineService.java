@@ -1,14 +1,18 @@
 package io.upschool.ticketBooking.service;
 
 import io.micrometer.common.util.StringUtils;
+import io.upschool.ticketBooking.cache.CacheNames;
 import io.upschool.ticketBooking.dto.request.AirlineSaveRequest;
 import io.upschool.ticketBooking.dto.response.AirlineSaveResponse;
 import io.upschool.ticketBooking.entity.Airline;
+import io.upschool.ticketBooking.enums.ChangedEntityType;
 import io.upschool.ticketBooking.exception.AirlineAlreadySaveException;
 import io.upschool.ticketBooking.exception.AirlineNotFoundException;
 import io.upschool.ticketBooking.exception.AirlineValidationException;
 import io.upschool.ticketBooking.repository.AirlineRepository;
-import jakarta.transaction.Transactional;
+import io.upschool.ticketBooking.utils.SearchKeyUtils;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -25,6 +29,7 @@ import java.util.stream.Stream;
 @RequiredArgsConstructor
 public class AirlineService {
     private final AirlineRepository airlineRepository;
+    private final ChangeLogService changeLogService;
 
     /**
      * Saves an airline based on the provided AirlineSaveRequest.
@@ -39,22 +44,25 @@ public class AirlineService {
         validateAirlineSaveRequest(request);
         checkIsAirlineAlreadySaved(request);
         Airline savedAirline = buildAndSaveAirline(request);
+        changeLogService.record(ChangedEntityType.AIRLINE, savedAirline.getId());
         return convertAirlineToResponse(savedAirline);
     }
 
     /**
-     * Retrieves a list of airlines based on the provided search key.
+     * Retrieves a list of airlines based on the provided search key. Results are cached per search key
+     * until an airline changes on any instance.
      *
-     * @param searchKey The search key to filter airlines by name or code.
+     * @param searchKey The search key matched case-insensitively as a prefix of the airline name or code.
      * @return A list of AirlineSaveResponse objects representing the retrieved airlines.
      */
+    @Cacheable(CacheNames.AIRLINE_SEARCH)
+    @Transactional(readOnly = true)
     public List<AirlineSaveResponse> getAllAirlines(String searchKey) {
         List<Airline> airlines;
         if (searchKey.isEmpty()) {
             airlines = airlineRepository.findAll();
         } else {
-            airlines = airlineRepository.findByAirlineCodeContainingIgnoreCaseOrAirlineNameContainingIgnoreCase
-                    (searchKey, searchKey);
+            airlines = airlineRepository.findByCodeOrNamePrefix(SearchKeyUtils.toPrefixPattern(searchKey));
         }
         return airlines.stream()
                 .map(this::convertAirlineToResponse)
@@ -149,10 +157,10 @@ public class AirlineService {
     }
 
     private void checkIsAirlineAlreadySaved(AirlineSaveRequest request) {
-        int count = airlineRepository
-                .findCountByAirlineCodeContainingIgnoreCaseOrAirlineNameContainingIgnoreCase(
-                        request.getAirlineCode().trim(), request.getAirlineName().trim());
-        if (count > 0) {
+        boolean exists = airlineRepository.existsByAirlineCodeNormalized(
+                SearchKeyUtils.normalize(request.getAirlineCode()))
+                || airlineRepository.existsByAirlineNameNormalized(SearchKeyUtils.normalize(request.getAirlineName()));
+        if (exists) {
             throw new AirlineAlreadySaveException("An airline with the same name or code already exist");
         }
     }
@@ -1,6 +1,7 @@
 package io.upschool.ticketBooking.service;
 
 import io.micrometer.common.util.StringUtils;
+import io.upschool.ticketBooking.cache.CacheNames;
 import io.upschool.ticketBooking.dto.request.AddAirlineToAirportRequest;
 import io.upschool.ticketBooking.dto.request.AirportSaveRequest;
 import io.upschool.ticketBooking.dto.response.AddAirlineToAirportResponse;
@@ -8,11 +9,14 @@ import io.upschool.ticketBooking.dto.response.AirportDetailResponse;
 import io.upschool.ticketBooking.dto.response.AirportSaveResponse;
 import io.upschool.ticketBooking.entity.Airline;
 import io.upschool.ticketBooking.entity.Airport;
+import io.upschool.ticketBooking.enums.ChangedEntityType;
 import io.upschool.ticketBooking.exception.AirportAlreadySaveException;
 import io.upschool.ticketBooking.exception.AirportNotFoundException;
 import io.upschool.ticketBooking.exception.AirportValidationException;
 import io.upschool.ticketBooking.repository.AirportRepository;
-import jakarta.transaction.Transactional;
+import io.upschool.ticketBooking.utils.SearchKeyUtils;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -30,6 +34,7 @@ import java.util.stream.Collectors;
 public class AirportService {
     private final AirportRepository airportRepository;
     private final AirlineService airlineService;
+    private final ChangeLogService changeLogService;
 
     /**
      * Saves an airport based on the provided AirportSaveRequest.
@@ -44,16 +49,20 @@ public class AirportService {
         validateAirportSaveRequest(request);
         checkIsAirportAlreadySaved(request);
         Airport savedAirport = buildAndSaveAirport(request);
+        changeLogService.record(ChangedEntityType.AIRPORT, savedAirport.getId());
         return convertAirportToResponse(savedAirport);
     }
 
     /**
-     * Retrieves a list of airports based on the provided search key.
+     * Retrieves a list of airports based on the provided search key. Results are cached per search key
+     * until an airport changes on any instance.
      *
-     * @param searchKey The search key to filter airports by name or code.
+     * @param searchKey The search key matched case-insensitively as a prefix of the airport name or code.
      * @return A list of AirportSaveResponse objects representing the retrieved airports.
      * @throws AirportNotFoundException If no airports are found matching the search criteria.
      */
+    @Cacheable(CacheNames.AIRPORT_SEARCH)
+    @Transactional(readOnly = true)
     public List<AirportSaveResponse> getAllAirports(String searchKey) {
         List<Airport> airports = getAirportsBySearchKey(searchKey);
         if (airports.isEmpty()) {
@@ -65,11 +74,14 @@ public class AirportService {
     }
 
     /**
-     * Retrieves detailed information about an airport, including associated airlines.
+     * Retrieves detailed information about an airport, including associated airlines. Details are cached
+     * until the airport changes on any instance.
      *
      * @param airportId The ID of the airport to retrieve details for.
      * @return An AirportDetailResponse containing information about the airport and associated airlines.
      */
+    @Cacheable(CacheNames.AIRPORT_DETAILS)
+    @Transactional(readOnly = true)
     public AirportDetailResponse getAirportDetails(Long airportId) {
         Airport airport = getAirportById(airportId);
         List<Airline> airlines = new ArrayList<>(airport.getAirlines());
@@ -91,6 +103,7 @@ public class AirportService {
         Set<Airline> airlines = airlineService.getAirlinesByIds(request.getAirlineIds());
         airport.getAirlines().addAll(airlines);
         Airport savedAirport = airportRepository.save(airport);
+        changeLogService.record(ChangedEntityType.AIRPORT, savedAirport.getId());
         List<Long> savedAirlineIds = savedAirport.getAirlines().stream()
                 .map(Airline::getId)
                 .collect(Collectors.toList());
@@ -130,9 +143,7 @@ public class AirportService {
         if (StringUtils.isBlank(searchKey)) {
             return airportRepository.findAll();
         } else {
-            return airportRepository.findByAirportCodeContainingIgnoreCaseOrAirportNameContainingIgnoreCase(
-                    searchKey, searchKey
-            );
+            return airportRepository.findByCodeOrNamePrefix(SearchKeyUtils.toPrefixPattern(searchKey));
         }
     }
 
@@ -155,10 +166,10 @@ public class AirportService {
     }
 
     private void checkIsAirportAlreadySaved(AirportSaveRequest request) {
-        String normalizedAirportName = request.getAirportName().trim().toLowerCase();
-        String normalizedAirportCode = request.getAirportCode().trim().toUpperCase();
-        boolean exists = airportRepository.existsByAirportNameIgnoreCase(normalizedAirportName)
-                || airportRepository.existsByAirportCodeIgnoreCase(normalizedAirportCode);
+        String normalizedAirportName = SearchKeyUtils.normalize(request.getAirportName());
+        String normalizedAirportCode = SearchKeyUtils.normalize(request.getAirportCode());
+        boolean exists = airportRepository.existsByAirportNameNormalized(normalizedAirportName)
+                || airportRepository.existsByAirportCodeNormalized(normalizedAirportCode);
         if (exists) {
             throw new AirportAlreadySaveException("An airport with the same name or code already exists");
         }
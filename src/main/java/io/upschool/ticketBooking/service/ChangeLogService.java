@@ -0,0 +1,104 @@
+package io.upschool.ticketBooking.service;
+
+import io.upschool.ticketBooking.cache.CacheInvalidator;
+import io.upschool.ticketBooking.cache.ChangeLogEntry;
+import io.upschool.ticketBooking.enums.ChangedEntityType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The ChangeLogService class records changes to airports, airlines, routes and flights in the
+ * change_log table as part of the transaction that makes them, and reads the log back for the
+ * instances that tail it. The instance making a change evicts its own caches as soon as the change
+ * commits; the other instances evict theirs when they read the entry.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChangeLogService {
+    private static final RowMapper<ChangeLogEntry> ENTRY_MAPPER = (rs, rowNum) -> new ChangeLogEntry(
+            rs.getLong(1), ChangedEntityType.valueOf(rs.getString(2)), rs.getObject(3, Long.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidator cacheInvalidator;
+
+    /**
+     * Writes a change entry. Must be called inside the transaction that made the change, so the entry
+     * is committed if and only if the change is.
+     *
+     * @param entityType The type of the changed entity.
+     * @param entityId   The ID of the changed entity, or null for a bulk change to any number of them.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ChangedEntityType entityType, Long entityId) {
+        jdbcTemplate.update("INSERT INTO change_log (entity_type, entity_id, changed_at) " +
+                "VALUES (?, ?, CURRENT_TIMESTAMP(3))", entityType.name(), entityId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cacheInvalidator.invalidate(entityType, entityId);
+            }
+        });
+    }
+
+    /**
+     * Reads the entries after the given position, in log order.
+     *
+     * @param changeId The position of the last entry already read.
+     * @param limit    The maximum number of entries to read.
+     * @return The entries, oldest first.
+     */
+    public List<ChangeLogEntry> findAfter(long changeId, int limit) {
+        return jdbcTemplate.query("SELECT change_id, entity_type, entity_id FROM change_log " +
+                "WHERE change_id > ? ORDER BY change_id LIMIT ?", ENTRY_MAPPER, changeId, limit);
+    }
+
+    /**
+     * Reads the entries with the given positions that exist by now.
+     *
+     * @param changeIds The positions to look up.
+     * @return The entries found, oldest first.
+     */
+    public List<ChangeLogEntry> findByIds(Collection<Long> changeIds) {
+        if (changeIds.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(changeIds.size(), "?"));
+        return jdbcTemplate.query("SELECT change_id, entity_type, entity_id FROM change_log " +
+                "WHERE change_id IN (" + placeholders + ") ORDER BY change_id", ENTRY_MAPPER, changeIds.toArray());
+    }
+
+    /**
+     * Returns the position of the newest entry written at least the given time ago.
+     *
+     * @param age The minimum age of the entry.
+     * @return The position, or 0 if there is no such entry.
+     */
+    public long findLastChangeIdOlderThan(Duration age) {
+        Long changeId = jdbcTemplate.queryForObject("SELECT MAX(change_id) FROM change_log " +
+                        "WHERE changed_at < TIMESTAMPADD(MICROSECOND, ?, CURRENT_TIMESTAMP(3))",
+                Long.class, -age.toNanos() / 1000);
+        return changeId == null ? 0 : changeId;
+    }
+
+    /**
+     * Deletes the entries written longer ago than the given time.
+     *
+     * @param retention How long entries are kept.
+     * @return The number of entries deleted.
+     */
+    public int deleteOlderThan(Duration retention) {
+        return jdbcTemplate.update("DELETE FROM change_log " +
+                "WHERE changed_at < TIMESTAMPADD(MICROSECOND, ?, CURRENT_TIMESTAMP(3))", -retention.toNanos() / 1000);
+    }
+}
@@ -0,0 +1,152 @@
+package io.upschool.ticketBooking.service;
+
+import io.upschool.ticketBooking.dto.response.FlightSearchCheckResponse;
+import io.upschool.ticketBooking.entity.FlightSearchEntry;
+import io.upschool.ticketBooking.repository.FlightSearchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The FlightSearchService class maintains the flight_search read model, a flat copy of every flight
+ * joined with its route, airports and airline. The write methods must run inside the transaction
+ * that changes the flight so that the read model commits together with the source tables.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FlightSearchService {
+    private final FlightSearchRepository flightSearchRepository;
+
+    /**
+     * Adds the search row of a newly saved flight.
+     *
+     * @param flightId The ID of the saved flight.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void indexFlight(Long flightId) {
+        flightSearchRepository.insertFromSource(flightId);
+    }
+
+    /**
+     * Adds the search rows of all flights on the provided routes that are not indexed yet.
+     *
+     * @param routeIds The IDs of the routes whose flights were inserted.
+     * @return The number of rows added.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int indexFlightsOfRoutes(Collection<Long> routeIds) {
+        if (routeIds.isEmpty()) {
+            return 0;
+        }
+        return flightSearchRepository.insertMissingForRoutes(routeIds);
+    }
+
+    /**
+     * Adds a delta to the remaining seat count of a flight's search row, mirroring a conditional
+     * update of the flights table.
+     *
+     * @param flightId The ID of the flight.
+     * @param delta    The change in remaining seats.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void adjustRemainingSeats(Long flightId, int delta) {
+        flightSearchRepository.adjustRemainingSeats(flightId, delta);
+    }
+
+    /**
+     * Finds flights on the given date whose departure and arrival locations start with the provided keys.
+     *
+     * @param departureDate The departure date.
+     * @param departureKey  The normalized departure location prefix.
+     * @param arrivalKey    The normalized arrival location prefix.
+     * @return The matching search rows.
+     */
+    @Transactional(readOnly = true)
+    public List<FlightSearchEntry> search(LocalDate departureDate, String departureKey, String arrivalKey) {
+        return flightSearchRepository
+                .findByDepartureDateAndDepartureLocationNormalizedStartingWithAndArrivalLocationNormalizedStartingWith(
+                        departureDate, departureKey, arrivalKey);
+    }
+
+    /**
+     * Retrieves every search row ordered by flight ID.
+     *
+     * @return All search rows.
+     */
+    @Transactional(readOnly = true)
+    public List<FlightSearchEntry> findAll() {
+        return flightSearchRepository.findAll(Sort.by("flightId"));
+    }
+
+    /**
+     * Replaces the whole read model with a fresh copy of the source tables in one transaction.
+     *
+     * @return The number of rows written.
+     */
+    @Transactional
+    public int rebuild() {
+        flightSearchRepository.deleteAllEntries();
+        int indexed = flightSearchRepository.insertAllMissing();
+        log.info("Rebuilt flight_search with {} flights", indexed);
+        return indexed;
+    }
+
+    /**
+     * Compares the read model with the source tables.
+     *
+     * @return The IDs of flights that have no search row, a search row that differs from the source,
+     * or a search row whose flight no longer exists.
+     */
+    @Transactional(readOnly = true)
+    public FlightSearchCheckResponse check() {
+        return buildCheckResponse(false);
+    }
+
+    /**
+     * Compares the read model with the source tables and rewrites every row found to be missing,
+     * stale or orphaned.
+     *
+     * @return The differences found before the repair.
+     */
+    @Transactional
+    public FlightSearchCheckResponse repair() {
+        FlightSearchCheckResponse response = buildCheckResponse(true);
+        if (!response.isConsistent()) {
+            Set<Long> outdated = new LinkedHashSet<>(response.getStaleFlightIds());
+            outdated.addAll(response.getOrphanedFlightIds());
+            if (!outdated.isEmpty()) {
+                flightSearchRepository.deleteByFlightIds(outdated);
+            }
+            flightSearchRepository.insertAllMissing();
+            log.warn("Repaired flight_search: {} missing, {} stale, {} orphaned rows",
+                    response.getMissingFlightIds().size(), response.getStaleFlightIds().size(),
+                    response.getOrphanedFlightIds().size());
+        }
+        return response;
+    }
+
+    private FlightSearchCheckResponse buildCheckResponse(boolean repaired) {
+        List<Long> missing = flightSearchRepository.findMissingFlightIds();
+        List<Long> stale = flightSearchRepository.findStaleFlightIds();
+        List<Long> orphaned = flightSearchRepository.findOrphanedFlightIds();
+        boolean consistent = missing.isEmpty() && stale.isEmpty() && orphaned.isEmpty();
+        return FlightSearchCheckResponse
+                .builder()
+                .missingFlightIds(missing)
+                .staleFlightIds(stale)
+                .orphanedFlightIds(orphaned)
+                .consistent(consistent)
+                .repaired(repaired && !consistent)
+                .build();
+    }
+}
@@ -1,17 +1,25 @@
 package io.upschool.ticketBooking.service;
 
+import io.micrometer.observation.annotation.Observed;
 import io.upschool.ticketBooking.dto.request.FlightSaveRequest;
+import io.upschool.ticketBooking.dto.response.AirportSaveResponse;
 import io.upschool.ticketBooking.dto.response.FlightSaveResponse;
 import io.upschool.ticketBooking.dto.response.FlightSearchResponse;
 import io.upschool.ticketBooking.dto.response.RouteSaveResponse;
 import io.upschool.ticketBooking.entity.Airline;
 import io.upschool.ticketBooking.entity.Flight;
+import io.upschool.ticketBooking.entity.FlightSearchEntry;
 import io.upschool.ticketBooking.entity.Route;
+import io.upschool.ticketBooking.enums.ChangedEntityType;
 import io.upschool.ticketBooking.exception.*;
+import io.upschool.ticketBooking.jfr.FlightSearchEvent;
+import io.upschool.ticketBooking.jfr.SeatReservationEvent;
 import io.upschool.ticketBooking.repository.FlightRepository;
 import io.upschool.ticketBooking.utils.DateUtils;
+import io.upschool.ticketBooking.utils.SearchKeyUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -30,6 +38,8 @@ public class FlightService {
     private final FlightRepository flightRepository;
     private final RouteService routeService;
     private final AirlineService airlineService;
+    private final FlightSearchService flightSearchService;
+    private final ChangeLogService changeLogService;
 
     /**
      * Saves a flight based on the provided FlightSaveRequest.
@@ -39,33 +49,47 @@ public class FlightService {
      * @throws FlightValidationException  If any of the provided request fields are null or invalid.
      * @throws FlightAlreadySaveException If a flight with the same route, departure date, and airline already exists.
      */
+    @Transactional
     public FlightSaveResponse save(FlightSaveRequest request) {
         validateFlightSaveRequest(request);
         checkRouteAndAirlineExistence(request);
         Flight savedFlight = buildFlightAndSave(request);
+        flightSearchService.indexFlight(savedFlight.getId());
+        changeLogService.record(ChangedEntityType.FLIGHT, savedFlight.getId());
         return convertFlightToResponse(savedFlight);
     }
 
     /**
      * Retrieves a list of flights based on the provided departure and arrival keys and departure date.
+     * Flights are read from the flight_search read model, so no joins are needed.
      *
-     * @param departureKey  The search key for departure airport's location.
-     * @param arrivalKey    The search key for arrival airport's location.
+     * @param departureKey  The case-insensitive prefix of the departure airport's location.
+     * @param arrivalKey    The case-insensitive prefix of the arrival airport's location.
      * @param departureDate The departure date to filter flights by.
      * @return A list of FlightSearchResponse objects representing the retrieved flights.
      * @throws FlightNotFoundException If no flights are found matching the search criteria.
      */
+    @Observed(name = "booking.flight.search", contextualName = "search flights")
+    @Transactional(readOnly = true)
     public List<FlightSearchResponse> getAllFlights(String departureKey,
                                                     String arrivalKey,
-                                                    String departureDate) {
-        List<Flight> flights;
+                                                    LocalDate departureDate) {
+        FlightSearchEvent event = new FlightSearchEvent();
+        event.begin();
+        List<FlightSearchEntry> flights;
         if (departureKey.isEmpty() && arrivalKey.isEmpty()) {
-            flights = flightRepository.findAll();
+            flights = flightSearchService.findAll();
         } else {
-            LocalDate localDepartureDate = DateUtils.parseLocalDate(departureDate);
-            flights = flightRepository.
-                    findByRoute_DepartureAirport_AirportLocationContainingIgnoreCaseAndRoute_ArrivalAirport_AirportLocationContainingIgnoreCaseAndRoute_DepartureDate
-                            (departureKey, arrivalKey, localDepartureDate);
+            requireDepartureDate(departureDate);
+            flights = flightSearchService.search(departureDate,
+                    SearchKeyUtils.normalize(departureKey), SearchKeyUtils.normalize(arrivalKey));
+        }
+        if (event.shouldCommit()) {
+            event.departureKey = departureKey;
+            event.arrivalKey = arrivalKey;
+            event.departureDate = Objects.toString(departureDate, null);
+            event.resultCount = flights.size();
+            event.commit();
         }
         if (flights.isEmpty()) {
             throw new FlightNotFoundException("Flight not found.");
@@ -76,33 +100,71 @@ public class FlightService {
     }
 
     /**
-     * Reserves the specified number of seats on the given flight if enough seats are available.
+     * Retrieves a flight and checks that it currently has enough seats, without reserving them.
+     * The check is advisory; {@link #reserveSeats(Long, int)} makes the reservation atomically.
      *
-     * @param flight         The Flight for which to reserve seats.
+     * @param flightId       The ID of the flight.
+     * @param requestedSeats The number of seats requested.
+     * @return The retrieved Flight, detached from any persistence context.
+     * @throws FlightNotFoundException   If no Flight is found with the provided ID.
+     * @throws NotAvailableSeatException If there are not enough available seats.
+     */
+    @Transactional(readOnly = true)
+    public Flight getAvailableFlight(Long flightId, int requestedSeats) {
+        Flight flight = getFlightById(flightId);
+        if (!isAvailableSeats(flight, requestedSeats)) {
+            throw new NotAvailableSeatException("Not enough available seats.");
+        }
+        return flight;
+    }
+
+    /**
+     * Reserves the specified number of seats on a flight with a single conditional update,
+     * so concurrent purchases can never oversell it.
+     *
+     * @param flightId       The ID of the flight on which to reserve seats.
      * @param requestedSeats The number of seats to reserve.
      * @throws NotAvailableSeatException If there are not enough available seats for the reservation.
      */
-    protected void reserveSeats(Flight flight, int requestedSeats) {
-        boolean availableSeats = isAvailableSeats(flight, requestedSeats);
-        if (!availableSeats) {
+    @Observed(name = "booking.flight.seats.reserve", contextualName = "reserve seats")
+    protected void reserveSeats(Long flightId, int requestedSeats) {
+        SeatReservationEvent event = new SeatReservationEvent();
+        event.begin();
+        int updated = flightRepository.reserveSeatsIfAvailable(flightId, requestedSeats);
+        if (event.shouldCommit()) {
+            event.flightId = flightId;
+            event.seatsRequested = requestedSeats;
+            event.outcome = updated == 0 ? "SOLD_OUT" : "RESERVED";
+            event.commit();
+        }
+        if (updated == 0) {
             throw new NotAvailableSeatException("Not enough available seats.");
         }
-        int remainingSeats = flight.getRemainingSeats();
-        flight.setRemainingSeats(remainingSeats - requestedSeats);
-        flightRepository.save(flight);
+        flightSearchService.adjustRemainingSeats(flightId, -requestedSeats);
+    }
+
+    /**
+     * Gives seats back to a flight with a single relative update, so concurrent cancellations on the
+     * same flight cannot overwrite each other's counts.
+     *
+     * @param flightId      The ID of the flight to release the seats on.
+     * @param releasedSeats The number of seats to add to the available seats count.
+     */
+    protected void releaseSeats(Long flightId, int releasedSeats) {
+        flightRepository.releaseSeats(flightId, releasedSeats);
+        flightSearchService.adjustRemainingSeats(flightId, releasedSeats);
     }
 
     /**
-     * Updates the available seats count on the given flight by adding the specified number of seats.
+     * Checks that a search by location also names the date to search on.
      *
-     * @param flight         The Flight for which to update available seats.
-     * @param requestedSeats The number of seats to add to the available seats count.
+     * @param departureDate The requested departure date.
+     * @throws FlightValidationException If no departure date was given.
      */
-    protected void updateAvailableSeats(Flight flight, int requestedSeats) {
-        int currentAvailableSeats = flight.getRemainingSeats();
-        int updatedAvailableSeats = currentAvailableSeats + requestedSeats;
-        flight.setRemainingSeats(updatedAvailableSeats);
-        flightRepository.save(flight);
+    protected void requireDepartureDate(LocalDate departureDate) {
+        if (departureDate == null) {
+            throw new FlightValidationException("Departure date is required when searching by location.");
+        }
     }
 
     /**
@@ -117,6 +179,20 @@ public class FlightService {
                 .orElseThrow(() -> new FlightNotFoundException("Flight not found."));
     }
 
+    /**
+     * Checks if a flight with the provided ID exists.
+     *
+     * @param flightId The ID of the flight to check for existence.
+     * @throws FlightNotFoundException If no flight is found with the provided ID.
+     */
+    @Transactional(readOnly = true)
+    public void checkIsFlightExist(Long flightId) {
+        boolean existFlight = flightRepository.existsById(flightId);
+        if (!existFlight) {
+            throw new FlightNotFoundException("Flight not found.");
+        }
+    }
+
     /**
      * Converts a Flight entity to a FlightSaveResponse object.
      *
@@ -133,13 +209,31 @@ public class FlightService {
                 .build();
     }
 
-    private FlightSearchResponse convertFlightToSearchResponse(Flight flight) {
-        RouteSaveResponse routeSaveResponse = routeService.convertRouteToResponse(flight.getRoute());
+    protected FlightSearchResponse convertFlightToSearchResponse(FlightSearchEntry flight) {
+        AirportSaveResponse departureAirport = AirportSaveResponse.builder()
+                .airportId(flight.getDepartureAirportId())
+                .airport(flight.getDepartureAirportName() + " - " + flight.getDepartureAirportCode())
+                .airportLocation(flight.getDepartureLocation())
+                .build();
+        AirportSaveResponse arrivalAirport = AirportSaveResponse.builder()
+                .airportId(flight.getArrivalAirportId())
+                .airport(flight.getArrivalAirportName() + " - " + flight.getArrivalAirportCode())
+                .airportLocation(flight.getArrivalLocation())
+                .build();
+        RouteSaveResponse routeSaveResponse = RouteSaveResponse.builder()
+                .flightRouteId(flight.getRouteId())
+                .departureAirport(departureAirport)
+                .arrivalAirport(arrivalAirport)
+                .departureDateTime(DateUtils.combineDateAndTime(flight.getDepartureDate(), flight.getDepartureTime()))
+                .arrivalDateTime(DateUtils.combineDateAndTime(flight.getArrivalDate(), flight.getArrivalTime()))
+                .build();
         return FlightSearchResponse
                 .builder()
-                .flightId(flight.getId())
+                .flightId(flight.getFlightId())
                 .routeSaveResponse(routeSaveResponse)
-                .airline(flight.getAirline().getAirlineName() + " - " + flight.getAirline().getAirlineCode())
+                .airline(flight.getAirlineName() + " - " + flight.getAirlineCode())
+                .remainingSeats(flight.getRemainingSeats())
+                .ticketBasePrice(flight.getTicketBasePrice())
                 .build();
     }
 
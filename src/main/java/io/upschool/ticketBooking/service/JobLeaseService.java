@@ -0,0 +1,59 @@
+package io.upschool.ticketBooking.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Hands out named leases in the job_leases table, so a scheduled job that runs on every instance
+ * does its work on only one of them at a time. Lease times come from the database clock.
+ */
+@Service
+public class JobLeaseService {
+    private final JdbcTemplate jdbcTemplate;
+    private final String owner;
+
+    public JobLeaseService(JdbcTemplate jdbcTemplate,
+                           @Value("${booking.cluster.node-id:}") String nodeId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.owner = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+    }
+
+    /**
+     * Takes the lease if it is free or has expired, or renews it if this instance already holds it.
+     *
+     * @param jobName   The name of the lease.
+     * @param leaseTime How long the lease lasts unless renewed.
+     * @return true if this instance holds the lease until leaseTime from now.
+     */
+    public boolean tryAcquire(String jobName, Duration leaseTime) {
+        long leaseMicros = leaseTime.toNanos() / 1000;
+        int renewed = jdbcTemplate.update("UPDATE job_leases SET owner = ?, " +
+                        "lease_expires_at = TIMESTAMPADD(MICROSECOND, ?, CURRENT_TIMESTAMP(3)) " +
+                        "WHERE job_name = ? AND (owner = ? OR lease_expires_at <= CURRENT_TIMESTAMP(3))",
+                owner, leaseMicros, jobName, owner);
+        if (renewed == 1) {
+            return true;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO job_leases (job_name, owner, lease_expires_at) " +
+                    "VALUES (?, ?, TIMESTAMPADD(MICROSECOND, ?, CURRENT_TIMESTAMP(3)))", jobName, owner, leaseMicros);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gives up the lease if this instance holds it.
+     *
+     * @param jobName The name of the lease.
+     */
+    public void release(String jobName) {
+        jdbcTemplate.update("DELETE FROM job_leases WHERE job_name = ? AND owner = ?", jobName, owner);
+    }
+}
@@ -0,0 +1,243 @@
+package io.upschool.ticketBooking.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.upschool.ticketBooking.dto.response.TicketLifecycleEvent;
+import io.upschool.ticketBooking.entity.OutboxEvent;
+import io.upschool.ticketBooking.entity.Ticket;
+import io.upschool.ticketBooking.enums.TicketEventType;
+import io.upschool.ticketBooking.outbox.OutboxEventSink;
+import io.upschool.ticketBooking.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * The OutboxService class records ticket lifecycle events in the outbox_events table as part of the
+ * transaction that changes the ticket, and relays unpublished events to the configured sinks.
+ */
+@Slf4j
+@Service
+public class OutboxService {
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxEventSink> outboxEventSinks;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration claimTimeout;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository,
+                         List<OutboxEventSink> outboxEventSinks,
+                         ObjectMapper objectMapper,
+                         JdbcTemplate jdbcTemplate,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${booking.outbox.claim-timeout:5m}") Duration claimTimeout,
+                         @Value("${booking.outbox.retry-backoff:1s}") Duration retryBackoff,
+                         @Value("${booking.outbox.max-retry-backoff:5m}") Duration maxRetryBackoff) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxEventSinks = outboxEventSinks;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.claimTimeout = claimTimeout;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+    }
+
+    /**
+     * Writes an event describing the current state of the ticket. Must be called inside the
+     * transaction that changed the ticket, so the event is committed if and only if the change is.
+     *
+     * @param ticket    The ticket that changed.
+     * @param eventType The type of the change.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Ticket ticket, TicketEventType eventType) {
+        TicketLifecycleEvent event = buildEvent(ticket, eventType, new Date());
+        OutboxEvent outboxEvent = OutboxEvent
+                .builder()
+                .eventType(eventType)
+                .ticketNumber(event.getTicketNumber())
+                .flightId(event.getFlightId())
+                .payload(writePayload(event))
+                .build();
+        outboxEventRepository.save(outboxEvent);
+    }
+
+    /**
+     * Writes one event per ticket with a single batched insert, for set-based changes that touch
+     * many tickets at once. Must be called inside the transaction that changed the tickets.
+     *
+     * @param tickets   The tickets that changed, already carrying their new state.
+     * @param eventType The type of the change.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<Ticket> tickets, TicketEventType eventType) {
+        if (tickets.isEmpty()) {
+            return;
+        }
+        Date now = new Date();
+        Timestamp timestamp = new Timestamp(now.getTime());
+        jdbcTemplate.batchUpdate("INSERT INTO outbox_events (creation_date, updated_date, event_type, " +
+                        "ticket_number, flight_id, payload) VALUES (?, ?, ?, ?, ?, ?)",
+                tickets, tickets.size(), (ps, ticket) -> {
+                    TicketLifecycleEvent event = buildEvent(ticket, eventType, now);
+                    ps.setTimestamp(1, timestamp);
+                    ps.setTimestamp(2, timestamp);
+                    ps.setString(3, eventType.name());
+                    ps.setString(4, event.getTicketNumber());
+                    ps.setLong(5, event.getFlightId());
+                    ps.setString(6, writePayload(event));
+                });
+    }
+
+    /**
+     * Relays the oldest due events to every sink in id order. The events are claimed in a short
+     * transaction and delivered after it commits, so no row lock is held while a sink runs; the
+     * claim keeps other relay runs away from them for the claim timeout, after which a crashed run's
+     * events are picked up again. A failed delivery is retried with exponential backoff, and later
+     * events of the same flight wait for it so that each flight's events always arrive in order,
+     * while other flights carry on.
+     *
+     * @param batchSize The maximum number of events to relay.
+     * @return The number of events the batch query returned, so callers can tell whether more are waiting.
+     */
+    public int relayBatch(int batchSize) {
+        ClaimedBatch batch = transactionTemplate.execute(status -> claimBatch(batchSize));
+        Set<Long> blockedFlights = new HashSet<>();
+        List<Long> publishedIds = new ArrayList<>(batch.events().size());
+        List<Long> heldBackIds = new ArrayList<>();
+        List<OutboxEvent> failedEvents = new ArrayList<>();
+        for (OutboxEvent outboxEvent : batch.events()) {
+            if (blockedFlights.contains(outboxEvent.getFlightId())) {
+                heldBackIds.add(outboxEvent.getId());
+                continue;
+            }
+            try {
+                TicketLifecycleEvent event = objectMapper.readValue(outboxEvent.getPayload(), TicketLifecycleEvent.class);
+                event.setEventId(outboxEvent.getId());
+                for (OutboxEventSink sink : outboxEventSinks) {
+                    sink.publish(event);
+                }
+                publishedIds.add(outboxEvent.getId());
+            } catch (Exception e) {
+                log.warn("Delivery of outbox event {} failed (attempt {}), holding back flight {}: {}",
+                        outboxEvent.getId(), outboxEvent.getAttempts() + 1, outboxEvent.getFlightId(), e.getMessage());
+                blockedFlights.add(outboxEvent.getFlightId());
+                failedEvents.add(outboxEvent);
+            }
+        }
+        if (!publishedIds.isEmpty() || !failedEvents.isEmpty() || !heldBackIds.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                Date now = new Date();
+                if (!publishedIds.isEmpty()) {
+                    outboxEventRepository.markPublished(publishedIds, now);
+                }
+                for (OutboxEvent failedEvent : failedEvents) {
+                    outboxEventRepository.recordFailedAttempt(failedEvent.getId(),
+                            new Date(now.getTime() + getRetryBackoff(failedEvent.getAttempts()).toMillis()));
+                }
+                if (!heldBackIds.isEmpty()) {
+                    // They stay behind the failed event, which is no longer due.
+                    outboxEventRepository.scheduleAttempt(heldBackIds, null);
+                }
+            });
+        }
+        return batch.lockedCount();
+    }
+
+    private ClaimedBatch claimBatch(int batchSize) {
+        Date now = new Date();
+        List<OutboxEvent> events = outboxEventRepository.findDueForUpdate(now, PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return new ClaimedBatch(events, 0);
+        }
+        // A concurrent run may have locked, and so hidden, an earlier event of a flight without having
+        // committed its claim yet; only flights whose oldest unpublished event is in this batch are relayed.
+        Map<Long, Long> oldestUnpublishedIds = new HashMap<>();
+        Set<Long> flightIds = new HashSet<>();
+        events.forEach(event -> flightIds.add(event.getFlightId()));
+        for (Object[] row : outboxEventRepository.findOldestUnpublishedIds(flightIds)) {
+            oldestUnpublishedIds.put((Long) row[0], (Long) row[1]);
+        }
+        Set<Long> relayedFlights = new HashSet<>();
+        Set<Long> skippedFlights = new HashSet<>();
+        List<OutboxEvent> claimed = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            Long flightId = event.getFlightId();
+            if (!relayedFlights.contains(flightId) && !skippedFlights.contains(flightId)) {
+                if (event.getId().equals(oldestUnpublishedIds.get(flightId))) {
+                    relayedFlights.add(flightId);
+                } else {
+                    skippedFlights.add(flightId);
+                }
+            }
+            if (relayedFlights.contains(flightId)) {
+                claimed.add(event);
+            }
+        }
+        if (!claimed.isEmpty()) {
+            outboxEventRepository.scheduleAttempt(claimed.stream().map(OutboxEvent::getId).toList(),
+                    new Date(now.getTime() + claimTimeout.toMillis()));
+        }
+        return new ClaimedBatch(claimed, events.size());
+    }
+
+    private Duration getRetryBackoff(int previousAttempts) {
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(previousAttempts, 20));
+        return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+    }
+
+    /**
+     * Deletes up to chunkSize events that were published before the provided date.
+     *
+     * @param before    Published events older than this are deleted.
+     * @param chunkSize The maximum number of events to delete.
+     * @return The number of events deleted.
+     */
+    @Transactional
+    public int deletePublishedBefore(Date before, int chunkSize) {
+        List<Long> eventIds = outboxEventRepository.findIdsPublishedBefore(before, PageRequest.of(0, chunkSize));
+        if (eventIds.isEmpty()) {
+            return 0;
+        }
+        outboxEventRepository.deleteAllByIdInBatch(eventIds);
+        return eventIds.size();
+    }
+
+    private TicketLifecycleEvent buildEvent(Ticket ticket, TicketEventType eventType, Date occurredAt) {
+        return TicketLifecycleEvent
+                .builder()
+                .eventType(eventType)
+                .ticketNumber(ticket.getTicketNumber())
+                .flightId(ticket.getFlight().getId())
+                .status(ticket.getStatus())
+                .ticketClass(ticket.getTicketClass())
+                .passengerCount(ticket.getPassengerCount())
+                .ticketPrice(ticket.getTicketPrice())
+                .occurredAt(occurredAt)
+                .build();
+    }
+
+    private record ClaimedBatch(List<OutboxEvent> events, int lockedCount) {
+    }
+
+    private String writePayload(TicketLifecycleEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Ticket event could not be serialized.", e);
+        }
+    }
+}
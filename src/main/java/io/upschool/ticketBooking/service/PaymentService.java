@@ -0,0 +1,58 @@
+package io.upschool.ticketBooking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.annotation.Observed;
+import io.upschool.ticketBooking.exception.PaymentFailedException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * The PaymentService class authorizes ticket payments and releases authorizations whose purchase
+ * could not be completed. It currently accepts every payment; voided authorizations are logged and
+ * counted as booking.payment.voids, so purchases that failed after payment stay visible.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentService {
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Authorizes the given amount on a card.
+     *
+     * @param creditCardNumber The card to charge.
+     * @param amount           The amount to authorize.
+     * @return The authorization ID.
+     * @throws PaymentFailedException If the payment is declined.
+     */
+    @Observed(name = "booking.payment.authorize", contextualName = "authorize payment")
+    public String authorize(String creditCardNumber, BigDecimal amount) {
+        if (!isPaymentSuccess()) {
+            throw new PaymentFailedException("Payment process failed.");
+        }
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Releases an authorization whose purchase was not completed.
+     *
+     * @param authorizationId The ID returned by {@link #authorize(String, BigDecimal)}.
+     */
+    @Observed(name = "booking.payment.void", contextualName = "void payment authorization")
+    public void voidAuthorization(String authorizationId) {
+        log.info("Voided payment authorization {}", authorizationId);
+        Counter.builder("booking.payment.voids")
+                .description("Payment authorizations released because their purchase failed")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private boolean isPaymentSuccess() {
+        return true;
+    }
+}
@@ -0,0 +1,151 @@
+package io.upschool.ticketBooking.service;
+
+import io.r2dbc.spi.Readable;
+import io.upschool.ticketBooking.dto.response.AirportSaveResponse;
+import io.upschool.ticketBooking.dto.response.FlightSearchResponse;
+import io.upschool.ticketBooking.dto.response.RouteSearchResponse;
+import io.upschool.ticketBooking.entity.FlightSearchEntry;
+import io.upschool.ticketBooking.exception.FlightNotFoundException;
+import io.upschool.ticketBooking.exception.RouteNotFoundException;
+import io.upschool.ticketBooking.utils.SearchKeyUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * The ReactiveSearchService class serves the same flight and route searches as {@link FlightService}
+ * and {@link RouteService} over non-blocking R2DBC connections. Rows are emitted as the database
+ * returns them and only as fast as the subscriber requests them, so no thread waits on the query.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveSearchService {
+    private static final String SELECT_FLIGHTS = """
+            SELECT flight_id, route_id, departure_airport_id, departure_airport_name, departure_airport_code,
+                   departure_location, arrival_airport_id, arrival_airport_name, arrival_airport_code,
+                   arrival_location, departure_date, departure_time, arrival_date, arrival_time,
+                   airline_name, airline_code, remaining_seats, ticket_base_price
+            FROM flight_search
+            """;
+    private static final String SELECT_ROUTES = """
+            SELECT r.route_id,
+                   d.airport_id AS departure_airport_id, d.airport_name AS departure_airport_name,
+                   d.airport_code AS departure_airport_code, d.airport_location AS departure_location,
+                   a.airport_id AS arrival_airport_id, a.airport_name AS arrival_airport_name,
+                   a.airport_code AS arrival_airport_code, a.airport_location AS arrival_location
+            FROM routes r
+                     JOIN airports d ON d.airport_id = r.departure_airport_id
+                     JOIN airports a ON a.airport_id = r.arrival_airport_id
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final FlightService flightService;
+
+    /**
+     * Streams flights whose departure and arrival locations start with the provided keys on the
+     * given date, or every flight when both keys are empty.
+     *
+     * @param departureKey  The case-insensitive prefix of the departure airport's location.
+     * @param arrivalKey    The case-insensitive prefix of the arrival airport's location.
+     * @param departureDate The departure date to filter flights by.
+     * @return The matching flights ordered by flight ID.
+     * @throws FlightNotFoundException If no flights are found matching the search criteria; signalled
+     *                                 through the returned Flux.
+     */
+    public Flux<FlightSearchResponse> getAllFlights(String departureKey, String arrivalKey, LocalDate departureDate) {
+        DatabaseClient.GenericExecuteSpec query;
+        if (departureKey.isEmpty() && arrivalKey.isEmpty()) {
+            query = databaseClient.sql(SELECT_FLIGHTS + " ORDER BY flight_id");
+        } else {
+            flightService.requireDepartureDate(departureDate);
+            query = databaseClient.sql(SELECT_FLIGHTS + """
+                            WHERE departure_date = :departureDate
+                              AND departure_location_normalized LIKE :departurePrefix
+                              AND arrival_location_normalized LIKE :arrivalPrefix
+                            ORDER BY flight_id""")
+                    .bind("departureDate", departureDate)
+                    .bind("departurePrefix", SearchKeyUtils.toPrefixPattern(departureKey))
+                    .bind("arrivalPrefix", SearchKeyUtils.toPrefixPattern(arrivalKey));
+        }
+        return query.map(this::readFlightSearchEntry)
+                .all()
+                .map(flightService::convertFlightToSearchResponse)
+                .switchIfEmpty(Flux.error(() -> new FlightNotFoundException("Flight not found.")));
+    }
+
+    /**
+     * Streams routes departing from or arriving at the provided locations, or every route when both
+     * keys are empty.
+     *
+     * @param departureKey The case-insensitive departure location.
+     * @param arrivalKey   The case-insensitive arrival location.
+     * @return The matching routes ordered by route ID.
+     * @throws RouteNotFoundException If no routes are found matching the search criteria; signalled
+     *                                through the returned Flux.
+     */
+    public Flux<RouteSearchResponse> getAllRoutes(String departureKey, String arrivalKey) {
+        DatabaseClient.GenericExecuteSpec query;
+        if (departureKey.isEmpty() && arrivalKey.isEmpty()) {
+            query = databaseClient.sql(SELECT_ROUTES + " ORDER BY r.route_id");
+        } else {
+            query = databaseClient.sql(SELECT_ROUTES + """
+                            WHERE d.airport_location_normalized = :departureKey
+                               OR a.airport_location_normalized = :arrivalKey
+                            ORDER BY r.route_id""")
+                    .bind("departureKey", SearchKeyUtils.normalize(departureKey))
+                    .bind("arrivalKey", SearchKeyUtils.normalize(arrivalKey));
+        }
+        return query.map(this::readRouteSearchResponse)
+                .all()
+                .switchIfEmpty(Flux.error(() ->
+                        new RouteNotFoundException("No routes found matching the search criteria.")));
+    }
+
+    private FlightSearchEntry readFlightSearchEntry(Readable row) {
+        FlightSearchEntry entry = new FlightSearchEntry();
+        entry.setFlightId(row.get("flight_id", Long.class));
+        entry.setRouteId(row.get("route_id", Long.class));
+        entry.setDepartureAirportId(row.get("departure_airport_id", Long.class));
+        entry.setDepartureAirportName(row.get("departure_airport_name", String.class));
+        entry.setDepartureAirportCode(row.get("departure_airport_code", String.class));
+        entry.setDepartureLocation(row.get("departure_location", String.class));
+        entry.setArrivalAirportId(row.get("arrival_airport_id", Long.class));
+        entry.setArrivalAirportName(row.get("arrival_airport_name", String.class));
+        entry.setArrivalAirportCode(row.get("arrival_airport_code", String.class));
+        entry.setArrivalLocation(row.get("arrival_location", String.class));
+        entry.setDepartureDate(row.get("departure_date", LocalDate.class));
+        entry.setDepartureTime(row.get("departure_time", LocalTime.class));
+        entry.setArrivalDate(row.get("arrival_date", LocalDate.class));
+        entry.setArrivalTime(row.get("arrival_time", LocalTime.class));
+        entry.setAirlineName(row.get("airline_name", String.class));
+        entry.setAirlineCode(row.get("airline_code", String.class));
+        entry.setRemainingSeats(row.get("remaining_seats", Integer.class));
+        entry.setTicketBasePrice(row.get("ticket_base_price", BigDecimal.class));
+        return entry;
+    }
+
+    private RouteSearchResponse readRouteSearchResponse(Readable row) {
+        AirportSaveResponse departureAirport = AirportSaveResponse.builder()
+                .airportId(row.get("departure_airport_id", Long.class))
+                .airport(row.get("departure_airport_name", String.class) + " - "
+                        + row.get("departure_airport_code", String.class))
+                .airportLocation(row.get("departure_location", String.class))
+                .build();
+        AirportSaveResponse arrivalAirport = AirportSaveResponse.builder()
+                .airportId(row.get("arrival_airport_id", Long.class))
+                .airport(row.get("arrival_airport_name", String.class) + " - "
+                        + row.get("arrival_airport_code", String.class))
+                .airportLocation(row.get("arrival_location", String.class))
+                .build();
+        return RouteSearchResponse.builder()
+                .flightRouteId(row.get("route_id", Long.class))
+                .departureAirport(departureAirport)
+                .arrivalAirport(arrivalAirport)
+                .build();
+    }
+}
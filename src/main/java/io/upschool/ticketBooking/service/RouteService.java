@@ -1,16 +1,21 @@
 package io.upschool.ticketBooking.service;
 
+import io.upschool.ticketBooking.cache.CacheNames;
 import io.upschool.ticketBooking.dto.request.RouteSaveRequest;
 import io.upschool.ticketBooking.dto.response.*;
 import io.upschool.ticketBooking.entity.Airport;
 import io.upschool.ticketBooking.entity.Route;
+import io.upschool.ticketBooking.enums.ChangedEntityType;
 import io.upschool.ticketBooking.exception.RouteAlreadySaveException;
 import io.upschool.ticketBooking.exception.RouteNotFoundException;
 import io.upschool.ticketBooking.exception.RouteValidationException;
 import io.upschool.ticketBooking.repository.RouteRepository;
 import io.upschool.ticketBooking.utils.DateUtils;
+import io.upschool.ticketBooking.utils.SearchKeyUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -28,6 +33,7 @@ import java.util.stream.Stream;
 public class RouteService {
     private final RouteRepository routeRepository;
     private final AirportService airportService;
+    private final ChangeLogService changeLogService;
 
     /**
      * Saves a flight route based on the provided RouteSaveRequest.
@@ -37,23 +43,28 @@ public class RouteService {
      * @throws RouteValidationException  If any of the required fields in the request are null or empty.
      * @throws RouteAlreadySaveException If a route with the same departure and arrival airports, dates, and times already exists.
      */
+    @Transactional
     public RouteSaveResponse save(RouteSaveRequest request) {
         validateRouteSaveRequest(request);
         airportService.checkIsAirportExist(request.getDepartureAirportId());
         airportService.checkIsAirportExist(request.getArrivalAirportId());
         checkRouteIsAlreadySaved(request);
         Route savedRoute = buildRouteAndSave(request);
+        changeLogService.record(ChangedEntityType.ROUTE, savedRoute.getId());
         return convertRouteToResponse(savedRoute);
     }
 
     /**
-     * Retrieves a list of routes based on the provided departure and arrival keys.
+     * Retrieves a list of routes based on the provided departure and arrival keys. Results are cached per
+     * pair of keys until a route or airport changes on any instance.
      *
      * @param departureKey The search key for departure airport's location.
      * @param arrivalKey   The search key for arrival airport's location.
      * @return A list of RouteSearchResponse objects representing the retrieved routes.
      * @throws RouteNotFoundException If no routes are found matching the search criteria.
      */
+    @Cacheable(CacheNames.ROUTE_SEARCH)
+    @Transactional(readOnly = true)
     public List<RouteSearchResponse> getAllRoutes(String departureKey, String arrivalKey) {
         List<Route> routes;
         if (departureKey.isEmpty() && arrivalKey.isEmpty()) {
@@ -88,12 +99,10 @@ public class RouteService {
      * @throws RouteAlreadySaveException If a route with the same departure and arrival details already exists.
      */
     protected void checkRouteIsAlreadySaved(RouteSaveRequest request) {
-        LocalDate departureDate = DateUtils.parseLocalDate(request.getDepartureDate());
-        LocalTime departureTime = DateUtils.parseLocalTime(request.getDepartureTime());
         boolean routeExists = routeRepository.
-                existsByDepartureDateAndDepartureTimeAndDepartureAirportIdAndArrivalAirportId(
-                        departureDate, departureTime,
-                        request.getDepartureAirportId(), request.getArrivalAirportId());
+                existsByDepartureAirportIdAndArrivalAirportIdAndDepartureDateAndDepartureTime(
+                        request.getDepartureAirportId(), request.getArrivalAirportId(),
+                        request.getDepartureDate(), request.getDepartureTime());
         if (routeExists) {
             throw new RouteAlreadySaveException("Route already exists.");
         }
@@ -135,8 +144,8 @@ public class RouteService {
     }
 
     private List<Route> findRoutesByDepartureAndArrival(String departureKey, String arrivalKey) {
-        return routeRepository.findByDepartureAirport_AirportLocationIgnoreCaseOrArrivalAirport_AirportLocationIgnoreCase(
-                departureKey, arrivalKey);
+        return routeRepository.findByDepartureOrArrivalLocation(
+                SearchKeyUtils.normalize(departureKey), SearchKeyUtils.normalize(arrivalKey));
     }
 
     private RouteSearchResponse convertRouteToSearchResponse(Route route) {
@@ -155,18 +164,15 @@ public class RouteService {
         Airport departureAirport = airportService.getAirportById(request.getDepartureAirportId());
         Airport arrivalAirport = airportService.getAirportById(request.getArrivalAirportId());
         validateRouteLocations(departureAirport, arrivalAirport);
-        LocalDate departureDate = DateUtils.parseLocalDate(request.getDepartureDate());
-        LocalTime departureTime = DateUtils.parseLocalTime(request.getDepartureTime());
-        LocalDate arrivalDate = DateUtils.parseLocalDate(request.getArrivalDate());
-        LocalTime arrivalTime = DateUtils.parseLocalTime(request.getArrivalTime());
-        validateDepartureAndArrivalDateTime(departureDate, departureTime, arrivalDate, arrivalTime);
+        validateDepartureAndArrivalDateTime(request.getDepartureDate(), request.getDepartureTime(),
+                request.getArrivalDate(), request.getArrivalTime());
         Route route = Route.builder()
                 .departureAirport(departureAirport)
                 .arrivalAirport(arrivalAirport)
-                .departureDate(departureDate)
-                .departureTime(departureTime)
-                .arrivalDate(arrivalDate)
-                .arrivalTime(arrivalTime)
+                .departureDate(request.getDepartureDate())
+                .departureTime(request.getDepartureTime())
+                .arrivalDate(request.getArrivalDate())
+                .arrivalTime(request.getArrivalTime())
                 .build();
         return routeRepository.save(route);
     }
@@ -0,0 +1,267 @@
+package io.upschool.ticketBooking.service;
+
+import io.upschool.ticketBooking.dto.response.SalesStatisticsResponse;
+import io.upschool.ticketBooking.dto.response.TicketClassSalesResponse;
+import io.upschool.ticketBooking.entity.*;
+import io.upschool.ticketBooking.enums.StatisticsScope;
+import io.upschool.ticketBooking.enums.TicketClass;
+import io.upschool.ticketBooking.exception.FlightNotFoundException;
+import io.upschool.ticketBooking.repository.FlightSearchRepository;
+import io.upschool.ticketBooking.repository.SalesStatisticRepository;
+import io.upschool.ticketBooking.utils.DateUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The SalesStatisticsService class keeps running sales totals per flight, per route and per airline and
+ * departure day. Purchases and cancellations add to in-memory counters in constant time once their
+ * transaction commits; the counters are periodically added to the sales_statistics table and reset.
+ * Reads combine the stored totals with the counters not flushed yet.
+ * <p>
+ * The totals are eventually consistent. A read only adds the counters of the instance serving it, so
+ * sales on other instances show up once those flush, up to one flush interval later. While a flush is
+ * running, the amounts it has drained are in neither place until its transaction commits, and reads go
+ * to the replica, which may take a little longer still; totals can briefly fall short by those amounts.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesStatisticsService {
+    private final SalesStatisticRepository salesStatisticRepository;
+    private final FlightSearchRepository flightSearchRepository;
+    private final RouteService routeService;
+    private final AirlineService airlineService;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<SalesStatisticId, SalesCounter> pendingCounters = new ConcurrentHashMap<>();
+
+    /**
+     * Counts a purchased ticket once the current transaction commits.
+     *
+     * @param ticket The purchased ticket.
+     */
+    public void recordSale(Ticket ticket) {
+        record(ticket, 1);
+    }
+
+    /**
+     * Takes a cancelled ticket off the totals once the current transaction commits.
+     *
+     * @param ticket The cancelled ticket.
+     */
+    public void recordCancellation(Ticket ticket) {
+        record(ticket, -1);
+    }
+
+    /**
+     * Retrieves the sales totals of a flight.
+     *
+     * @param flightId The ID of the flight.
+     * @return The flight's sales totals and load factor.
+     * @throws FlightNotFoundException If no flight is found with the provided ID.
+     */
+    @Transactional(readOnly = true)
+    public SalesStatisticsResponse getFlightStatistics(Long flightId) {
+        FlightSearchEntry flight = flightSearchRepository.findById(flightId)
+                .orElseThrow(() -> new FlightNotFoundException("Flight not found."));
+        return buildResponse(StatisticsScope.FLIGHT, flightKey(flightId), flight.getCapacity());
+    }
+
+    /**
+     * Retrieves the sales totals of all flights on a route.
+     *
+     * @param routeId The ID of the route.
+     * @return The route's sales totals and load factor.
+     */
+    @Transactional(readOnly = true)
+    public SalesStatisticsResponse getRouteStatistics(Long routeId) {
+        routeService.checkIsRouteExist(routeId);
+        long capacity = flightSearchRepository.sumCapacityByRouteId(routeId);
+        return buildResponse(StatisticsScope.ROUTE, routeKey(routeId), capacity);
+    }
+
+    /**
+     * Retrieves the sales totals of an airline's flights departing on the given day.
+     *
+     * @param airlineId     The ID of the airline.
+     * @param departureDate The departure date, in yyyy-MM-dd format.
+     * @return The airline's sales totals and load factor for the day.
+     */
+    @Transactional(readOnly = true)
+    public SalesStatisticsResponse getAirlineDayStatistics(Long airlineId, String departureDate) {
+        airlineService.checkAirlineExist(airlineId);
+        LocalDate date = DateUtils.parseLocalDate(departureDate);
+        long capacity = flightSearchRepository.sumCapacityByAirlineIdAndDepartureDate(airlineId, date);
+        return buildResponse(StatisticsScope.AIRLINE_DAY, airlineDayKey(airlineId, date), capacity);
+    }
+
+    /**
+     * Returns the number of counters waiting for the next flush.
+     *
+     * @return The number of pending counters.
+     */
+    public int getPendingCounterCount() {
+        return pendingCounters.size();
+    }
+
+    /**
+     * Adds every pending counter to the stored totals in one transaction and resets it.
+     * If the transaction fails the drained amounts are put back for the next flush. Counters that
+     * had nothing to drain, since nothing was recorded on them since the last flush, are removed.
+     *
+     * @return The number of rows updated.
+     */
+    public int flush() {
+        Map<SalesStatisticId, SalesDelta> deltas = new HashMap<>();
+        pendingCounters.forEach((id, counter) -> {
+            SalesDelta delta = counter.drain();
+            if (!delta.isZero()) {
+                deltas.put(id, delta);
+            } else {
+                // Records add under the map's lock on the key, so none can land on a counter removed here.
+                pendingCounters.computeIfPresent(id, (key, current) -> current.peek().isZero() ? null : current);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> deltas.forEach((id, delta) ->
+                    salesStatisticRepository.addToTotals(id.getScope().name(), id.getScopeKey(),
+                            id.getTicketClass().name(), delta.ticketsSold(), delta.passengers(),
+                            BigDecimal.valueOf(delta.revenueCents(), 2))));
+        } catch (RuntimeException e) {
+            deltas.forEach(this::addPending);
+            throw e;
+        }
+        return deltas.size();
+    }
+
+    private void record(Ticket ticket, int sign) {
+        Flight flight = ticket.getFlight();
+        Route route = flight.getRoute();
+        TicketClass ticketClass = ticket.getTicketClass();
+        List<SalesStatisticId> ids = List.of(
+                new SalesStatisticId(StatisticsScope.FLIGHT, flightKey(flight.getId()), ticketClass),
+                new SalesStatisticId(StatisticsScope.ROUTE, routeKey(route.getId()), ticketClass),
+                new SalesStatisticId(StatisticsScope.AIRLINE_DAY,
+                        airlineDayKey(flight.getAirline().getId(), route.getDepartureDate()), ticketClass));
+        SalesDelta delta = new SalesDelta(sign, (long) sign * ticket.getPassengerCount(),
+                sign * toCents(ticket.getTicketPrice()));
+        Runnable apply = () -> ids.forEach(id -> addPending(id, delta));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private SalesStatisticsResponse buildResponse(StatisticsScope scope, String scopeKey, long capacity) {
+        Map<TicketClass, TicketClassSalesResponse> byClass = new EnumMap<>(TicketClass.class);
+        for (SalesStatistic statistic : salesStatisticRepository.findByIdScopeAndIdScopeKey(scope, scopeKey)) {
+            byClass.put(statistic.getId().getTicketClass(), TicketClassSalesResponse.builder()
+                    .ticketClass(statistic.getId().getTicketClass())
+                    .ticketsSold(statistic.getTicketsSold())
+                    .passengers(statistic.getPassengers())
+                    .revenue(statistic.getRevenue())
+                    .build());
+        }
+        for (TicketClass ticketClass : TicketClass.values()) {
+            SalesCounter counter = pendingCounters.get(new SalesStatisticId(scope, scopeKey, ticketClass));
+            if (counter == null) {
+                continue;
+            }
+            SalesDelta pending = counter.peek();
+            TicketClassSalesResponse classSales = byClass.computeIfAbsent(ticketClass, key ->
+                    new TicketClassSalesResponse(key, 0, 0, BigDecimal.ZERO.setScale(2)));
+            classSales.setTicketsSold(classSales.getTicketsSold() + pending.ticketsSold());
+            classSales.setPassengers(classSales.getPassengers() + pending.passengers());
+            classSales.setRevenue(classSales.getRevenue().add(BigDecimal.valueOf(pending.revenueCents(), 2)));
+        }
+        long ticketsSold = 0;
+        long passengers = 0;
+        BigDecimal revenue = BigDecimal.ZERO.setScale(2);
+        for (TicketClassSalesResponse classSales : byClass.values()) {
+            ticketsSold += classSales.getTicketsSold();
+            passengers += classSales.getPassengers();
+            revenue = revenue.add(classSales.getRevenue());
+        }
+        return SalesStatisticsResponse
+                .builder()
+                .scope(scope)
+                .scopeKey(scopeKey)
+                .ticketsSold(ticketsSold)
+                .passengers(passengers)
+                .revenue(revenue)
+                .capacity(capacity)
+                .loadFactor(capacity == 0 ? 0 : (double) passengers / capacity)
+                .ticketClasses(new ArrayList<>(byClass.values()))
+                .build();
+    }
+
+    private void addPending(SalesStatisticId id, SalesDelta delta) {
+        pendingCounters.compute(id, (key, counter) -> {
+            SalesCounter target = counter != null ? counter : new SalesCounter();
+            target.add(delta);
+            return target;
+        });
+    }
+
+    private static long toCents(BigDecimal price) {
+        return price == null ? 0 : price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static String flightKey(Long flightId) {
+        return String.valueOf(flightId);
+    }
+
+    private static String routeKey(Long routeId) {
+        return String.valueOf(routeId);
+    }
+
+    private static String airlineDayKey(Long airlineId, LocalDate departureDate) {
+        return airlineId + ":" + departureDate;
+    }
+
+    private record SalesDelta(long ticketsSold, long passengers, long revenueCents) {
+        boolean isZero() {
+            return ticketsSold == 0 && passengers == 0 && revenueCents == 0;
+        }
+    }
+
+    private static final class SalesCounter {
+        private final LongAdder ticketsSold = new LongAdder();
+        private final LongAdder passengers = new LongAdder();
+        private final LongAdder revenueCents = new LongAdder();
+
+        void add(SalesDelta delta) {
+            ticketsSold.add(delta.ticketsSold());
+            passengers.add(delta.passengers());
+            revenueCents.add(delta.revenueCents());
+        }
+
+        SalesDelta peek() {
+            return new SalesDelta(ticketsSold.sum(), passengers.sum(), revenueCents.sum());
+        }
+
+        SalesDelta drain() {
+            return new SalesDelta(ticketsSold.sumThenReset(), passengers.sumThenReset(), revenueCents.sumThenReset());
+        }
+    }
+}
@@ -0,0 +1,627 @@
+package io.upschool.ticketBooking.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.common.util.StringUtils;
+import io.upschool.ticketBooking.dto.request.ScheduleImportRecord;
+import io.upschool.ticketBooking.dto.response.ScheduleImportError;
+import io.upschool.ticketBooking.dto.response.ScheduleImportResponse;
+import io.upschool.ticketBooking.enums.ChangedEntityType;
+import io.upschool.ticketBooking.enums.ScheduleImportFormat;
+import io.upschool.ticketBooking.exception.InvalidDateTimeFormatException;
+import io.upschool.ticketBooking.exception.ScheduleImportException;
+import io.upschool.ticketBooking.utils.CsvUtils;
+import io.upschool.ticketBooking.utils.DateUtils;
+import io.upschool.ticketBooking.utils.SearchKeyUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * The ScheduleImportService class bulk-loads airports, routes and flights from a CSV or JSON-lines stream.
+ * The input is read in fixed-size batches so memory stays bounded by the batch size plus the lookup maps.
+ * Each batch prefetches what it needs from the database in a few queries, validates its rows in parallel
+ * against in-memory lookups and writes the valid rows with batched JDBC inserts in one transaction.
+ * Rows may only reference airports and routes defined earlier in the file or already in the database,
+ * and flights reference existing airlines by code.
+ * <p>
+ * CSV rows start with the record type:
+ * <pre>
+ * airport,&lt;code&gt;,&lt;name&gt;,&lt;location&gt;
+ * route,&lt;departureAirportCode&gt;,&lt;arrivalAirportCode&gt;,&lt;departureDate&gt;,&lt;departureTime&gt;,&lt;arrivalDate&gt;,&lt;arrivalTime&gt;
+ * flight,&lt;airlineCode&gt;,&lt;departureAirportCode&gt;,&lt;arrivalAirportCode&gt;,&lt;departureDate&gt;,&lt;departureTime&gt;,&lt;capacity&gt;,&lt;ticketBasePrice&gt;
+ * </pre>
+ * JSON lines use the field names of ScheduleImportRecord with the same "type" values.
+ */
+@Slf4j
+@Service
+public class ScheduleImportService {
+    private static final String AIRPORT = "airport";
+    private static final String ROUTE = "route";
+    private static final String FLIGHT = "flight";
+    private static final int MIN_CAPACITY = 15;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FlightSearchService flightSearchService;
+    private final ChangeLogService changeLogService;
+    private final ObjectReader recordReader;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public ScheduleImportService(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 FlightSearchService flightSearchService,
+                                 ChangeLogService changeLogService,
+                                 ObjectMapper objectMapper,
+                                 @Value("${booking.import.batch-size:1000}") int batchSize,
+                                 @Value("${booking.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.flightSearchService = flightSearchService;
+        this.changeLogService = changeLogService;
+        this.recordReader = objectMapper.readerFor(ScheduleImportRecord.class);
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Imports all records of the given stream. Invalid rows are skipped and reported, valid rows are imported.
+     *
+     * @param input  The stream of records.
+     * @param format The format of the stream.
+     * @return A ScheduleImportResponse with the import counts and the per-row errors.
+     * @throws ScheduleImportException If the stream cannot be read.
+     */
+    public ScheduleImportResponse importSchedule(InputStream input, ScheduleImportFormat format) {
+        ImportContext context = loadImportContext();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            List<ScheduleImportRecord> batch = new ArrayList<>(batchSize);
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || isCsvHeader(format, lineNumber, line)) {
+                    continue;
+                }
+                context.processedRows.incrementAndGet();
+                ScheduleImportRecord record = parseRecord(line, lineNumber, format, context);
+                if (record != null) {
+                    batch.add(record);
+                }
+                if (batch.size() == batchSize) {
+                    processBatch(batch, context);
+                    batch.clear();
+                }
+            }
+            processBatch(batch, context);
+        } catch (IOException e) {
+            throw new ScheduleImportException("Schedule could not be read: " + e.getMessage());
+        }
+        ScheduleImportResponse response = context.toResponse();
+        log.info("Schedule import finished: {} rows, {} airports, {} routes, {} flights, {} failed",
+                response.getProcessedRows(), response.getImportedAirports(), response.getImportedRoutes(),
+                response.getImportedFlights(), response.getFailedRows());
+        return response;
+    }
+
+    private ImportContext loadImportContext() {
+        ImportContext context = new ImportContext(maxReportedErrors);
+        jdbcTemplate.query("SELECT airport_id, airport_code_normalized, airport_name_normalized, airport_location " +
+                "FROM airports", rs -> {
+            context.airportsByCode.put(rs.getString(2), new AirportRef(rs.getLong(1), rs.getString(4)));
+            context.airportNames.add(rs.getString(3));
+        });
+        jdbcTemplate.query("SELECT airline_id, airline_code_normalized FROM airlines",
+                rs -> {
+                    context.airlinesByCode.put(rs.getString(2), rs.getLong(1));
+                });
+        return context;
+    }
+
+    private boolean isCsvHeader(ScheduleImportFormat format, int lineNumber, String line) {
+        return format == ScheduleImportFormat.CSV && lineNumber == 1 && line.startsWith("type,");
+    }
+
+    private ScheduleImportRecord parseRecord(String line, int lineNumber, ScheduleImportFormat format,
+                                             ImportContext context) {
+        try {
+            ScheduleImportRecord record = format == ScheduleImportFormat.CSV
+                    ? parseCsvRecord(line)
+                    : recordReader.readValue(line);
+            record.setLineNumber(lineNumber);
+            if (StringUtils.isBlank(record.getType())) {
+                context.reject(lineNumber, "Record type is missing.");
+                return null;
+            }
+            record.setType(record.getType().trim().toLowerCase(Locale.ROOT));
+            return record;
+        } catch (JsonProcessingException e) {
+            context.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            context.reject(lineNumber, e.getMessage());
+        }
+        return null;
+    }
+
+    private ScheduleImportRecord parseCsvRecord(String line) {
+        List<String> fields = CsvUtils.splitLine(line);
+        String type = fields.get(0).toLowerCase(Locale.ROOT);
+        switch (type) {
+            case AIRPORT -> {
+                requireFieldCount(fields, 4, type);
+                return ScheduleImportRecord.builder()
+                        .type(type)
+                        .code(fields.get(1))
+                        .name(fields.get(2))
+                        .location(fields.get(3))
+                        .build();
+            }
+            case ROUTE -> {
+                requireFieldCount(fields, 7, type);
+                return ScheduleImportRecord.builder()
+                        .type(type)
+                        .departureAirportCode(fields.get(1))
+                        .arrivalAirportCode(fields.get(2))
+                        .departureDate(fields.get(3))
+                        .departureTime(fields.get(4))
+                        .arrivalDate(fields.get(5))
+                        .arrivalTime(fields.get(6))
+                        .build();
+            }
+            case FLIGHT -> {
+                requireFieldCount(fields, 8, type);
+                return ScheduleImportRecord.builder()
+                        .type(type)
+                        .airlineCode(fields.get(1))
+                        .departureAirportCode(fields.get(2))
+                        .arrivalAirportCode(fields.get(3))
+                        .departureDate(fields.get(4))
+                        .departureTime(fields.get(5))
+                        .capacity(parseNumber(fields.get(6), Integer::valueOf, "capacity"))
+                        .ticketBasePrice(parseNumber(fields.get(7), BigDecimal::new, "ticketBasePrice"))
+                        .build();
+            }
+            default -> throw new IllegalArgumentException("Unsupported record type: " + type);
+        }
+    }
+
+    private void requireFieldCount(List<String> fields, int expected, String type) {
+        if (fields.size() != expected) {
+            throw new IllegalArgumentException("A " + type + " row needs " + expected + " columns.");
+        }
+    }
+
+    private <T> T parseNumber(String value, Function<String, T> parser, String field) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + field + ": " + value);
+        }
+    }
+
+    private void processBatch(List<ScheduleImportRecord> batch, ImportContext context) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<String, List<ScheduleImportRecord>> recordsByType = batch.stream()
+                .collect(Collectors.groupingBy(ScheduleImportRecord::getType));
+        recordsByType.forEach((type, records) -> {
+            if (!Set.of(AIRPORT, ROUTE, FLIGHT).contains(type)) {
+                records.forEach(record -> context.reject(record.getLineNumber(), "Unsupported record type: " + type));
+            }
+        });
+        importAirports(recordsByType.getOrDefault(AIRPORT, List.of()), context);
+        importRoutes(recordsByType.getOrDefault(ROUTE, List.of()), context);
+        importFlights(recordsByType.getOrDefault(FLIGHT, List.of()), context);
+    }
+
+    private void importAirports(List<ScheduleImportRecord> records, ImportContext context) {
+        List<PendingAirport> validated = records.parallelStream()
+                .map(record -> validateAirport(record, context))
+                .filter(Objects::nonNull)
+                .toList();
+        Set<String> batchCodes = new HashSet<>();
+        Set<String> batchNames = new HashSet<>();
+        List<PendingAirport> airports = new ArrayList<>();
+        for (PendingAirport airport : validated) {
+            if (!batchCodes.add(airport.normalizedCode()) || !batchNames.add(airport.normalizedName())) {
+                context.reject(airport.lineNumber(), "An airport with the same name or code already exists");
+            } else {
+                airports.add(airport);
+            }
+        }
+        if (airports.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> ids = writeBatch(airports, PendingAirport::lineNumber, ChangedEntityType.AIRPORT, context, () -> insertReturningKeys(
+                "INSERT INTO airports (creation_date, updated_date, airport_name, airport_code, airport_location, " +
+                        "airport_name_normalized, airport_code_normalized, airport_location_normalized) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                airports, (ps, airport) -> {
+                    ps.setTimestamp(1, now);
+                    ps.setTimestamp(2, now);
+                    ps.setString(3, airport.name());
+                    ps.setString(4, airport.code());
+                    ps.setString(5, airport.location());
+                    ps.setString(6, airport.normalizedName());
+                    ps.setString(7, airport.normalizedCode());
+                    ps.setString(8, SearchKeyUtils.normalize(airport.location()));
+                }));
+        for (int i = 0; i < ids.size(); i++) {
+            PendingAirport airport = airports.get(i);
+            context.airportsByCode.put(airport.normalizedCode(), new AirportRef(ids.get(i), airport.location()));
+            context.airportNames.add(airport.normalizedName());
+        }
+        context.importedAirports.addAndGet(ids.size());
+    }
+
+    private PendingAirport validateAirport(ScheduleImportRecord record, ImportContext context) {
+        if (StringUtils.isBlank(record.getCode()) || StringUtils.isBlank(record.getName())
+                || StringUtils.isBlank(record.getLocation())) {
+            return context.reject(record.getLineNumber(),
+                    "Airport name, airport code and location cannot be left blank");
+        }
+        String normalizedCode = SearchKeyUtils.normalize(record.getCode());
+        String normalizedName = SearchKeyUtils.normalize(record.getName());
+        if (context.airportsByCode.containsKey(normalizedCode) || context.airportNames.contains(normalizedName)) {
+            return context.reject(record.getLineNumber(), "An airport with the same name or code already exists");
+        }
+        return new PendingAirport(record.getLineNumber(), record.getCode().trim(), record.getName().trim(),
+                record.getLocation().trim().toUpperCase(), normalizedCode, normalizedName);
+    }
+
+    private void importRoutes(List<ScheduleImportRecord> records, ImportContext context) {
+        List<RouteRow> rows = records.parallelStream()
+                .map(record -> parseRouteRow(record, context))
+                .filter(Objects::nonNull)
+                .toList();
+        prefetchRoutes(rows.stream().map(RouteRow::key).toList(), context);
+        List<PendingRoute> validated = rows.parallelStream()
+                .map(row -> validateRoute(row, context))
+                .filter(Objects::nonNull)
+                .toList();
+        Set<RouteKey> batchKeys = new HashSet<>();
+        List<PendingRoute> routes = new ArrayList<>();
+        for (PendingRoute route : validated) {
+            if (!batchKeys.add(route.key())) {
+                context.reject(route.lineNumber(), "Route already exists.");
+            } else {
+                routes.add(route);
+            }
+        }
+        if (routes.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> ids = writeBatch(routes, PendingRoute::lineNumber, ChangedEntityType.ROUTE, context, () -> insertReturningKeys(
+                "INSERT INTO routes (creation_date, updated_date, departure_airport_id, arrival_airport_id, " +
+                        "departure_date, departure_time, arrival_date, arrival_time) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                routes, (ps, route) -> {
+                    ps.setTimestamp(1, now);
+                    ps.setTimestamp(2, now);
+                    ps.setLong(3, route.key().departureAirportId());
+                    ps.setLong(4, route.key().arrivalAirportId());
+                    ps.setObject(5, route.key().departureDate());
+                    ps.setObject(6, route.key().departureTime());
+                    ps.setObject(7, route.arrivalDate());
+                    ps.setObject(8, route.arrivalTime());
+                }));
+        for (int i = 0; i < ids.size(); i++) {
+            context.routesByKey.put(routes.get(i).key(), ids.get(i));
+        }
+        context.importedRoutes.addAndGet(ids.size());
+    }
+
+    private RouteRow parseRouteRow(ScheduleImportRecord record, ImportContext context) {
+        RouteKey key = resolveRouteKey(record, context);
+        if (key == null) {
+            return null;
+        }
+        if (StringUtils.isBlank(record.getArrivalDate()) || StringUtils.isBlank(record.getArrivalTime())) {
+            return context.reject(record.getLineNumber(), "Required fields cannot be left blank");
+        }
+        try {
+            return new RouteRow(record, key, DateUtils.parseLocalDate(record.getArrivalDate().trim()),
+                    DateUtils.parseLocalTime(record.getArrivalTime().trim()));
+        } catch (InvalidDateTimeFormatException e) {
+            return context.reject(record.getLineNumber(), e.getMessage());
+        }
+    }
+
+    private PendingRoute validateRoute(RouteRow row, ImportContext context) {
+        int lineNumber = row.record().getLineNumber();
+        AirportRef departureAirport = context.airportsByCode.get(
+                SearchKeyUtils.normalize(row.record().getDepartureAirportCode()));
+        AirportRef arrivalAirport = context.airportsByCode.get(
+                SearchKeyUtils.normalize(row.record().getArrivalAirportCode()));
+        if (departureAirport.location().equalsIgnoreCase(arrivalAirport.location())) {
+            return context.reject(lineNumber, "Departure and arrival airports cannot be in the same location.");
+        }
+        LocalDateTime departure = LocalDateTime.of(row.key().departureDate(), row.key().departureTime());
+        if (departure.isAfter(LocalDateTime.of(row.arrivalDate(), row.arrivalTime()))) {
+            return context.reject(lineNumber, "Departure time cannot be after arrival time.");
+        }
+        if (context.routesByKey.containsKey(row.key())) {
+            return context.reject(lineNumber, "Route already exists.");
+        }
+        return new PendingRoute(lineNumber, row.key(), row.arrivalDate(), row.arrivalTime());
+    }
+
+    private void importFlights(List<ScheduleImportRecord> records, ImportContext context) {
+        List<FlightRow> rows = records.parallelStream()
+                .map(record -> {
+                    RouteKey key = resolveRouteKey(record, context);
+                    return key == null ? null : new FlightRow(record, key);
+                })
+                .filter(Objects::nonNull)
+                .toList();
+        prefetchRoutes(rows.stream().map(FlightRow::key).toList(), context);
+        Set<Long> routeIds = rows.stream()
+                .map(row -> context.routesByKey.get(row.key()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<FlightKey> existingFlights = findExistingFlights(routeIds);
+        List<PendingFlight> validated = rows.parallelStream()
+                .map(row -> validateFlight(row, existingFlights, context))
+                .filter(Objects::nonNull)
+                .toList();
+        Set<FlightKey> batchKeys = new HashSet<>();
+        List<PendingFlight> flights = new ArrayList<>();
+        for (PendingFlight flight : validated) {
+            if (!batchKeys.add(flight.key())) {
+                context.reject(flight.lineNumber(), "A flight with the same route, " +
+                        "departure date, and airline already exists.");
+            } else {
+                flights.add(flight);
+            }
+        }
+        if (flights.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        writeBatch(flights, PendingFlight::lineNumber, ChangedEntityType.FLIGHT, context, () -> {
+            jdbcTemplate.batchUpdate("INSERT INTO flights (creation_date, updated_date, flight_route_id, airline_id, " +
+                            "capacity, ticket_base_price, remaining_seats) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    flights, flights.size(), (ps, flight) -> {
+                        ps.setTimestamp(1, now);
+                        ps.setTimestamp(2, now);
+                        ps.setLong(3, flight.key().routeId());
+                        ps.setLong(4, flight.key().airlineId());
+                        ps.setInt(5, flight.capacity());
+                        ps.setBigDecimal(6, flight.ticketBasePrice());
+                        ps.setInt(7, flight.capacity());
+                    });
+            flightSearchService.indexFlightsOfRoutes(flights.stream()
+                    .map(flight -> flight.key().routeId())
+                    .collect(Collectors.toSet()));
+            return Collections.nCopies(flights.size(), 0L);
+        });
+        context.importedFlights.addAndGet(flights.size());
+    }
+
+    private PendingFlight validateFlight(FlightRow row, Set<FlightKey> existingFlights, ImportContext context) {
+        ScheduleImportRecord record = row.record();
+        Long routeId = context.routesByKey.get(row.key());
+        if (routeId == null) {
+            return context.reject(record.getLineNumber(), "Route not found.");
+        }
+        Long airlineId = StringUtils.isBlank(record.getAirlineCode()) ? null
+                : context.airlinesByCode.get(SearchKeyUtils.normalize(record.getAirlineCode()));
+        if (airlineId == null) {
+            return context.reject(record.getLineNumber(), "Airline not found with code: " + record.getAirlineCode());
+        }
+        if (record.getCapacity() == null || record.getTicketBasePrice() == null) {
+            return context.reject(record.getLineNumber(), "Required fields cannot be left blank");
+        }
+        if (record.getCapacity() < MIN_CAPACITY) {
+            return context.reject(record.getLineNumber(), "Capacity is invalid");
+        }
+        if (record.getTicketBasePrice().signum() < 0) {
+            return context.reject(record.getLineNumber(), "Ticket base price cannot be negative");
+        }
+        FlightKey key = new FlightKey(routeId, airlineId);
+        if (existingFlights.contains(key)) {
+            return context.reject(record.getLineNumber(), "A flight with the same route, " +
+                    "departure date, and airline already exists.");
+        }
+        return new PendingFlight(record.getLineNumber(), key, record.getCapacity(), record.getTicketBasePrice());
+    }
+
+    private RouteKey resolveRouteKey(ScheduleImportRecord record, ImportContext context) {
+        if (StringUtils.isBlank(record.getDepartureAirportCode()) || StringUtils.isBlank(record.getArrivalAirportCode())
+                || StringUtils.isBlank(record.getDepartureDate()) || StringUtils.isBlank(record.getDepartureTime())) {
+            return context.reject(record.getLineNumber(), "Required fields cannot be left blank");
+        }
+        AirportRef departureAirport = context.airportsByCode.get(
+                SearchKeyUtils.normalize(record.getDepartureAirportCode()));
+        AirportRef arrivalAirport = context.airportsByCode.get(
+                SearchKeyUtils.normalize(record.getArrivalAirportCode()));
+        if (departureAirport == null || arrivalAirport == null) {
+            return context.reject(record.getLineNumber(), "Airport not found with code: " +
+                    (departureAirport == null ? record.getDepartureAirportCode() : record.getArrivalAirportCode()));
+        }
+        try {
+            return new RouteKey(departureAirport.id(), arrivalAirport.id(),
+                    DateUtils.parseLocalDate(record.getDepartureDate().trim()),
+                    DateUtils.parseLocalTime(record.getDepartureTime().trim()));
+        } catch (InvalidDateTimeFormatException e) {
+            return context.reject(record.getLineNumber(), e.getMessage());
+        }
+    }
+
+    /**
+     * Loads the ids of routes that are referenced by the batch but not yet known, with one query.
+     */
+    private void prefetchRoutes(List<RouteKey> keys, ImportContext context) {
+        List<RouteKey> unknownKeys = keys.stream()
+                .filter(key -> !context.routesByKey.containsKey(key))
+                .distinct()
+                .toList();
+        if (unknownKeys.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(unknownKeys.size(), "(?, ?, ?, ?)"));
+        Object[] parameters = unknownKeys.stream()
+                .flatMap(key -> Arrays.stream(new Object[]{key.departureAirportId(), key.arrivalAirportId(),
+                        key.departureDate(), key.departureTime()}))
+                .toArray();
+        jdbcTemplate.query("SELECT route_id, departure_airport_id, arrival_airport_id, departure_date, departure_time " +
+                        "FROM routes WHERE (departure_airport_id, arrival_airport_id, departure_date, departure_time) " +
+                        "IN (" + placeholders + ")",
+                rs -> {
+                    context.routesByKey.put(new RouteKey(rs.getLong(2), rs.getLong(3),
+                            rs.getObject(4, LocalDate.class), rs.getObject(5, LocalTime.class)), rs.getLong(1));
+                }, parameters);
+    }
+
+    private Set<FlightKey> findExistingFlights(Set<Long> routeIds) {
+        if (routeIds.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(routeIds.size(), "?"));
+        return new HashSet<>(jdbcTemplate.query(
+                "SELECT flight_route_id, airline_id FROM flights WHERE flight_route_id IN (" + placeholders + ")",
+                (rs, rowNum) -> new FlightKey(rs.getLong(1), rs.getLong(2)), routeIds.toArray()));
+    }
+
+    /**
+     * Runs one batch insert in its own transaction, together with a single change log entry for the
+     * batch. If the database rejects the batch, every row of it is reported with the database error
+     * and nothing of the batch is kept.
+     */
+    private <T> List<Long> writeBatch(List<T> rows, ToIntFunction<T> lineNumber, ChangedEntityType entityType,
+                                      ImportContext context, Supplier<List<Long>> insert) {
+        try {
+            return transactionTemplate.execute(status -> {
+                List<Long> ids = insert.get();
+                changeLogService.record(entityType, null);
+                return ids;
+            });
+        } catch (DataAccessException e) {
+            String message = "Batch insert failed: " + e.getMostSpecificCause().getMessage();
+            rows.forEach(row -> context.reject(lineNumber.applyAsInt(row), message));
+            return List.of();
+        }
+    }
+
+    private <T> List<Long> insertReturningKeys(String sql, List<T> rows, RowBinder<T> binder) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (T row : rows) {
+                    binder.bind(statement, row);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                List<Long> ids = new ArrayList<>(rows.size());
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                return ids;
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement statement, T row) throws SQLException;
+    }
+
+    private record AirportRef(long id, String location) {
+    }
+
+    private record RouteKey(long departureAirportId, long arrivalAirportId,
+                            LocalDate departureDate, LocalTime departureTime) {
+    }
+
+    private record FlightKey(long routeId, long airlineId) {
+    }
+
+    private record PendingAirport(int lineNumber, String code, String name, String location,
+                                  String normalizedCode, String normalizedName) {
+    }
+
+    private record RouteRow(ScheduleImportRecord record, RouteKey key, LocalDate arrivalDate, LocalTime arrivalTime) {
+    }
+
+    private record PendingRoute(int lineNumber, RouteKey key, LocalDate arrivalDate, LocalTime arrivalTime) {
+    }
+
+    private record FlightRow(ScheduleImportRecord record, RouteKey key) {
+    }
+
+    private record PendingFlight(int lineNumber, FlightKey key, int capacity, BigDecimal ticketBasePrice) {
+    }
+
+    /**
+     * State shared by all batches of one import. The lookup maps are read concurrently during validation
+     * and only written between the parallel phases.
+     */
+    private static class ImportContext {
+        private final Map<String, AirportRef> airportsByCode = new ConcurrentHashMap<>();
+        private final Set<String> airportNames = ConcurrentHashMap.newKeySet();
+        private final Map<String, Long> airlinesByCode = new ConcurrentHashMap<>();
+        private final Map<RouteKey, Long> routesByKey = new ConcurrentHashMap<>();
+        private final Queue<ScheduleImportError> errors = new ConcurrentLinkedQueue<>();
+        private final AtomicLong processedRows = new AtomicLong();
+        private final AtomicLong importedAirports = new AtomicLong();
+        private final AtomicLong importedRoutes = new AtomicLong();
+        private final AtomicLong importedFlights = new AtomicLong();
+        private final AtomicLong failedRows = new AtomicLong();
+        private final int maxReportedErrors;
+
+        private ImportContext(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private <T> T reject(int lineNumber, String message) {
+            if (failedRows.incrementAndGet() <= maxReportedErrors) {
+                errors.add(new ScheduleImportError(lineNumber, message));
+            }
+            return null;
+        }
+
+        private ScheduleImportResponse toResponse() {
+            List<ScheduleImportError> sortedErrors = new ArrayList<>(errors);
+            sortedErrors.sort(Comparator.comparingInt(ScheduleImportError::getLineNumber));
+            return ScheduleImportResponse.builder()
+                    .processedRows(processedRows.get())
+                    .importedAirports(importedAirports.get())
+                    .importedRoutes(importedRoutes.get())
+                    .importedFlights(importedFlights.get())
+                    .failedRows(failedRows.get())
+                    .errors(sortedErrors)
+                    .build();
+        }
+    }
+}
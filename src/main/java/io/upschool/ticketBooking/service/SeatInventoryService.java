@@ -0,0 +1,138 @@
+package io.upschool.ticketBooking.service;
+
+import io.upschool.ticketBooking.cluster.SeatHold;
+import io.upschool.ticketBooking.exception.NotAvailableSeatException;
+import io.upschool.ticketBooking.exception.SeatHoldReleasedException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reserves seats for purchases that take them apart from their ticket insert, which is the case on
+ * flights owned by another cluster member. Each such reservation is a seat hold, written in the same
+ * transaction as the seat update and keyed by an ID the purchase chooses, so a reservation sent twice
+ * takes the seats once. The ticket transaction confirms the hold. A purchase that fails releases it,
+ * and holds left behind by an instance that stopped mid-purchase are released by the reconcile job.
+ * <p>
+ * The seats are counted on the flight's row, not kept in memory by the owner, so a hold takes the
+ * same row lock as any other reservation of the flight.
+ */
+@Service
+@RequiredArgsConstructor
+public class SeatInventoryService {
+    private static final String HELD = "HELD";
+    private static final String CONFIRMED = "CONFIRMED";
+    private static final String RELEASED = "RELEASED";
+
+    private final FlightService flightService;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reserves seats under a hold, unless the hold already exists.
+     *
+     * @param holdId   The ID of the hold.
+     * @param flightId The ID of the flight.
+     * @param seats    The number of seats to reserve.
+     * @throws NotAvailableSeatException If there are not enough available seats.
+     * @throws SeatHoldReleasedException If the hold has already been released.
+     */
+    @Transactional
+    public void reserveHold(String holdId, Long flightId, int seats) {
+        if (insertHold(holdId, flightId, seats, HELD)) {
+            flightService.reserveSeats(flightId, seats);
+        } else if (RELEASED.equals(findHoldStatus(holdId))) {
+            throw new SeatHoldReleasedException("The seat hold has already been released.");
+        }
+    }
+
+    /**
+     * Marks a hold as used by a saved ticket. Must be called inside the transaction that saves the
+     * ticket, so the hold is confirmed if and only if the ticket is saved.
+     *
+     * @param holdId The ID of the hold.
+     * @throws SeatHoldReleasedException If the hold was released in the meantime.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void confirmHold(String holdId) {
+        int updated = jdbcTemplate.update("UPDATE seat_holds SET status = ?, updated_at = CURRENT_TIMESTAMP(3) " +
+                "WHERE hold_id = ? AND status = ?", CONFIRMED, holdId, HELD);
+        if (updated == 0) {
+            throw new SeatHoldReleasedException("The seat hold has expired.");
+        }
+    }
+
+    /**
+     * Gives the seats of a hold back if it still holds them. If the hold does not exist yet, it is
+     * recorded as released, so a reservation still on its way is refused when it arrives.
+     *
+     * @param holdId   The ID of the hold.
+     * @param flightId The ID of the flight.
+     * @param seats    The number of seats held.
+     * @return true if seats were given back.
+     */
+    @Transactional
+    public boolean releaseHold(String holdId, Long flightId, int seats) {
+        int released = markReleased(holdId);
+        if (released == 0 && !insertHold(holdId, flightId, seats, RELEASED) && HELD.equals(findHoldStatus(holdId))) {
+            // The reservation committed while the release was being recorded.
+            released = markReleased(holdId);
+        }
+        if (released == 0) {
+            return false;
+        }
+        flightService.releaseSeats(flightId, seats);
+        return true;
+    }
+
+    /**
+     * Returns the holds that are still unconfirmed after the given time.
+     *
+     * @param age   The minimum age of the holds.
+     * @param limit The maximum number of holds to return.
+     * @return The holds, oldest first.
+     */
+    public List<SeatHold> findHoldsOlderThan(Duration age, int limit) {
+        return jdbcTemplate.query("SELECT hold_id, flight_id, seats FROM seat_holds WHERE status = ? " +
+                        "AND created_at < TIMESTAMPADD(MICROSECOND, ?, CURRENT_TIMESTAMP(3)) ORDER BY created_at LIMIT ?",
+                (rs, rowNum) -> new SeatHold(rs.getString(1), rs.getLong(2), rs.getInt(3)),
+                HELD, -age.toNanos() / 1000, limit);
+    }
+
+    /**
+     * Deletes confirmed and released holds last changed longer ago than the given time.
+     *
+     * @param retention How long finished holds are kept.
+     * @return The number of holds deleted.
+     */
+    public int deleteFinishedHolds(Duration retention) {
+        return jdbcTemplate.update("DELETE FROM seat_holds WHERE status <> ? " +
+                "AND updated_at < TIMESTAMPADD(MICROSECOND, ?, CURRENT_TIMESTAMP(3))", HELD, -retention.toNanos() / 1000);
+    }
+
+    private boolean insertHold(String holdId, Long flightId, int seats, String status) {
+        try {
+            jdbcTemplate.update("INSERT INTO seat_holds (hold_id, flight_id, seats, status, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP(3), CURRENT_TIMESTAMP(3))", holdId, flightId, seats, status);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private int markReleased(String holdId) {
+        return jdbcTemplate.update("UPDATE seat_holds SET status = ?, updated_at = CURRENT_TIMESTAMP(3) " +
+                "WHERE hold_id = ? AND status = ?", RELEASED, holdId, HELD);
+    }
+
+    private String findHoldStatus(String holdId) {
+        List<String> statuses = jdbcTemplate.queryForList("SELECT status FROM seat_holds WHERE hold_id = ?",
+                String.class, holdId);
+        return statuses.isEmpty() ? null : statuses.get(0);
+    }
+}
@@ -0,0 +1,233 @@
+package io.upschool.ticketBooking.service;
+
+import io.micrometer.common.util.StringUtils;
+import io.upschool.ticketBooking.analytics.AnalyticsQuery;
+import io.upschool.ticketBooking.analytics.GroupAccumulator;
+import io.upschool.ticketBooking.analytics.GroupByTask;
+import io.upschool.ticketBooking.analytics.TicketSnapshot;
+import io.upschool.ticketBooking.dto.response.AnalyticsResponse;
+import io.upschool.ticketBooking.dto.response.AnalyticsRowResponse;
+import io.upschool.ticketBooking.enums.AnalyticsDimension;
+import io.upschool.ticketBooking.enums.TicketClass;
+import io.upschool.ticketBooking.enums.TicketStatus;
+import io.upschool.ticketBooking.utils.DateUtils;
+import io.upschool.ticketBooking.utils.JdbcStreamingUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The TicketAnalyticsService class answers ad-hoc revenue and booking queries over the full ticket
+ * history, hot and archived, without touching the database per query. It keeps a columnar snapshot
+ * of tickets and their flights in memory, reloaded periodically from a read-only transaction, and
+ * scans it in parallel on a dedicated fork-join pool.
+ */
+@Slf4j
+@Service
+public class TicketAnalyticsService {
+    private static final String FLIGHTS_SQL = "SELECT f.flight_id, f.airline_id, al.airline_code, r.route_id, " +
+            "da.airport_code, aa.airport_code, r.departure_date " +
+            "FROM flights f " +
+            "JOIN routes r ON r.route_id = f.flight_route_id " +
+            "JOIN airlines al ON al.airline_id = f.airline_id " +
+            "LEFT JOIN airports da ON da.airport_id = r.departure_airport_id " +
+            "LEFT JOIN airports aa ON aa.airport_id = r.arrival_airport_id";
+    private static final String TICKETS_SQL = "SELECT flight_id, ticket_class, status, passenger_count, ticket_price " +
+            "FROM tickets";
+    private static final String ARCHIVED_TICKETS_SQL = "SELECT flight_id, ticket_class, status, passenger_count, " +
+            "ticket_price FROM tickets_archive";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ForkJoinPool analyticsPool;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile TicketSnapshot snapshot;
+
+    public TicketAnalyticsService(DataSource dataSource,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${booking.analytics.fetch-size:10000}") int fetchSize,
+                                  @Value("${booking.analytics.parallelism:0}") int parallelism) {
+        this.streamingJdbcTemplate = JdbcStreamingUtils.createStreamingJdbcTemplate(dataSource, fetchSize);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.analyticsPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Groups tickets by the requested dimensions and sums tickets, passengers and revenue per group.
+     *
+     * @param groupBy          Comma-separated dimensions: airline, route, departureDate, ticketClass.
+     *                         Empty for a single total.
+     * @param from             The first departure date included, in yyyy-MM-dd format, or null.
+     * @param to               The last departure date included, in yyyy-MM-dd format, or null.
+     * @param airlineId        Restricts the scan to one airline, or null.
+     * @param routeId          Restricts the scan to one route, or null.
+     * @param ticketClass      Restricts the scan to one ticket class, or null.
+     * @param includeCancelled Whether cancelled tickets are counted.
+     * @return The groups with their sums, in dictionary order.
+     */
+    public AnalyticsResponse query(String groupBy, String from, String to, Long airlineId, Long routeId,
+                                   String ticketClass, boolean includeCancelled) {
+        Set<AnalyticsDimension> dimensions = parseDimensions(groupBy);
+        int fromDay = StringUtils.isBlank(from) ? Integer.MIN_VALUE : (int) DateUtils.parseLocalDate(from).toEpochDay();
+        int toDay = StringUtils.isBlank(to) ? Integer.MAX_VALUE : (int) DateUtils.parseLocalDate(to).toEpochDay();
+        int ticketClassOrdinal = StringUtils.isBlank(ticketClass)
+                ? AnalyticsQuery.ANY : TicketClass.fromValue(ticketClass).ordinal();
+        long started = System.nanoTime();
+        TicketSnapshot current = currentSnapshot();
+        int airlineIndex = airlineId == null ? AnalyticsQuery.ANY : current.airlineIndexOf(airlineId);
+        int routeIndex = routeId == null ? AnalyticsQuery.ANY : current.routeIndexOf(routeId);
+        List<AnalyticsRowResponse> rows = new ArrayList<>();
+        if (airlineIndex != -1 && routeIndex != -1) {
+            AnalyticsQuery query = new AnalyticsQuery(current, dimensions, airlineIndex, routeIndex,
+                    ticketClassOrdinal, fromDay, toDay, includeCancelled);
+            GroupAccumulator groups = analyticsPool.invoke(new GroupByTask(query));
+            SortedMap<Long, AnalyticsRowResponse> sorted = new TreeMap<>();
+            groups.forEach((key, tickets, passengers, revenueCents) ->
+                    sorted.put(key, toRow(query, key, tickets, passengers, revenueCents)));
+            rows.addAll(sorted.values());
+        }
+        return AnalyticsResponse
+                .builder()
+                .snapshotTakenAt(current.getTakenAt())
+                .snapshotTickets(current.getTicketCount())
+                .elapsedMillis((System.nanoTime() - started) / 1_000_000)
+                .rows(rows)
+                .build();
+    }
+
+    /**
+     * Loads a fresh snapshot and swaps it in; queries keep using the previous one until then.
+     * Does nothing if another refresh is already running.
+     */
+    public void refresh() {
+        if (!refreshLock.tryLock()) {
+            return;
+        }
+        try {
+            long started = System.nanoTime();
+            snapshot = loadSnapshot();
+            log.info("Loaded analytics snapshot of {} tickets in {} ms",
+                    snapshot.getTicketCount(), (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of tickets in the current snapshot.
+     *
+     * @return The ticket count, or 0 if no snapshot has been loaded yet.
+     */
+    public int getSnapshotTicketCount() {
+        TicketSnapshot current = snapshot;
+        return current == null ? 0 : current.getTicketCount();
+    }
+
+    /**
+     * Returns how long ago the current snapshot was loaded.
+     *
+     * @return The age in seconds, or NaN if no snapshot has been loaded yet.
+     */
+    public double getSnapshotAgeSeconds() {
+        TicketSnapshot current = snapshot;
+        return current == null ? Double.NaN : (System.currentTimeMillis() - current.getTakenAt().getTime()) / 1000.0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        analyticsPool.shutdownNow();
+    }
+
+    private TicketSnapshot currentSnapshot() {
+        TicketSnapshot current = snapshot;
+        if (current == null) {
+            refreshLock.lock();
+            try {
+                if (snapshot == null) {
+                    snapshot = loadSnapshot();
+                }
+                current = snapshot;
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private TicketSnapshot loadSnapshot() {
+        TicketSnapshot.Builder builder = TicketSnapshot.builder();
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            streamingJdbcTemplate.query(FLIGHTS_SQL, (RowCallbackHandler) rs -> builder.addFlight(
+                    rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getLong(4),
+                    rs.getString(5) + "-" + rs.getString(6), (int) rs.getDate(7).toLocalDate().toEpochDay()));
+            RowCallbackHandler addTicket = rs -> addTicket(builder, rs);
+            streamingJdbcTemplate.query(TICKETS_SQL, addTicket);
+            streamingJdbcTemplate.query(ARCHIVED_TICKETS_SQL, addTicket);
+        });
+        return builder.build();
+    }
+
+    private void addTicket(TicketSnapshot.Builder builder, ResultSet rs) throws SQLException {
+        String ticketClass = rs.getString(2);
+        BigDecimal price = rs.getBigDecimal(5);
+        builder.addTicket(rs.getLong(1),
+                ticketClass == null ? -1 : (byte) TicketClass.valueOf(ticketClass).ordinal(),
+                TicketStatus.CANCELLED.name().equals(rs.getString(3)),
+                rs.getInt(4),
+                price == null ? 0 : price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    private AnalyticsRowResponse toRow(AnalyticsQuery query, long key, long tickets, long passengers,
+                                       long revenueCents) {
+        TicketSnapshot current = query.snapshot();
+        AnalyticsRowResponse row = AnalyticsRowResponse
+                .builder()
+                .tickets(tickets)
+                .passengers(passengers)
+                .revenue(BigDecimal.valueOf(revenueCents, 2))
+                .build();
+        if (query.groupsByAirline()) {
+            int airline = query.airlineOf(key);
+            row.setAirlineId(current.getAirlineIds()[airline]);
+            row.setAirlineCode(current.getAirlineCodes()[airline]);
+        }
+        if (query.groupsByRoute()) {
+            int route = query.routeOf(key);
+            row.setRouteId(current.getRouteIds()[route]);
+            row.setRoute(current.getRouteLabels()[route]);
+        }
+        if (query.groupsByDepartureDate()) {
+            row.setDepartureDate(LocalDate.ofEpochDay(query.departureDayOf(key)));
+        }
+        if (query.groupsByTicketClass() && query.ticketClassOf(key) >= 0) {
+            row.setTicketClass(TicketClass.values()[query.ticketClassOf(key)]);
+        }
+        return row;
+    }
+
+    private Set<AnalyticsDimension> parseDimensions(String groupBy) {
+        Set<AnalyticsDimension> dimensions = EnumSet.noneOf(AnalyticsDimension.class);
+        if (StringUtils.isNotBlank(groupBy)) {
+            for (String dimension : groupBy.split(",")) {
+                dimensions.add(AnalyticsDimension.fromValue(dimension));
+            }
+        }
+        return dimensions;
+    }
+}
@@ -0,0 +1,70 @@
+package io.upschool.ticketBooking.service;
+
+import io.upschool.ticketBooking.entity.ArchivedTicket;
+import io.upschool.ticketBooking.enums.TicketStatus;
+import io.upschool.ticketBooking.repository.TicketArchiveRepository;
+import io.upschool.ticketBooking.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * The TicketArchiveService class moves cancelled tickets and tickets of departed flights from the hot
+ * tickets table into the tickets_archive table, and serves lookups against the archive.
+ */
+@Service
+@RequiredArgsConstructor
+public class TicketArchiveService {
+    private final TicketRepository ticketRepository;
+    private final TicketArchiveRepository ticketArchiveRepository;
+
+    /**
+     * Moves up to chunkSize archivable tickets into the archive table in one transaction,
+     * using one INSERT ... SELECT and one DELETE for the whole chunk.
+     *
+     * @param chunkSize The maximum number of tickets to move.
+     * @param cutoff    Tickets of flights departing before this date are archived.
+     * @return The number of tickets moved.
+     */
+    @Transactional
+    public int archiveChunk(int chunkSize, LocalDate cutoff) {
+        Set<Long> ticketIds = new LinkedHashSet<>(
+                ticketRepository.findIdsByStatus(TicketStatus.CANCELLED, PageRequest.of(0, chunkSize)));
+        if (ticketIds.size() < chunkSize) {
+            ticketIds.addAll(ticketRepository.findIdsByDepartureDateBefore(
+                    cutoff, PageRequest.of(0, chunkSize - ticketIds.size())));
+        }
+        if (ticketIds.isEmpty()) {
+            return 0;
+        }
+        ticketArchiveRepository.copyFromTickets(ticketIds, new Date());
+        ticketRepository.deleteAllByIdInBatch(ticketIds);
+        return ticketIds.size();
+    }
+
+    /**
+     * Retrieves an archived ticket based on the provided ticket number.
+     *
+     * @param ticketNumber The ticket number of the archived ticket.
+     * @return The archived ticket, if any.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ArchivedTicket> findArchivedTicket(String ticketNumber) {
+        return ticketArchiveRepository.findByTicketNumber(ticketNumber);
+    }
+
+    /**
+     * Checks whether a ticket with the provided ticket number has been archived.
+     *
+     * @param ticketNumber The ticket number to check.
+     * @return true if the ticket is in the archive.
+     */
+    @Transactional(readOnly = true)
+    public boolean isArchived(String ticketNumber) {
+        return ticketArchiveRepository.existsByTicketNumber(ticketNumber);
+    }
+}
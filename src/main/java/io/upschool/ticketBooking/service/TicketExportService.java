@@ -0,0 +1,175 @@
+package io.upschool.ticketBooking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.upschool.ticketBooking.dto.response.TicketExportRow;
+import io.upschool.ticketBooking.enums.ExportFormat;
+import io.upschool.ticketBooking.enums.TicketClass;
+import io.upschool.ticketBooking.enums.TicketStatus;
+import io.upschool.ticketBooking.utils.JdbcStreamingUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * The TicketExportService class streams tickets as CSV or JSON lines straight from a database cursor.
+ * Rows are read as projections with a streaming fetch, so memory use stays constant regardless of the
+ * number of tickets. Only one cursor is open at a time, since a streaming MySQL statement occupies its
+ * connection until it has been read to the end.
+ */
+@Service
+public class TicketExportService {
+    private static final int FETCH_SIZE = 1000;
+    private static final String CSV_HEADER = "ticketNumber,flightId,passengerName,passengerCount," +
+            "ticketClass,status,ticketPrice,creationDate,archived";
+    private static final String EXPORT_COLUMNS = "SELECT ticket_number, flight_id, passenger_name, passenger_count, " +
+            "ticket_class, status, ticket_price, creation_date ";
+    private static final String MANIFEST_SQL = EXPORT_COLUMNS +
+            "FROM tickets WHERE flight_id = ? AND status IN (?, ?) ORDER BY ticket_id";
+    private static final String TICKETS_SQL = EXPORT_COLUMNS + "FROM tickets ORDER BY ticket_id";
+    private static final String ARCHIVED_TICKETS_SQL = EXPORT_COLUMNS + "FROM tickets_archive ORDER BY ticket_id";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public TicketExportService(DataSource dataSource, ObjectMapper objectMapper) {
+        this.streamingJdbcTemplate = JdbcStreamingUtils.createStreamingJdbcTemplate(dataSource, FETCH_SIZE);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the passenger manifest of a flight, i.e. its purchased and checked-in tickets. Cancelled
+     * tickets and no-shows are left out.
+     *
+     * @param flightId The ID of the flight.
+     * @param format   The output format.
+     * @param output   The stream to write to.
+     * @throws IOException If writing to the stream fails.
+     */
+    @Transactional(readOnly = true)
+    public void writeManifest(Long flightId, ExportFormat format, OutputStream output) throws IOException {
+        try (ExportWriter writer = openWriter(format, output)) {
+            writeRows(streamingJdbcTemplate.queryForStream(MANIFEST_SQL, rowMapper(false), flightId,
+                    TicketStatus.PURCHASED.name(), TicketStatus.CHECKED_IN.name()), writer);
+        }
+    }
+
+    /**
+     * Writes every ticket, followed by the archived tickets if requested. The archive is only queried
+     * once every ticket has been written.
+     *
+     * @param includeArchived Whether archived tickets are exported as well.
+     * @param format          The output format.
+     * @param output          The stream to write to.
+     * @throws IOException If writing to the stream fails.
+     */
+    @Transactional(readOnly = true)
+    public void writeExport(boolean includeArchived, ExportFormat format, OutputStream output) throws IOException {
+        try (ExportWriter writer = openWriter(format, output)) {
+            writeRows(streamingJdbcTemplate.queryForStream(TICKETS_SQL, rowMapper(false)), writer);
+            if (includeArchived) {
+                writeRows(streamingJdbcTemplate.queryForStream(ARCHIVED_TICKETS_SQL, rowMapper(true)), writer);
+            }
+        }
+    }
+
+    private void writeRows(Stream<TicketExportRow> rows, ExportWriter writer) throws IOException {
+        try (rows) {
+            for (TicketExportRow row : (Iterable<TicketExportRow>) rows::iterator) {
+                writer.write(row);
+            }
+        }
+    }
+
+    private RowMapper<TicketExportRow> rowMapper(boolean archived) {
+        return (rs, rowNum) -> {
+            String ticketClass = rs.getString(5);
+            String status = rs.getString(6);
+            return TicketExportRow.builder()
+                    .ticketNumber(rs.getString(1))
+                    .flightId(rs.getLong(2))
+                    .passengerName(rs.getString(3))
+                    .passengerCount(rs.getInt(4))
+                    .ticketClass(ticketClass == null ? null : TicketClass.valueOf(ticketClass))
+                    .status(status == null ? null : TicketStatus.valueOf(status))
+                    .ticketPrice(rs.getBigDecimal(7))
+                    .creationDate(rs.getTimestamp(8))
+                    .archived(archived)
+                    .build();
+        };
+    }
+
+    private ExportWriter openWriter(ExportFormat format, OutputStream output) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            SequenceWriter writer = objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .writeValues(new BufferedOutputStream(output));
+            return new ExportWriter() {
+                @Override
+                public void write(TicketExportRow row) throws IOException {
+                    writer.write(row);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    writer.close();
+                }
+            };
+        }
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        return new ExportWriter() {
+            @Override
+            public void write(TicketExportRow row) throws IOException {
+                writeCsvRow(row, writer);
+            }
+
+            @Override
+            public void close() throws IOException {
+                writer.flush();
+            }
+        };
+    }
+
+    private void writeCsvRow(TicketExportRow row, Writer writer) throws IOException {
+        writer.write(row.getTicketNumber());
+        writer.write(',');
+        writer.write(String.valueOf(row.getFlightId()));
+        writer.write(',');
+        writer.write(escapeCsv(row.getPassengerName()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getPassengerCount()));
+        writer.write(',');
+        writer.write(row.getTicketClass() == null ? "" : row.getTicketClass().name());
+        writer.write(',');
+        writer.write(row.getStatus() == null ? "" : row.getStatus().name());
+        writer.write(',');
+        writer.write(row.getTicketPrice() == null ? "" : row.getTicketPrice().toPlainString());
+        writer.write(',');
+        writer.write(row.getCreationDate() == null ? "" : row.getCreationDate().toInstant().toString());
+        writer.write(',');
+        writer.write(String.valueOf(row.isArchived()));
+        writer.write('\n');
+    }
+
+    private String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private interface ExportWriter extends Closeable {
+        void write(TicketExportRow row) throws IOException;
+    }
+}
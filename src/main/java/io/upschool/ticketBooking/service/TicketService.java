@@ -1,79 +1,238 @@
 package io.upschool.ticketBooking.service;
 
+import io.micrometer.observation.annotation.Observed;
+import io.upschool.ticketBooking.cluster.SeatOperationRouter;
+import io.upschool.ticketBooking.config.ReplicaLagGuard;
 import io.upschool.ticketBooking.dto.request.TicketPurchaseRequest;
+import io.upschool.ticketBooking.dto.response.FlightCheckInResponse;
 import io.upschool.ticketBooking.dto.response.FlightSaveResponse;
+import io.upschool.ticketBooking.dto.response.GateCloseResponse;
+import io.upschool.ticketBooking.dto.response.TicketCheckInResult;
 import io.upschool.ticketBooking.dto.response.TicketPurchaseResponse;
+import io.upschool.ticketBooking.entity.ArchivedTicket;
 import io.upschool.ticketBooking.entity.Flight;
 import io.upschool.ticketBooking.entity.Ticket;
+import io.upschool.ticketBooking.enums.CheckInOutcome;
 import io.upschool.ticketBooking.enums.TicketClass;
+import io.upschool.ticketBooking.enums.TicketEventType;
 import io.upschool.ticketBooking.enums.TicketStatus;
 import io.upschool.ticketBooking.exception.*;
+import io.upschool.ticketBooking.jfr.PriceCalculationEvent;
+import io.upschool.ticketBooking.jfr.TicketNumberGenerationEvent;
 import io.upschool.ticketBooking.repository.TicketRepository;
 import io.upschool.ticketBooking.utils.CreditCardUtils;
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.security.SecureRandom;
-import java.util.Objects;
+import java.util.*;
 import java.util.stream.Stream;
 
 /**
  * The TicketService class is a service responsible for managing operations related to flight tickets.
  * It interacts with the TicketRepository for data storage and utilizes the FlightService for flight-related operations.
+ * Purchases authorize the payment before any transaction starts, and only the seat reservation and
+ * ticket insert share a transaction.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TicketService {
     private final TicketRepository ticketRepository;
     private final FlightService flightService;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final TicketArchiveService ticketArchiveService;
+    private final OutboxService outboxService;
+    private final SalesStatisticsService salesStatisticsService;
+    private final PaymentService paymentService;
+    private final TransactionTemplate transactionTemplate;
+    private final SeatOperationRouter seatOperationRouter;
+    private final SeatInventoryService seatInventoryService;
 
     /**
      * Purchases a flight ticket based on the provided TicketPurchaseRequest.
+     * The card is validated first, then the flight is looked up, the price quoted and the payment
+     * authorized; each step needs the result of the one before, so they run in order. The seats are then
+     * reserved and the ticket inserted in one short transaction, and the
+     * payment authorization is voided if that transaction fails. When another cluster member owns
+     * the flight, that member first reserves the seats under a seat hold, which the transaction confirms
+     * and which is released again if the transaction fails.
      *
      * @param request The TicketPurchaseRequest containing the details of the ticket to be purchased.
      * @return A TicketPurchaseResponse indicating the result of the ticket purchase operation.
      * @throws TicketValidationException If any of the required fields in the request are null or empty.
      */
-    @Transactional
+    @Observed(name = "booking.ticket.purchase", contextualName = "purchase ticket")
     public TicketPurchaseResponse purchaseTicket(TicketPurchaseRequest request) {
         validateTicketPurchaseRequest(request);
-        Ticket savedTicket = buildTicketAndSave(request);
-        return convertTicketToResponse(savedTicket);
+        TicketClass ticketClass = TicketClass.fromValue(request.getTicketClass());
+        String maskedCreditCardNumber = CreditCardUtils.maskCreditCardNumber(request.getCreditCardNumber());
+        Flight flight = flightService.getAvailableFlight(request.getFlightId(), request.getPassengerCount());
+        BigDecimal ticketPrice = calculateTicketPrice(ticketClass, flight, request.getPassengerCount());
+        String authorizationId = paymentService.authorize(request.getCreditCardNumber(), ticketPrice);
+        String ticketNumber = generateUniqueTicketNumber();
+        String seatHoldId = null;
+        try {
+            seatHoldId = seatOperationRouter.reserveOnRemoteOwner(request.getFlightId(),
+                    request.getPassengerCount());
+            String holdId = seatHoldId;
+            return transactionTemplate.execute(status -> {
+                Ticket savedTicket = saveTicket(request, ticketClass, ticketPrice,
+                        maskedCreditCardNumber, ticketNumber, holdId);
+                outboxService.record(savedTicket, TicketEventType.TICKET_PURCHASED);
+                salesStatisticsService.recordSale(savedTicket);
+                replicaLagGuard.recordWrite(savedTicket.getTicketNumber());
+                return convertTicketToResponse(savedTicket);
+            });
+        } catch (RuntimeException e) {
+            if (seatHoldId != null) {
+                releaseSeatHold(seatHoldId, request, e);
+            }
+            voidPayment(authorizationId, e);
+            throw e;
+        }
     }
 
     /**
-     * Checks in a ticket based on the provided ticket number.
+     * Checks in a ticket based on the provided ticket number. The status change is a single
+     * conditional update, so of two concurrent check-ins of the same ticket only one succeeds.
      *
      * @param ticketNumber The ticket number of the ticket to be checked in.
      * @throws AlreadyCheckedInException If the ticket is already checked in.
+     * @throws TicketOperationException  If the ticket is cancelled or its flight's gate has closed.
      */
+    @Transactional
     public void checkInTicket(String ticketNumber) {
+        int updated = ticketRepository.updateStatusIfCurrent(ticketNumber, TicketStatus.PURCHASED,
+                TicketStatus.CHECKED_IN);
         Ticket ticket = getByTicketNumber(ticketNumber);
-        if (ticket.getStatus() == TicketStatus.PURCHASED) {
-            ticket.setStatus(TicketStatus.CHECKED_IN);
-            ticketRepository.save(ticket);
-        } else {
-            throw new AlreadyCheckedInException("Ticket already checked in");
+        if (updated == 0) {
+            switch (ticket.getStatus()) {
+                case CANCELLED -> throw new TicketOperationException("Cannot check in a cancelled ticket.");
+                case NO_SHOW -> throw new TicketOperationException("Cannot check in after the gate has closed.");
+                default -> throw new AlreadyCheckedInException("Ticket already checked in");
+            }
+        }
+        outboxService.record(ticket, TicketEventType.TICKET_CHECKED_IN);
+        replicaLagGuard.recordWrite(ticketNumber);
+    }
+
+    /**
+     * Checks in several tickets of one flight at once. The tickets are looked up and then locked in
+     * ID order, like a gate close locks them, and every purchased one is checked in with one update;
+     * the others are reported with the reason they were skipped.
+     *
+     * @param flightId      The ID of the flight.
+     * @param ticketNumbers The ticket numbers to check in.
+     * @return The outcome for each distinct ticket number, in request order.
+     * @throws FlightNotFoundException If no Flight is found with the provided ID.
+     */
+    @Transactional
+    public FlightCheckInResponse checkInTickets(Long flightId, List<String> ticketNumbers) {
+        flightService.checkIsFlightExist(flightId);
+        Set<String> requested = new LinkedHashSet<>(ticketNumbers);
+        Map<String, Ticket> tickets = new HashMap<>();
+        List<Long> ticketIds = ticketRepository.findIdsByFlightIdAndTicketNumberIn(flightId, requested);
+        if (!ticketIds.isEmpty()) {
+            for (Ticket ticket : ticketRepository.findByIdInForUpdate(ticketIds)) {
+                tickets.put(ticket.getTicketNumber(), ticket);
+            }
         }
+        List<TicketCheckInResult> results = new ArrayList<>(requested.size());
+        for (String ticketNumber : requested) {
+            results.add(TicketCheckInResult.builder()
+                    .ticketNumber(ticketNumber)
+                    .outcome(getCheckInOutcome(tickets.get(ticketNumber)))
+                    .build());
+        }
+        List<Ticket> checkedIn = tickets.values().stream()
+                .filter(ticket -> ticket.getStatus() == TicketStatus.PURCHASED)
+                .toList();
+        updateStatuses(checkedIn, TicketStatus.PURCHASED, TicketStatus.CHECKED_IN);
+        outboxService.recordAll(checkedIn, TicketEventType.TICKET_CHECKED_IN);
+        checkedIn.forEach(ticket -> replicaLagGuard.recordWrite(ticket.getTicketNumber()));
+        return FlightCheckInResponse.builder()
+                .flightId(flightId)
+                .checkedIn(checkedIn.size())
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Closes the gate of a flight: every ticket that is still only purchased becomes a no-show
+     * with one update.
+     *
+     * @param flightId The ID of the flight.
+     * @return The tickets that were marked as no-shows.
+     * @throws FlightNotFoundException If no Flight is found with the provided ID.
+     */
+    @Transactional
+    public GateCloseResponse closeGate(Long flightId) {
+        flightService.checkIsFlightExist(flightId);
+        List<Ticket> noShows = ticketRepository.findByFlightIdAndStatusForUpdate(flightId, TicketStatus.PURCHASED);
+        updateStatuses(noShows, TicketStatus.PURCHASED, TicketStatus.NO_SHOW);
+        outboxService.recordAll(noShows, TicketEventType.TICKET_NO_SHOW);
+        noShows.forEach(ticket -> replicaLagGuard.recordWrite(ticket.getTicketNumber()));
+        return GateCloseResponse.builder()
+                .flightId(flightId)
+                .noShows(noShows.size())
+                .noShowTicketNumbers(noShows.stream().map(Ticket::getTicketNumber).toList())
+                .build();
     }
 
     /**
-     * Cancels a ticket based on the provided ticket number.
+     * Cancels a ticket based on the provided ticket number. The ticket row is locked first so a
+     * concurrent check-in either completes before the cancellation is considered or fails after it.
+     * The seats are released in the same transaction, whichever cluster member owns the flight, so
+     * they are given back exactly when the cancellation commits.
      *
      * @param ticketNumber The ticket number of the ticket to be cancelled.
-     * @throws TicketOperationException If the ticket is already checked in and cannot be cancelled.
+     * @throws TicketOperationException If the ticket is already cancelled or checked in, or its flight's gate has closed.
      */
+    @Transactional
     public void cancelTicket(String ticketNumber) {
-        Ticket ticket = getByTicketNumber(ticketNumber);
+        Ticket ticket = getByTicketNumberForUpdate(ticketNumber);
+        if (ticket.getStatus() == TicketStatus.CANCELLED) {
+            throw new TicketOperationException("Ticket is already cancelled.");
+        }
         if (ticket.getStatus() == TicketStatus.CHECKED_IN) {
             throw new TicketOperationException("Cannot cancel a checked ticket.");
         }
+        if (ticket.getStatus() == TicketStatus.NO_SHOW) {
+            throw new TicketOperationException("Cannot cancel a ticket after the gate has closed.");
+        }
         ticket.setStatus(TicketStatus.CANCELLED);
         ticket.setCancelled(true);
-        flightService.updateAvailableSeats(ticket.getFlight(), ticket.getPassengerCount());
+        flightService.releaseSeats(ticket.getFlight().getId(), ticket.getPassengerCount());
         ticketRepository.save(ticket);
+        outboxService.record(ticket, TicketEventType.TICKET_CANCELLED);
+        salesStatisticsService.recordCancellation(ticket);
+        replicaLagGuard.recordWrite(ticketNumber);
+    }
+
+    /**
+     * Retrieves a ticket based on the provided ticket number and converts it to a response.
+     * Tickets written within the replica lag window are read from the primary, and tickets
+     * no longer in the hot table are looked up in the archive.
+     *
+     * @param ticketNumber The ticket number of the ticket to retrieve.
+     * @return A TicketPurchaseResponse representing the retrieved ticket.
+     * @throws TicketNotFoundException If no ticket is found with the provided ticket number.
+     */
+    @Transactional(readOnly = true)
+    public TicketPurchaseResponse getTicketByNumber(String ticketNumber) {
+        Optional<Ticket> ticket = replicaLagGuard.readYourWrites(ticketNumber,
+                () -> ticketRepository.findByTicketNumber(ticketNumber));
+        if (ticket.isPresent()) {
+            return convertTicketToResponse(ticket.get());
+        }
+        return ticketArchiveService.findArchivedTicket(ticketNumber)
+                .map(this::convertArchivedTicketToResponse)
+                .orElseThrow(() -> new TicketNotFoundException("Ticket not found."));
     }
 
     /**
@@ -81,12 +240,23 @@ public class TicketService {
      *
      * @param ticketNumber The ticket number of the ticket to retrieve.
      * @return The retrieved Ticket.
-     * @throws TicketNotFoundException If no ticket is found with the provided ticket number.
+     * @throws TicketNotFoundException  If no ticket is found with the provided ticket number.
+     * @throws TicketOperationException If the ticket has been archived and can no longer be modified.
      */
     public Ticket getByTicketNumber(String ticketNumber) {
-        return ticketRepository.findByTicketNumber(ticketNumber)
-                .orElseThrow(() -> new TicketNotFoundException("Ticket not found."));
+        Optional<Ticket> ticket = ticketRepository.findByTicketNumber(ticketNumber);
+        if (ticket.isEmpty() && ticketArchiveService.isArchived(ticketNumber)) {
+            throw new TicketOperationException("Ticket has been archived and can no longer be modified.");
+        }
+        return ticket.orElseThrow(() -> new TicketNotFoundException("Ticket not found."));
+    }
 
+    private Ticket getByTicketNumberForUpdate(String ticketNumber) {
+        Optional<Ticket> ticket = ticketRepository.findByTicketNumberForUpdate(ticketNumber);
+        if (ticket.isEmpty() && ticketArchiveService.isArchived(ticketNumber)) {
+            throw new TicketOperationException("Ticket has been archived and can no longer be modified.");
+        }
+        return ticket.orElseThrow(() -> new TicketNotFoundException("Ticket not found."));
     }
 
     /**
@@ -109,19 +279,54 @@ public class TicketService {
                 .build();
     }
 
-    private Ticket buildTicketAndSave(TicketPurchaseRequest request) {
+    private TicketPurchaseResponse convertArchivedTicketToResponse(ArchivedTicket ticket) {
+        FlightSaveResponse flightSaveResponse = flightService.
+                convertFlightToResponse(ticket.getFlight());
+        return TicketPurchaseResponse
+                .builder()
+                .ticketNumber(ticket.getTicketNumber())
+                .passengerName(ticket.getPassengerName())
+                .flightSaveResponse(flightSaveResponse)
+                .ticketClass(ticket.getTicketClass())
+                .maskedCreditCardNumber(ticket.getCreditCardNumber())
+                .totalPrice(ticket.getTicketPrice())
+                .build();
+    }
+
+    private void updateStatuses(List<Ticket> tickets, TicketStatus currentStatus, TicketStatus newStatus) {
+        if (tickets.isEmpty()) {
+            return;
+        }
+        ticketRepository.updateStatusByIdsIfCurrent(tickets.stream().map(Ticket::getId).toList(),
+                currentStatus, newStatus);
+        tickets.forEach(ticket -> ticket.setStatus(newStatus));
+    }
+
+    private CheckInOutcome getCheckInOutcome(Ticket ticket) {
+        if (ticket == null) {
+            return CheckInOutcome.NOT_FOUND;
+        }
+        return switch (ticket.getStatus()) {
+            case PURCHASED -> CheckInOutcome.CHECKED_IN;
+            case CHECKED_IN -> CheckInOutcome.ALREADY_CHECKED_IN;
+            case CANCELLED -> CheckInOutcome.CANCELLED;
+            case NO_SHOW -> CheckInOutcome.NO_SHOW;
+        };
+    }
+
+    private Ticket saveTicket(TicketPurchaseRequest request, TicketClass ticketClass, BigDecimal ticketPrice,
+                              String maskedCreditCardNumber, String ticketNumber, String seatHoldId) {
+        if (seatHoldId == null) {
+            flightService.reserveSeats(request.getFlightId(), request.getPassengerCount());
+        } else {
+            seatInventoryService.confirmHold(seatHoldId);
+        }
         Flight flight = flightService.getFlightById(request.getFlightId());
-        flightService.reserveSeats(flight, request.getPassengerCount());
-        TicketClass ticketClass = TicketClass.fromValue(request.getTicketClass());
-        BigDecimal ticketPrice = calculateTicketPrice(request, flight);
-        String maskedCreditCarNumber = CreditCardUtils.maskCreditCardNumber(request.getCreditCardNumber());
-        makePayment(maskedCreditCarNumber);
-        String ticketNumber = generateUniqueTicketNumber();
         Ticket ticket = Ticket
                 .builder()
                 .ticketNumber(ticketNumber)
                 .passengerName(request.getPassengerName())
-                .creditCardNumber(maskedCreditCarNumber)
+                .creditCardNumber(maskedCreditCardNumber)
                 .flight(flight)
                 .passengerCount(request.getPassengerCount())
                 .status(TicketStatus.PURCHASED)
@@ -132,15 +337,24 @@ public class TicketService {
         return ticketRepository.save(ticket);
     }
 
-    private BigDecimal calculateTicketPrice(TicketPurchaseRequest request, Flight flight) {
-        TicketClass ticketClass = TicketClass.fromValue(request.getTicketClass());
+    static BigDecimal calculateTicketPrice(TicketClass ticketClass, Flight flight, int passengerCount) {
+        PriceCalculationEvent event = new PriceCalculationEvent();
+        event.begin();
         BigDecimal classMultiplier = getTicketClassMultiplier(ticketClass);
         BigDecimal basePrice = flight.getTicketBasePrice();
-        return basePrice.multiply(classMultiplier).multiply
-                (BigDecimal.valueOf(request.getPassengerCount()));
+        BigDecimal price = basePrice.multiply(classMultiplier).multiply
+                (BigDecimal.valueOf(passengerCount));
+        if (event.shouldCommit()) {
+            event.flightId = flight.getId();
+            event.ticketClass = ticketClass.name();
+            event.passengerCount = passengerCount;
+            event.price = price.doubleValue();
+            event.commit();
+        }
+        return price;
     }
 
-    private BigDecimal getTicketClassMultiplier(TicketClass ticketClass) {
+    private static BigDecimal getTicketClassMultiplier(TicketClass ticketClass) {
         return switch (ticketClass) {
             case BUSINESS_CLASS -> BigDecimal.valueOf(1.5);
             case FIRST_CLASS -> BigDecimal.valueOf(2.0);
@@ -149,11 +363,9 @@ public class TicketService {
         };
     }
 
-    private boolean isPaymentSuccess() {
-        return true;
-    }
-
-    private String generateUniqueTicketNumber() {
+    static String generateUniqueTicketNumber() {
+        TicketNumberGenerationEvent event = new TicketNumberGenerationEvent();
+        event.begin();
         int CODE_LENGTH = 8;
         SecureRandom secureRandom = new SecureRandom();
         String allowedCharacters = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
@@ -164,13 +376,11 @@ public class TicketService {
             char randomChar = allowedCharacters.charAt(randomCharIndex);
             randomStringBuilder.append(randomChar);
         }
-        return randomStringBuilder.toString();
-    }
-
-    private void makePayment(String maskedCreditCardNumber) {
-        if (!isPaymentSuccess()) {
-            throw new PaymentFailedException("Payment process failed.");
+        if (event.shouldCommit()) {
+            event.length = CODE_LENGTH;
+            event.commit();
         }
+        return randomStringBuilder.toString();
     }
 
     private void validateTicketPurchaseRequest(TicketPurchaseRequest request) {
@@ -184,6 +394,26 @@ public class TicketService {
             throw new TicketValidationException("Required fields cannot be left blank");
         }
     }
+
+    private void releaseSeatHold(String seatHoldId, TicketPurchaseRequest request, RuntimeException failure) {
+        try {
+            seatOperationRouter.releaseHold(seatHoldId, request.getFlightId(), request.getPassengerCount());
+        } catch (RuntimeException e) {
+            // The hold stays unconfirmed, so the reconcile job releases it once it times out.
+            log.warn("Could not release seat hold {}: {}", seatHoldId, e.getMessage());
+            failure.addSuppressed(e);
+        }
+    }
+
+    private void voidPayment(String authorizationId, RuntimeException failure) {
+        try {
+            paymentService.voidAuthorization(authorizationId);
+        } catch (RuntimeException e) {
+            log.error("Could not void payment authorization {}: {}", authorizationId, e.getMessage());
+            failure.addSuppressed(e);
+        }
+    }
+
       /*
     private String generateUniqueTicketNumber() {
         int CODE_LENGTH = 8;
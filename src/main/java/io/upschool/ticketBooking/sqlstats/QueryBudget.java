@@ -0,0 +1,18 @@
+package io.upschool.ticketBooking.sqlstats;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the most SQL statements one request to a controller method may execute. Exceeding it
+ * is logged and counted; with booking.sql.enforce-budgets=true, as in tests, the request fails.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+    int value();
+}
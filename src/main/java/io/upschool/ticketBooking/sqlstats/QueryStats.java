@@ -0,0 +1,66 @@
+package io.upschool.ticketBooking.sqlstats;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The statements executed between {@link QueryStatsHolder#start()} and {@link QueryStatsHolder#stop()}
+ * on the starting thread: how many there were, how long they took and how often each statement shape
+ * repeated. A JDBC batch counts as one statement, since it is one round trip. Statements differing
+ * only in parameter values or in the length of an IN list have the same shape, so a loop issuing one
+ * query per row shows up as one shape with a high count.
+ */
+public final class QueryStats {
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private int queryCount;
+    private long totalNanos;
+    private final Map<String, Integer> countsByShape = new HashMap<>();
+
+    synchronized void record(String sql, long elapsedNanos) {
+        queryCount++;
+        totalNanos += elapsedNanos;
+        countsByShape.merge(shapeOf(sql), 1, Integer::sum);
+    }
+
+    public synchronized int getQueryCount() {
+        return queryCount;
+    }
+
+    public synchronized long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Returns the statement shapes that were executed at least the given number of times.
+     *
+     * @param threshold The minimum number of executions.
+     * @return The repeated shapes with their counts, most repeated first.
+     */
+    public synchronized Map<String, Integer> getRepeatedStatements(int threshold) {
+        List<Map.Entry<String, Integer>> repeated = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : countsByShape.entrySet()) {
+            if (entry.getValue() >= threshold) {
+                repeated.add(entry);
+            }
+        }
+        if (repeated.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        repeated.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+        Map<String, Integer> result = new LinkedHashMap<>();
+        repeated.forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    static String shapeOf(String sql) {
+        String collapsed = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(collapsed).replaceAll("(?)");
+    }
+}
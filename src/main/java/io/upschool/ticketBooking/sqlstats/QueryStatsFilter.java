@@ -0,0 +1,118 @@
+package io.upschool.ticketBooking.sqlstats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.upschool.ticketBooking.exception.QueryBudgetExceededException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Collects the SQL statements of each API request and, once the request is handled, records the
+ * statement count and database time per endpoint, reports statement shapes repeated at least
+ * booking.sql.n-plus-one-threshold times as a likely N+1, and checks the endpoint's
+ * {@link QueryBudget}. Streaming responses finish on other threads and are not measured.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 30)
+public class QueryStatsFilter extends OncePerRequestFilter {
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+    private final boolean enforceBudgets;
+
+    public QueryStatsFilter(MeterRegistry meterRegistry,
+                            @Value("${booking.sql.n-plus-one-threshold:5}") int nPlusOneThreshold,
+                            @Value("${booking.sql.enforce-budgets:false}") boolean enforceBudgets) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.enforceBudgets = enforceBudgets;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStats stats = QueryStatsHolder.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryStatsHolder.stop();
+        }
+        if (!request.isAsyncStarted()) {
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryStats stats) {
+        String uri = getUriPattern(request);
+        DistributionSummary.builder("booking.db.queries.per.request")
+                .description("SQL statements executed per request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getQueryCount());
+        Timer.builder("booking.db.time.per.request")
+                .description("Time spent in SQL statements per request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(stats.getTotalNanos()));
+
+        Map<String, Integer> repeated = stats.getRepeatedStatements(nPlusOneThreshold);
+        if (!repeated.isEmpty()) {
+            Counter.builder("booking.db.n.plus.one")
+                    .description("Requests that repeated a statement shape past the N+1 threshold")
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            repeated.forEach((sql, count) ->
+                    log.warn("Possible N+1 on {} {}: {} executions of {}", request.getMethod(), uri, count, sql));
+        }
+
+        QueryBudget budget = getQueryBudget(request);
+        if (budget != null && stats.getQueryCount() > budget.value()) {
+            String message = request.getMethod() + " " + uri + " executed " + stats.getQueryCount() +
+                    " SQL statements, over its budget of " + budget.value() + ".";
+            Counter.builder("booking.db.budget.exceeded")
+                    .description("Requests that executed more statements than their endpoint's query budget")
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            if (enforceBudgets) {
+                throw new QueryBudgetExceededException(message);
+            }
+            log.warn(message);
+        }
+    }
+
+    private String getUriPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    private QueryBudget getQueryBudget(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getMethodAnnotation(QueryBudget.class);
+        }
+        return null;
+    }
+}
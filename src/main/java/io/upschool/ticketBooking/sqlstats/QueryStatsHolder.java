@@ -0,0 +1,76 @@
+package io.upschool.ticketBooking.sqlstats;
+
+import java.util.function.Supplier;
+
+/**
+ * Binds a {@link QueryStats} to the current thread so the JDBC listener can attribute statements to
+ * the request or test that issued them. Statements on other threads are not attributed.
+ */
+public final class QueryStatsHolder {
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private QueryStatsHolder() {
+    }
+
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static QueryStats stop() {
+        QueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    /**
+     * Runs the action and returns the statements it executed on this thread. Meant for tests, e.g.
+     * {@code assertThat(QueryStatsHolder.capture(() -> service.call()).getQueryCount()).isLessThanOrEqualTo(3)}.
+     *
+     * @param action The code to measure.
+     * @return The statements executed by the action.
+     */
+    public static QueryStats capture(Runnable action) {
+        QueryStats previous = CURRENT.get();
+        QueryStats stats = start();
+        try {
+            action.run();
+            return stats;
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Like {@link #capture(Runnable)}, for code that returns a value the caller also needs.
+     *
+     * @param action The code to measure.
+     * @param <T>    The type of the action's result.
+     * @return The action's result together with the statements it executed.
+     */
+    public static <T> Captured<T> capture(Supplier<T> action) {
+        QueryStats previous = CURRENT.get();
+        QueryStats stats = start();
+        try {
+            return new Captured<>(action.get(), stats);
+        } finally {
+            restore(previous);
+        }
+    }
+
+    private static void restore(QueryStats previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    public record Captured<T>(T result, QueryStats stats) {
+    }
+}
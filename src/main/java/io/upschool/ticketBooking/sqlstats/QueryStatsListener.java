@@ -0,0 +1,106 @@
+package io.upschool.ticketBooking.sqlstats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Sees every statement that goes through the application's DataSource, whether issued by Hibernate,
+ * Spring Data or a JdbcTemplate. Each statement is timed into booking.db.statements, added to the
+ * current thread's {@link QueryStats} and logged when it is slower than booking.sql.slow-threshold.
+ * When the calling thread is inside a sampled trace, the statement is also recorded as a child span
+ * carrying its shape, so a slow request's trace shows which statements it waited on.
+ */
+@Slf4j
+@Component
+public class QueryStatsListener implements QueryExecutionListener {
+    private static final String START_NANOS = "startNanos";
+    private static final String SPAN = "span";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ObjectProvider<Tracer> tracer;
+    private final long slowThresholdNanos;
+
+    public QueryStatsListener(ObjectProvider<MeterRegistry> meterRegistry,
+                              ObjectProvider<Tracer> tracer,
+                              @Value("${booking.sql.slow-threshold:200ms}") Duration slowThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.tracer = tracer;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Tracer currentTracer = tracer.getIfAvailable();
+        if (currentTracer != null && currentTracer.currentSpan() != null) {
+            String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+            Span span = currentTracer.nextSpan()
+                    .name("db " + kindOf(sql))
+                    .tag("db.statement", QueryStats.shapeOf(sql))
+                    .start();
+            execInfo.addCustomValue(SPAN, span);
+        }
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long started = execInfo.getCustomValue(START_NANOS, Long.class);
+        long elapsedNanos = started == null ? 0 : System.nanoTime() - started;
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        int executions = execInfo.isBatch() ? Math.max(1, execInfo.getBatchSize()) : 1;
+
+        QueryStats stats = QueryStatsHolder.current();
+        if (stats != null) {
+            stats.record(sql, elapsedNanos);
+        }
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Timer.builder("booking.db.statements")
+                    .description("SQL statements executed through the application DataSource")
+                    .tag("kind", kindOf(sql))
+                    .tag("outcome", execInfo.isSuccess() ? "success" : "error")
+                    .register(registry)
+                    .record(Duration.ofNanos(elapsedNanos));
+        }
+        Span span = execInfo.getCustomValue(SPAN, Span.class);
+        if (span != null) {
+            if (execInfo.isBatch()) {
+                span.tag("db.batch.size", String.valueOf(executions));
+            }
+            if (execInfo.getThrowable() != null) {
+                span.error(execInfo.getThrowable());
+            }
+            span.end();
+        }
+        if (elapsedNanos >= slowThresholdNanos) {
+            log.warn("Slow SQL ({} ms, {} executions): {}", elapsedNanos / 1_000_000, executions,
+                    QueryStats.shapeOf(sql));
+        }
+    }
+
+    private String kindOf(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "insert", "update", "delete" -> keyword;
+            default -> "other";
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package io.upschool.ticketBooking.sqlstats;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds X-Query-Count and X-Query-Time-Ms headers with the request's SQL statistics so far, just
+ * before the body is written. Enabled with booking.sql.debug-header=true.
+ */
+@RestControllerAdvice
+public class QueryStatsResponseAdvice implements ResponseBodyAdvice<Object> {
+    private final boolean enabled;
+
+    public QueryStatsResponseAdvice(@Value("${booking.sql.debug-header:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryStats stats = QueryStatsHolder.current();
+        if (stats != null) {
+            response.getHeaders().set("X-Query-Count", String.valueOf(stats.getQueryCount()));
+            response.getHeaders().set("X-Query-Time-Ms", String.valueOf(stats.getTotalNanos() / 1_000_000));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,37 @@
+package io.upschool.ticketBooking.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.upschool.ticketBooking.dto.BaseResponse;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * The application's JSON converter, observing the time spent writing each {@link BaseResponse} body
+ * as booking.http.serialization. In a trace this shows up as a child of the request span, next to
+ * the controller and database spans, so slow responses can be told apart from slow handlers.
+ * Streamed bodies, such as NDJSON search results, are written element by element and not observed.
+ */
+public class ObservedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    private final ObservationRegistry observationRegistry;
+
+    public ObservedJsonHttpMessageConverter(ObjectMapper objectMapper, ObservationRegistry observationRegistry) {
+        super(objectMapper);
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (!(object instanceof BaseResponse<?>)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        Observation.createNotStarted("booking.http.serialization", observationRegistry)
+                .contextualName("serialize response")
+                .observeChecked(() -> super.writeInternal(object, type, outputMessage));
+    }
+}
@@ -1,17 +1,107 @@
 package io.upschool.ticketBooking.utils;
 
+import io.upschool.ticketBooking.enums.CardNetwork;
 import io.upschool.ticketBooking.exception.InvalidCreditCartNumberException;
 
+/**
+ * Validates card numbers as typed by customers, with spaces, dashes or commas between digit groups.
+ * A number is valid when it has 12 to 19 digits, passes the Luhn checksum and has a BIN and length
+ * issued by one of the {@link CardNetwork}s. Numbers are read in a single pass over their characters
+ * without building a cleaned copy, so validation allocates nothing and masking allocates only the
+ * resulting string.
+ */
 public class CreditCardUtils {
+    private static final int MIN_LENGTH = 12;
+    private static final int MAX_LENGTH = 19;
+    private static final int BIN_LENGTH = 6;
+    private static final int LAST_DIGITS_LENGTH = 4;
+    private static final int[] DOUBLED_DIGIT_SUMS = {0, 2, 4, 6, 8, 1, 3, 5, 7, 9};
+    private static final CardNetwork[] NETWORKS = CardNetwork.values();
+    private static final String[] MASKS = new String[MAX_LENGTH + 1];
+
+    static {
+        for (int length = MIN_LENGTH; length <= MAX_LENGTH; length++) {
+            MASKS[length] = "*".repeat(length - BIN_LENGTH - LAST_DIGITS_LENGTH);
+        }
+    }
+
+    /**
+     * Validates a card number and masks all but its first six and last four digits, keeping its length.
+     *
+     * @param cardNumber The card number, optionally with separators.
+     * @return The masked card number, for example 411111******1111.
+     * @throws InvalidCreditCartNumberException If the card number is not valid.
+     */
     public static String maskCreditCardNumber(String cardNumber) {
-        String cleanedCardNumber = cardNumber.replaceAll("[\\s\\-,]", "");
-        if (!cleanedCardNumber.matches("\\d+")) {
+        long card = normalize(cardNumber);
+        int lastDigits = (int) ((card >>> 20) & 0x3FFF);
+        // A single concatenation sizes and fills the result in one go; every supported BIN starts
+        // with a non-zero digit, so the BIN needs no padding.
+        return (int) (card & 0xFFFFF) + MASKS[(int) ((card >>> 34) & 0x1F)]
+                + (char) ('0' + lastDigits / 1000) + (char) ('0' + lastDigits / 100 % 10)
+                + (char) ('0' + lastDigits / 10 % 10) + (char) ('0' + lastDigits % 10);
+    }
+
+    /**
+     * Validates a card number and returns the network that issued it.
+     *
+     * @param cardNumber The card number, optionally with separators.
+     * @return The issuing network.
+     * @throws InvalidCreditCartNumberException If the card number is not valid.
+     */
+    public static CardNetwork getCardNetwork(String cardNumber) {
+        return NETWORKS[(int) (normalize(cardNumber) >>> 39)];
+    }
+
+    /**
+     * Reads and validates a card number, packing what masking needs into a long: the BIN in bits
+     * 0-19, the last four digits in bits 20-33, the length in bits 34-38 and the network from bit 39.
+     */
+    private static long normalize(String cardNumber) {
+        if (cardNumber == null) {
             throw new InvalidCreditCartNumberException("Credit card number must contain only digits");
         }
-        if (cleanedCardNumber.length()>16) {
+        int length = 0;
+        int bin = 0;
+        int lastDigits = 0;
+        // The Luhn checksum doubles every second digit counting from the right, which depends on the
+        // length we have not seen yet, so both alternatives are summed and one is picked at the end.
+        int sumDoublingEven = 0;
+        int sumDoublingOdd = 0;
+        for (int i = 0; i < cardNumber.length(); i++) {
+            char c = cardNumber.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (length == MAX_LENGTH) {
+                    throw new InvalidCreditCartNumberException("Invalid card number");
+                }
+                int digit = c - '0';
+                if (length < BIN_LENGTH) {
+                    bin = bin * 10 + digit;
+                }
+                lastDigits = (lastDigits * 10 + digit) % 10000;
+                if ((length & 1) == 0) {
+                    sumDoublingEven += DOUBLED_DIGIT_SUMS[digit];
+                    sumDoublingOdd += digit;
+                } else {
+                    sumDoublingEven += digit;
+                    sumDoublingOdd += DOUBLED_DIGIT_SUMS[digit];
+                }
+                length++;
+            } else if (c != ' ' && c != '-' && c != ',' && !Character.isWhitespace(c)) {
+                throw new InvalidCreditCartNumberException("Credit card number must contain only digits");
+            }
+        }
+        if (length < MIN_LENGTH) {
             throw new InvalidCreditCartNumberException("Invalid card number");
         }
-        return cleanedCardNumber.substring(0, 6) + "******" +
-                cleanedCardNumber.substring(cleanedCardNumber.length() - 4);
+        int checksum = (length & 1) == 0 ? sumDoublingEven : sumDoublingOdd;
+        if (checksum % 10 != 0) {
+            throw new InvalidCreditCartNumberException("Invalid card number");
+        }
+        CardNetwork network = CardNetwork.fromBin(bin);
+        if (network == null || !network.acceptsLength(length)) {
+            throw new InvalidCreditCartNumberException("Unsupported card network");
+        }
+        return bin | ((long) lastDigits << 20) | ((long) length << 34) | ((long) network.ordinal() << 39);
     }
 }
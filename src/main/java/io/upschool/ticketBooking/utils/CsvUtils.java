@@ -0,0 +1,39 @@
+package io.upschool.ticketBooking.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CsvUtils {
+
+    /**
+     * Splits one CSV line into fields. Fields may be wrapped in double quotes,
+     * and a doubled quote inside a quoted field stands for a literal quote.
+     */
+    public static List<String> splitLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
@@ -2,40 +2,62 @@ package io.upschool.ticketBooking.utils;
 
 import io.upschool.ticketBooking.exception.InvalidDateTimeFormatException;
 
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 
+/**
+ * Parses the fixed-width dates (yyyy-MM-dd) and times (HH:mm) used throughout the API by reading their
+ * digits in place, without a regex or a DateTimeFormatter. Dates that do not exist, such as 2031-02-30,
+ * are rejected rather than adjusted.
+ */
 public class DateUtils {
 
-    private static final String DATE_PATTERN = "yyyy-MM-dd";
-    private static final String TIME_PATTERN = "HH:mm";
+    private static final String DATE_FORMAT_MESSAGE = "Invalid date format. Use yyyy-MM-dd";
+    private static final String TIME_FORMAT_MESSAGE = "Invalid time format. Use HH:mm";
 
     public static LocalDate parseLocalDate(String dateInput) {
-        if (!isValidDateFormat(dateInput)) {
-            throw new InvalidDateTimeFormatException("Invalid date format. Use yyyy-MM-dd");
+        if (dateInput == null || dateInput.length() != 10
+                || dateInput.charAt(4) != '-' || dateInput.charAt(7) != '-') {
+            throw new InvalidDateTimeFormatException(DATE_FORMAT_MESSAGE);
+        }
+        int year = digits(dateInput, 0, 4, DATE_FORMAT_MESSAGE);
+        int month = digits(dateInput, 5, 7, DATE_FORMAT_MESSAGE);
+        int day = digits(dateInput, 8, 10, DATE_FORMAT_MESSAGE);
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            throw new InvalidDateTimeFormatException(DATE_FORMAT_MESSAGE);
         }
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DATE_PATTERN);
-        return LocalDate.parse(dateInput, formatter);
     }
 
     public static LocalTime parseLocalTime(String timeInput) {
-        if (!isValidTimeFormat(timeInput)) {
-            throw new InvalidDateTimeFormatException("Invalid time format. Use HH:mm");
+        if (timeInput == null || timeInput.length() != 5 || timeInput.charAt(2) != ':') {
+            throw new InvalidDateTimeFormatException(TIME_FORMAT_MESSAGE);
+        }
+        int hour = digits(timeInput, 0, 2, TIME_FORMAT_MESSAGE);
+        int minute = digits(timeInput, 3, 5, TIME_FORMAT_MESSAGE);
+        try {
+            return LocalTime.of(hour, minute);
+        } catch (DateTimeException e) {
+            throw new InvalidDateTimeFormatException(TIME_FORMAT_MESSAGE);
         }
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(TIME_PATTERN);
-        return LocalTime.parse(timeInput, formatter);
     }
+
     public static LocalDateTime combineDateAndTime(LocalDate date, LocalTime time) {
         return LocalDateTime.of(date, time);
     }
 
-    private static boolean isValidDateFormat(String dateInput) {
-        return dateInput.matches("\\d{4}-\\d{2}-\\d{2}");
-    }
-
-    private static boolean isValidTimeFormat(String timeInput) {
-        return timeInput.matches("\\d{2}:\\d{2}");
+    private static int digits(String input, int from, int to, String message) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new InvalidDateTimeFormatException(message);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
     }
 }
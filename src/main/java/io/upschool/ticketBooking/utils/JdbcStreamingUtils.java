@@ -0,0 +1,35 @@
+package io.upschool.ticketBooking.utils;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Creates JdbcTemplates for reads that stream large result sets. MySQL Connector/J buffers a whole
+ * result set in memory unless the statement asks for row streaming with a fetch size of
+ * Integer.MIN_VALUE, so on MySQL every statement of the template streams; other drivers get the given
+ * fetch size. A streaming MySQL statement occupies its connection until its result set is closed, so
+ * a transaction must read one streamed result set to the end before it opens the next.
+ */
+public class JdbcStreamingUtils {
+    private static final int MYSQL_ROW_STREAMING = Integer.MIN_VALUE;
+
+    public static JdbcTemplate createStreamingJdbcTemplate(DataSource dataSource, int fetchSize) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(isMySql(dataSource) ? MYSQL_ROW_STREAMING : fetchSize);
+        return jdbcTemplate;
+    }
+
+    private static boolean isMySql(DataSource dataSource) {
+        try {
+            String productName = JdbcUtils.extractDatabaseMetaData(dataSource,
+                    DatabaseMetaData::getDatabaseProductName);
+            return "MySQL".equals(JdbcUtils.commonDatabaseName(productName));
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Could not determine the database product: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package io.upschool.ticketBooking.utils;
+
+import java.util.Locale;
+
+public class SearchKeyUtils {
+
+    public static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Normalizes the value and turns it into a LIKE pattern matching it as a prefix, with LIKE wildcards
+     * in the value escaped by a backslash.
+     */
+    public static String toPrefixPattern(String value) {
+        String normalized = normalize(value);
+        if (normalized == null) {
+            return null;
+        }
+        return normalized.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+}
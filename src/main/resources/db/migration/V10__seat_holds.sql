@@ -0,0 +1,18 @@
+-- Seats reserved for a purchase apart from its ticket insert, on a flight owned by another cluster member.
+-- A hold is written in the same transaction as the seat update and moves from HELD to CONFIRMED when the
+-- ticket is saved, or to RELEASED when the seats are given back. A release that arrives before its
+-- reservation leaves a RELEASED row behind, so the late reservation is refused.
+
+CREATE TABLE seat_holds
+(
+    hold_id    VARCHAR(36) NOT NULL,
+    flight_id  BIGINT      NOT NULL,
+    seats      INT         NOT NULL,
+    status     VARCHAR(16) NOT NULL,
+    created_at DATETIME(3) NOT NULL,
+    updated_at DATETIME(3) NOT NULL,
+    PRIMARY KEY (hold_id)
+);
+
+-- The reconcile job looks for holds that stayed HELD too long; cleanup removes old finished ones.
+CREATE INDEX idx_seat_holds_status_created ON seat_holds (status, created_at);
@@ -0,0 +1,9 @@
+-- Per-event retry state for the outbox relay. next_attempt_at is set both while a relay run has
+-- claimed an event (so a crashed run's events are picked up again once it passes) and after a
+-- failed delivery (so the event is retried with backoff); NULL means the event can be relayed now.
+
+ALTER TABLE outbox_events ADD COLUMN attempts INT NOT NULL DEFAULT 0;
+ALTER TABLE outbox_events ADD COLUMN next_attempt_at DATETIME(6);
+
+-- The relay skips events queued behind an earlier, not yet relayable event of the same flight.
+CREATE INDEX idx_outbox_events_flight ON outbox_events (flight_id, published_at, event_id);
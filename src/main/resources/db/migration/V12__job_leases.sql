@@ -0,0 +1,10 @@
+-- Leases that let only one instance at a time run a scheduled job over shared data. The holder
+-- renews its lease while it works; once the lease expires another instance may take it over.
+
+CREATE TABLE job_leases
+(
+    job_name         VARCHAR(64) NOT NULL,
+    owner            VARCHAR(64) NOT NULL,
+    lease_expires_at DATETIME(3) NOT NULL,
+    PRIMARY KEY (job_name)
+);
@@ -0,0 +1,86 @@
+-- Baseline schema as previously generated by hibernate.ddl-auto=update.
+-- Existing databases are baselined at version 1 and skip this script.
+
+CREATE TABLE airlines
+(
+    airline_id    BIGINT       NOT NULL AUTO_INCREMENT,
+    creation_date DATETIME(6),
+    updated_date  DATETIME(6),
+    airline_name  VARCHAR(255) NOT NULL,
+    airline_code  VARCHAR(255) NOT NULL,
+    PRIMARY KEY (airline_id),
+    CONSTRAINT uk_airlines_airline_name UNIQUE (airline_name),
+    CONSTRAINT uk_airlines_airline_code UNIQUE (airline_code)
+);
+
+CREATE TABLE airports
+(
+    airport_id       BIGINT       NOT NULL AUTO_INCREMENT,
+    creation_date    DATETIME(6),
+    updated_date     DATETIME(6),
+    airport_name     VARCHAR(255) NOT NULL,
+    airport_code     VARCHAR(255) NOT NULL,
+    airport_location VARCHAR(255) NOT NULL,
+    PRIMARY KEY (airport_id),
+    CONSTRAINT uk_airports_airport_name UNIQUE (airport_name),
+    CONSTRAINT uk_airports_airport_code UNIQUE (airport_code)
+);
+
+CREATE TABLE airport_airline
+(
+    airport_id BIGINT NOT NULL,
+    airline_id BIGINT NOT NULL,
+    PRIMARY KEY (airport_id, airline_id),
+    CONSTRAINT fk_airport_airline_airport FOREIGN KEY (airport_id) REFERENCES airports (airport_id),
+    CONSTRAINT fk_airport_airline_airline FOREIGN KEY (airline_id) REFERENCES airlines (airline_id)
+);
+
+CREATE TABLE routes
+(
+    route_id             BIGINT NOT NULL AUTO_INCREMENT,
+    creation_date        DATETIME(6),
+    updated_date         DATETIME(6),
+    departure_airport_id BIGINT,
+    arrival_airport_id   BIGINT,
+    departure_date       DATE   NOT NULL,
+    departure_time       TIME   NOT NULL,
+    arrival_date         DATE   NOT NULL,
+    arrival_time         TIME   NOT NULL,
+    PRIMARY KEY (route_id),
+    CONSTRAINT fk_routes_departure_airport FOREIGN KEY (departure_airport_id) REFERENCES airports (airport_id),
+    CONSTRAINT fk_routes_arrival_airport FOREIGN KEY (arrival_airport_id) REFERENCES airports (airport_id)
+);
+
+CREATE TABLE flights
+(
+    flight_id         BIGINT NOT NULL AUTO_INCREMENT,
+    creation_date     DATETIME(6),
+    updated_date      DATETIME(6),
+    flight_route_id   BIGINT NOT NULL,
+    airline_id        BIGINT NOT NULL,
+    capacity          INT    NOT NULL,
+    ticket_base_price DECIMAL(38, 2),
+    remaining_seats   INT    NOT NULL,
+    PRIMARY KEY (flight_id),
+    CONSTRAINT fk_flights_route FOREIGN KEY (flight_route_id) REFERENCES routes (route_id),
+    CONSTRAINT fk_flights_airline FOREIGN KEY (airline_id) REFERENCES airlines (airline_id)
+);
+
+CREATE TABLE tickets
+(
+    ticket_id          BIGINT       NOT NULL AUTO_INCREMENT,
+    creation_date      DATETIME(6),
+    updated_date       DATETIME(6),
+    ticket_number      VARCHAR(255),
+    passenger_name     VARCHAR(255) NOT NULL,
+    credit_card_number VARCHAR(255) NOT NULL,
+    flight_id          BIGINT       NOT NULL,
+    passenger_count    INT          NOT NULL,
+    status             VARCHAR(255),
+    ticket_class       VARCHAR(255),
+    cancelled          BIT,
+    ticket_price       DECIMAL(38, 2),
+    PRIMARY KEY (ticket_id),
+    CONSTRAINT uk_tickets_ticket_number UNIQUE (ticket_number),
+    CONSTRAINT fk_tickets_flight FOREIGN KEY (flight_id) REFERENCES flights (flight_id)
+);
@@ -0,0 +1,39 @@
+-- Case-folded copies of the searchable columns so lookups can use plain
+-- B-tree indexes instead of LOWER(x) LIKE '%..%' table scans.
+
+ALTER TABLE airports ADD COLUMN airport_name_normalized VARCHAR(255);
+ALTER TABLE airports ADD COLUMN airport_code_normalized VARCHAR(255);
+ALTER TABLE airports ADD COLUMN airport_location_normalized VARCHAR(255);
+
+UPDATE airports
+SET airport_name_normalized     = LOWER(TRIM(airport_name)),
+    airport_code_normalized     = LOWER(TRIM(airport_code)),
+    airport_location_normalized = LOWER(TRIM(airport_location));
+
+ALTER TABLE airports MODIFY airport_name_normalized VARCHAR(255) NOT NULL;
+ALTER TABLE airports MODIFY airport_code_normalized VARCHAR(255) NOT NULL;
+ALTER TABLE airports MODIFY airport_location_normalized VARCHAR(255) NOT NULL;
+
+CREATE INDEX idx_airports_name_normalized ON airports (airport_name_normalized);
+CREATE INDEX idx_airports_code_normalized ON airports (airport_code_normalized);
+CREATE INDEX idx_airports_location_normalized ON airports (airport_location_normalized);
+
+ALTER TABLE airlines ADD COLUMN airline_name_normalized VARCHAR(255);
+ALTER TABLE airlines ADD COLUMN airline_code_normalized VARCHAR(255);
+
+UPDATE airlines
+SET airline_name_normalized = LOWER(TRIM(airline_name)),
+    airline_code_normalized = LOWER(TRIM(airline_code));
+
+ALTER TABLE airlines MODIFY airline_name_normalized VARCHAR(255) NOT NULL;
+ALTER TABLE airlines MODIFY airline_code_normalized VARCHAR(255) NOT NULL;
+
+CREATE INDEX idx_airlines_name_normalized ON airlines (airline_name_normalized);
+CREATE INDEX idx_airlines_code_normalized ON airlines (airline_code_normalized);
+
+-- Serves both the flight search (airport pair + date) and the
+-- duplicate-route check (airport pair + date + time).
+CREATE INDEX idx_routes_departure_arrival_date
+    ON routes (departure_airport_id, arrival_airport_id, departure_date, departure_time);
+
+CREATE INDEX idx_flights_route_airline ON flights (flight_route_id, airline_id);
@@ -0,0 +1,27 @@
+-- Cold storage for cancelled tickets and tickets of departed flights.
+-- Rows keep their original ticket_id so history stays traceable.
+
+CREATE TABLE tickets_archive
+(
+    ticket_id          BIGINT       NOT NULL,
+    creation_date      DATETIME(6),
+    updated_date       DATETIME(6),
+    ticket_number      VARCHAR(255),
+    passenger_name     VARCHAR(255) NOT NULL,
+    credit_card_number VARCHAR(255) NOT NULL,
+    flight_id          BIGINT       NOT NULL,
+    passenger_count    INT          NOT NULL,
+    status             VARCHAR(255),
+    ticket_class       VARCHAR(255),
+    cancelled          BIT,
+    ticket_price       DECIMAL(38, 2),
+    archived_at        DATETIME(6)  NOT NULL,
+    PRIMARY KEY (ticket_id),
+    CONSTRAINT uk_tickets_archive_ticket_number UNIQUE (ticket_number)
+);
+
+CREATE INDEX idx_tickets_archive_flight ON tickets_archive (flight_id);
+
+-- Lets the archival job find candidates without scanning the hot table.
+CREATE INDEX idx_tickets_status ON tickets (status);
+CREATE INDEX idx_routes_departure_date ON routes (departure_date);
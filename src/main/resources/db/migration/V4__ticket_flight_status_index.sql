@@ -0,0 +1,2 @@
+-- Serves the per-flight passenger manifest, which reads a flight's tickets filtered by status.
+CREATE INDEX idx_tickets_flight_status ON tickets (flight_id, status);
@@ -0,0 +1,18 @@
+-- Ticket lifecycle events written in the same transaction as the ticket change
+-- and relayed to downstream sinks by the outbox relay job.
+
+CREATE TABLE outbox_events
+(
+    event_id      BIGINT       NOT NULL AUTO_INCREMENT,
+    creation_date DATETIME(6),
+    updated_date  DATETIME(6),
+    event_type    VARCHAR(64)  NOT NULL,
+    ticket_number VARCHAR(255) NOT NULL,
+    flight_id     BIGINT       NOT NULL,
+    payload       VARCHAR(4000) NOT NULL,
+    published_at  DATETIME(6),
+    PRIMARY KEY (event_id)
+);
+
+-- The relay reads unpublished events in id order; cleanup removes old published ones.
+CREATE INDEX idx_outbox_events_published ON outbox_events (published_at, event_id);
@@ -0,0 +1,52 @@
+-- Denormalized read model for the flight search: one flat row per flight, so a search
+-- is a single index range scan with no joins through routes, airports and airlines.
+-- Kept in step by the write paths and rebuildable from the source tables.
+
+CREATE TABLE flight_search
+(
+    flight_id                     BIGINT       NOT NULL,
+    route_id                      BIGINT       NOT NULL,
+    airline_id                    BIGINT       NOT NULL,
+    departure_airport_id          BIGINT       NOT NULL,
+    departure_airport_name        VARCHAR(255) NOT NULL,
+    departure_airport_code        VARCHAR(255) NOT NULL,
+    departure_location            VARCHAR(255) NOT NULL,
+    departure_location_normalized VARCHAR(255) NOT NULL,
+    arrival_airport_id            BIGINT       NOT NULL,
+    arrival_airport_name          VARCHAR(255) NOT NULL,
+    arrival_airport_code          VARCHAR(255) NOT NULL,
+    arrival_location              VARCHAR(255) NOT NULL,
+    arrival_location_normalized   VARCHAR(255) NOT NULL,
+    departure_date                DATE         NOT NULL,
+    departure_time                TIME         NOT NULL,
+    arrival_date                  DATE         NOT NULL,
+    arrival_time                  TIME         NOT NULL,
+    airline_name                  VARCHAR(255) NOT NULL,
+    airline_code                  VARCHAR(255) NOT NULL,
+    capacity                      INT          NOT NULL,
+    remaining_seats               INT          NOT NULL,
+    ticket_base_price             DECIMAL(38, 2),
+    PRIMARY KEY (flight_id)
+);
+
+-- Equality on the date, then prefix ranges on the normalized locations.
+CREATE INDEX idx_flight_search_date_locations
+    ON flight_search (departure_date, departure_location_normalized, arrival_location_normalized);
+
+INSERT INTO flight_search (flight_id, route_id, airline_id,
+                           departure_airport_id, departure_airport_name, departure_airport_code,
+                           departure_location, departure_location_normalized,
+                           arrival_airport_id, arrival_airport_name, arrival_airport_code,
+                           arrival_location, arrival_location_normalized,
+                           departure_date, departure_time, arrival_date, arrival_time,
+                           airline_name, airline_code, capacity, remaining_seats, ticket_base_price)
+SELECT f.flight_id, r.route_id, al.airline_id,
+       da.airport_id, da.airport_name, da.airport_code, da.airport_location, da.airport_location_normalized,
+       aa.airport_id, aa.airport_name, aa.airport_code, aa.airport_location, aa.airport_location_normalized,
+       r.departure_date, r.departure_time, r.arrival_date, r.arrival_time,
+       al.airline_name, al.airline_code, f.capacity, f.remaining_seats, f.ticket_base_price
+FROM flights f
+         JOIN routes r ON r.route_id = f.flight_route_id
+         JOIN airports da ON da.airport_id = r.departure_airport_id
+         JOIN airports aa ON aa.airport_id = r.arrival_airport_id
+         JOIN airlines al ON al.airline_id = f.airline_id;
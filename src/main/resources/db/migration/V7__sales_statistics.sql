@@ -0,0 +1,48 @@
+-- Running sales totals per flight, per route and per airline and departure day, broken down
+-- by ticket class. The application adds its in-memory deltas to these rows periodically.
+-- scope_key is the flight ID, the route ID, or "<airlineId>:<departureDate>".
+
+CREATE TABLE sales_statistics
+(
+    scope        VARCHAR(16)    NOT NULL,
+    scope_key    VARCHAR(64)    NOT NULL,
+    ticket_class VARCHAR(32)    NOT NULL,
+    tickets_sold BIGINT         NOT NULL,
+    passengers   BIGINT         NOT NULL,
+    revenue      DECIMAL(38, 2) NOT NULL,
+    updated_date DATETIME(6),
+    PRIMARY KEY (scope, scope_key, ticket_class)
+);
+
+-- Seed the totals from the tickets sold so far, including archived ones.
+CREATE TABLE sales_statistics_seed AS
+SELECT f.flight_id, r.route_id, f.airline_id, r.departure_date, t.ticket_class,
+       COUNT(*) AS tickets_sold, SUM(t.passenger_count) AS passengers, SUM(t.ticket_price) AS revenue
+FROM (SELECT flight_id, ticket_class, passenger_count, ticket_price, status FROM tickets
+      UNION ALL
+      SELECT flight_id, ticket_class, passenger_count, ticket_price, status FROM tickets_archive) t
+         JOIN flights f ON f.flight_id = t.flight_id
+         JOIN routes r ON r.route_id = f.flight_route_id
+WHERE t.status <> 'CANCELLED'
+  AND t.ticket_class IS NOT NULL
+GROUP BY f.flight_id, r.route_id, f.airline_id, r.departure_date, t.ticket_class;
+
+INSERT INTO sales_statistics (scope, scope_key, ticket_class, tickets_sold, passengers, revenue, updated_date)
+SELECT 'FLIGHT', CAST(flight_id AS CHAR), ticket_class, SUM(tickets_sold), SUM(passengers),
+       COALESCE(SUM(revenue), 0), CURRENT_TIMESTAMP
+FROM sales_statistics_seed
+GROUP BY flight_id, ticket_class;
+
+INSERT INTO sales_statistics (scope, scope_key, ticket_class, tickets_sold, passengers, revenue, updated_date)
+SELECT 'ROUTE', CAST(route_id AS CHAR), ticket_class, SUM(tickets_sold), SUM(passengers),
+       COALESCE(SUM(revenue), 0), CURRENT_TIMESTAMP
+FROM sales_statistics_seed
+GROUP BY route_id, ticket_class;
+
+INSERT INTO sales_statistics (scope, scope_key, ticket_class, tickets_sold, passengers, revenue, updated_date)
+SELECT 'AIRLINE_DAY', CONCAT(CAST(airline_id AS CHAR), ':', CAST(departure_date AS CHAR)), ticket_class,
+       SUM(tickets_sold), SUM(passengers), COALESCE(SUM(revenue), 0), CURRENT_TIMESTAMP
+FROM sales_statistics_seed
+GROUP BY airline_id, departure_date, ticket_class;
+
+DROP TABLE sales_statistics_seed;
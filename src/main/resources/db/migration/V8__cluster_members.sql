@@ -0,0 +1,11 @@
+-- Instances of the application that share this database. Each one renews its lease while it runs;
+-- members whose lease has expired are left out of the flight ownership ring.
+
+CREATE TABLE cluster_members
+(
+    node_id          VARCHAR(64)  NOT NULL,
+    base_url         VARCHAR(255) NOT NULL,
+    joined_at        DATETIME(3)  NOT NULL,
+    lease_expires_at DATETIME(3)  NOT NULL,
+    PRIMARY KEY (node_id)
+);
@@ -0,0 +1,15 @@
+-- Changes to airports, airlines, routes and flights, written in the same transaction as the change.
+-- Every instance tails this table by change_id and evicts the affected entries of its local caches.
+-- A NULL entity_id stands for a bulk change to any number of entities of the type.
+
+CREATE TABLE change_log
+(
+    change_id   BIGINT      NOT NULL AUTO_INCREMENT,
+    entity_type VARCHAR(32) NOT NULL,
+    entity_id   BIGINT,
+    changed_at  DATETIME(3) NOT NULL,
+    PRIMARY KEY (change_id)
+);
+
+-- Cleanup removes entries older than the retention period.
+CREATE INDEX idx_change_log_changed_at ON change_log (changed_at);
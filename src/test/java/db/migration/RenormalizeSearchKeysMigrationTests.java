@@ -0,0 +1,60 @@
+package db.migration;
+
+import io.upschool.CapstoneProjectApplication;
+import io.upschool.ticketBooking.utils.SearchKeyUtils;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = CapstoneProjectApplication.class)
+class RenormalizeSearchKeysMigrationTests {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void deleteAirport() {
+        jdbcTemplate.update("DELETE FROM airports WHERE airport_code = ?", "İZM");
+    }
+
+    @Test
+    void rewritesKeysThatSqlLowerCasedDifferently() throws Exception {
+        // What SQL LOWER(TRIM(...)) leaves for the Turkish dotted capital I.
+        jdbcTemplate.update("INSERT INTO airports (airport_name, airport_code, airport_location, " +
+                        "airport_name_normalized, airport_code_normalized, airport_location_normalized) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)",
+                "İzmir Adnan Menderes", "İZM", "İZMİR", "izmir adnan menderes", "izm", "izmir");
+
+        try (Connection connection = dataSource.getConnection()) {
+            new V13__renormalize_search_keys().migrate(new Context() {
+                @Override
+                public Configuration getConfiguration() {
+                    return null;
+                }
+
+                @Override
+                public Connection getConnection() {
+                    return connection;
+                }
+            });
+        }
+
+        assertThat(jdbcTemplate.queryForMap("SELECT airport_name_normalized, airport_code_normalized, " +
+                "airport_location_normalized FROM airports WHERE airport_code = ?", "İZM"))
+                .containsEntry("AIRPORT_NAME_NORMALIZED", SearchKeyUtils.normalize("İzmir Adnan Menderes"))
+                .containsEntry("AIRPORT_CODE_NORMALIZED", SearchKeyUtils.normalize("İZM"))
+                .containsEntry("AIRPORT_LOCATION_NORMALIZED", SearchKeyUtils.normalize("İZMİR"));
+    }
+}
@@ -0,0 +1,47 @@
+package io.upschool.ticketBooking;
+
+import io.upschool.ticketBooking.dto.request.AirlineSaveRequest;
+import io.upschool.ticketBooking.enums.ScheduleImportFormat;
+import io.upschool.ticketBooking.service.AirlineService;
+import io.upschool.ticketBooking.service.ScheduleImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Seeds the airline and schedule a test class works on. Every cached test context shares one
+ * database, so each test class uses an airline code of its own and seeds it only while the airline
+ * does not exist yet.
+ */
+@Component
+@RequiredArgsConstructor
+public class ScheduleFixture {
+    private final JdbcTemplate jdbcTemplate;
+    private final AirlineService airlineService;
+    private final ScheduleImportService scheduleImportService;
+
+    /**
+     * Saves the airline and imports the schedule, unless the airline was saved before.
+     *
+     * @param airlineName The name of the airline.
+     * @param airlineCode The code of the airline, unique to the test class.
+     * @param schedule    The schedule in NDJSON format, or an empty string for none.
+     * @return Whether this call seeded the airline and schedule.
+     */
+    public boolean seedOnce(String airlineName, String airlineCode, String schedule) {
+        Integer seeded = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM airlines WHERE airline_code = ?", Integer.class, airlineCode);
+        if (seeded != null && seeded > 0) {
+            return false;
+        }
+        airlineService.save(new AirlineSaveRequest(airlineName, airlineCode));
+        if (!schedule.isEmpty()) {
+            scheduleImportService.importSchedule(new ByteArrayInputStream(schedule.getBytes(StandardCharsets.UTF_8)),
+                    ScheduleImportFormat.NDJSON);
+        }
+        return true;
+    }
+}
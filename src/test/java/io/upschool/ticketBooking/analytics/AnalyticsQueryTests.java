@@ -0,0 +1,87 @@
+package io.upschool.ticketBooking.analytics;
+
+import io.upschool.ticketBooking.enums.AnalyticsDimension;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalyticsQueryTests {
+    private static final int FIRST_DAY = 20_000;
+    // The largest departure day offset the key has room for.
+    private static final int LAST_DAY = FIRST_DAY + (1 << 17) - 1;
+    private static final int ANY = AnalyticsQuery.ANY;
+
+    private final TicketSnapshot snapshot = snapshot();
+
+    @Test
+    void keysUnpackToTheGroupedColumnsOfTheirTicket() {
+        AnalyticsQuery query = new AnalyticsQuery(snapshot, EnumSet.allOf(AnalyticsDimension.class),
+                ANY, ANY, ANY, FIRST_DAY, LAST_DAY, true);
+
+        Set<Long> keys = new HashSet<>();
+        for (int ticket = 0; ticket < snapshot.getTicketCount(); ticket++) {
+            long key = query.keyOf(ticket);
+            int flight = snapshot.getTicketFlight()[ticket];
+            assertThat(key).isNotNegative();
+            assertThat(query.airlineOf(key)).isEqualTo(snapshot.getFlightAirline()[flight]);
+            assertThat(query.routeOf(key)).isEqualTo(snapshot.getFlightRoute()[flight]);
+            assertThat(query.departureDayOf(key)).isEqualTo(snapshot.getFlightDepartureDay()[flight]);
+            assertThat(query.ticketClassOf(key)).isEqualTo(snapshot.getTicketClass()[ticket]);
+            keys.add(key);
+        }
+        // Every ticket below differs from the others in at least one column.
+        assertThat(keys).hasSize(snapshot.getTicketCount());
+    }
+
+    @Test
+    void keysIgnoreDimensionsThatAreNotGrouped() {
+        AnalyticsQuery byRoute = new AnalyticsQuery(snapshot, EnumSet.of(AnalyticsDimension.ROUTE),
+                ANY, ANY, ANY, FIRST_DAY, LAST_DAY, true);
+        AnalyticsQuery total = new AnalyticsQuery(snapshot, EnumSet.noneOf(AnalyticsDimension.class),
+                ANY, ANY, ANY, FIRST_DAY, LAST_DAY, true);
+
+        // Tickets 0 to 3 share a route but differ in airline, day and class.
+        assertThat(IntStream.range(0, 4).mapToLong(byRoute::keyOf).distinct().count()).isEqualTo(1);
+        assertThat(byRoute.keyOf(4)).isNotEqualTo(byRoute.keyOf(0));
+        assertThat(IntStream.range(0, snapshot.getTicketCount()).mapToLong(total::keyOf)).containsOnly(0L);
+    }
+
+    @Test
+    void matchesOnlyTicketsPassingEveryFilter() {
+        assertThat(matching(ANY, ANY, ANY, FIRST_DAY, LAST_DAY, true)).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(matching(ANY, ANY, ANY, FIRST_DAY, LAST_DAY, false)).containsExactly(0, 1, 2, 3, 4);
+        assertThat(matching(snapshot.airlineIndexOf(20), ANY, ANY, FIRST_DAY, LAST_DAY, true))
+                .containsExactly(1, 2, 5);
+        assertThat(matching(ANY, snapshot.routeIndexOf(200), ANY, FIRST_DAY, LAST_DAY, true)).containsExactly(4, 5);
+        assertThat(matching(ANY, ANY, 2, FIRST_DAY, LAST_DAY, true)).containsExactly(2, 4);
+        assertThat(matching(ANY, ANY, ANY, FIRST_DAY + 1, LAST_DAY - 1, true)).containsExactly(1, 2, 4, 5);
+    }
+
+    private int[] matching(int airlineIndex, int routeIndex, int ticketClass, int fromDay, int toDay,
+                           boolean includeCancelled) {
+        AnalyticsQuery query = new AnalyticsQuery(snapshot, EnumSet.noneOf(AnalyticsDimension.class),
+                airlineIndex, routeIndex, ticketClass, fromDay, toDay, includeCancelled);
+        return IntStream.range(0, snapshot.getTicketCount()).filter(query::matches).toArray();
+    }
+
+    private static TicketSnapshot snapshot() {
+        TicketSnapshot.Builder builder = TicketSnapshot.builder();
+        builder.addFlight(1, 10, "A10", 100, "R100", FIRST_DAY);
+        builder.addFlight(2, 20, "A20", 100, "R100", FIRST_DAY + 1);
+        builder.addFlight(3, 10, "A10", 100, "R100", LAST_DAY);
+        builder.addFlight(4, 10, "A10", 200, "R200", FIRST_DAY + 1);
+        builder.addFlight(5, 20, "A20", 200, "R200", FIRST_DAY + 2);
+        builder.addTicket(1, (byte) 0, false, 1, 10_000);
+        builder.addTicket(2, (byte) 1, false, 2, 20_000);
+        builder.addTicket(2, (byte) 2, false, 1, 30_000);
+        builder.addTicket(3, TicketSnapshot.NO_TICKET_CLASS, false, 1, 0);
+        builder.addTicket(4, (byte) 2, false, 3, 45_000);
+        builder.addTicket(5, (byte) 0, true, 1, 10_000);
+        return builder.build();
+    }
+}
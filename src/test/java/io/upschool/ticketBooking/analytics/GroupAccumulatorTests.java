@@ -0,0 +1,86 @@
+package io.upschool.ticketBooking.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GroupAccumulatorTests {
+
+    @Test
+    void sumsPerKeyAcrossRehashes() {
+        GroupAccumulator accumulator = new GroupAccumulator();
+        Map<Long, long[]> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(34);
+        for (int i = 0; i < 50_000; i++) {
+            // Few distinct keys early on, so sums build up in slots that later move on rehash.
+            long key = i < 1_000 ? random.nextInt(10) : random.nextLong(Long.MAX_VALUE);
+            long passengers = 1 + random.nextInt(4);
+            long revenue = random.nextInt(100_000);
+            accumulator.add(key, 1, passengers, revenue);
+            long[] sums = expected.computeIfAbsent(key, k -> new long[3]);
+            sums[0]++;
+            sums[1] += passengers;
+            sums[2] += revenue;
+        }
+        accumulator.add(0, 2, 3, 4);
+        accumulator.add(Long.MAX_VALUE, 5, 6, 7);
+        addTo(expected, 0, 2, 3, 4);
+        addTo(expected, Long.MAX_VALUE, 5, 6, 7);
+
+        assertThat(accumulator.size()).isEqualTo(expected.size());
+        assertThat(toMap(accumulator)).containsExactlyInAnyOrderEntriesOf(toComparable(expected));
+    }
+
+    @Test
+    void mergeAddsUpSharedKeysAndKeepsTheOthers() {
+        GroupAccumulator left = new GroupAccumulator();
+        left.add(1, 1, 2, 100);
+        left.add(2, 1, 1, 50);
+        GroupAccumulator right = new GroupAccumulator();
+        right.add(2, 2, 3, 250);
+        right.add(3, 1, 4, 400);
+
+        GroupAccumulator merged = left.merge(right);
+
+        assertThat(merged).isSameAs(left);
+        assertThat(merged.size()).isEqualTo(3);
+        assertThat(toMap(merged)).containsExactlyInAnyOrderEntriesOf(Map.of(
+                1L, "1/2/100",
+                2L, "3/4/300",
+                3L, "1/4/400"));
+        assertThat(toMap(right)).hasSize(2);
+    }
+
+    @Test
+    void emptyAccumulatorVisitsNothing() {
+        GroupAccumulator accumulator = new GroupAccumulator();
+
+        assertThat(accumulator.size()).isZero();
+        assertThat(toMap(accumulator)).isEmpty();
+        assertThat(accumulator.merge(new GroupAccumulator()).size()).isZero();
+    }
+
+    private static void addTo(Map<Long, long[]> expected, long key, long tickets, long passengers, long revenue) {
+        long[] sums = expected.computeIfAbsent(key, k -> new long[3]);
+        sums[0] += tickets;
+        sums[1] += passengers;
+        sums[2] += revenue;
+    }
+
+    private static Map<Long, String> toComparable(Map<Long, long[]> sums) {
+        Map<Long, String> comparable = new HashMap<>();
+        sums.forEach((key, value) -> comparable.put(key, value[0] + "/" + value[1] + "/" + value[2]));
+        return comparable;
+    }
+
+    private static Map<Long, String> toMap(GroupAccumulator accumulator) {
+        Map<Long, String> groups = new HashMap<>();
+        accumulator.forEach((key, tickets, passengers, revenueCents) ->
+                assertThat(groups.put(key, tickets + "/" + passengers + "/" + revenueCents)).isNull());
+        return groups;
+    }
+}
@@ -0,0 +1,89 @@
+package io.upschool.ticketBooking.bulkhead;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveBulkheadTests {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void refusesRequestsOverTheLimitUntilASlotIsReleased() {
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("test", 2, 1, 4, 10);
+
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isFalse();
+        assertThat(bulkhead.getRejected()).isEqualTo(1);
+        assertThat(bulkhead.getInFlight()).isEqualTo(2);
+
+        bulkhead.release(-1);
+        assertThat(bulkhead.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void growsWhileLatencyStaysFlatAndStopsAtTheMaximum() {
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("test", 10, 2, 16, 1);
+
+        runSaturated(bulkhead, 200, FAST);
+
+        assertThat(bulkhead.getLimit()).isEqualTo(16);
+        assertThat(bulkhead.getInFlight()).isZero();
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("test", 10, 2, 16, 1);
+        runSaturated(bulkhead, 1, FAST);
+
+        runSaturated(bulkhead, 5, SLOW);
+        assertThat(bulkhead.getLimit()).isLessThan(10);
+        runSaturated(bulkhead, 100, SLOW);
+
+        assertThat(bulkhead.getLimit()).isBetween(2, 5);
+    }
+
+    @Test
+    void keepsItsLimitWhileTooFewRequestsArrive() {
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("test", 10, 2, 16, 10);
+
+        for (int i = 0; i < 200; i++) {
+            assertThat(bulkhead.tryAcquire()).isTrue();
+            bulkhead.release(i < 100 ? FAST : SLOW);
+        }
+
+        assertThat(bulkhead.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void rejectsInconsistentLimits() {
+        assertThatThrownBy(() -> new AdaptiveBulkhead("test", 5, 6, 10, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveBulkhead("test", 12, 1, 10, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Keeps the bulkhead at its limit while the given number of requests complete with the given latency.
+     */
+    private static void runSaturated(AdaptiveBulkhead bulkhead, int requests, long rttNanos) {
+        int held = 0;
+        while (bulkhead.tryAcquire()) {
+            held++;
+        }
+        for (int i = 0; i < requests; i++) {
+            bulkhead.release(rttNanos);
+            held--;
+            while (bulkhead.tryAcquire()) {
+                held++;
+            }
+        }
+        for (; held > 0; held--) {
+            bulkhead.release(-1);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.upschool.ticketBooking.bulkhead;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadFilterTests {
+
+    @Test
+    void capsTheLimitsAtTheConnectionsEachBulkheadCanUse() {
+        BulkheadFilter filter = createFilter(pool(20), noReplica(), 4);
+
+        assertThat(filter.getWriteBulkhead().getMaxLimit()).isEqualTo(20);
+        assertThat(filter.getReadBulkhead().getMaxLimit()).isEqualTo(14);
+        assertThat(filter.getReadBulkhead().getLimit()).isEqualTo(14);
+        assertThat(filter.getStreamBulkhead().getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void sizesReadsFromTheReplicaPoolWhenThereIsOne() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("replicaDataSource", pool(30));
+
+        BulkheadFilter filter = createFilter(pool(10), beanFactory.getBeanProvider(HikariDataSource.class), 4);
+
+        assertThat(filter.getWriteBulkhead().getMaxLimit()).isEqualTo(10);
+        assertThat(filter.getReadBulkhead().getMaxLimit()).isEqualTo(28);
+    }
+
+    @Test
+    void assumesHikarisDefaultPoolSizeWhenNoneIsSet() {
+        BulkheadFilter filter = createFilter(new HikariDataSource(), noReplica(), 4);
+
+        assertThat(filter.getWriteBulkhead().getMaxLimit()).isEqualTo(10);
+        assertThat(filter.getReadBulkhead().getMaxLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void refusesToReserveThePrimaryPoolEntirelyForWrites() {
+        assertThatThrownBy(() -> createFilter(pool(4), noReplica(), 4))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("reserved-connections");
+    }
+
+    @Test
+    void refusesAStreamLimitThatTakesEveryReadConnection() {
+        assertThatThrownBy(() -> createFilter(pool(6), noReplica(), 4))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("stream.limit");
+    }
+
+    @Test
+    void runsStreamingReadsOutsideTheReadBulkhead() {
+        BulkheadFilter filter = createFilter(pool(20), noReplica(), 4);
+
+        assertThat(filter.selectBulkhead(new MockHttpServletRequest("GET", "/api/tickets/export")))
+                .isSameAs(filter.getStreamBulkhead());
+        assertThat(filter.selectBulkhead(new MockHttpServletRequest("GET", "/api/flights/7/manifest")))
+                .isSameAs(filter.getStreamBulkhead());
+        assertThat(filter.selectBulkhead(new MockHttpServletRequest("GET", "/api/reactive/flights")))
+                .isSameAs(filter.getStreamBulkhead());
+        assertThat(filter.selectBulkhead(new MockHttpServletRequest("GET", "/api/flights")))
+                .isSameAs(filter.getReadBulkhead());
+        assertThat(filter.selectBulkhead(new MockHttpServletRequest("POST", "/api/tickets/purchase")))
+                .isSameAs(filter.getWriteBulkhead());
+    }
+
+    private static BulkheadFilter createFilter(HikariDataSource primary, ObjectProvider<HikariDataSource> replica,
+                                               int reservedWriteConnections) {
+        return new BulkheadFilter(new ObjectMapper(), primary, replica, true, 100, 2, 100, 100, 2, 100,
+                reservedWriteConnections, 2, 50);
+    }
+
+    private static HikariDataSource pool(int maximumPoolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        return dataSource;
+    }
+
+    private static ObjectProvider<HikariDataSource> noReplica() {
+        return new StaticListableBeanFactory().getBeanProvider(HikariDataSource.class);
+    }
+}
@@ -0,0 +1,49 @@
+package io.upschool.ticketBooking.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.upschool.ticketBooking.dto.request.AirportSaveRequest;
+import io.upschool.ticketBooking.jfr.CacheLookupEvent;
+import io.upschool.ticketBooking.service.AirportService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CacheLookupRecordingTests {
+
+    @Autowired
+    private AirportService airportService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void recordsHitsAndMissesOfTheCaffeineCaches(@TempDir Path directory) throws Exception {
+        airportService.save(new AirportSaveRequest("Lookup Recording Airport", "LRA", "Lookup Recording City"));
+        Path file = directory.resolve("lookups.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(CacheLookupEvent.NAME);
+            recording.start();
+            airportService.getAllAirports("lookup recording");
+            airportService.getAllAirports("lookup recording");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<Boolean> hits = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(CacheLookupEvent.NAME))
+                .filter(event -> CacheNames.AIRPORT_SEARCH.equals(event.getString("cache")))
+                .map(event -> event.getBoolean("hit"))
+                .toList();
+        assertThat(hits).containsExactly(false, true);
+        assertThat(meterRegistry.find("cache.gets").tag("cache", CacheNames.AIRPORT_SEARCH).meters()).isNotEmpty();
+    }
+}
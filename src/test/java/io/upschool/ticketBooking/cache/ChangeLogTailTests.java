@@ -0,0 +1,162 @@
+package io.upschool.ticketBooking.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.upschool.ticketBooking.dto.request.AirportSaveRequest;
+import io.upschool.ticketBooking.dto.response.AirportSaveResponse;
+import io.upschool.ticketBooking.enums.ChangedEntityType;
+import io.upschool.ticketBooking.job.ChangeLogTailJob;
+import io.upschool.ticketBooking.service.AirportService;
+import io.upschool.ticketBooking.service.ChangeLogService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Writes airports and change log entries straight to the database, the way another instance
+ * sharing it would, and checks that this instance's caches follow once it tails the log.
+ */
+@SpringBootTest(properties = "booking.changelog.poll-interval=3600000")
+class ChangeLogTailTests {
+
+    @Autowired
+    private AirportService airportService;
+
+    @Autowired
+    private ChangeLogTailJob changeLogTailJob;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void evictsSearchResultsWhenAnotherInstanceSavesAnAirport() {
+        changeLogTailJob.tail();
+        airportService.save(new AirportSaveRequest("Changelog Airport One", "CHL1", "Changelog City 1"));
+        assertThat(airportService.getAllAirports("changelog")).extracting(AirportSaveResponse::getAirportLocation)
+                .containsExactly("CHANGELOG CITY 1");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO airports (airport_name, airport_code, airport_location, " +
+                            "airport_name_normalized, airport_code_normalized, airport_location_normalized) " +
+                            "VALUES (?, ?, ?, ?, ?, ?)",
+                    "Changelog Airport Two", "CHL2", "CHANGELOG CITY 2", "changelog airport two", "chl2",
+                    "changelog city 2");
+            recordChange("AIRPORT", null);
+        });
+        assertThat(airportService.getAllAirports("changelog")).hasSize(1);
+
+        changeLogTailJob.tail();
+        assertThat(airportService.getAllAirports("changelog")).hasSize(2);
+    }
+
+    @Test
+    void appliesAnEntryThatCommitsAfterALaterOne() throws Exception {
+        changeLogTailJob.tail();
+        Cache airportDetails = cacheManager.getCache(CacheNames.AIRPORT_DETAILS);
+        airportDetails.put(-1L, "stale");
+        airportDetails.put(-2L, "stale");
+
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> slowTransaction = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    recordChange("AIRPORT", -1L);
+                    inserted.countDown();
+                    await(release);
+                }));
+        await(inserted);
+        transactionTemplate.executeWithoutResult(status -> recordChange("AIRPORT", -2L));
+
+        changeLogTailJob.tail();
+        assertThat(airportDetails.get(-2L)).isNull();
+        assertThat(airportDetails.get(-1L)).isNotNull();
+
+        release.countDown();
+        slowTransaction.get(10, TimeUnit.SECONDS);
+        changeLogTailJob.tail();
+        assertThat(airportDetails.get(-1L)).isNull();
+    }
+
+    /**
+     * Builds a tail of its own over a mocked log, so the application's tail never sees the open gaps.
+     */
+    @Test
+    void clearsEveryCacheWhileTooManyGapsAreOpen() throws Exception {
+        ChangeLogService changeLog = mock(ChangeLogService.class);
+        when(changeLog.findAfter(0, 500)).thenReturn(List.of(new ChangeLogEntry(301, ChangedEntityType.ROUTE, null)));
+        CacheManager caches = new ConcurrentMapCacheManager(CacheNames.AIRLINE_SEARCH, CacheNames.ROUTE_SEARCH);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ChangeLogTailJob tail = new ChangeLogTailJob(changeLog, new CacheInvalidator(caches, 0, Duration.ZERO),
+                meterRegistry, 500, Duration.ofMillis(300), Duration.ofHours(1));
+        Cache airlineSearch = caches.getCache(CacheNames.AIRLINE_SEARCH);
+
+        airlineSearch.put("air", "cached");
+        tail.tail();
+        assertThat(airlineSearch.get("air")).isNull();
+        assertThat(meterRegistry.counter("booking.changelog.untracked-gaps").count()).isEqualTo(44);
+
+        airlineSearch.put("air", "cached");
+        tail.tail();
+        assertThat(airlineSearch.get("air")).isNull();
+
+        Thread.sleep(400);
+        airlineSearch.put("air", "cached");
+        tail.tail();
+        assertThat(airlineSearch.get("air")).isNotNull();
+    }
+
+    @Test
+    void repeatsAnEvictionOnceRacingReadsHaveFinished() {
+        CacheManager caches = new ConcurrentMapCacheManager(CacheNames.AIRPORT_DETAILS, CacheNames.AIRPORT_SEARCH,
+                CacheNames.ROUTE_SEARCH);
+        Cache airportDetails = caches.getCache(CacheNames.AIRPORT_DETAILS);
+        CacheInvalidator immediate = new CacheInvalidator(caches, 0, Duration.ZERO);
+        CacheInvalidator delayed = new CacheInvalidator(caches, 500, Duration.ofHours(1));
+
+        immediate.invalidate(ChangedEntityType.AIRPORT, 7L);
+        airportDetails.put(7L, "read before the change committed");
+        assertThat(immediate.repeatDueEvictions()).isEqualTo(1);
+        assertThat(airportDetails.get(7L)).isNull();
+        assertThat(immediate.repeatDueEvictions()).isZero();
+
+        delayed.invalidate(ChangedEntityType.AIRPORT, 7L);
+        airportDetails.put(7L, "read before the change committed");
+        assertThat(delayed.repeatDueEvictions()).isZero();
+        assertThat(airportDetails.get(7L)).isNotNull();
+    }
+
+    private void recordChange(String entityType, Long entityId) {
+        jdbcTemplate.update("INSERT INTO change_log (entity_type, entity_id, changed_at) " +
+                "VALUES (?, ?, CURRENT_TIMESTAMP(3))", entityType, entityId);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.upschool.ticketBooking.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashRingTests {
+    private static final ClusterMember A = new ClusterMember("node-a", "http://localhost:8081");
+    private static final ClusterMember B = new ClusterMember("node-b", "http://localhost:8082");
+    private static final ClusterMember C = new ClusterMember("node-c", "http://localhost:8083");
+    private static final int FLIGHTS = 30_000;
+
+    @Test
+    void spreadsFlightsEvenlyAndMovesOnlyTheNewMembersShareWhenOneJoins() {
+        HashRing twoMembers = HashRing.of(List.of(A, B), 128);
+        HashRing threeMembers = HashRing.of(List.of(C, B, A), 128);
+
+        Map<String, Integer> owned = new HashMap<>();
+        int moved = 0;
+        for (long flightId = 1; flightId <= FLIGHTS; flightId++) {
+            ClusterMember before = twoMembers.ownerOf(flightId);
+            ClusterMember after = threeMembers.ownerOf(flightId);
+            owned.merge(after.nodeId(), 1, Integer::sum);
+            if (!before.equals(after)) {
+                assertThat(after).isEqualTo(C);
+                moved++;
+            }
+        }
+
+        assertThat(owned.values()).allSatisfy(count -> assertThat(count).isBetween(FLIGHTS / 4, FLIGHTS * 5 / 12));
+        assertThat(moved).isEqualTo(owned.get(C.nodeId()));
+    }
+
+    @Test
+    void agreesOnOwnersRegardlessOfMemberOrder() {
+        HashRing ring = HashRing.of(List.of(A, B, C), 64);
+        HashRing reordered = HashRing.of(List.of(C, A, B), 64);
+
+        for (long flightId = 1; flightId <= 1000; flightId++) {
+            assertThat(reordered.ownerOf(flightId)).isEqualTo(ring.ownerOf(flightId));
+        }
+        assertThat(HashRing.empty().ownerOf(1)).isNull();
+    }
+}
@@ -0,0 +1,309 @@
+package io.upschool.ticketBooking.cluster;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.upschool.CapstoneProjectApplication;
+import io.upschool.ticketBooking.ScheduleFixture;
+import io.upschool.ticketBooking.dto.request.TicketPurchaseRequest;
+import io.upschool.ticketBooking.exception.NotAvailableSeatException;
+import io.upschool.ticketBooking.exception.SeatOperationUnavailableException;
+import io.upschool.ticketBooking.job.SeatHoldReconcileJob;
+import io.upschool.ticketBooking.service.TicketService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs a second member in the same JVM, sharing the in-memory database, and checks that reservations
+ * on the flights it owns are forwarded to it, and that the seat counts stay right when the owner is
+ * unreachable, answers too late or never, or the purchase fails after the owner reserved.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "booking.cluster.enabled=true",
+        "booking.cluster.node-id=forwarding-a",
+        "booking.cluster.token=" + SeatForwardingTests.TOKEN,
+        "booking.cluster.read-timeout=1s",
+        "booking.cluster.forward-attempts=2"})
+class SeatForwardingTests {
+    static final String TOKEN = "forwarding-token";
+    private static final String CARD = "4111111111111111";
+    private static final AtomicInteger SLOW_RESPONSES = new AtomicInteger();
+    private static ConfigurableApplicationContext peer;
+
+    @Autowired
+    private ClusterMembership membership;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private SeatOperationRouter seatOperationRouter;
+
+    @Autowired
+    private SeatHoldReconcileJob seatHoldReconcileJob;
+
+    @Autowired
+    private ScheduleFixture scheduleFixture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private List<Long> flightIds;
+
+    @BeforeAll
+    static void startPeer() {
+        peer = new SpringApplicationBuilder(CapstoneProjectApplication.class)
+                .initializers((ApplicationContextInitializer<GenericApplicationContext>) context ->
+                        context.registerBean("slowReserveFilter", Filter.class, SlowReserveFilter::new))
+                .run("--server.port=0",
+                        "--booking.cluster.enabled=true",
+                        "--booking.cluster.node-id=forwarding-b",
+                        "--booking.cluster.token=" + TOKEN);
+    }
+
+    @AfterAll
+    static void stopPeer() {
+        peer.close();
+    }
+
+    @BeforeEach
+    void seedFlightsAndJoin() {
+        SLOW_RESPONSES.set(0);
+        scheduleFixture.seedOnce("Forwarding Air", "FWD", schedule());
+        flightIds = jdbcTemplate.queryForList("SELECT flight_id FROM flight_search WHERE airline_code = 'FWD' " +
+                "ORDER BY flight_id", Long.class);
+        membership.heartbeat();
+        assertThat(membership.getMembers()).extracting(ClusterMember::nodeId)
+                .contains("forwarding-a", "forwarding-b");
+    }
+
+    @Test
+    void reservesOnTheOwnerAndReleasesCancellationsLocally() {
+        Long flightId = ownedBy("forwarding-b");
+        int seats = remainingSeats(flightId);
+        double peerReservations = count(peerRegistry(), "peer");
+
+        String ticketNumber = purchase(flightId, 2, "Forwarded Passenger");
+        assertThat(remainingSeats(flightId)).isEqualTo(seats - 2);
+        assertThat(count(peerRegistry(), "peer")).isEqualTo(peerReservations + 1);
+        assertThatThrownBy(() -> purchase(flightId, seats - 1, "Forwarded Passenger"))
+                .isInstanceOf(NotAvailableSeatException.class);
+
+        ticketService.cancelTicket(ticketNumber);
+        assertThat(remainingSeats(flightId)).isEqualTo(seats);
+        assertThat(holdStatuses(flightId)).contains("CONFIRMED").doesNotContain("HELD");
+    }
+
+    @Test
+    void retriesTheOwnerWithTheSameHoldWhenTheAnswerTimesOut() {
+        Long flightId = ownedBy("forwarding-b");
+        int seats = remainingSeats(flightId);
+        double peerReservations = count(peerRegistry(), "peer");
+        SLOW_RESPONSES.set(1);
+
+        purchase(flightId, 2, "Retried Passenger");
+
+        assertThat(count(peerRegistry(), "peer")).isEqualTo(peerReservations + 2);
+        assertThat(remainingSeats(flightId)).isEqualTo(seats - 2);
+    }
+
+    @Test
+    void failsAndReleasesTheHoldWhenTheOwnerNeverAnswers() {
+        Long flightId = ownedBy("forwarding-b");
+        int seats = remainingSeats(flightId);
+        SLOW_RESPONSES.set(2);
+
+        assertThatThrownBy(() -> purchase(flightId, 2, "Unanswered Passenger"))
+                .isInstanceOf(SeatOperationUnavailableException.class);
+
+        assertThat(remainingSeats(flightId)).isEqualTo(seats);
+        assertThat(holdStatuses(flightId)).doesNotContain("HELD");
+    }
+
+    @Test
+    void releasesTheHoldWhenTheTicketCannotBeSaved() {
+        Long flightId = ownedBy("forwarding-b");
+        int seats = remainingSeats(flightId);
+
+        assertThatThrownBy(() -> purchase(flightId, 2, "X".repeat(300)))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(remainingSeats(flightId)).isEqualTo(seats);
+        assertThat(holdStatuses(flightId)).doesNotContain("HELD");
+    }
+
+    @Test
+    void releasesHoldsAbandonedBeforeTheTicketWasSaved() throws InterruptedException {
+        Long flightId = ownedBy("forwarding-b");
+        int seats = remainingSeats(flightId);
+
+        assertThat(seatOperationRouter.reserveOnRemoteOwner(flightId, 3)).isNotNull();
+        assertThat(remainingSeats(flightId)).isEqualTo(seats - 3);
+        Thread.sleep(10);
+
+        assertThat(seatHoldReconcileJob.releaseHoldsOlderThan(Duration.ZERO)).isEqualTo(1);
+        assertThat(seatHoldReconcileJob.releaseHoldsOlderThan(Duration.ZERO)).isZero();
+        assertThat(remainingSeats(flightId)).isEqualTo(seats);
+    }
+
+    @Test
+    void reservesHereWhenTheOwnerCannotBeReached() {
+        jdbcTemplate.update("INSERT INTO cluster_members (node_id, base_url, joined_at, lease_expires_at) " +
+                "VALUES ('forwarding-z', 'http://127.0.0.1:1', CURRENT_TIMESTAMP(3), " +
+                "TIMESTAMPADD(HOUR, 1, CURRENT_TIMESTAMP(3)))");
+        try {
+            membership.heartbeat();
+            Long flightId = ownedBy("forwarding-z");
+            int seats = remainingSeats(flightId);
+            double fallbacks = count(meterRegistry, "fallback");
+
+            purchase(flightId, 2, "Unreachable Passenger");
+
+            assertThat(count(meterRegistry, "fallback")).isEqualTo(fallbacks + 1);
+            assertThat(remainingSeats(flightId)).isEqualTo(seats - 2);
+            assertThat(holdStatuses(flightId)).contains("CONFIRMED").doesNotContain("HELD");
+        } finally {
+            jdbcTemplate.update("DELETE FROM cluster_members WHERE node_id = 'forwarding-z'");
+            membership.heartbeat();
+        }
+        assertThat(membership.getMembers()).extracting(ClusterMember::nodeId).doesNotContain("forwarding-z");
+    }
+
+    @Test
+    void refusesForwardedReservationsWithoutTheTokenOrWithoutSeats() {
+        Long flightId = ownedBy("forwarding-b");
+        int seats = remainingSeats(flightId);
+        RestTemplate restTemplate = new RestTemplate();
+        String url = "http://localhost:" + ((WebServerApplicationContext) peer).getWebServer().getPort() +
+                "/internal/cluster/flights/" + flightId + "/seats/reserve?seats={seats}&holdId={holdId}";
+
+        assertThatThrownBy(() -> restTemplate.exchange(url, HttpMethod.POST, HttpEntity.EMPTY, Void.class,
+                1, "no-token"))
+                .isInstanceOfSatisfying(HttpClientErrorException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(SeatOperationRouter.TOKEN_HEADER, TOKEN);
+        assertThatThrownBy(() -> restTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(headers), Void.class,
+                -5, "negative-seats"))
+                .isInstanceOfSatisfying(HttpClientErrorException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+
+        assertThat(remainingSeats(flightId)).isEqualTo(seats);
+    }
+
+    @Test
+    void refusesToStartAClusterMemberWithoutAToken() {
+        assertThatThrownBy(() -> new SpringApplicationBuilder(CapstoneProjectApplication.class)
+                .run("--server.port=0", "--booking.cluster.enabled=true", "--booking.cluster.node-id=forwarding-c"))
+                .hasRootCauseInstanceOf(IllegalStateException.class)
+                .rootCause().hasMessageContaining("booking.cluster.token");
+    }
+
+    private Long ownedBy(String nodeId) {
+        return flightIds.stream()
+                .filter(id -> nodeId.equals(membership.getOwner(id).nodeId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private String purchase(Long flightId, int passengers, String passengerName) {
+        return ticketService.purchaseTicket(new TicketPurchaseRequest(passengerName, flightId, passengers,
+                "Business Class", CARD)).getTicketNumber();
+    }
+
+    private static String schedule() {
+        StringBuilder schedule = new StringBuilder();
+        schedule.append("{\"type\":\"airport\",\"code\":\"FW1\",\"name\":\"Forwarding Airport 1\",\"location\":\"Forwarding City 1\"}\n");
+        schedule.append("{\"type\":\"airport\",\"code\":\"FW2\",\"name\":\"Forwarding Airport 2\",\"location\":\"Forwarding City 2\"}\n");
+        for (int day = 10; day < 30; day++) {
+            String date = "2031-05-" + day;
+            schedule.append("{\"type\":\"route\",\"departureAirportCode\":\"FW1\",\"arrivalAirportCode\":\"FW2\"")
+                    .append(",\"departureDate\":\"").append(date).append("\",\"departureTime\":\"09:00\"")
+                    .append(",\"arrivalDate\":\"").append(date).append("\",\"arrivalTime\":\"11:00\"}\n");
+            schedule.append("{\"type\":\"flight\",\"airlineCode\":\"FWD\",\"departureAirportCode\":\"FW1\"")
+                    .append(",\"arrivalAirportCode\":\"FW2\",\"departureDate\":\"").append(date)
+                    .append("\",\"departureTime\":\"09:00\",\"capacity\":20,\"ticketBasePrice\":100}\n");
+        }
+        return schedule.toString();
+    }
+
+    private int remainingSeats(Long flightId) {
+        return jdbcTemplate.queryForObject("SELECT remaining_seats FROM flights WHERE flight_id = ?",
+                Integer.class, flightId);
+    }
+
+    private List<String> holdStatuses(Long flightId) {
+        return jdbcTemplate.queryForList("SELECT status FROM seat_holds WHERE flight_id = ?", String.class, flightId);
+    }
+
+    private MeterRegistry peerRegistry() {
+        return peer.getBean(MeterRegistry.class);
+    }
+
+    private static double count(MeterRegistry registry, String route) {
+        Counter counter = registry.find("booking.cluster.seat.operations")
+                .tags("operation", "reserve", "route", route)
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    /**
+     * Holds back the owner's answer to a reservation past the caller's read timeout, after the
+     * reservation has committed.
+     */
+    static class SlowReserveFilter extends OncePerRequestFilter {
+
+        @Override
+        protected boolean shouldNotFilter(HttpServletRequest request) {
+            return !request.getRequestURI().endsWith("/seats/reserve");
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+            chain.doFilter(request, buffered);
+            if (SLOW_RESPONSES.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+                try {
+                    Thread.sleep(1500);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            buffered.copyBodyToResponse();
+        }
+    }
+}
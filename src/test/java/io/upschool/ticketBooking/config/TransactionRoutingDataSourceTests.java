@@ -0,0 +1,113 @@
+package io.upschool.ticketBooking.config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "booking.datasource.replica.jdbc-url=jdbc:h2:mem:flight_system_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "booking.datasource.replica.username=sa",
+        "booking.datasource.replica.password=",
+        "booking.datasource.replica.max-lag=1m"
+})
+class TransactionRoutingDataSourceTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagGuard replicaLagGuard;
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        assertThat(currentDatabase(true)).isEqualTo("flight_system_replica");
+    }
+
+    @Test
+    void readWriteTransactionsUsePrimary() {
+        assertThat(currentDatabase(false)).isEqualTo("flight_system");
+    }
+
+    @Test
+    void recentlyWrittenKeysAreReadFromPrimary() {
+        replicaLagGuard.recordWrite("ABCD1234");
+
+        String database = replicaLagGuard.readYourWrites("ABCD1234", () -> currentDatabase(true));
+
+        assertThat(database).isEqualTo("flight_system");
+        assertThat(replicaLagGuard.readYourWrites("OTHER123", () -> currentDatabase(true)))
+                .isEqualTo("flight_system_replica");
+    }
+
+    @Test
+    void writesPinTheClientToThePrimaryOnEveryInstance() {
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        inRequest(new MockHttpServletRequest(), writeResponse, () -> {
+            replicaLagGuard.recordWrite("PINNED01");
+            return null;
+        });
+        Cookie pin = writeResponse.getCookie(ReplicaLagGuard.PIN_COOKIE);
+        assertThat(pin).isNotNull();
+
+        ReplicaLagGuard otherInstance = new ReplicaLagGuard(Duration.ofMinutes(1));
+
+        assertThat(readOnOtherInstance(otherInstance, pin)).isEqualTo("flight_system");
+        assertThat(readOnOtherInstance(otherInstance, null)).isEqualTo("flight_system_replica");
+    }
+
+    @Test
+    void ignoresExpiredAndForgedPins() {
+        ReplicaLagGuard otherInstance = new ReplicaLagGuard(Duration.ofMinutes(1));
+        long now = System.currentTimeMillis();
+
+        Cookie expired = new Cookie(ReplicaLagGuard.PIN_COOKIE, Long.toString(now - 1000));
+        Cookie tooFarOut = new Cookie(ReplicaLagGuard.PIN_COOKIE, Long.toString(now + Duration.ofDays(1).toMillis()));
+        Cookie malformed = new Cookie(ReplicaLagGuard.PIN_COOKIE, "soon");
+
+        assertThat(readOnOtherInstance(otherInstance, expired)).isEqualTo("flight_system_replica");
+        assertThat(readOnOtherInstance(otherInstance, tooFarOut)).isEqualTo("flight_system_replica");
+        assertThat(readOnOtherInstance(otherInstance, malformed)).isEqualTo("flight_system_replica");
+    }
+
+    private String readOnOtherInstance(ReplicaLagGuard otherInstance, Cookie pin) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (pin != null) {
+            request.setCookies(pin);
+        }
+        return inRequest(request, new MockHttpServletResponse(),
+                () -> otherInstance.readYourWrites("PINNED01", () -> currentDatabase(true)));
+    }
+
+    private static <T> T inRequest(MockHttpServletRequest request, MockHttpServletResponse response,
+                                   Supplier<T> action) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        try {
+            return action.get();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class))
+                .toLowerCase();
+    }
+}
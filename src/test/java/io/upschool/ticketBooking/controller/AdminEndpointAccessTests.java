@@ -0,0 +1,66 @@
+package io.upschool.ticketBooking.controller;
+
+import io.upschool.ticketBooking.config.AdminAccessGuard;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Operator-only endpoints outside /api/admin. The test configuration sets booking.admin.token to
+ * test-admin-token.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AdminEndpointAccessTests {
+    private static final String ADMIN_TOKEN = "test-admin-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void streamsPassengerDataOnlyWithTheAdminToken() throws Exception {
+        mockMvc.perform(get("/api/tickets/export"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.errorMessage").value("Invalid admin token."));
+        mockMvc.perform(get("/api/flights/1/manifest").header(AdminAccessGuard.TOKEN_HEADER, "guess"))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/api/tickets/export").header(AdminAccessGuard.TOKEN_HEADER, ADMIN_TOKEN))
+                .andExpect(request().asyncStarted());
+        mockMvc.perform(get("/api/flights/-1/manifest").header(AdminAccessGuard.TOKEN_HEADER, ADMIN_TOKEN))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void closesAGateOnlyWithTheAdminToken() throws Exception {
+        mockMvc.perform(post("/api/flights/-1/gate-close"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/flights/-1/gate-close").header(AdminAccessGuard.TOKEN_HEADER, ADMIN_TOKEN))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void importsAScheduleOnlyWithTheAdminToken() throws Exception {
+        mockMvc.perform(post("/api/imports/schedule").content(""))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/imports/schedule").content("").header(AdminAccessGuard.TOKEN_HEADER, ADMIN_TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.failedRows").value(0));
+    }
+
+    @Test
+    void refreshesAnalyticsOnlyWithTheAdminToken() throws Exception {
+        mockMvc.perform(post("/api/analytics/refresh").header(AdminAccessGuard.TOKEN_HEADER, "guess"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/analytics/refresh").header(AdminAccessGuard.TOKEN_HEADER, ADMIN_TOKEN))
+                .andExpect(status().isOk());
+    }
+}
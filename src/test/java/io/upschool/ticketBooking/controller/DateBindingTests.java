@@ -0,0 +1,89 @@
+package io.upschool.ticketBooking.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.upschool.ticketBooking.dto.request.AirportSaveRequest;
+import io.upschool.ticketBooking.service.AirportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class DateBindingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AirportService airportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void bindsRouteDatesAndTimesFromTheRequestBody() throws Exception {
+        Long departureId = airportService.save(new AirportSaveRequest("Binding Airport 1", "DB1", "Binding City 1"))
+                .getAirportId();
+        Long arrivalId = airportService.save(new AirportSaveRequest("Binding Airport 2", "DB2", "Binding City 2"))
+                .getAirportId();
+
+        mockMvc.perform(post("/api/routes").contentType(MediaType.APPLICATION_JSON)
+                        .content(route(departureId, arrivalId, "2031-04-01", "08:15", "2031-04-01", "10:05")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.departureDateTime").value("2031-04-01T08:15:00"));
+        mockMvc.perform(post("/api/routes").contentType(MediaType.APPLICATION_JSON)
+                        .content(route(departureId, arrivalId, "2031-02-30", "08:15", "2031-04-01", "10:05")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value("Invalid date format. Use yyyy-MM-dd"));
+        mockMvc.perform(post("/api/routes").contentType(MediaType.APPLICATION_JSON)
+                        .content(route(departureId, arrivalId, "2031-04-02", "8:15", "2031-04-02", "10:05")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value("Invalid time format. Use HH:mm"));
+    }
+
+    @Test
+    void rejectsMalformedSearchDates() throws Exception {
+        mockMvc.perform(get("/api/flights")
+                        .param("departureKey", "binding")
+                        .param("arrivalKey", "binding")
+                        .param("departureDate", "01.04.2031"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value("Invalid date format. Use yyyy-MM-dd"));
+    }
+
+    @Test
+    void bindsBlankSearchParametersLikeAbsentOnes() throws Exception {
+        mockMvc.perform(get("/api/flights")
+                        .param("departureKey", "")
+                        .param("arrivalKey", "")
+                        .param("departureDate", ""))
+                .andExpect(result -> assertThat(result.getResponse().getStatus()).isIn(200, 404))
+                .andExpect(jsonPath("$.errorMessage").value(not("Invalid date format. Use yyyy-MM-dd")));
+    }
+
+    @Test
+    void leavesOtherJsonDatesAndTimesToJackson() throws Exception {
+        assertThat(objectMapper.readValue("\"10:05:30\"", LocalTime.class)).isEqualTo(LocalTime.of(10, 5, 30));
+        assertThat(objectMapper.readValue("\"2031-04-01\"", LocalDate.class)).isEqualTo(LocalDate.of(2031, 4, 1));
+    }
+
+    private static String route(Long departureId, Long arrivalId, String departureDate, String departureTime,
+                                String arrivalDate, String arrivalTime) {
+        return "{\"departureAirportId\":" + departureId + ",\"arrivalAirportId\":" + arrivalId +
+                ",\"departureDate\":\"" + departureDate + "\",\"departureTime\":\"" + departureTime +
+                "\",\"arrivalDate\":\"" + arrivalDate + "\",\"arrivalTime\":\"" + arrivalTime + "\"}";
+    }
+}
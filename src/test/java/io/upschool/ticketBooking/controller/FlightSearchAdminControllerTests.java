@@ -0,0 +1,69 @@
+package io.upschool.ticketBooking.controller;
+
+import io.upschool.ticketBooking.config.AdminAccessGuard;
+import io.upschool.ticketBooking.exception.AdminAccessDeniedException;
+import io.upschool.ticketBooking.service.FlightSearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The test configuration sets booking.admin.token to test-admin-token.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class FlightSearchAdminControllerTests {
+    private static final String ADMIN_TOKEN = "test-admin-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @SpyBean
+    private FlightSearchService flightSearchService;
+
+    @Test
+    void refusesRequestsWithoutTheAdminToken() throws Exception {
+        mockMvc.perform(post("/api/admin/flight-search/rebuild"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.errorMessage").value("Invalid admin token."));
+        mockMvc.perform(post("/api/admin/flight-search/repair").header(AdminAccessGuard.TOKEN_HEADER, "guess"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/admin/flight-search/check").header(AdminAccessGuard.TOKEN_HEADER, ""))
+                .andExpect(status().isForbidden());
+
+        verify(flightSearchService, never()).rebuild();
+        verify(flightSearchService, never()).repair();
+        verify(flightSearchService, never()).check();
+    }
+
+    @Test
+    void servesRequestsWithTheAdminToken() throws Exception {
+        mockMvc.perform(post("/api/admin/flight-search/repair").header(AdminAccessGuard.TOKEN_HEADER, ADMIN_TOKEN))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/admin/flight-search/check").header(AdminAccessGuard.TOKEN_HEADER, ADMIN_TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.consistent").value(true));
+    }
+
+    @Test
+    void refusesEveryTokenWhileNoneIsConfigured() {
+        AdminAccessGuard guard = new AdminAccessGuard("");
+
+        assertThatThrownBy(() -> guard.verify(""))
+                .isInstanceOf(AdminAccessDeniedException.class)
+                .hasMessage("Admin endpoints are disabled.");
+        assertThatThrownBy(() -> guard.verify(null))
+                .isInstanceOf(AdminAccessDeniedException.class);
+    }
+}
@@ -0,0 +1,118 @@
+package io.upschool.ticketBooking.controller;
+
+import io.upschool.ticketBooking.ScheduleFixture;
+import io.upschool.ticketBooking.dto.request.TicketPurchaseRequest;
+import io.upschool.ticketBooking.service.TicketService;
+import io.upschool.ticketBooking.sqlstats.QueryStats;
+import io.upschool.ticketBooking.sqlstats.QueryStatsHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the hot endpoints with booking.sql.enforce-budgets=true, so any request that executes more
+ * statements than its {@code @QueryBudget} fails here.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryBudgetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ScheduleFixture scheduleFixture;
+
+    @Autowired
+    private TicketService ticketService;
+
+    private Long flightId;
+
+    @BeforeEach
+    void seedSchedule() {
+        StringBuilder schedule = new StringBuilder();
+        for (int i = 1; i <= 3; i++) {
+            schedule.append("{\"type\":\"airport\",\"code\":\"QB").append(i)
+                    .append("\",\"name\":\"Budget Airport ").append(i)
+                    .append("\",\"location\":\"Budget City ").append(i).append("\"}\n");
+        }
+        for (int day = 1; day <= 5; day++) {
+            String date = "2031-01-0" + day;
+            schedule.append("{\"type\":\"route\",\"departureAirportCode\":\"QB").append(day % 3 + 1)
+                    .append("\",\"arrivalAirportCode\":\"QB").append((day + 1) % 3 + 1)
+                    .append("\",\"departureDate\":\"").append(date).append("\",\"departureTime\":\"09:00\"")
+                    .append(",\"arrivalDate\":\"").append(date).append("\",\"arrivalTime\":\"11:00\"}\n");
+            schedule.append("{\"type\":\"flight\",\"airlineCode\":\"QBT\",\"departureAirportCode\":\"QB")
+                    .append(day % 3 + 1).append("\",\"arrivalAirportCode\":\"QB").append((day + 1) % 3 + 1)
+                    .append("\",\"departureDate\":\"").append(date).append("\",\"departureTime\":\"09:00\"")
+                    .append(",\"capacity\":400,\"ticketBasePrice\":100}\n");
+        }
+        scheduleFixture.seedOnce("Query Budget Air", "QBT", schedule.toString());
+        flightId = jdbcTemplate.queryForObject("SELECT MIN(flight_id) FROM flight_search WHERE airline_code = 'QBT'",
+                Long.class);
+    }
+
+    @Test
+    void searchEndpointsStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/flights")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/flights")
+                        .param("departureKey", "budget")
+                        .param("arrivalKey", "budget")
+                        .param("departureDate", "2031-01-01"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/routes")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/airports").param("searchKey", "qb")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/airlines").param("searchKey", "qbt")).andExpect(status().isOk());
+    }
+
+    @Test
+    void ticketEndpointsStayWithinBudget() throws Exception {
+        String purchase = "{\"passengerName\":\"Budget Passenger\",\"flightId\":" + flightId +
+                ",\"passengerCount\":1,\"ticketClass\":\"Business Class\",\"creditCardNumber\":\"4111111111111111\"}";
+        mockMvc.perform(post("/api/tickets/purchase").contentType(MediaType.APPLICATION_JSON).content(purchase))
+                .andExpect(status().isOk());
+        String checkedIn = purchaseTicket();
+        String cancelled = purchaseTicket();
+
+        mockMvc.perform(get("/api/tickets/" + checkedIn)).andExpect(status().isOk());
+        mockMvc.perform(post("/api/tickets/check-in/" + checkedIn)).andExpect(status().isOk());
+        mockMvc.perform(post("/api/tickets/cancel/" + cancelled)).andExpect(status().isOk());
+    }
+
+    @Test
+    void bulkCheckInIssuesTheSameStatementsForAnyNumberOfTickets() {
+        List<String> few = IntStream.range(0, 2).mapToObj(i -> purchaseTicket()).toList();
+        List<String> many = IntStream.range(0, 40).mapToObj(i -> purchaseTicket()).toList();
+
+        QueryStats fewStats = QueryStatsHolder.capture(() -> {
+            ticketService.checkInTickets(flightId, few);
+        });
+        QueryStats manyStats = QueryStatsHolder.capture(() -> {
+            ticketService.checkInTickets(flightId, many);
+        });
+
+        assertThat(manyStats.getQueryCount()).isEqualTo(fewStats.getQueryCount());
+        assertThat(manyStats.getRepeatedStatements(2)).isEmpty();
+    }
+
+    private String purchaseTicket() {
+        return ticketService.purchaseTicket(new TicketPurchaseRequest("Budget Passenger", flightId, 1,
+                "Business Class", "4111111111111111")).getTicketNumber();
+    }
+}
@@ -0,0 +1,126 @@
+package io.upschool.ticketBooking.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.upschool.ticketBooking.ScheduleFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the /api/reactive searches over r2dbc-h2 against the same database as JPA and checks that
+ * they stream what the blocking searches return.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReactiveSearchControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ScheduleFixture scheduleFixture;
+
+    @BeforeEach
+    void seedSchedule() {
+        scheduleFixture.seedOnce("Reactive Air", "RSA", """
+                {"type":"airport","code":"RS1","name":"Reactive Airport 1","location":"Reactiveville"}
+                {"type":"airport","code":"RS2","name":"Reactive Airport 2","location":"Streamington"}
+                {"type":"route","departureAirportCode":"RS1","arrivalAirportCode":"RS2","departureDate":"2031-10-10","departureTime":"09:00","arrivalDate":"2031-10-10","arrivalTime":"11:00"}
+                {"type":"route","departureAirportCode":"RS2","arrivalAirportCode":"RS1","departureDate":"2031-10-11","departureTime":"09:00","arrivalDate":"2031-10-11","arrivalTime":"11:00"}
+                {"type":"flight","airlineCode":"RSA","departureAirportCode":"RS1","arrivalAirportCode":"RS2","departureDate":"2031-10-10","departureTime":"09:00","capacity":30,"ticketBasePrice":120}
+                {"type":"flight","airlineCode":"RSA","departureAirportCode":"RS2","arrivalAirportCode":"RS1","departureDate":"2031-10-11","departureTime":"09:00","capacity":40,"ticketBasePrice":130}
+                """);
+    }
+
+    @Test
+    void streamsTheSameFlightsAsTheBlockingSearch() throws Exception {
+        List<JsonNode> flights = stream(get("/api/reactive/flights")
+                .param("departureKey", "reactive")
+                .param("arrivalKey", "stream")
+                .param("departureDate", "2031-10-10"));
+
+        assertThat(flights).hasSize(1);
+        assertThat(flights.get(0).get("airline").asText()).contains("RSA");
+        assertThat(flights).containsExactlyElementsOf(blocking(get("/api/flights")
+                .param("departureKey", "reactive")
+                .param("arrivalKey", "stream")
+                .param("departureDate", "2031-10-10")));
+    }
+
+    @Test
+    void streamsTheSameRoutesAsTheBlockingSearch() throws Exception {
+        List<JsonNode> routes = stream(get("/api/reactive/routes")
+                .param("departureKey", "Reactiveville")
+                .param("arrivalKey", "Reactiveville"));
+
+        assertThat(routes).hasSize(2);
+        assertThat(routes).containsExactlyElementsOf(blocking(get("/api/routes")
+                .param("departureKey", "Reactiveville")
+                .param("arrivalKey", "Reactiveville")));
+    }
+
+    @Test
+    void reportsEmptySearchesAsNotFound() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/reactive/flights")
+                        .param("departureKey", "reactive")
+                        .param("arrivalKey", "stream")
+                        .param("departureDate", "2031-10-12"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorMessage").value("Flight not found."));
+    }
+
+    private List<JsonNode> stream(MockHttpServletRequestBuilder search) throws Exception {
+        MvcResult result = mockMvc.perform(search)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                rows.add(objectMapper.readTree(line));
+            }
+        }
+        return rows;
+    }
+
+    private List<JsonNode> blocking(MockHttpServletRequestBuilder search) throws Exception {
+        String body = mockMvc.perform(search)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        List<JsonNode> rows = new ArrayList<>();
+        objectMapper.readTree(body).get("data").forEach(rows::add);
+        return rows;
+    }
+}
@@ -0,0 +1,47 @@
+package io.upschool.ticketBooking.exception;
+
+import io.upschool.ticketBooking.service.BaseResponseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandleTests {
+    private final GlobalExceptionHandle handler = new GlobalExceptionHandle(new BaseResponseService());
+    private final WebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+
+    @Test
+    void sharesTheResponseOfAnErrorWithAFixedMessage() {
+        var first = handler.handleBookingException(new FlightNotFoundException("Flight not found."), request);
+        var second = handler.handleBookingException(new FlightNotFoundException("Flight not found."), request);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getStatusCode().value()).isEqualTo(404);
+        assertThat(first.getBody().getErrorMessage()).isEqualTo("Flight not found.");
+    }
+
+    @Test
+    void buildsTheResponseOfAnErrorEchoingInputPerRequest() {
+        var first = handler.handleBookingException(new InvalidTicketClassException("Unsupported ticket class: x"),
+                request);
+        var second = handler.handleBookingException(new InvalidTicketClassException("Unsupported ticket class: x"),
+                request);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getBody().getErrorMessage()).isEqualTo("Unsupported ticket class: x");
+    }
+
+    @Test
+    void keysTheSharedResponsesByExceptionTypeAsWellAsMessage() {
+        var route = handler.handleBookingException(new RouteValidationException("Required fields cannot be left blank"),
+                request);
+        var ticket = handler.handleBookingException(
+                new TicketValidationException("Required fields cannot be left blank"), request);
+
+        assertThat(ticket).isNotSameAs(route);
+        assertThat(ticket).isSameAs(handler.handleBookingException(
+                new TicketValidationException("Required fields cannot be left blank"), request));
+    }
+}
@@ -0,0 +1,61 @@
+package io.upschool.ticketBooking.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordingSummaryTests {
+
+    @Test
+    void summarizesBookingEventsRecordedWithTheBundledSettings(@TempDir Path directory) throws Exception {
+        Configuration configuration;
+        try (Reader reader = new InputStreamReader(new ClassPathResource(BookingRecording.SETTINGS).getInputStream(),
+                StandardCharsets.UTF_8)) {
+            configuration = Configuration.create(reader);
+        }
+        Path file = directory.resolve("booking.jfr");
+        try (Recording recording = new Recording(configuration)) {
+            recording.start();
+            for (int i = 0; i < 3; i++) {
+                SeatReservationEvent reservation = new SeatReservationEvent();
+                reservation.begin();
+                reservation.flightId = 42;
+                reservation.seatsRequested = 2;
+                reservation.outcome = i == 2 ? "SOLD_OUT" : "RESERVED";
+                reservation.commit();
+            }
+            FlightSearchEvent search = new FlightSearchEvent();
+            search.departureKey = "ist";
+            search.arrivalKey = "izm";
+            search.resultCount = 0;
+            search.commit();
+            for (boolean hit : new boolean[]{true, true, true, false}) {
+                CacheLookupEvent lookup = new CacheLookupEvent();
+                lookup.cache = "recent-writes";
+                lookup.hit = hit;
+                lookup.commit();
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+
+        String report = RecordingSummary.of(file).format();
+
+        assertThat(report)
+                .containsPattern("Seat Reservation +count=3 ")
+                .contains("Seat reservations (1 sold out)")
+                .containsPattern("  42 +count=3 ")
+                .contains("Flight searches (1 empty)")
+                .containsPattern("ist -> izm +count=1 ")
+                .containsPattern("recent-writes +hits=3 misses=1 hit-ratio=0.75");
+    }
+}
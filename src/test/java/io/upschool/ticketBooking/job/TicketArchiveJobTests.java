@@ -0,0 +1,78 @@
+package io.upschool.ticketBooking.job;
+
+import io.upschool.ticketBooking.dto.request.AirlineSaveRequest;
+import io.upschool.ticketBooking.dto.request.TicketPurchaseRequest;
+import io.upschool.ticketBooking.enums.ScheduleImportFormat;
+import io.upschool.ticketBooking.service.AirlineService;
+import io.upschool.ticketBooking.service.ScheduleImportService;
+import io.upschool.ticketBooking.service.TicketArchiveService;
+import io.upschool.ticketBooking.service.TicketService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TicketArchiveJobTests {
+
+    @Autowired
+    private TicketArchiveJob ticketArchiveJob;
+
+    @Autowired
+    private TicketArchiveService ticketArchiveService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private AirlineService airlineService;
+
+    @Autowired
+    private ScheduleImportService scheduleImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void archivesOnlyWhileNoOtherInstanceHoldsTheLease() {
+        Long flightId = seedFlight();
+        String ticketNumber = ticketService.purchaseTicket(new TicketPurchaseRequest("Archived Passenger", flightId, 1,
+                "Business Class", "4111111111111111")).getTicketNumber();
+        ticketService.cancelTicket(ticketNumber);
+        jdbcTemplate.update("INSERT INTO job_leases (job_name, owner, lease_expires_at) " +
+                        "VALUES (?, 'archive-other-node', TIMESTAMPADD(MINUTE, 5, CURRENT_TIMESTAMP(3)))",
+                TicketArchiveJob.LEASE_NAME);
+        try {
+            ticketArchiveJob.archiveTickets();
+            assertThat(ticketArchiveService.isArchived(ticketNumber)).isFalse();
+        } finally {
+            jdbcTemplate.update("DELETE FROM job_leases WHERE job_name = ?", TicketArchiveJob.LEASE_NAME);
+        }
+
+        ticketArchiveJob.archiveTickets();
+
+        assertThat(ticketArchiveService.isArchived(ticketNumber)).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tickets WHERE ticket_number = ?",
+                Integer.class, ticketNumber)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM job_leases WHERE job_name = ?",
+                Integer.class, TicketArchiveJob.LEASE_NAME)).isZero();
+    }
+
+    private Long seedFlight() {
+        airlineService.save(new AirlineSaveRequest("Archive Air", "ARV"));
+        String schedule = """
+                {"type":"airport","code":"AV1","name":"Archive Airport 1","location":"Archive City 1"}
+                {"type":"airport","code":"AV2","name":"Archive Airport 2","location":"Archive City 2"}
+                {"type":"route","departureAirportCode":"AV1","arrivalAirportCode":"AV2","departureDate":"2031-07-10","departureTime":"09:00","arrivalDate":"2031-07-10","arrivalTime":"11:00"}
+                {"type":"flight","airlineCode":"ARV","departureAirportCode":"AV1","arrivalAirportCode":"AV2","departureDate":"2031-07-10","departureTime":"09:00","capacity":20,"ticketBasePrice":100}
+                """;
+        scheduleImportService.importSchedule(new ByteArrayInputStream(schedule.getBytes(StandardCharsets.UTF_8)),
+                ScheduleImportFormat.NDJSON);
+        return jdbcTemplate.queryForObject("SELECT flight_id FROM flight_search WHERE airline_code = 'ARV'", Long.class);
+    }
+}
@@ -0,0 +1,40 @@
+package io.upschool.ticketBooking.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs on a real Tomcat, since the forwarded client address is resolved by its RemoteIpValve before any
+ * filter runs. The test client connects from loopback, which is a trusted internal proxy by default.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"booking.ratelimit.search.rate=0.001", "booking.ratelimit.search.burst=1"})
+class ForwardedClientAddressTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void givesEachForwardedClientItsOwnBucket() {
+        assertThat(search("203.0.113.10").getStatusCode().value()).isNotEqualTo(429);
+        assertThat(search("203.0.113.10").getStatusCode().value()).isEqualTo(429);
+
+        assertThat(search("203.0.113.11").getStatusCode().value()).isNotEqualTo(429);
+        assertThat(search("198.51.100.7, 203.0.113.12").getStatusCode().value()).isNotEqualTo(429);
+    }
+
+    private ResponseEntity<String> search(String forwardedFor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Forwarded-For", forwardedFor);
+        return restTemplate.exchange("/api/routes?departureKey=nowhere&arrivalKey=nowhere", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+    }
+}
@@ -0,0 +1,68 @@
+package io.upschool.ticketBooking.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTests {
+    private final RateLimitFilter filter = new RateLimitFilter(new ObjectMapper(), true, 0.001, 2, 0.001, 1,
+            new String[]{"partner-key", " other-partner "}, 1000);
+
+    @Test
+    void limitsUnknownApiKeysByRemoteAddress() throws ServletException, IOException {
+        assertThat(search("10.0.0.1", "key-1").getStatus()).isEqualTo(200);
+        assertThat(search("10.0.0.1", "key-2").getStatus()).isEqualTo(200);
+        MockHttpServletResponse rejected = search("10.0.0.1", "key-3");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isNotBlank();
+        assertThat(rejected.getContentAsString()).contains("Too many requests");
+        assertThat(search("10.0.0.2", null).getStatus()).isEqualTo(200);
+        assertThat(filter.getTrackedClientCount()).isEqualTo(2);
+    }
+
+    @Test
+    void givesRegisteredApiKeysTheirOwnBudget() throws ServletException, IOException {
+        search("10.0.0.3", null);
+        search("10.0.0.3", null);
+        assertThat(search("10.0.0.3", null).getStatus()).isEqualTo(429);
+
+        assertThat(search("10.0.0.3", "partner-key").getStatus()).isEqualTo(200);
+        assertThat(search("10.0.0.3", "other-partner").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void usesTheSmallerBudgetForPurchasesAndLeavesOtherPathsAlone() throws ServletException, IOException {
+        assertThat(send("POST", "/api/tickets/purchase", "10.0.0.4", null).getStatus()).isEqualTo(200);
+        assertThat(send("POST", "/api/tickets/purchase", "10.0.0.4", null).getStatus()).isEqualTo(429);
+        assertThat(search("10.0.0.4", null).getStatus()).isEqualTo(200);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(send("GET", "/actuator/health", "10.0.0.4", null).getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse search(String remoteAddress, String apiKey) throws ServletException, IOException {
+        return send("GET", "/api/flights/search", remoteAddress, apiKey);
+    }
+
+    private MockHttpServletResponse send(String method, String path, String remoteAddress, String apiKey)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(remoteAddress);
+        if (apiKey != null) {
+            request.addHeader(RateLimitFilter.API_KEY_HEADER, apiKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
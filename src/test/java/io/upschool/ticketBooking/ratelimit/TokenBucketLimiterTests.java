@@ -0,0 +1,61 @@
+package io.upschool.ticketBooking.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketLimiterTests {
+
+    @Test
+    void admitsABurstPerKeyAndThenReportsTheWaitForTheNextToken() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(0.5, 3, 100);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("a")).isZero();
+        }
+        long wait = limiter.tryAcquire("a");
+        assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(2));
+        assertThat(limiter.tryAcquire("b")).isZero();
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() throws InterruptedException {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, 1, 100);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        Thread.sleep(250);
+        assertThat(limiter.tryAcquire("a")).isZero();
+    }
+
+    @Test
+    void evictsOnlyKeysWhoseBucketsAreFull() throws InterruptedException {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(100, 1, 100);
+        TokenBucketLimiter slowLimiter = new TokenBucketLimiter(0.001, 1, 100);
+
+        limiter.tryAcquire("a");
+        slowLimiter.tryAcquire("a");
+        Thread.sleep(20);
+
+        assertThat(limiter.evictIdle(0)).isEqualTo(1);
+        assertThat(limiter.size()).isZero();
+        assertThat(slowLimiter.evictIdle(0)).isZero();
+        assertThat(slowLimiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void sendsNewKeysToASharedBucketOnceTheTableIsFull() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(0.001, 2, 2);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("b")).isZero();
+        assertThat(limiter.tryAcquire("c")).isZero();
+        assertThat(limiter.tryAcquire("d")).isZero();
+        assertThat(limiter.tryAcquire("e")).isPositive();
+        assertThat(limiter.size()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+}
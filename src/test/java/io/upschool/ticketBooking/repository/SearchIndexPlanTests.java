@@ -0,0 +1,174 @@
+package io.upschool.ticketBooking.repository;
+
+import io.upschool.ticketBooking.entity.Airline;
+import io.upschool.ticketBooking.entity.Airport;
+import io.upschool.ticketBooking.entity.Route;
+import io.upschool.ticketBooking.sqlstats.QueryStats;
+import io.upschool.ticketBooking.sqlstats.QueryStatsHolder;
+import io.upschool.ticketBooking.utils.SearchKeyUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Explains the statements the repositories actually send, with the same parameters bound, so a change
+ * to a derived query that stops it using its index fails here.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SearchIndexPlanTests {
+    private static final LocalDate FIRST_DATE = LocalDate.of(2024, 1, 1);
+    private static final LocalTime DEPARTURE_TIME = LocalTime.of(10, 30);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AirportRepository airportRepository;
+
+    @Autowired
+    private AirlineRepository airlineRepository;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private FlightSearchRepository flightSearchRepository;
+
+    /**
+     * H2 costs plans from table statistics, so seed a realistic spread of rows before asking for plans.
+     * ANALYZE commits, so the rows are deleted again afterwards instead of rolled back.
+     */
+    @BeforeAll
+    void seedAndAnalyze() {
+        for (int i = 1; i <= 20; i++) {
+            jdbcTemplate.update("INSERT INTO airports (airport_name, airport_code, airport_location, " +
+                            "airport_name_normalized, airport_code_normalized, airport_location_normalized) " +
+                            "VALUES (?, ?, ?, ?, ?, ?)",
+                    "Plan Airport " + i, "PLAN" + i, "PLANCITY" + i, "plan airport " + i, "plan" + i, "plancity" + i);
+            jdbcTemplate.update("INSERT INTO airlines (airline_name, airline_code, " +
+                            "airline_name_normalized, airline_code_normalized) VALUES (?, ?, ?, ?)",
+                    "Plan Airline " + i, "PL" + i, "plan airline " + i, "pl" + i);
+        }
+        Long firstAirportId = jdbcTemplate.queryForObject(
+                "SELECT airport_id FROM airports WHERE airport_code = 'PLAN1'", Long.class);
+        for (int i = 0; i < 2000; i++) {
+            Date date = Date.valueOf(FIRST_DATE.plusDays(i % 90));
+            jdbcTemplate.update("INSERT INTO routes (departure_airport_id, arrival_airport_id, departure_date, " +
+                            "departure_time, arrival_date, arrival_time) VALUES (?, ?, ?, ?, ?, ?)",
+                    firstAirportId + i % 20, firstAirportId + (i + 1) % 20, date,
+                    Time.valueOf(DEPARTURE_TIME), date, Time.valueOf("12:30:00"));
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    void deleteSeededRows() {
+        jdbcTemplate.update("DELETE FROM routes WHERE departure_airport_id IN " +
+                "(SELECT airport_id FROM airports WHERE airport_name LIKE 'Plan Airport %')");
+        jdbcTemplate.update("DELETE FROM airports WHERE airport_name LIKE 'Plan Airport %'");
+        jdbcTemplate.update("DELETE FROM airlines WHERE airline_name LIKE 'Plan Airline %'");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void airportSearchAndDuplicateChecksUseIndexes() {
+        String prefix = SearchKeyUtils.toPrefixPattern("Plan1");
+        QueryStatsHolder.Captured<List<Airport>> search =
+                QueryStatsHolder.capture(() -> airportRepository.findByCodeOrNamePrefix(prefix));
+        assertThat(search.result()).extracting(Airport::getAirportCode)
+                .contains("PLAN1", "PLAN10", "PLAN19").hasSize(11);
+        assertThat(explain(search.stats(), prefix, prefix))
+                .contains("idx_airports_code_normalized", "idx_airports_name_normalized")
+                .doesNotContain("tablescan");
+
+        assertThat(explain(QueryStatsHolder.capture(() ->
+                airportRepository.existsByAirportNameNormalized("plan airport 1")).stats(), "plan airport 1", 1))
+                .contains("idx_airports_name_normalized");
+        assertThat(explain(QueryStatsHolder.capture(() ->
+                airportRepository.existsByAirportCodeNormalized("plan1")).stats(), "plan1", 1))
+                .contains("idx_airports_code_normalized");
+    }
+
+    @Test
+    void airlineSearchAndDuplicateChecksUseIndexes() {
+        String prefix = SearchKeyUtils.toPrefixPattern("plan airline 2");
+        QueryStatsHolder.Captured<List<Airline>> search =
+                QueryStatsHolder.capture(() -> airlineRepository.findByCodeOrNamePrefix(prefix));
+        assertThat(search.result()).extracting(Airline::getAirlineCode).containsExactlyInAnyOrder("PL2", "PL20");
+        assertThat(explain(search.stats(), prefix, prefix))
+                .contains("idx_airlines_code_normalized", "idx_airlines_name_normalized")
+                .doesNotContain("tablescan");
+
+        assertThat(explain(QueryStatsHolder.capture(() ->
+                airlineRepository.existsByAirlineCodeNormalized("pl1")).stats(), "pl1", 1))
+                .contains("idx_airlines_code_normalized");
+        assertThat(explain(QueryStatsHolder.capture(() ->
+                airlineRepository.existsByAirlineNameNormalized("plan airline 1")).stats(), "plan airline 1", 1))
+                .contains("idx_airlines_name_normalized");
+    }
+
+    @Test
+    void routeLookupsUseIndexes() {
+        QueryStatsHolder.Captured<List<Route>> search = QueryStatsHolder.capture(() ->
+                routeRepository.findByDepartureOrArrivalLocation("plancity1", "plancity3"));
+        assertThat(search.result()).hasSize(200);
+        assertThat(explain(search.stats(), "plancity1", "plancity3"))
+                .contains("idx_airports_location_normalized", "fk_routes_departure_airport", "fk_routes_arrival_airport")
+                .doesNotContain("tablescan");
+
+        Long airportId = jdbcTemplate.queryForObject(
+                "SELECT airport_id FROM airports WHERE airport_code = 'PLAN1'", Long.class);
+        QueryStats exists = QueryStatsHolder.capture(() -> routeRepository
+                .existsByDepartureAirportIdAndArrivalAirportIdAndDepartureDateAndDepartureTime(
+                        airportId, airportId + 1, FIRST_DATE, DEPARTURE_TIME)).stats();
+        assertThat(explain(exists, airportId, airportId + 1, Date.valueOf(FIRST_DATE), Time.valueOf(DEPARTURE_TIME), 1))
+                .contains("idx_routes_departure_arrival_date");
+    }
+
+    @Test
+    void flightExistenceCheckUsesRouteAirlineIndex() {
+        assertThat(explain(QueryStatsHolder.capture(() ->
+                flightRepository.existsByRouteIdAndAirlineId(1L, 2L)).stats(), 1L, 2L, 1))
+                .contains("idx_flights_route_airline");
+    }
+
+    @Test
+    void flightSearchReadModelUsesDateLocationIndex() {
+        QueryStats stats = QueryStatsHolder.capture(() -> flightSearchRepository
+                .findByDepartureDateAndDepartureLocationNormalizedStartingWithAndArrivalLocationNormalizedStartingWith(
+                        FIRST_DATE, "plancity1", "plancity2")).stats();
+        assertThat(explain(stats, Date.valueOf(FIRST_DATE), "plancity1%", "plancity2%"))
+                .contains("idx_flight_search_date_locations");
+    }
+
+    /**
+     * Explains the single statement captured from a repository call.
+     *
+     * @param stats The statements the call executed.
+     * @param args  The values to bind to the statement's parameters, in order.
+     * @return The plan, lower-cased.
+     */
+    private String explain(QueryStats stats, Object... args) {
+        Map<String, Integer> statements = stats.getRepeatedStatements(1);
+        assertThat(statements).hasSize(1);
+        String sql = statements.keySet().iterator().next();
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args).toLowerCase();
+    }
+}
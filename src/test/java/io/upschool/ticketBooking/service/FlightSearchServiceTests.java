@@ -0,0 +1,162 @@
+package io.upschool.ticketBooking.service;
+
+import io.upschool.ticketBooking.ScheduleFixture;
+import io.upschool.ticketBooking.dto.request.FlightSaveRequest;
+import io.upschool.ticketBooking.dto.request.TicketPurchaseRequest;
+import io.upschool.ticketBooking.dto.response.FlightSearchCheckResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Other tests share the database, so the checks below only look at the flights seeded here.
+ */
+@SpringBootTest
+class FlightSearchServiceTests {
+
+    @Autowired
+    private FlightSearchService flightSearchService;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private ScheduleFixture scheduleFixture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedSchedule() {
+        // The route of 2031-12-11 gets its flight through FlightService.save instead.
+        boolean seeded = scheduleFixture.seedOnce("Flight Search Air", "FSC", """
+                {"type":"airport","code":"FS1","name":"Flight Search Airport 1","location":"Flight Search City 1"}
+                {"type":"airport","code":"FS2","name":"Flight Search Airport 2","location":"Flight Search City 2"}
+                {"type":"route","departureAirportCode":"FS1","arrivalAirportCode":"FS2","departureDate":"2031-12-10","departureTime":"09:00","arrivalDate":"2031-12-10","arrivalTime":"11:00"}
+                {"type":"route","departureAirportCode":"FS1","arrivalAirportCode":"FS2","departureDate":"2031-12-11","departureTime":"09:00","arrivalDate":"2031-12-11","arrivalTime":"11:00"}
+                {"type":"flight","airlineCode":"FSC","departureAirportCode":"FS1","arrivalAirportCode":"FS2","departureDate":"2031-12-10","departureTime":"09:00","capacity":30,"ticketBasePrice":100}
+                """);
+        if (seeded) {
+            Long airlineId = jdbcTemplate.queryForObject(
+                    "SELECT airline_id FROM airlines WHERE airline_code = 'FSC'", Long.class);
+            flightService.save(new FlightSaveRequest(routeId("2031-12-11"), airlineId, 40, new BigDecimal("120.00")));
+        }
+    }
+
+    @Test
+    void writePathsKeepTheSearchRowsInStepWithTheirFlights() {
+        Long importedFlightId = flightId("2031-12-10");
+        Long savedFlightId = flightId("2031-12-11");
+        assertThat(searchRow(importedFlightId))
+                .containsEntry("route_id", routeId("2031-12-10"))
+                .containsEntry("airline_code", "FSC")
+                .containsEntry("departure_airport_code", "FS1")
+                .containsEntry("arrival_location", "FLIGHT SEARCH CITY 2")
+                .containsEntry("capacity", 30);
+        assertThat(searchRow(savedFlightId))
+                .containsEntry("route_id", routeId("2031-12-11"))
+                .containsEntry("capacity", 40);
+        int seats = remainingSeats(savedFlightId);
+
+        String ticketNumber = ticketService.purchaseTicket(new TicketPurchaseRequest("Search Row Passenger",
+                savedFlightId, 3, "Business Class", "4111111111111111")).getTicketNumber();
+        assertThat(remainingSeats(savedFlightId)).isEqualTo(seats - 3);
+        assertThat(searchRow(savedFlightId)).containsEntry("remaining_seats", seats - 3);
+
+        ticketService.cancelTicket(ticketNumber);
+        assertThat(remainingSeats(savedFlightId)).isEqualTo(seats);
+        assertThat(searchRow(savedFlightId)).containsEntry("remaining_seats", seats);
+
+        assertThat(flaggedFlightIds(flightSearchService.check()))
+                .doesNotContain(importedFlightId, savedFlightId);
+    }
+
+    @Test
+    void checkFindsMissingStaleAndOrphanedRowsAndRepairRewritesThem() {
+        Long missingFlightId = flightId("2031-12-10");
+        Long staleFlightId = flightId("2031-12-11");
+        Long orphanedFlightId = jdbcTemplate.queryForObject("SELECT MAX(flight_id) FROM flights", Long.class) + 1000;
+        Map<String, Object> missingRow = searchRow(missingFlightId);
+        jdbcTemplate.update("DELETE FROM flight_search WHERE flight_id = ?", missingFlightId);
+        jdbcTemplate.update("UPDATE flight_search SET remaining_seats = remaining_seats - 5, airline_name = 'Stale Air' " +
+                "WHERE flight_id = ?", staleFlightId);
+        jdbcTemplate.update("INSERT INTO flight_search SELECT ?, route_id, airline_id, departure_airport_id, " +
+                "departure_airport_name, departure_airport_code, departure_location, departure_location_normalized, " +
+                "arrival_airport_id, arrival_airport_name, arrival_airport_code, arrival_location, " +
+                "arrival_location_normalized, departure_date, departure_time, arrival_date, arrival_time, " +
+                "airline_name, airline_code, capacity, remaining_seats, ticket_base_price " +
+                "FROM flight_search WHERE flight_id = ?", orphanedFlightId, staleFlightId);
+
+        FlightSearchCheckResponse check = flightSearchService.check();
+        assertThat(check.isConsistent()).isFalse();
+        assertThat(check.isRepaired()).isFalse();
+        assertThat(check.getMissingFlightIds()).contains(missingFlightId);
+        assertThat(check.getStaleFlightIds()).contains(staleFlightId);
+        assertThat(check.getOrphanedFlightIds()).contains(orphanedFlightId);
+        assertThat(flightSearchService.check().getMissingFlightIds()).contains(missingFlightId);
+
+        FlightSearchCheckResponse repair = flightSearchService.repair();
+        assertThat(repair.isRepaired()).isTrue();
+        assertThat(repair.getMissingFlightIds()).contains(missingFlightId);
+        assertThat(repair.getStaleFlightIds()).contains(staleFlightId);
+        assertThat(repair.getOrphanedFlightIds()).contains(orphanedFlightId);
+
+        assertThat(flaggedFlightIds(flightSearchService.check()))
+                .doesNotContain(missingFlightId, staleFlightId, orphanedFlightId);
+        assertThat(searchRow(missingFlightId)).isEqualTo(missingRow);
+        assertThat(searchRow(staleFlightId))
+                .containsEntry("airline_name", "Flight Search Air")
+                .containsEntry("remaining_seats", remainingSeats(staleFlightId));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM flight_search WHERE flight_id = ?",
+                Integer.class, orphanedFlightId)).isZero();
+    }
+
+    @Test
+    void rebuildCopiesEveryFlightAgain() {
+        Long flightId = flightId("2031-12-11");
+        jdbcTemplate.update("UPDATE flight_search SET departure_location = 'Nowhere' WHERE flight_id = ?", flightId);
+
+        int rebuilt = flightSearchService.rebuild();
+
+        assertThat(rebuilt).isEqualTo(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM flights", Integer.class));
+        assertThat(searchRow(flightId)).containsEntry("departure_location", "FLIGHT SEARCH CITY 1");
+        assertThat(flaggedFlightIds(flightSearchService.check())).doesNotContain(flightId);
+    }
+
+    private Long routeId(String departureDate) {
+        return jdbcTemplate.queryForObject("SELECT r.route_id FROM routes r " +
+                "JOIN airports a ON a.airport_id = r.departure_airport_id " +
+                "WHERE a.airport_code = 'FS1' AND r.departure_date = ?", Long.class, departureDate);
+    }
+
+    private Long flightId(String departureDate) {
+        return jdbcTemplate.queryForObject("SELECT flight_id FROM flights WHERE flight_route_id = ?",
+                Long.class, routeId(departureDate));
+    }
+
+    private int remainingSeats(Long flightId) {
+        return jdbcTemplate.queryForObject("SELECT remaining_seats FROM flights WHERE flight_id = ?",
+                Integer.class, flightId);
+    }
+
+    private Map<String, Object> searchRow(Long flightId) {
+        return jdbcTemplate.queryForMap("SELECT * FROM flight_search WHERE flight_id = ?", flightId);
+    }
+
+    private static List<Long> flaggedFlightIds(FlightSearchCheckResponse response) {
+        return Stream.of(response.getMissingFlightIds(), response.getStaleFlightIds(),
+                response.getOrphanedFlightIds()).flatMap(List::stream).toList();
+    }
+}
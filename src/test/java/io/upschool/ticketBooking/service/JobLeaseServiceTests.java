@@ -0,0 +1,66 @@
+package io.upschool.ticketBooking.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plays several instances sharing the database, each with its own lease owner.
+ */
+@SpringBootTest
+class JobLeaseServiceTests {
+    private static final Duration LEASE_TIME = Duration.ofMinutes(1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void grantsALeaseToOneInstanceUntilItIsReleasedOrExpires() {
+        JobLeaseService first = new JobLeaseService(jdbcTemplate, "lease-node-a");
+        JobLeaseService second = new JobLeaseService(jdbcTemplate, "lease-node-b");
+
+        assertThat(first.tryAcquire("lease-test", LEASE_TIME)).isTrue();
+        assertThat(second.tryAcquire("lease-test", LEASE_TIME)).isFalse();
+        assertThat(first.tryAcquire("lease-test", LEASE_TIME)).isTrue();
+
+        second.release("lease-test");
+        assertThat(second.tryAcquire("lease-test", LEASE_TIME)).isFalse();
+        first.release("lease-test");
+        assertThat(second.tryAcquire("lease-test", LEASE_TIME)).isTrue();
+
+        jdbcTemplate.update("UPDATE job_leases SET lease_expires_at = TIMESTAMPADD(SECOND, -1, CURRENT_TIMESTAMP(3)) " +
+                "WHERE job_name = 'lease-test'");
+        assertThat(first.tryAcquire("lease-test", LEASE_TIME)).isTrue();
+        assertThat(second.tryAcquire("lease-test", LEASE_TIME)).isFalse();
+        first.release("lease-test");
+    }
+
+    @Test
+    void grantsAFreeLeaseToExactlyOneOfManyConcurrentInstances() {
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Boolean>> attempts = IntStream.range(0, 8)
+                .mapToObj(i -> new JobLeaseService(jdbcTemplate, "lease-racer-" + i))
+                .map(service -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return service.tryAcquire("lease-race", LEASE_TIME);
+                }))
+                .toList();
+        start.countDown();
+
+        assertThat(attempts.stream().map(CompletableFuture::join).filter(Boolean::booleanValue)).hasSize(1);
+        jdbcTemplate.update("DELETE FROM job_leases WHERE job_name = 'lease-race'");
+    }
+}
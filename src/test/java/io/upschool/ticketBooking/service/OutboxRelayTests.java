@@ -0,0 +1,185 @@
+package io.upschool.ticketBooking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.upschool.ticketBooking.dto.response.TicketLifecycleEvent;
+import io.upschool.ticketBooking.enums.TicketEventType;
+import io.upschool.ticketBooking.outbox.OutboxEventSink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Relays events through a sink that can be told to fail or stall for particular flights. The
+ * events use negative flight ids, which no real ticket has, so other tests' events are ignored.
+ */
+@SpringBootTest
+class OutboxRelayTests {
+    private static final List<TicketLifecycleEvent> DELIVERED = new CopyOnWriteArrayList<>();
+    private static final Set<Long> FAILING_FLIGHTS = ConcurrentHashMap.newKeySet();
+    private static final Map<Long, CountDownLatch> STALLED_FLIGHTS = new ConcurrentHashMap<>();
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TestConfiguration
+    static class RecordingSinkConfiguration {
+        @Bean
+        OutboxEventSink recordingSink() {
+            return event -> {
+                CountDownLatch stall = STALLED_FLIGHTS.remove(event.getFlightId());
+                if (stall != null) {
+                    stall.await(10, TimeUnit.SECONDS);
+                }
+                if (FAILING_FLIGHTS.contains(event.getFlightId())) {
+                    throw new IllegalStateException("Sink unavailable for flight " + event.getFlightId());
+                }
+                DELIVERED.add(event);
+            };
+        }
+    }
+
+    @BeforeEach
+    void reset() {
+        DELIVERED.clear();
+        FAILING_FLIGHTS.clear();
+        STALLED_FLIGHTS.clear();
+        relayAll();
+    }
+
+    @Test
+    void holdsBackOnlyTheFailingFlightAndRetriesItInOrder() {
+        long first = insertEvent(-101L, "OUTBOX-A1");
+        insertEvent(-101L, "OUTBOX-A2");
+        insertEvent(-102L, "OUTBOX-B1");
+        insertEvent(-102L, "OUTBOX-B2");
+        FAILING_FLIGHTS.add(-101L);
+
+        relayAll();
+
+        assertThat(deliveredTickets(-101L, -102L)).containsExactly("OUTBOX-B1", "OUTBOX-B2");
+        assertThat(jdbcTemplate.queryForObject("SELECT attempts FROM outbox_events WHERE event_id = ?",
+                Integer.class, first)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE event_id = ? " +
+                "AND next_attempt_at > CURRENT_TIMESTAMP(6)", Integer.class, first)).isEqualTo(1);
+
+        FAILING_FLIGHTS.clear();
+        relayAll();
+        assertThat(deliveredTickets(-101L)).isEmpty();
+
+        makeDue(first);
+        relayAll();
+        assertThat(deliveredTickets(-101L, -102L))
+                .containsExactly("OUTBOX-B1", "OUTBOX-B2", "OUTBOX-A1", "OUTBOX-A2");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE flight_id IN (-101, -102) " +
+                "AND published_at IS NULL", Integer.class)).isZero();
+    }
+
+    @Test
+    void deliversWithoutHoldingRowLocksAndKeepsOtherRunsOffClaimedEvents() throws Exception {
+        long stalled = insertEvent(-103L, "OUTBOX-C1");
+        insertEvent(-103L, "OUTBOX-C2");
+        CountDownLatch release = new CountDownLatch(1);
+        STALLED_FLIGHTS.put(-103L, release);
+
+        CompletableFuture<Void> firstRun = CompletableFuture.runAsync(this::relayAll);
+        waitUntilClaimed(stalled);
+
+        Integer updated = transactionTemplate.execute(status -> jdbcTemplate.update(
+                "UPDATE outbox_events SET updated_date = CURRENT_TIMESTAMP(6) WHERE event_id = ?", stalled));
+        assertThat(updated).isEqualTo(1);
+        relayAll();
+        assertThat(deliveredTickets(-103L)).isEmpty();
+
+        release.countDown();
+        firstRun.get(10, TimeUnit.SECONDS);
+        assertThat(deliveredTickets(-103L)).containsExactly("OUTBOX-C1", "OUTBOX-C2");
+    }
+
+    @Test
+    void picksUpEventsWhoseClaimHasExpired() {
+        long claimed = insertEvent(-104L, "OUTBOX-D1");
+        insertEvent(-104L, "OUTBOX-D2");
+        jdbcTemplate.update("UPDATE outbox_events SET next_attempt_at = TIMESTAMPADD(MINUTE, 5, CURRENT_TIMESTAMP(6)) " +
+                "WHERE event_id = ?", claimed);
+
+        relayAll();
+        assertThat(deliveredTickets(-104L)).isEmpty();
+
+        makeDue(claimed);
+        relayAll();
+        assertThat(deliveredTickets(-104L)).containsExactly("OUTBOX-D1", "OUTBOX-D2");
+    }
+
+    private void relayAll() {
+        while (outboxService.relayBatch(100) == 100) {
+            // Keep going until the backlog is drained, as the relay job does.
+        }
+    }
+
+    private long insertEvent(long flightId, String ticketNumber) {
+        TicketLifecycleEvent event = TicketLifecycleEvent.builder()
+                .eventType(TicketEventType.TICKET_PURCHASED)
+                .ticketNumber(ticketNumber)
+                .flightId(flightId)
+                .build();
+        try {
+            jdbcTemplate.update("INSERT INTO outbox_events (creation_date, updated_date, event_type, ticket_number, " +
+                            "flight_id, payload) VALUES (CURRENT_TIMESTAMP(6), CURRENT_TIMESTAMP(6), ?, ?, ?, ?)",
+                    event.getEventType().name(), ticketNumber, flightId, objectMapper.writeValueAsString(event));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return jdbcTemplate.queryForObject("SELECT MAX(event_id) FROM outbox_events WHERE ticket_number = ?",
+                Long.class, ticketNumber);
+    }
+
+    private void makeDue(long eventId) {
+        jdbcTemplate.update("UPDATE outbox_events SET next_attempt_at = TIMESTAMPADD(SECOND, -1, CURRENT_TIMESTAMP(6)) " +
+                "WHERE event_id = ?", eventId);
+    }
+
+    private void waitUntilClaimed(long eventId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            Integer claimed = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE event_id = ? " +
+                    "AND next_attempt_at IS NOT NULL", Integer.class, eventId);
+            if (claimed != null && claimed == 1) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Event " + eventId + " was never claimed.");
+    }
+
+    private List<String> deliveredTickets(Long... flightIds) {
+        List<Long> flights = List.of(flightIds);
+        return DELIVERED.stream()
+                .filter(event -> flights.contains(event.getFlightId()))
+                .map(TicketLifecycleEvent::getTicketNumber)
+                .toList();
+    }
+}
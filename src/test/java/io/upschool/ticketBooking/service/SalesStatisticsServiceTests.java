@@ -0,0 +1,154 @@
+package io.upschool.ticketBooking.service;
+
+import io.upschool.ticketBooking.ScheduleFixture;
+import io.upschool.ticketBooking.dto.response.SalesStatisticsResponse;
+import io.upschool.ticketBooking.entity.Airline;
+import io.upschool.ticketBooking.entity.Flight;
+import io.upschool.ticketBooking.entity.FlightSearchEntry;
+import io.upschool.ticketBooking.entity.Route;
+import io.upschool.ticketBooking.entity.Ticket;
+import io.upschool.ticketBooking.enums.TicketClass;
+import io.upschool.ticketBooking.enums.TicketStatus;
+import io.upschool.ticketBooking.repository.FlightSearchRepository;
+import io.upschool.ticketBooking.repository.SalesStatisticRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts sales in services of their own, so the scheduled flush of the application's service cannot
+ * drain the counters under test.
+ */
+@SpringBootTest
+class SalesStatisticsServiceTests {
+
+    @Autowired
+    private SalesStatisticRepository salesStatisticRepository;
+
+    @Autowired
+    private FlightSearchRepository flightSearchRepository;
+
+    @Autowired
+    private RouteService routeService;
+
+    @Autowired
+    private AirlineService airlineService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ScheduleFixture scheduleFixture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private FlightSearchEntry flight;
+
+    @BeforeEach
+    void seedFlight() {
+        scheduleFixture.seedOnce("Statistics Air", "STS", """
+                {"type":"airport","code":"ST1","name":"Statistics Airport 1","location":"Statistics City 1"}
+                {"type":"airport","code":"ST2","name":"Statistics Airport 2","location":"Statistics City 2"}
+                {"type":"route","departureAirportCode":"ST1","arrivalAirportCode":"ST2","departureDate":"2031-12-15","departureTime":"09:00","arrivalDate":"2031-12-15","arrivalTime":"11:00"}
+                {"type":"route","departureAirportCode":"ST2","arrivalAirportCode":"ST1","departureDate":"2031-12-16","departureTime":"09:00","arrivalDate":"2031-12-16","arrivalTime":"11:00"}
+                {"type":"flight","airlineCode":"STS","departureAirportCode":"ST1","arrivalAirportCode":"ST2","departureDate":"2031-12-15","departureTime":"09:00","capacity":40,"ticketBasePrice":100}
+                {"type":"flight","airlineCode":"STS","departureAirportCode":"ST2","arrivalAirportCode":"ST1","departureDate":"2031-12-16","departureTime":"09:00","capacity":40,"ticketBasePrice":100}
+                """);
+        flight = flightSearchRepository.findById(jdbcTemplate.queryForObject(
+                "SELECT MIN(flight_id) FROM flight_search WHERE airline_code = 'STS'", Long.class)).orElseThrow();
+    }
+
+    @Test
+    void countsCommittedSalesUntilTheFlushMovesThemIntoTheStoredTotals() {
+        SalesStatisticsService service = new SalesStatisticsService(salesStatisticRepository, flightSearchRepository,
+                routeService, airlineService, transactionTemplate);
+        SalesStatisticsResponse before = service.getFlightStatistics(flight.getFlightId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            service.recordSale(ticket(2, "150.00"));
+            service.recordSale(ticket(1, "75.50"));
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            service.recordSale(ticket(3, "300.00"));
+            status.setRollbackOnly();
+        });
+        service.recordCancellation(ticket(1, "75.50"));
+
+        SalesStatisticsResponse pending = service.getFlightStatistics(flight.getFlightId());
+        assertThat(pending.getTicketsSold()).isEqualTo(before.getTicketsSold() + 1);
+        assertThat(pending.getPassengers()).isEqualTo(before.getPassengers() + 2);
+        assertThat(pending.getRevenue()).isEqualByComparingTo(before.getRevenue().add(new BigDecimal("150.00")));
+        assertThat(service.getPendingCounterCount()).isEqualTo(3);
+
+        // One row per scope: the flight, its route and the airline's departure day.
+        assertThat(service.flush()).isEqualTo(3);
+        assertThat(service.getPendingCounterCount()).isEqualTo(3);
+        // Nothing was recorded since, so the counters are drained empty and removed.
+        assertThat(service.flush()).isZero();
+        assertThat(service.getPendingCounterCount()).isZero();
+
+        SalesStatisticsResponse flushed = service.getFlightStatistics(flight.getFlightId());
+        assertThat(flushed.getTicketsSold()).isEqualTo(pending.getTicketsSold());
+        assertThat(flushed.getPassengers()).isEqualTo(pending.getPassengers());
+        assertThat(flushed.getRevenue()).isEqualByComparingTo(pending.getRevenue());
+        SalesStatisticsResponse fromAnotherInstance = new SalesStatisticsService(salesStatisticRepository,
+                flightSearchRepository, routeService, airlineService, transactionTemplate)
+                .getFlightStatistics(flight.getFlightId());
+        assertThat(fromAnotherInstance.getTicketsSold()).isEqualTo(pending.getTicketsSold());
+        assertThat(service.getRouteStatistics(flight.getRouteId()).getTicketsSold())
+                .isEqualTo(fromAnotherInstance.getTicketsSold());
+    }
+
+    @Test
+    void putsTheDrainedCountsBackWhenTheFlushFails() {
+        SalesStatisticRepository failingRepository = mock(SalesStatisticRepository.class);
+        when(failingRepository.addToTotals(anyString(), anyString(), anyString(), anyLong(), anyLong(), any()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(1);
+        SalesStatisticsService service = new SalesStatisticsService(failingRepository, flightSearchRepository,
+                routeService, airlineService, transactionTemplate);
+
+        service.recordSale(ticket(2, "150.00"));
+        assertThatThrownBy(service::flush).hasMessage("database unavailable");
+        service.recordSale(ticket(1, "75.50"));
+
+        assertThat(service.flush()).isEqualTo(3);
+        verify(failingRepository).addToTotals(eq("FLIGHT"), eq(String.valueOf(flight.getFlightId())),
+                eq(TicketClass.BUSINESS_CLASS.name()), eq(2L), eq(3L), eq(new BigDecimal("225.50")));
+        // The failed attempt and one write per scope on the retry.
+        verify(failingRepository, times(4))
+                .addToTotals(anyString(), anyString(), anyString(), anyLong(), anyLong(), any());
+    }
+
+    private Ticket ticket(int passengers, String price) {
+        Flight ticketFlight = Flight.builder()
+                .id(flight.getFlightId())
+                .route(Route.builder().id(flight.getRouteId()).departureDate(flight.getDepartureDate()).build())
+                .airline(Airline.builder().id(flight.getAirlineId()).build())
+                .build();
+        return Ticket.builder()
+                .flight(ticketFlight)
+                .passengerCount(passengers)
+                .ticketClass(TicketClass.BUSINESS_CLASS)
+                .status(TicketStatus.PURCHASED)
+                .ticketPrice(new BigDecimal(price))
+                .build();
+    }
+}
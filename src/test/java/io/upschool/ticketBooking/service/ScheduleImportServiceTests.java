@@ -0,0 +1,155 @@
+package io.upschool.ticketBooking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.upschool.ticketBooking.ScheduleFixture;
+import io.upschool.ticketBooking.dto.response.ScheduleImportError;
+import io.upschool.ticketBooking.dto.response.ScheduleImportResponse;
+import io.upschool.ticketBooking.enums.ScheduleImportFormat;
+import io.upschool.ticketBooking.sqlstats.QueryStats;
+import io.upschool.ticketBooking.sqlstats.QueryStatsHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Imports through a service with a batch size of two, so every schedule below spans several batches.
+ */
+@SpringBootTest
+class ScheduleImportServiceTests {
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_REPORTED_ERRORS = 3;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private FlightSearchService flightSearchService;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ScheduleFixture scheduleFixture;
+
+    private ScheduleImportService scheduleImportService;
+
+    @BeforeEach
+    void createService() {
+        scheduleImportService = new ScheduleImportService(jdbcTemplate, transactionTemplate, flightSearchService,
+                changeLogService, objectMapper, BATCH_SIZE, MAX_REPORTED_ERRORS);
+        scheduleFixture.seedOnce("Schedule Import Air", "SIA", "");
+    }
+
+    @Test
+    void writesEachBatchWithOneInsertAndResolvesReferencesToEarlierBatches() {
+        String schedule = """
+                type,code,name,location
+                airport,SB1,Batch Airport 1,Batch City 1
+                airport,SB2,Batch Airport 2,Batch City 2
+                airport,SB3,Batch Airport 3,Batch City 3
+                route,SB1,SB2,2031-12-01,09:00,2031-12-01,11:00
+                route,SB2,SB3,2031-12-02,09:00,2031-12-02,11:00
+                route,SB3,SB1,2031-12-03,09:00,2031-12-03,11:00
+                flight,SIA,SB1,SB2,2031-12-01,09:00,20,100
+                flight,SIA,SB2,SB3,2031-12-02,09:00,20,100
+                flight,SIA,SB3,SB1,2031-12-03,09:00,20,100
+                """;
+
+        QueryStatsHolder.Captured<ScheduleImportResponse> captured = QueryStatsHolder.capture(() ->
+                importSchedule(schedule, ScheduleImportFormat.CSV));
+
+        ScheduleImportResponse response = captured.result();
+        assertThat(response.getProcessedRows()).isEqualTo(9);
+        assertThat(response.getImportedAirports()).isEqualTo(3);
+        assertThat(response.getImportedRoutes()).isEqualTo(3);
+        assertThat(response.getImportedFlights()).isEqualTo(3);
+        assertThat(response.getFailedRows()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM flight_search WHERE departure_airport_code " +
+                "IN ('SB1', 'SB2', 'SB3')", Integer.class)).isEqualTo(3);
+        // Five batches: two airports, an airport and a route, two routes, two flights and one flight.
+        assertThat(insertCount(captured.stats(), "airports")).isEqualTo(2);
+        assertThat(insertCount(captured.stats(), "routes")).isEqualTo(2);
+        assertThat(insertCount(captured.stats(), "flights")).isEqualTo(2);
+    }
+
+    @Test
+    void keepsValidRowsAndOtherBatchesWhenRowsOrABatchFail() {
+        String tooLongCode = "X".repeat(300);
+        String schedule = """
+                {"type":"airport","code":"SP1","name":"Partial Airport 1","location":"Partial City 1"}
+                {"type":"airport","code":"SP2","name":"Partial Airport 2","location":"Partial City 2"}
+                {"type":"airport","code":"%s","name":"Partial Airport 3","location":"Partial City 3"}
+                {"type":"airport","code":"SP4","name":"Partial Airport 4","location":"Partial City 4"}
+                {"type":"route","departureAirportCode":"SP1","arrivalAirportCode":"SP2","departureDate":"2031-12-05","departureTime":"09:00","arrivalDate":"2031-12-05","arrivalTime":"11:00"}
+                {"type":"route","departureAirportCode":"SP1","arrivalAirportCode":"SP4","departureDate":"2031-12-05","departureTime":"09:00","arrivalDate":"2031-12-05","arrivalTime":"11:00"}
+                {"type":"flight","airlineCode":"SIA","departureAirportCode":"SP1","arrivalAirportCode":"SP2","departureDate":"2031-12-05","departureTime":"09:00","capacity":20,"ticketBasePrice":100}
+                {"type":"flight","airlineCode":"SIA","departureAirportCode":"SP1","arrivalAirportCode":"SP2","departureDate":"2031-12-05","departureTime":"09:00","capacity":5,"ticketBasePrice":100}
+                """.formatted(tooLongCode);
+
+        ScheduleImportResponse response = importSchedule(schedule, ScheduleImportFormat.NDJSON);
+
+        assertThat(response.getProcessedRows()).isEqualTo(8);
+        assertThat(response.getImportedAirports()).isEqualTo(2);
+        assertThat(response.getImportedRoutes()).isEqualTo(1);
+        assertThat(response.getImportedFlights()).isEqualTo(1);
+        assertThat(response.getFailedRows()).isEqualTo(4);
+        assertThat(response.getErrors()).extracting(ScheduleImportError::getLineNumber).containsExactly(3, 4, 6);
+        assertThat(response.getErrors().get(0).getMessage()).startsWith("Batch insert failed: ");
+        assertThat(response.getErrors().get(1).getMessage()).startsWith("Batch insert failed: ");
+        assertThat(response.getErrors().get(2).getMessage()).isEqualTo("Airport not found with code: SP4");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM airports WHERE airport_code IN ('SP1', 'SP2', 'SP4')",
+                Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    void reportsErrorsByLineUpToTheLimitAndCountsTheRest() {
+        String schedule = """
+                {"type":"airport","code":"SE1","name":"Error Airport 1","location":"Error City 1"}
+                {"type":"airport","code":"SE2","name":"Error Airport 2"
+                {"type":"gate","code":"SE3"}
+                {"type":"airport","code":"SE1","name":"Error Airport 4","location":"Error City 4"}
+
+                {"code":"SE5","name":"Error Airport 5","location":"Error City 5"}
+                {"type":"flight","airlineCode":"NOPE","departureAirportCode":"SE1","arrivalAirportCode":"SE9","departureDate":"2031-12-07","departureTime":"09:00","capacity":20,"ticketBasePrice":100}
+                """;
+
+        ScheduleImportResponse response = importSchedule(schedule, ScheduleImportFormat.NDJSON);
+
+        assertThat(response.getProcessedRows()).isEqualTo(6);
+        assertThat(response.getImportedAirports()).isEqualTo(1);
+        assertThat(response.getFailedRows()).isEqualTo(5);
+        // Rows that cannot be parsed fail right away, the others when their batch is processed; the
+        // first failures are the ones reported.
+        assertThat(response.getErrors()).extracting(ScheduleImportError::getLineNumber).containsExactly(2, 3, 6);
+        assertThat(response.getErrors().get(0).getMessage()).startsWith("Malformed JSON: ");
+        assertThat(response.getErrors().get(1).getMessage()).isEqualTo("Unsupported record type: gate");
+        assertThat(response.getErrors().get(2).getMessage()).isEqualTo("Record type is missing.");
+    }
+
+    private ScheduleImportResponse importSchedule(String schedule, ScheduleImportFormat format) {
+        return scheduleImportService.importSchedule(new ByteArrayInputStream(schedule.getBytes(StandardCharsets.UTF_8)),
+                format);
+    }
+
+    private static int insertCount(QueryStats stats, String table) {
+        return stats.getRepeatedStatements(1).entrySet().stream()
+                .filter(entry -> entry.getKey().toLowerCase().startsWith("insert into " + table + " "))
+                .mapToInt(Map.Entry::getValue)
+                .sum();
+    }
+}
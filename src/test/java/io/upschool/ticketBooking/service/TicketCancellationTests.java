@@ -0,0 +1,113 @@
+package io.upschool.ticketBooking.service;
+
+import io.upschool.ticketBooking.ScheduleFixture;
+import io.upschool.ticketBooking.dto.request.TicketPurchaseRequest;
+import io.upschool.ticketBooking.exception.TicketOperationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that a ticket's seats go back to its flight exactly once, however often it is cancelled.
+ */
+@SpringBootTest
+class TicketCancellationTests {
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private ScheduleFixture scheduleFixture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long flightId;
+
+    @BeforeEach
+    void seedFlight() {
+        scheduleFixture.seedOnce("Cancellation Air", "CNL", """
+                {"type":"airport","code":"CN1","name":"Cancellation Airport 1","location":"Cancellation City 1"}
+                {"type":"airport","code":"CN2","name":"Cancellation Airport 2","location":"Cancellation City 2"}
+                {"type":"route","departureAirportCode":"CN1","arrivalAirportCode":"CN2","departureDate":"2031-08-10","departureTime":"09:00","arrivalDate":"2031-08-10","arrivalTime":"11:00"}
+                {"type":"flight","airlineCode":"CNL","departureAirportCode":"CN1","arrivalAirportCode":"CN2","departureDate":"2031-08-10","departureTime":"09:00","capacity":100,"ticketBasePrice":100}
+                """);
+        flightId = jdbcTemplate.queryForObject("SELECT flight_id FROM flight_search WHERE airline_code = 'CNL'",
+                Long.class);
+    }
+
+    @Test
+    void releasesTheSeatsOnceWhenATicketIsCancelledTwice() {
+        int seats = remainingSeats();
+        String ticketNumber = purchase(3);
+        assertThat(remainingSeats()).isEqualTo(seats - 3);
+
+        ticketService.cancelTicket(ticketNumber);
+        assertThatThrownBy(() -> ticketService.cancelTicket(ticketNumber))
+                .isInstanceOf(TicketOperationException.class)
+                .hasMessage("Ticket is already cancelled.");
+
+        assertThat(remainingSeats()).isEqualTo(seats);
+        assertThat(searchRemainingSeats()).isEqualTo(seats);
+    }
+
+    @Test
+    void releasesTheSeatsOnceWhenTwoCancellationsRace() {
+        int seats = remainingSeats();
+        String ticketNumber = purchase(2);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<CompletableFuture<Void>> cancellations = List.of(cancelAfter(start, ticketNumber),
+                cancelAfter(start, ticketNumber));
+        start.countDown();
+        long failed = cancellations.stream().filter(cancellation -> {
+            try {
+                cancellation.join();
+                return false;
+            } catch (CompletionException e) {
+                assertThat(e.getCause()).isInstanceOf(TicketOperationException.class);
+                return true;
+            }
+        }).count();
+
+        assertThat(failed).isEqualTo(1);
+        assertThat(remainingSeats()).isEqualTo(seats);
+        assertThat(searchRemainingSeats()).isEqualTo(seats);
+    }
+
+    private CompletableFuture<Void> cancelAfter(CountDownLatch start, String ticketNumber) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ticketService.cancelTicket(ticketNumber);
+        });
+    }
+
+    private String purchase(int passengers) {
+        return ticketService.purchaseTicket(new TicketPurchaseRequest("Cancelling Passenger", flightId, passengers,
+                "Business Class", "4111111111111111")).getTicketNumber();
+    }
+
+    private int remainingSeats() {
+        return jdbcTemplate.queryForObject("SELECT remaining_seats FROM flights WHERE flight_id = ?",
+                Integer.class, flightId);
+    }
+
+    private int searchRemainingSeats() {
+        return jdbcTemplate.queryForObject("SELECT remaining_seats FROM flight_search WHERE flight_id = ?",
+                Integer.class, flightId);
+    }
+}
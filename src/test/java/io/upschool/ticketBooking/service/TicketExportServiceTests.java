@@ -0,0 +1,146 @@
+package io.upschool.ticketBooking.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.upschool.ticketBooking.ScheduleFixture;
+import io.upschool.ticketBooking.dto.request.TicketPurchaseRequest;
+import io.upschool.ticketBooking.enums.ExportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TicketExportServiceTests {
+
+    @Autowired
+    private TicketExportService ticketExportService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketArchiveService ticketArchiveService;
+
+    @Autowired
+    private ScheduleFixture scheduleFixture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long flightId;
+
+    @BeforeEach
+    void seedFlight() {
+        scheduleFixture.seedOnce("Export Air", "EXP", """
+                {"type":"airport","code":"EX1","name":"Export Airport 1","location":"Export City 1"}
+                {"type":"airport","code":"EX2","name":"Export Airport 2","location":"Export City 2"}
+                {"type":"route","departureAirportCode":"EX1","arrivalAirportCode":"EX2","departureDate":"2031-12-20","departureTime":"09:00","arrivalDate":"2031-12-20","arrivalTime":"11:00"}
+                {"type":"route","departureAirportCode":"EX2","arrivalAirportCode":"EX1","departureDate":"2031-12-21","departureTime":"09:00","arrivalDate":"2031-12-21","arrivalTime":"11:00"}
+                {"type":"flight","airlineCode":"EXP","departureAirportCode":"EX1","arrivalAirportCode":"EX2","departureDate":"2031-12-20","departureTime":"09:00","capacity":50,"ticketBasePrice":100}
+                {"type":"flight","airlineCode":"EXP","departureAirportCode":"EX2","arrivalAirportCode":"EX1","departureDate":"2031-12-21","departureTime":"09:00","capacity":50,"ticketBasePrice":100}
+                """);
+        flightId = jdbcTemplate.queryForObject(
+                "SELECT MIN(flight_id) FROM flight_search WHERE airline_code = 'EXP'", Long.class);
+    }
+
+    @Test
+    void manifestListsOnlyPurchasedAndCheckedInTickets() throws IOException {
+        Long gateClosedFlightId = jdbcTemplate.queryForObject(
+                "SELECT MAX(flight_id) FROM flight_search WHERE airline_code = 'EXP'", Long.class);
+        String purchased = purchase(flightId, "Smith, Jane");
+        String checkedIn = purchase(flightId, "Checked In Passenger");
+        String cancelled = purchase(flightId, "Cancelled Passenger");
+        ticketService.checkInTicket(checkedIn);
+        ticketService.cancelTicket(cancelled);
+        String noShow = purchase(gateClosedFlightId, "No Show Passenger");
+        String boarded = purchase(gateClosedFlightId, "Boarded Passenger");
+        ticketService.checkInTicket(boarded);
+        ticketService.closeGate(gateClosedFlightId);
+
+        List<JsonNode> manifest = readJsonLines(output -> ticketExportService.writeManifest(flightId,
+                ExportFormat.NDJSON, output));
+        List<JsonNode> gateClosedManifest = readJsonLines(output -> ticketExportService.writeManifest(
+                gateClosedFlightId, ExportFormat.NDJSON, output));
+
+        assertThat(manifest).extracting(row -> row.get("ticketNumber").asText())
+                .contains(purchased, checkedIn)
+                .doesNotContain(cancelled);
+        assertThat(manifest).extracting(row -> row.get("status").asText())
+                .containsOnly("PURCHASED", "CHECKED_IN");
+        assertThat(gateClosedManifest).extracting(row -> row.get("ticketNumber").asText())
+                .contains(boarded)
+                .doesNotContain(noShow);
+
+        String csv = write(output -> ticketExportService.writeManifest(flightId, ExportFormat.CSV, output));
+        assertThat(csv).startsWith("ticketNumber,flightId,passengerName,passengerCount,ticketClass,status," +
+                "ticketPrice,creationDate,archived\n");
+        assertThat(csv).contains(purchased + "," + flightId + ",\"Smith, Jane\",1,BUSINESS_CLASS,PURCHASED,");
+        assertThat(csv).doesNotContain(cancelled);
+    }
+
+    @Test
+    void exportAppendsTheArchiveAfterEveryLiveTicket() throws IOException {
+        String live = purchase(flightId, "Live Passenger");
+        String archived = purchase(flightId, "Archived Passenger");
+        ticketService.cancelTicket(archived);
+        while (ticketArchiveService.archiveChunk(1000, LocalDate.of(2000, 1, 1)) > 0) {
+            // Archive every cancelled ticket.
+        }
+
+        List<JsonNode> withArchive = readJsonLines(output -> ticketExportService.writeExport(true,
+                ExportFormat.NDJSON, output));
+        List<JsonNode> withoutArchive = readJsonLines(output -> ticketExportService.writeExport(false,
+                ExportFormat.NDJSON, output));
+
+        List<Boolean> archivedFlags = withArchive.stream().map(row -> row.get("archived").asBoolean()).toList();
+        assertThat(archivedFlags.indexOf(true)).isGreaterThan(archivedFlags.lastIndexOf(false));
+        assertThat(withArchive).filteredOn(row -> Set.of(live, archived).contains(row.get("ticketNumber").asText()))
+                .extracting(row -> row.get("ticketNumber").asText() + ":" + row.get("archived").asBoolean())
+                .containsExactly(live + ":false", archived + ":true");
+        assertThat(withoutArchive).extracting(row -> row.get("archived").asBoolean()).containsOnly(false);
+        assertThat(withoutArchive).extracting(row -> row.get("ticketNumber").asText())
+                .contains(live)
+                .doesNotContain(archived);
+    }
+
+    private String purchase(Long flight, String passengerName) {
+        return ticketService.purchaseTicket(new TicketPurchaseRequest(passengerName, flight, 1,
+                "Business Class", "4111111111111111")).getTicketNumber();
+    }
+
+    private List<JsonNode> readJsonLines(Export export) throws IOException {
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : write(export).split("\n")) {
+            if (!line.isBlank()) {
+                rows.add(objectMapper.readTree(line));
+            }
+        }
+        return rows;
+    }
+
+    private static String write(Export export) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        export.writeTo(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        void writeTo(ByteArrayOutputStream output) throws IOException;
+    }
+}
@@ -0,0 +1,161 @@
+package io.upschool.ticketBooking.service;
+
+import io.upschool.ticketBooking.dto.request.AirlineSaveRequest;
+import io.upschool.ticketBooking.dto.request.TicketPurchaseRequest;
+import io.upschool.ticketBooking.dto.response.FlightCheckInResponse;
+import io.upschool.ticketBooking.dto.response.TicketCheckInResult;
+import io.upschool.ticketBooking.enums.CheckInOutcome;
+import io.upschool.ticketBooking.enums.ScheduleImportFormat;
+import io.upschool.ticketBooking.exception.AlreadyCheckedInException;
+import io.upschool.ticketBooking.exception.TicketOperationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Races single and bulk check-ins, cancellations and a gate close over the same tickets and checks
+ * that every ticket ends in the state of the one operation that won it, with seats and lifecycle
+ * events to match.
+ */
+@SpringBootTest
+class TicketLifecycleConcurrencyTests {
+    private static final int CAPACITY = 100;
+    private static final int TICKETS = 40;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private AirlineService airlineService;
+
+    @Autowired
+    private ScheduleImportService scheduleImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void everyTicketEndsInTheStateOfTheOperationThatWonIt() throws Exception {
+        Long flightId = seedFlight();
+        List<String> ticketNumbers = new ArrayList<>();
+        for (int i = 0; i < TICKETS; i++) {
+            ticketNumbers.add(ticketService.purchaseTicket(new TicketPurchaseRequest("Racing Passenger " + i,
+                    flightId, 1, "Business Class", "4111111111111111")).getTicketNumber());
+        }
+
+        Set<String> cancelled = ConcurrentHashMap.newKeySet();
+        List<String> checkedIn = Collections.synchronizedList(new ArrayList<>());
+        List<String> noShows = Collections.synchronizedList(new ArrayList<>());
+        List<Runnable> operations = new ArrayList<>();
+        for (String ticketNumber : ticketNumbers) {
+            operations.add(() -> {
+                try {
+                    ticketService.cancelTicket(ticketNumber);
+                    cancelled.add(ticketNumber);
+                } catch (TicketOperationException e) {
+                    // Checked in, no-show or cancelled first.
+                }
+            });
+            operations.add(() -> {
+                try {
+                    ticketService.checkInTicket(ticketNumber);
+                    checkedIn.add(ticketNumber);
+                } catch (TicketOperationException | AlreadyCheckedInException e) {
+                    // Cancelled, no-show or checked in first.
+                }
+            });
+        }
+        for (List<String> group : List.of(ticketNumbers.subList(0, 20), ticketNumbers.subList(10, 30))) {
+            operations.add(() -> {
+                FlightCheckInResponse response = ticketService.checkInTickets(flightId, group);
+                response.getResults().stream()
+                        .filter(result -> result.getOutcome() == CheckInOutcome.CHECKED_IN)
+                        .map(TicketCheckInResult::getTicketNumber)
+                        .forEach(checkedIn::add);
+            });
+        }
+        operations.add(operations.size() / 2, () -> noShows.addAll(ticketService.closeGate(flightId).getNoShowTicketNumbers()));
+        Collections.shuffle(operations, new Random(37));
+
+        runConcurrently(operations);
+
+        assertThat(checkedIn).doesNotHaveDuplicates();
+        Map<String, String> expected = new HashMap<>();
+        cancelled.forEach(ticketNumber -> expected.put(ticketNumber, "CANCELLED"));
+        checkedIn.forEach(ticketNumber -> assertThat(expected.put(ticketNumber, "CHECKED_IN")).isNull());
+        noShows.forEach(ticketNumber -> assertThat(expected.put(ticketNumber, "NO_SHOW")).isNull());
+        assertThat(expected).hasSize(TICKETS);
+        for (String ticketNumber : ticketNumbers) {
+            assertThat(jdbcTemplate.queryForObject("SELECT status FROM tickets WHERE ticket_number = ?",
+                    String.class, ticketNumber)).as(ticketNumber).isEqualTo(expected.get(ticketNumber));
+        }
+
+        int remaining = CAPACITY - TICKETS + cancelled.size();
+        assertThat(jdbcTemplate.queryForObject("SELECT remaining_seats FROM flights WHERE flight_id = ?",
+                Integer.class, flightId)).isEqualTo(remaining);
+        assertThat(jdbcTemplate.queryForObject("SELECT remaining_seats FROM flight_search WHERE flight_id = ?",
+                Integer.class, flightId)).isEqualTo(remaining);
+
+        assertThat(countEvents(flightId, "TICKET_CANCELLED")).isEqualTo(cancelled.size());
+        assertThat(countEvents(flightId, "TICKET_CHECKED_IN")).isEqualTo(checkedIn.size());
+        assertThat(countEvents(flightId, "TICKET_NO_SHOW")).isEqualTo(noShows.size());
+    }
+
+    private static void runConcurrently(List<Runnable> operations) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable operation : operations) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    operation.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int countEvents(Long flightId, String eventType) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE flight_id = ? AND event_type = ?",
+                Integer.class, flightId, eventType);
+    }
+
+    private Long seedFlight() {
+        airlineService.save(new AirlineSaveRequest("Lifecycle Air", "LCY"));
+        String schedule = """
+                {"type":"airport","code":"LC1","name":"Lifecycle Airport 1","location":"Lifecycle City 1"}
+                {"type":"airport","code":"LC2","name":"Lifecycle Airport 2","location":"Lifecycle City 2"}
+                {"type":"route","departureAirportCode":"LC1","arrivalAirportCode":"LC2","departureDate":"2031-09-10","departureTime":"09:00","arrivalDate":"2031-09-10","arrivalTime":"11:00"}
+                {"type":"flight","airlineCode":"LCY","departureAirportCode":"LC1","arrivalAirportCode":"LC2","departureDate":"2031-09-10","departureTime":"09:00","capacity":100,"ticketBasePrice":100}
+                """;
+        scheduleImportService.importSchedule(new ByteArrayInputStream(schedule.getBytes(StandardCharsets.UTF_8)),
+                ScheduleImportFormat.NDJSON);
+        return jdbcTemplate.queryForObject("SELECT flight_id FROM flight_search WHERE airline_code = 'LCY'", Long.class);
+    }
+}
@@ -0,0 +1,136 @@
+package io.upschool.ticketBooking.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.upschool.ticketBooking.ScheduleFixture;
+import io.upschool.ticketBooking.dto.request.TicketPurchaseRequest;
+import io.upschool.ticketBooking.entity.Ticket;
+import io.upschool.ticketBooking.exception.PaymentFailedException;
+import io.upschool.ticketBooking.sqlstats.QueryStats;
+import io.upschool.ticketBooking.sqlstats.QueryStatsHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Checks what a purchase leaves behind when it fails after or during the payment authorization, and
+ * that its flight lookup is attributed to the purchase.
+ */
+@SpringBootTest
+class TicketPurchaseTests {
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private ScheduleFixture scheduleFixture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @SpyBean
+    private PaymentService paymentService;
+
+    @SpyBean
+    private SalesStatisticsService salesStatisticsService;
+
+    private Long flightId;
+
+    @BeforeEach
+    void seedFlight() {
+        reset(paymentService, salesStatisticsService);
+        scheduleFixture.seedOnce("Purchase Air", "PCH", """
+                {"type":"airport","code":"PC1","name":"Purchase Airport 1","location":"Purchase City 1"}
+                {"type":"airport","code":"PC2","name":"Purchase Airport 2","location":"Purchase City 2"}
+                {"type":"route","departureAirportCode":"PC1","arrivalAirportCode":"PC2","departureDate":"2031-11-10","departureTime":"09:00","arrivalDate":"2031-11-10","arrivalTime":"11:00"}
+                {"type":"flight","airlineCode":"PCH","departureAirportCode":"PC1","arrivalAirportCode":"PC2","departureDate":"2031-11-10","departureTime":"09:00","capacity":50,"ticketBasePrice":100}
+                """);
+        flightId = jdbcTemplate.queryForObject("SELECT flight_id FROM flight_search WHERE airline_code = 'PCH'",
+                Long.class);
+    }
+
+    @Test
+    void voidsTheAuthorizationWhenTheTicketCannotBeSaved() {
+        List<String> authorizations = new ArrayList<>();
+        doAnswer(invocation -> {
+            String authorizationId = (String) invocation.callRealMethod();
+            authorizations.add(authorizationId);
+            return authorizationId;
+        }).when(paymentService).authorize(anyString(), any());
+        doThrow(new IllegalStateException("statistics unavailable"))
+                .when(salesStatisticsService).recordSale(any(Ticket.class));
+        int seats = remainingSeats();
+        double voids = voidCount();
+
+        assertThatThrownBy(() -> purchase("Voided Passenger"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("statistics unavailable");
+
+        assertThat(authorizations).hasSize(1);
+        verify(paymentService).voidAuthorization(authorizations.get(0));
+        assertThat(voidCount()).isEqualTo(voids + 1);
+        assertThat(remainingSeats()).isEqualTo(seats);
+        assertThat(ticketCount("Voided Passenger")).isZero();
+    }
+
+    @Test
+    void declinedPaymentsLeaveNothingToVoid() {
+        doThrow(new PaymentFailedException("Payment process failed."))
+                .when(paymentService).authorize(anyString(), any());
+        int seats = remainingSeats();
+
+        assertThatThrownBy(() -> purchase("Declined Passenger"))
+                .isInstanceOf(PaymentFailedException.class);
+
+        verify(paymentService, never()).voidAuthorization(anyString());
+        assertThat(remainingSeats()).isEqualTo(seats);
+        assertThat(ticketCount("Declined Passenger")).isZero();
+    }
+
+    @Test
+    void countsTheFlightLookupTowardsThePurchase() {
+        QueryStats stats = QueryStatsHolder.capture(() -> {
+            purchase("Counted Passenger");
+        });
+
+        assertThat(stats.getRepeatedStatements(1).keySet())
+                .anySatisfy(statement -> assertThat(statement).contains("from flights"));
+    }
+
+    private String purchase(String passengerName) {
+        return ticketService.purchaseTicket(new TicketPurchaseRequest(passengerName, flightId, 2,
+                "Business Class", "4111111111111111")).getTicketNumber();
+    }
+
+    private double voidCount() {
+        return meterRegistry.counter("booking.payment.voids").count();
+    }
+
+    private int remainingSeats() {
+        return jdbcTemplate.queryForObject("SELECT remaining_seats FROM flights WHERE flight_id = ?",
+                Integer.class, flightId);
+    }
+
+    private int ticketCount(String passengerName) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tickets WHERE passenger_name = ?",
+                Integer.class, passengerName);
+    }
+}
@@ -0,0 +1,112 @@
+package io.upschool.ticketBooking.tracing;
+
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.upschool.ticketBooking.dto.request.AirlineSaveRequest;
+import io.upschool.ticketBooking.enums.ScheduleImportFormat;
+import io.upschool.ticketBooking.service.AirlineService;
+import io.upschool.ticketBooking.service.ScheduleImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that one purchase produces a single trace covering the controller, the service steps, the
+ * payment call, the JDBC statements and the response serialization.
+ */
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+class PurchaseTracingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AirlineService airlineService;
+
+    @Autowired
+    private ScheduleImportService scheduleImportService;
+
+    @Test
+    void purchaseIsTracedEndToEnd() throws Exception {
+        airlineService.save(new AirlineSaveRequest("Trace Air", "TRC"));
+        String schedule = """
+                {"type":"airport","code":"TR1","name":"Trace One","location":"Trace City One"}
+                {"type":"airport","code":"TR2","name":"Trace Two","location":"Trace City Two"}
+                {"type":"route","departureAirportCode":"TR1","arrivalAirportCode":"TR2","departureDate":"2031-02-01","departureTime":"09:00","arrivalDate":"2031-02-01","arrivalTime":"10:00"}
+                {"type":"flight","airlineCode":"TRC","departureAirportCode":"TR1","arrivalAirportCode":"TR2","departureDate":"2031-02-01","departureTime":"09:00","capacity":50,"ticketBasePrice":100}
+                """;
+        scheduleImportService.importSchedule(new ByteArrayInputStream(schedule.getBytes(StandardCharsets.UTF_8)),
+                ScheduleImportFormat.NDJSON);
+        Long flightId = jdbcTemplate.queryForObject(
+                "SELECT flight_id FROM flight_search WHERE airline_code = 'TRC'", Long.class);
+        flushSpans();
+        spanExporter.reset();
+
+        mockMvc.perform(post("/api/tickets/purchase")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"passengerName\":\"Trace Passenger\",\"flightId\":" + flightId +
+                                ",\"passengerCount\":1,\"ticketClass\":\"Business Class\"," +
+                                "\"creditCardNumber\":\"4111111111111111\"}"))
+                .andExpect(status().isOk());
+        flushSpans();
+
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        SpanData purchase = findSpan(spans, "purchase ticket");
+        List<SpanData> trace = spans.stream()
+                .filter(span -> span.getTraceId().equals(purchase.getTraceId()))
+                .toList();
+        assertThat(trace).extracting(SpanData::getName)
+                .contains("ticket-controller#purchase-ticket", "authorize payment", "reserve seats",
+                        "db insert", "serialize response");
+        assertThat(findSpan(trace, "authorize payment").getParentSpanId()).isEqualTo(purchase.getSpanId());
+        assertThat(findSpan(trace, "db insert").getAttributes().asMap().toString()).contains("insert into tickets");
+    }
+
+    private void flushSpans() {
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+    }
+
+    private SpanData findSpan(List<SpanData> spans, String name) {
+        return spans.stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No span named " + name + " in " + spans));
+    }
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
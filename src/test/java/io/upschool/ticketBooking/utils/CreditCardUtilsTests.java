@@ -0,0 +1,48 @@
+package io.upschool.ticketBooking.utils;
+
+import io.upschool.ticketBooking.enums.CardNetwork;
+import io.upschool.ticketBooking.exception.InvalidCreditCartNumberException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CreditCardUtilsTests {
+
+    @Test
+    void masksAllButTheBinAndLastFourDigitsKeepingTheLength() {
+        assertThat(CreditCardUtils.maskCreditCardNumber("4111 1111-1111,1111")).isEqualTo("411111******1111");
+        assertThat(CreditCardUtils.maskCreditCardNumber("3782 822463 10005")).isEqualTo("378282*****0005");
+        assertThat(CreditCardUtils.maskCreditCardNumber("30569309025904")).isEqualTo("305693****5904");
+        assertThat(CreditCardUtils.maskCreditCardNumber("4000000000000000006")).isEqualTo("400000*********0006");
+    }
+
+    @Test
+    void detectsTheNetworkFromTheBin() {
+        assertThat(CreditCardUtils.getCardNetwork("4111111111111111")).isEqualTo(CardNetwork.VISA);
+        assertThat(CreditCardUtils.getCardNetwork("5555555555554444")).isEqualTo(CardNetwork.MASTERCARD);
+        assertThat(CreditCardUtils.getCardNetwork("2223003122003222")).isEqualTo(CardNetwork.MASTERCARD);
+        assertThat(CreditCardUtils.getCardNetwork("378282246310005")).isEqualTo(CardNetwork.AMERICAN_EXPRESS);
+        assertThat(CreditCardUtils.getCardNetwork("6011111111111117")).isEqualTo(CardNetwork.DISCOVER);
+        assertThat(CreditCardUtils.getCardNetwork("3530111333300000")).isEqualTo(CardNetwork.JCB);
+        assertThat(CreditCardUtils.getCardNetwork("30569309025904")).isEqualTo(CardNetwork.DINERS_CLUB);
+    }
+
+    @Test
+    void rejectsInvalidNumbers() {
+        assertThatThrownBy(() -> CreditCardUtils.maskCreditCardNumber("4111111111111112"))
+                .isInstanceOf(InvalidCreditCartNumberException.class)
+                .hasMessage("Invalid card number");
+        assertThatThrownBy(() -> CreditCardUtils.maskCreditCardNumber("41111111"))
+                .hasMessage("Invalid card number");
+        assertThatThrownBy(() -> CreditCardUtils.maskCreditCardNumber("41111111111111111111"))
+                .hasMessage("Invalid card number");
+        assertThatThrownBy(() -> CreditCardUtils.maskCreditCardNumber("4111 1111 1111 111x"))
+                .hasMessage("Credit card number must contain only digits");
+        // Passes the checksum, but Mastercard only issues 16-digit numbers and no network uses BIN 999999.
+        assertThatThrownBy(() -> CreditCardUtils.maskCreditCardNumber("555555555555442"))
+                .hasMessage("Unsupported card network");
+        assertThatThrownBy(() -> CreditCardUtils.maskCreditCardNumber("9999999999999995"))
+                .hasMessage("Unsupported card network");
+    }
+}